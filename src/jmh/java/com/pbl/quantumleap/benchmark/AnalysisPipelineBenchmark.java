@@ -0,0 +1,221 @@
+package com.pbl.quantumleap.benchmark;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+import com.pbl.quantumleap.ArchitectureAnalyzer;
+import com.pbl.quantumleap.DependencyAnalyzer;
+import com.pbl.quantumleap.GraphVisualizer;
+import com.pbl.quantumleap.HeaderScanner;
+import com.pbl.quantumleap.SourceParser;
+import com.pbl.quantumleap.TestSelector;
+import com.pbl.quantumleap.WorkerPool;
+import com.pbl.quantumleap.model.CompactGraph;
+import com.pbl.quantumleap.model.ParsedSource;
+import com.pbl.quantumleap.model.ProjectModel;
+import com.pbl.quantumleap.service.OpenAIService;
+import com.pbl.quantumleap.service.QuantumLeapService;
+import com.pbl.quantumleap.synthetic.SyntheticProjectGenerator;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * 합성 Spring 프로젝트({@link SyntheticProjectGenerator})에서 분석 파이프라인의 단계별 시간을 측정합니다.
+ * 파일 하나의 파싱/의존성 추출(머리 정보 사전 분석 포함 여부별), 그래프 구성, 테스트 선별 BFS, 순환 참조 탐지,
+ * HTML 리포트 생성을 각각 측정하며,
+ * 각 단계의 입력은 설정(Trial) 시점에 한 번만 준비합니다. 분석기가 stderr로 쓰는 진행 로그는 측정 중에는 버립니다.
+ * 결과는 ./gradlew jmhCheck로 저장된 기준값(src/jmh/baseline.json)과 비교할 수 있습니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class AnalysisPipelineBenchmark {
+
+  /** 변경된 것으로 보는 엔티티 비율. 엔티티는 리포지토리 → 서비스 → 컨트롤러로 이어지는 의존성의 끝이라 영향 범위가 넓습니다. */
+  private static final int CHANGED_ENTITY_PERCENT = 1;
+
+  @Param({"1000", "10000"})
+  public int classCount;
+
+  @Param({"6"})
+  public int fanOut;
+
+  @Param({"0.02"})
+  public double cycleDensity;
+
+  private Path projectRoot;
+  private Path reportDir;
+  private PrintStream originalErr;
+  private List<Map.Entry<String, String>> files; // <상대 경로, 내용>
+  private List<CompilationUnit> compilationUnits;
+  private int nextFile;
+  private SourceParser sourceParser;
+  private SourceParser fullSourceParser; // 머리 정보 사전 분석 없이 모든 파일을 전체 파싱
+  private DependencyAnalyzer dependencyAnalyzer;
+  private QuantumLeapService service;
+  private List<ParsedSource> parsedSources;
+  private CompactGraph graph;
+  private Map<String, String> sourceToTestMap;
+  private Set<String> changedClasses;
+  private Set<String> impactSet;
+  private Set<String> classesToExclude;
+  private WorkerPool workerPool;
+
+  @Setup
+  public void setUp() throws IOException {
+    originalErr = System.err;
+    System.setErr(new PrintStream(OutputStream.nullOutputStream(), true));
+
+    projectRoot = Files.createTempDirectory("quantumleap-pipeline-bench");
+    reportDir = projectRoot.resolve("build/reports/quantumleap");
+    Map<String, String> files = new SyntheticProjectGenerator(classCount, fanOut, cycleDensity, 42).writeTo(projectRoot);
+
+    List<Path> sourceFiles = new ArrayList<>();
+    List<Path> testFiles = new ArrayList<>();
+    this.files = new ArrayList<>(files.entrySet());
+    compilationUnits = new ArrayList<>(files.size());
+    JavaParser javaParser = new JavaParser();
+    for (Map.Entry<String, String> file : this.files) {
+      (file.getKey().startsWith("src/test/") ? testFiles : sourceFiles).add(projectRoot.resolve(file.getKey()));
+      compilationUnits.add(javaParser.parse(file.getValue()).getResult().orElseThrow());
+    }
+
+    workerPool = new WorkerPool(Runtime.getRuntime().availableProcessors());
+    sourceParser = new SourceParser(workerPool, SyntheticProjectGenerator.BASE_PACKAGE, null);
+    fullSourceParser = new SourceParser(workerPool, SyntheticProjectGenerator.BASE_PACKAGE, null, false, false);
+    dependencyAnalyzer = new DependencyAnalyzer(SyntheticProjectGenerator.BASE_PACKAGE);
+    service = new QuantumLeapService(projectRoot.resolve("src/main/java").toString(), projectRoot.resolve("src/test/java").toString(),
+        SyntheticProjectGenerator.BASE_PACKAGE, new OpenAIService(null, null));
+    parsedSources = sourceParser.parseAll(sourceFiles, testFiles);
+    // 머리 정보 사전 분석이 전체 파싱과 같은 노드와 의존성 후보를 만들지 않으면 측정하지 않습니다.
+    if (!describe(parsedSources).equals(describe(fullSourceParser.parseAll(sourceFiles, testFiles)))) {
+      throw new IllegalStateException("머리 정보 사전 분석 결과가 전체 파싱 결과와 다릅니다.");
+    }
+
+    ProjectModel model = service.buildModel(parsedSources);
+    graph = model.getGraph();
+    sourceToTestMap = model.getSourceToTestMap();
+    changedClasses = new LinkedHashSet<>();
+    classesToExclude = new HashSet<>();
+    int entityCount = 0;
+    for (int id = 0; id < graph.nodeCount(); id++) {
+      if (graph.isEntity(id) && entityCount++ % (100 / CHANGED_ENTITY_PERCENT) == 0) {
+        changedClasses.add(graph.name(id));
+      }
+      if (graph.isEntity(id) || graph.isDto(id) || graph.isTest(id)) {
+        classesToExclude.add(graph.name(id));
+      }
+    }
+    TestSelector testSelector = new TestSelector(graph, sourceToTestMap);
+    testSelector.selectTestsAndPaths(changedClasses);
+    impactSet = new LinkedHashSet<>(testSelector.getImpactSet());
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    workerPool.close();
+    System.setErr(originalErr);
+    try (Stream<Path> files = Files.walk(projectRoot)) {
+      files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+    }
+  }
+
+  /**
+   * 파일 하나를 파싱하여 클래스 정보와 의존성 후보를 추출합니다. (호출마다 다음 파일)
+   */
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public ParsedSource parseFile() {
+    Map.Entry<String, String> file = files.get(nextFile++ % files.size());
+    return sourceParser.parseContent(Path.of(file.getKey()), file.getValue(), file.getKey().startsWith("src/test/"));
+  }
+
+  /**
+   * 머리 정보 사전 분석 없이 파일 하나를 전체 파싱하여 분석합니다. (parseFile과 비교용)
+   */
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public ParsedSource parseFileWithoutPrePass() {
+    Map.Entry<String, String> file = files.get(nextFile++ % files.size());
+    return fullSourceParser.parseContent(Path.of(file.getKey()), file.getValue(), file.getKey().startsWith("src/test/"));
+  }
+
+  /**
+   * 파일 하나의 머리 정보(package, import, 최상위 타입과 어노테이션)만 토큰 단위로 읽습니다. (AST 없음)
+   */
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public HeaderScanner.Header scanHeader() {
+    return HeaderScanner.scan(files.get(nextFile++ % files.size()).getValue());
+  }
+
+  /**
+   * 이미 파싱된 파일 하나에서 SourceParser와 같은 방식으로 import와 주입 지점 타입을 추출합니다. (파싱 제외)
+   */
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public int analyzeFile() {
+    CompilationUnit cu = compilationUnits.get(nextFile++ % compilationUnits.size());
+    return dependencyAnalyzer.findImportedClasses(cu).size() + dependencyAnalyzer.findWildcardImports(cu).size()
+        + dependencyAnalyzer.findInjectedTypeNames(cu).size();
+  }
+
+  /**
+   * 파싱 결과로 의존성 그래프를 구성하고 압축 그래프로 고정한 뒤 소스-테스트 매핑을 만듭니다.
+   */
+  @Benchmark
+  public ProjectModel buildModel() {
+    return service.buildModel(parsedSources);
+  }
+
+  /**
+   * 엔티티 1%가 바뀌었을 때 영향받는 테스트와 경로를 찾는 역방향 BFS
+   */
+  @Benchmark
+  public Map<String, List<String>> selectTests() {
+    return new TestSelector(graph, sourceToTestMap).selectTestsAndPaths(changedClasses);
+  }
+
+  @Benchmark
+  public List<List<String>> detectCycles() {
+    return new ArchitectureAnalyzer(graph, classesToExclude).detectCircularDependencies();
+  }
+
+  @Benchmark
+  public void generateReport() {
+    new GraphVisualizer().generateInteractiveReport(graph, changedClasses, impactSet, "", reportDir.toString());
+  }
+
+  private static List<String> describe(List<ParsedSource> parsedSources) {
+    List<String> descriptions = new ArrayList<>(parsedSources.size());
+    for (ParsedSource parsed : parsedSources) {
+      descriptions.add(parsed.getFilePath() + " " + parsed.getQualifiedName() + " " + parsed.isEntity() + parsed.isDto()
+          + parsed.isTest() + parsed.isRunnableTest() + " " + parsed.getImports() + parsed.getWildcardImports() + parsed.getTypeNames());
+    }
+    return descriptions;
+  }
+}
@@ -0,0 +1,140 @@
+package com.pbl.quantumleap.benchmark;
+
+import com.pbl.quantumleap.ChangeSourceType;
+import com.pbl.quantumleap.model.ChangedFile;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * 커밋이 많은 합성 저장소에서 git 프로세스 백엔드와 JGit 백엔드의 변경 파일 조회 시간을 비교합니다.
+ * 저장소는 git fast-import로 생성합니다. main 브랜치에 commitCount개의 커밋을 쌓고, 끝에서 50번째 커밋에서
+ * 갈라진 feature 브랜치에 추가/수정/삭제/이름 변경 커밋을 만든 뒤 main..feature, main...feature를 조회합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+public class ChangeSourceBenchmark {
+
+  private static final int FILE_COUNT = 2000;
+  private static final int FEATURE_BRANCH_OFFSET = 50;
+
+  @Param({"100000"})
+  public int commitCount;
+
+  @Param({"GIT", "JGIT"})
+  public ChangeSourceType backend;
+
+  @Param({"false", "true"})
+  public boolean mergeBase;
+
+  private Path repository;
+
+  @Setup
+  public void setUp() throws IOException, InterruptedException {
+    repository = Files.createTempDirectory("quantumleap-git-bench");
+    generateRepository(repository, commitCount);
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    try (Stream<Path> files = Files.walk(repository)) {
+      files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+    }
+  }
+
+  @Benchmark
+  public List<ChangedFile> findChanges() throws IOException {
+    return backend.create().findChanges(repository.toString(), "main", "feature", mergeBase);
+  }
+
+  /**
+   * git fast-import로 합성 저장소를 생성합니다. 첫 커밋에서 FILE_COUNT개의 파일을 만들고, 이후 커밋은 파일 하나씩을 수정합니다.
+   */
+  public static void generateRepository(Path directory, int commitCount) throws IOException, InterruptedException {
+    run(directory, "git", "init", "-q", "-b", "main");
+    Process fastImport = new ProcessBuilder("git", "fast-import", "--quiet")
+        .directory(directory.toFile())
+        .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+        .redirectError(ProcessBuilder.Redirect.INHERIT)
+        .start();
+    try (OutputStream out = new BufferedOutputStream(fastImport.getOutputStream(), 1 << 16)) {
+      int branchPoint = commitCount - FEATURE_BRANCH_OFFSET;
+      for (int mark = 1; mark <= commitCount; mark++) {
+        StringBuilder commit = new StringBuilder();
+        beginCommit(commit, "refs/heads/main", mark, mark > 1 ? mark - 1 : 0);
+        if (mark == 1) {
+          for (int file = 0; file < FILE_COUNT; file++) {
+            modify(commit, javaFile(file), "class Class" + file + " { int version = 0; }\n");
+          }
+        } else {
+          int file = mark % FILE_COUNT;
+          modify(commit, javaFile(file), "class Class" + file + " { int version = " + mark + "; }\n");
+        }
+        out.write(commit.toString().getBytes(StandardCharsets.UTF_8));
+      }
+
+      // feature 브랜치: 추가, 수정, 삭제, 이름 변경을 각각 포함합니다.
+      int featureMark = commitCount + 1;
+      StringBuilder commit = new StringBuilder();
+      beginCommit(commit, "refs/heads/feature", featureMark, branchPoint);
+      modify(commit, "src/main/java/com/example/feature/NewFeature.java", "class NewFeature {}\n");
+      modify(commit, javaFile(1), "class Class1 { int version = -1; }\n");
+      commit.append("D ").append(javaFile(2)).append('\n');
+      commit.append("R ").append(javaFile(3)).append(' ').append("src/main/java/com/example/renamed/Class3.java").append('\n');
+      out.write(commit.toString().getBytes(StandardCharsets.UTF_8));
+    }
+    if (fastImport.waitFor() != 0) {
+      throw new IOException("git fast-import 실패: exit " + fastImport.exitValue());
+    }
+    run(directory, "git", "checkout", "-q", "feature");
+  }
+
+  private static void beginCommit(StringBuilder commit, String ref, int mark, int parentMark) {
+    String message = "commit " + mark;
+    commit.append("commit ").append(ref).append('\n')
+        .append("mark :").append(mark).append('\n')
+        .append("committer Bench <bench@example.com> ").append(1_600_000_000L + mark).append(" +0000\n")
+        .append("data ").append(message.length()).append('\n').append(message).append('\n');
+    if (parentMark > 0) {
+      commit.append("from :").append(parentMark).append('\n');
+    }
+  }
+
+  private static void modify(StringBuilder commit, String path, String content) {
+    commit.append("M 100644 inline ").append(path).append('\n')
+        .append("data ").append(content.getBytes(StandardCharsets.UTF_8).length).append('\n')
+        .append(content).append('\n');
+  }
+
+  private static String javaFile(int file) {
+    return "src/main/java/com/example/p" + (file % 20) + "/Class" + file + ".java";
+  }
+
+  private static void run(Path directory, String... command) throws IOException, InterruptedException {
+    Process process = new ProcessBuilder(command).directory(directory.toFile()).inheritIO().start();
+    if (process.waitFor() != 0) {
+      throw new IOException(String.join(" ", command) + " 실패: exit " + process.exitValue());
+    }
+  }
+}
@@ -0,0 +1,66 @@
+package com.pbl.quantumleap.benchmark;
+
+import com.pbl.quantumleap.StronglyConnectedComponentFinder;
+import com.pbl.quantumleap.model.CompactGraph;
+import com.pbl.quantumleap.model.CyclicComponent;
+import com.pbl.quantumleap.model.DependencyGraph;
+import com.pbl.quantumleap.model.DependencyGraph.ClassNode;
+
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * 합성 그래프(노드당 평균 10개의 의존성)에서 SCC 기반 순환 참조 탐지 시간을 측정합니다.
+ * 깊은 체인과 여러 개의 순환 그룹이 섞이도록 생성하며, 같은 시드로 항상 같은 그래프를 만듭니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xss512k"})
+public class CycleDetectionBenchmark {
+
+  private static final int EDGES_PER_NODE = 10;
+
+  @Param({"10000", "100000", "1000000"})
+  public int edgeCount;
+
+  private CompactGraph graph;
+
+  @Setup
+  public void setUp() {
+    int nodeCount = Math.max(2, edgeCount / EDGES_PER_NODE);
+    Random random = new Random(42);
+    DependencyGraph dependencyGraph = new DependencyGraph();
+    ClassNode[] nodes = new ClassNode[nodeCount];
+    for (int i = 0; i < nodeCount; i++) {
+      nodes[i] = new ClassNode("Class" + i, "Class" + i + ".java", "com.example");
+      dependencyGraph.addNode(nodes[i]);
+    }
+    // 대부분의 엣지는 앞쪽 노드로만 향하게 하여 긴 의존성 체인을 만들고, 일부만 뒤로 향하게 하여 순환을 만듭니다.
+    for (int i = 1; i < nodeCount; i++) {
+      dependencyGraph.addDependency(nodes[i], nodes[i - 1]);
+    }
+    for (int e = nodeCount - 1; e < edgeCount; e++) {
+      int from = random.nextInt(nodeCount);
+      int to = random.nextInt(100) < 2 ? random.nextInt(nodeCount) : random.nextInt(from + 1);
+      dependencyGraph.addDependency(nodes[from], nodes[to]);
+    }
+    graph = dependencyGraph.freeze();
+  }
+
+  @Benchmark
+  public List<CyclicComponent> findCyclicComponents() {
+    return new StronglyConnectedComponentFinder(graph, Set.of()).findCyclicComponents();
+  }
+}
@@ -0,0 +1,165 @@
+package com.pbl.quantumleap.benchmark;
+
+import com.pbl.quantumleap.ShardPlanner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 샤드 배분 방식별 makespan(가장 긴 샤드의 실행 시간)을 합성 테스트 스위트로 시뮬레이션합니다. ./gradlew shardSimulation
+ * 테스트 실행 시간은 로그 정규분포(중앙값 2초, 소수의 매우 긴 통합 테스트)로 생성하며, 같은 시드로 항상 같은 결과를 냅니다.
+ * makespan은 하한(max(전체 ÷ 샤드 수, 가장 긴 테스트))에 대한 비율로 표시합니다. (1.00이면 최적)
+ * 안정성은 실행 시간이 ±20% 흔들리고 테스트 5%가 바뀐 다음 실행에서 같은 샤드에 남은 테스트의 비율입니다.
+ */
+public class ShardSimulation {
+
+  private static final int SUITES = 20;
+
+  public static void main(String[] args) {
+    System.out.println("tests  shards | round-robin        | planner(이력)       | planner(클래스 수)  | LPT(비고정)");
+    System.out.println("              | makespan  안정성    | makespan  안정성     | makespan  안정성     | makespan  안정성");
+    for (int testCount : new int[] {50, 500, 5000}) {
+      for (int shardCount : new int[] {4, 8, 16}) {
+        double[][] totals = new double[4][2];
+        for (int seed = 0; seed < SUITES; seed++) {
+          Random random = new Random(seed);
+          Suite before = Suite.generate(testCount, random);
+          Suite after = before.nextRun(random);
+          ShardPlanner planner = new ShardPlanner(shardCount);
+          double[] ones = new double[testCount];
+          Arrays.fill(ones, 1);
+          double[] afterOnes = new double[after.names.length];
+          Arrays.fill(afterOnes, 1);
+
+          accumulate(totals[0], before, after, roundRobin(before.names, shardCount), roundRobin(after.names, shardCount), shardCount);
+          accumulate(totals[1], before, after, planner.assign(before.names, before.millis),
+              planner.assign(after.names, after.millis), shardCount);
+          accumulate(totals[2], before, after, planner.assign(before.names, ones), planner.assign(after.names, afterOnes), shardCount);
+          accumulate(totals[3], before, after, longestFirst(before.millis, shardCount), longestFirst(after.millis, shardCount),
+              shardCount);
+        }
+        StringBuilder line = new StringBuilder(String.format("%5d  %6d |", testCount, shardCount));
+        for (double[] total : totals) {
+          line.append(String.format(" %6.2f    %5.1f%%    |", total[0] / SUITES, total[1] / SUITES * 100));
+        }
+        System.out.println(line);
+      }
+    }
+  }
+
+  /**
+   * 다음 실행(after)의 makespan 비율과, 두 실행에 모두 있는 테스트 중 같은 샤드에 남은 비율을 더합니다.
+   */
+  private static void accumulate(double[] total, Suite before, Suite after, int[] beforeShards, int[] afterShards, int shardCount) {
+    total[0] += makespan(after.millis, afterShards, shardCount) / lowerBound(after.millis, shardCount);
+    int common = 0;
+    int kept = 0;
+    for (int i = 0; i < after.names.length; i++) {
+      int previous = Arrays.binarySearch(before.names, after.names[i]);
+      if (previous >= 0) {
+        common++;
+        kept += beforeShards[previous] == afterShards[i] ? 1 : 0;
+      }
+    }
+    total[1] += (double) kept / common;
+  }
+
+  /**
+   * 이름순으로 정렬된 테스트를 차례로 돌려 담는 단순 배분
+   */
+  private static int[] roundRobin(String[] sortedNames, int shardCount) {
+    int[] shards = new int[sortedNames.length];
+    for (int i = 0; i < shards.length; i++) {
+      shards[i] = i % shardCount;
+    }
+    return shards;
+  }
+
+  /**
+   * 긴 테스트부터 가장 여유 있는 샤드에 담는 LPT 배분 (균형의 기준, 배정은 고정되지 않음)
+   */
+  private static int[] longestFirst(double[] millis, int shardCount) {
+    Integer[] order = new Integer[millis.length];
+    for (int i = 0; i < order.length; i++) {
+      order[i] = i;
+    }
+    Arrays.sort(order, (a, b) -> Double.compare(millis[b], millis[a]));
+    int[] shards = new int[millis.length];
+    double[] loads = new double[shardCount];
+    for (int i : order) {
+      int least = 0;
+      for (int shard = 1; shard < shardCount; shard++) {
+        least = loads[shard] < loads[least] ? shard : least;
+      }
+      shards[i] = least;
+      loads[least] += millis[i];
+    }
+    return shards;
+  }
+
+  private static double makespan(double[] millis, int[] shards, int shardCount) {
+    double[] loads = new double[shardCount];
+    for (int i = 0; i < millis.length; i++) {
+      loads[shards[i]] += millis[i];
+    }
+    return Arrays.stream(loads).max().orElse(0);
+  }
+
+  private static double lowerBound(double[] millis, int shardCount) {
+    return Math.max(Arrays.stream(millis).sum() / shardCount, Arrays.stream(millis).max().orElse(0));
+  }
+
+  /**
+   * 이름순으로 정렬된 합성 테스트 스위트
+   */
+  private static class Suite {
+    private final String[] names;
+    private final double[] millis;
+
+    private Suite(String[] names, double[] millis) {
+      this.names = names;
+      this.millis = millis;
+    }
+
+    static Suite generate(int testCount, Random random) {
+      List<String> names = new ArrayList<>(testCount);
+      for (int i = 0; i < testCount; i++) {
+        names.add(randomName(random));
+      }
+      return of(names, random);
+    }
+
+    /**
+     * 테스트 5%를 새 테스트로 바꾸고 실행 시간을 ±20% 흔든 다음 실행
+     */
+    Suite nextRun(Random random) {
+      List<String> nextNames = new ArrayList<>(List.of(names));
+      for (int i = 0; i < Math.max(1, names.length / 20); i++) {
+        nextNames.set(random.nextInt(nextNames.size()), randomName(random));
+      }
+      Suite next = of(nextNames, random);
+      for (int i = 0; i < next.names.length; i++) {
+        int previous = Arrays.binarySearch(names, next.names[i]);
+        if (previous >= 0) {
+          next.millis[i] = millis[previous] * (0.8 + 0.4 * random.nextDouble());
+        }
+      }
+      return next;
+    }
+
+    private static Suite of(List<String> names, Random random) {
+      String[] sorted = names.stream().distinct().sorted().toArray(String[]::new);
+      double[] millis = new double[sorted.length];
+      for (int i = 0; i < millis.length; i++) {
+        millis[i] = 2000 * Math.exp(1.2 * random.nextGaussian());
+      }
+      return new Suite(sorted, millis);
+    }
+
+    private static String randomName(Random random) {
+      return "com.example.module" + random.nextInt(40) + ".Feature" + Integer.toString(random.nextInt(1 << 30), 36) + "Test";
+    }
+  }
+}
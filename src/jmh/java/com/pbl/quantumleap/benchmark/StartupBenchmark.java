@@ -0,0 +1,99 @@
+package com.pbl.quantumleap.benchmark;
+
+import com.pbl.quantumleap.synthetic.SyntheticHistory;
+import com.pbl.quantumleap.synthetic.SyntheticProjectGenerator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 배포 형태별 CLI 시작 시간을 새 JVM 프로세스로 측정합니다. ./gradlew startupBenchmark
+ * 비교 대상은 기존 Fat JAR(웹 서버 스택 포함), 경량 JAR, 경량 배포본 실행 스크립트(경량 JAR + AppCDS 아카이브)이며,
+ * 각 대상을 번갈아 실행하여 디스크 캐시 등 실행 순서의 영향을 줄입니다.
+ * - 첫 출력: 프로세스 시작부터 stdout/stderr에 첫 바이트가 나올 때까지 (JVM 시작, 클래스 로딩, 인자 파싱)
+ * - 전체: 프로세스가 끝날 때까지. 분석 작업은 AppCDS 학습에 쓰지 않은 합성 프로젝트(--ai=off, --no-cache)로 측정합니다.
+ * 사용법: StartupBenchmark <실행 횟수> <Fat JAR> <경량 JAR> <경량 배포본 실행 스크립트>
+ */
+public class StartupBenchmark {
+
+  private static final int WARMUP_RUNS = 2; // 디스크 캐시를 채우고 AppCDS 아카이브가 없으면 만들도록 먼저 실행합니다.
+
+  public static void main(String[] args) throws Exception {
+    if (args.length != 4) {
+      System.err.println("사용법: StartupBenchmark <실행 횟수> <Fat JAR> <경량 JAR> <경량 배포본 실행 스크립트>");
+      System.exit(2);
+    }
+    int runs = Integer.parseInt(args[0]);
+    String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+    Map<String, List<String>> targets = Map.of(
+        "fat", List.of(java, "-jar", args[1]),
+        "slim", List.of(java, "-jar", args[2]),
+        "slim+cds", List.of(args[3]));
+    List<String> targetNames = List.of("fat", "slim", "slim+cds");
+
+    Path project = Files.createTempDirectory("quantumleap-startup-");
+    Map<String, String> files = new SyntheticProjectGenerator(300, 6, 0.02, 7).generate();
+    new SyntheticHistory(3, 3, 7).writeTo(project, files);
+
+    Map<String, List<String>> workloads = Map.of(
+        "--version", List.of("--version"),
+        "분석(300 클래스)", List.of(project.toString(), "--ai=off", "--no-cache", "--format", "plain"));
+    System.out.printf("%-18s %-10s %14s %14s %14s%n", "작업", "대상", "첫 출력(ms)", "전체(ms)", "최소 전체(ms)");
+    for (String workloadName : List.of("--version", "분석(300 클래스)")) {
+      long[][][] samples = new long[targetNames.size()][runs][];
+      for (int run = -WARMUP_RUNS; run < runs; run++) {
+        for (int t = 0; t < targetNames.size(); t++) {
+          List<String> command = new ArrayList<>(targets.get(targetNames.get(t)));
+          command.addAll(workloads.get(workloadName));
+          long[] sample = measure(command);
+          if (run >= 0) {
+            samples[t][run] = sample;
+          }
+        }
+      }
+      for (int t = 0; t < targetNames.size(); t++) {
+        long[] firstOutput = Arrays.stream(samples[t]).mapToLong(sample -> sample[0]).sorted().toArray();
+        long[] total = Arrays.stream(samples[t]).mapToLong(sample -> sample[1]).sorted().toArray();
+        System.out.printf("%-18s %-10s %14d %14d %14d%n", workloadName, targetNames.get(t),
+            median(firstOutput), median(total), total[0]);
+      }
+    }
+  }
+
+  /**
+   * @return {첫 출력까지 걸린 시간(ms), 전체 실행 시간(ms)}
+   */
+  private static long[] measure(List<String> command) throws IOException, InterruptedException {
+    ProcessBuilder processBuilder = new ProcessBuilder(command).redirectErrorStream(true);
+    // 실행 스크립트도 같은 JDK를 쓰도록 합니다.
+    processBuilder.environment().put("JAVA_HOME", System.getProperty("java.home"));
+    processBuilder.environment().remove("JAVA_OPTS");
+    long start = System.nanoTime();
+    Process process = processBuilder.start();
+    long firstOutput = -1;
+    try (InputStream output = process.getInputStream()) {
+      if (output.read() >= 0) {
+        firstOutput = System.nanoTime() - start;
+      }
+      output.transferTo(OutputStream.nullOutputStream());
+    }
+    int exitCode = process.waitFor();
+    long total = System.nanoTime() - start;
+    if (exitCode != 0) {
+      throw new IllegalStateException("실행 실패 (종료 코드 " + exitCode + "): " + String.join(" ", command));
+    }
+    return new long[] {(firstOutput < 0 ? total : firstOutput) / 1_000_000, total / 1_000_000};
+  }
+
+  private static long median(long[] sorted) {
+    return sorted[sorted.length / 2];
+  }
+}
@@ -1,6 +1,11 @@
 package com.pbl.quantumleap;
 
+import com.pbl.quantumleap.model.CompactGraph;
+import com.pbl.quantumleap.model.CyclicComponent;
+import com.pbl.quantumleap.model.ShardPlan;
+import com.pbl.quantumleap.model.TestPlan;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 
@@ -11,6 +16,21 @@ import java.util.Set;
 @RequiredArgsConstructor
 public class AnalysisResult {
   private final List<List<String>> circularDependencies;
-  private final String aiArchitectureSuggestions;
+  private final CompletableFuture<String> aiReview; // 제한 시간이 적용된 AI 리뷰 (실패하지 않음)
   private final Map<String, List<String>> testsWithPaths;
+  private final List<String> testFilters; // 실행할 테스트 ("FQCN", "FQCN#method", "FQCN$Nested"), 정렬됨
+  private final List<CyclicComponent> cyclicComponents;
+  private final Set<String> changedClasses; // 그래프 노드 이름(FQCN)으로 변환된 변경 클래스
+  private final Set<String> changedMembers; // 멤버 단위 분석에서 변경된 멤버 ("FQCN#멤버", 클래스 단위 분석이면 비어 있음)
+  private final Set<String> impactSet;
+  private final CompactGraph dependencyGraph;
+  private final TestPlan testPlan; // 시간 예산 선별 결과 (--time-budget을 쓰지 않으면 null)
+  private final ShardPlan shardPlan; // 샤드 배분 결과 (--shards를 쓰지 않으면 null)
+
+  /**
+   * AI 아키텍처 분석 결과를 반환합니다. 아직 진행 중이면 제한 시간까지 기다립니다.
+   */
+  public String getAiArchitectureSuggestions() {
+    return aiReview.join();
+  }
 }
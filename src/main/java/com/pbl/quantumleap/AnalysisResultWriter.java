@@ -0,0 +1,168 @@
+package com.pbl.quantumleap;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.pbl.quantumleap.metrics.PhaseMetrics;
+import com.pbl.quantumleap.model.CyclicComponent;
+import com.pbl.quantumleap.model.ShardPlan;
+import com.pbl.quantumleap.model.TestPlan;
+import com.pbl.quantumleap.model.TestPlan.PlannedTest;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 선별 결과를 CI에서 바로 쓸 수 있는 형식으로 씁니다.
+ * JSON은 트리를 메모리에 만들지 않고 JsonGenerator로 바로 스트리밍하므로, 영향 경로와 순환 그룹이 큰 그래프에서도
+ * 결과 크기만큼의 추가 메모리를 쓰지 않습니다. 출력 스트림은 닫지 않습니다. (System.out에 쓸 수 있도록)
+ */
+public class AnalysisResultWriter {
+
+  /** JSON 필드가 바뀌면 올립니다. (필드 추가는 호환되는 변경으로 봅니다) */
+  private static final int JSON_FORMAT_VERSION = 1;
+
+  private final JsonFactory jsonFactory = new JsonFactory()
+      .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+  /**
+   * @param phaseMetrics 단계별 측정 결과, 실행 순서 (JSON 형식에서만 사용)
+   */
+  public void write(AnalysisResult result, OutputFormat format, List<PhaseMetrics> phaseMetrics, OutputStream out)
+      throws IOException {
+    if (format == OutputFormat.JSON) {
+      writeJson(result, phaseMetrics, out);
+      return;
+    }
+    Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    List<String> testFilters = result.getTestFilters();
+    // 선별된 테스트가 없으면 아무것도 쓰지 않습니다. (빈 --tests/-Dtest 인자는 전체 테스트를 실행하므로 CI에서 확인해야 합니다)
+    if (!testFilters.isEmpty()) {
+      switch (format) {
+        case PLAIN -> writeLines(writer, testFilters);
+        case GRADLE -> writer.write(TestFilterFormatter.gradle(testFilters) + "\n");
+        case MAVEN -> writer.write("-Dtest=" + TestFilterFormatter.surefire(testFilters) + "\n");
+        case JUNIT_PLATFORM -> writeLines(writer, TestFilterFormatter.junitPlatform(testFilters));
+        default -> throw new IllegalArgumentException("지원하지 않는 출력 형식입니다: " + format);
+      }
+    }
+    writer.flush();
+  }
+
+  private void writeJson(AnalysisResult result, List<PhaseMetrics> phaseMetrics, OutputStream out) throws IOException {
+    try (JsonGenerator json = jsonFactory.createGenerator(out, JsonEncoding.UTF8)) {
+      json.writeStartObject();
+      json.writeNumberField("version", JSON_FORMAT_VERSION);
+      writeStrings(json, "changedClasses", result.getChangedClasses());
+      writeStrings(json, "changedMembers", result.getChangedMembers());
+      json.writeNumberField("impactedClassCount", result.getImpactSet().size());
+
+      // 선별된 테스트와 "변경 코드 → ... → 테스트" 경로 (실행 순서)
+      json.writeArrayFieldStart("selectedTests");
+      for (Map.Entry<String, List<String>> entry : result.getTestsWithPaths().entrySet()) {
+        json.writeStartObject();
+        json.writeStringField("testClass", entry.getKey());
+        writeStrings(json, "path", entry.getValue());
+        json.writeEndObject();
+      }
+      json.writeEndArray();
+      writeStrings(json, "testFilters", result.getTestFilters());
+
+      if (result.getTestPlan() != null) {
+        writeTestPlan(json, result.getTestPlan());
+      }
+      if (result.getShardPlan() != null) {
+        writeShardPlan(json, result.getShardPlan());
+      }
+
+      json.writeArrayFieldStart("cycles");
+      for (CyclicComponent component : result.getCyclicComponents()) {
+        json.writeStartObject();
+        writeStrings(json, "members", component.getMembers());
+        writeStrings(json, "cycle", component.getCycle());
+        json.writeEndObject();
+      }
+      json.writeEndArray();
+
+      json.writeArrayFieldStart("timings");
+      for (PhaseMetrics phase : phaseMetrics) {
+        json.writeStartObject();
+        json.writeStringField("phase", phase.getPhase());
+        json.writeNumberField("millis", phase.getWallMillis());
+        if (phase.getCpuNanos() >= 0) {
+          json.writeNumberField("cpuMillis", phase.getCpuNanos() / 1_000_000);
+        }
+        if (phase.getAllocatedBytes() >= 0) {
+          json.writeNumberField("allocatedBytes", phase.getAllocatedBytes());
+        }
+        json.writeEndObject();
+      }
+      json.writeEndArray();
+      json.writeEndObject();
+      json.writeRaw('\n');
+    }
+  }
+
+  private static void writeTestPlan(JsonGenerator json, TestPlan testPlan) throws IOException {
+    json.writeObjectFieldStart("testPlan");
+    json.writeNumberField("budgetMillis", testPlan.getBudgetMillis());
+    json.writeNumberField("estimatedMillis", Math.round(testPlan.getEstimatedMillis()));
+    json.writeNumberField("deferredMillis", Math.round(testPlan.getDeferredMillis()));
+    writePlannedTests(json, "selected", testPlan.getSelected());
+    writePlannedTests(json, "deferred", testPlan.getDeferred());
+    json.writeEndObject();
+  }
+
+  private static void writePlannedTests(JsonGenerator json, String fieldName, List<PlannedTest> tests) throws IOException {
+    json.writeArrayFieldStart(fieldName);
+    for (PlannedTest test : tests) {
+      json.writeStartObject();
+      json.writeStringField("testClass", test.getTestClass());
+      writeStrings(json, "filters", test.getFilters());
+      json.writeNumberField("distance", test.getDistance());
+      json.writeNumberField("failureRate", test.getFailureRate());
+      json.writeNumberField("estimatedMillis", Math.round(test.getEstimatedMillis()));
+      json.writeBooleanField("measured", test.isMeasured());
+      json.writeEndObject();
+    }
+    json.writeEndArray();
+  }
+
+  private static void writeShardPlan(JsonGenerator json, ShardPlan shardPlan) throws IOException {
+    json.writeObjectFieldStart("shardPlan");
+    json.writeBooleanField("durationBased", shardPlan.isDurationBased());
+    json.writeNumberField("makespanMillis", Math.round(shardPlan.getMakespanMillis()));
+    json.writeArrayFieldStart("shards");
+    for (ShardPlan.Shard shard : shardPlan.getShards()) {
+      json.writeStartObject();
+      json.writeNumberField("index", shard.getIndex());
+      json.writeNumberField("estimatedMillis", Math.round(shard.getEstimatedMillis()));
+      writeStrings(json, "testClasses", shard.getTestClasses());
+      writeStrings(json, "filters", shard.getFilters());
+      json.writeEndObject();
+    }
+    json.writeEndArray();
+    json.writeEndObject();
+  }
+
+  private static void writeStrings(JsonGenerator json, String fieldName, Collection<String> values) throws IOException {
+    json.writeArrayFieldStart(fieldName);
+    for (String value : values) {
+      json.writeString(value);
+    }
+    json.writeEndArray();
+  }
+
+  private static void writeLines(Writer writer, List<String> lines) throws IOException {
+    for (String line : lines) {
+      writer.write(line);
+      writer.write('\n');
+    }
+  }
+}
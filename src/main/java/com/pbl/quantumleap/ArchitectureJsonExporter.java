@@ -1,64 +1,114 @@
 package com.pbl.quantumleap;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
-import com.pbl.quantumleap.model.DependencyGraph;
-import com.pbl.quantumleap.model.DependencyGraph.ClassNode;
+import com.pbl.quantumleap.model.CompactGraph;
 
-import java.io.IOException;
-import java.util.Set;
+import java.util.ArrayList;
+import java.util.List;
 
 public class ArchitectureJsonExporter {
 
+  private final ObjectMapper mapper = new ObjectMapper();
+
   /**
-   * DependencyGraph를 상위/하위 의존성 정보를 포함한 JSON 형식으로 콘솔에 출력합니다.
+   * 포함된 클래스만 공백 없는(compact) JSON으로 변환하고, 각 조각이 maxChars를 넘지 않도록 클래스 단위로 나눕니다.
+   * 핫스팟이 주어지면 모든 조각에 {"hotspots": [...]} 요약을 함께 넣어, 나뉜 조각에서도 전체 구조를 참고할 수 있게 합니다.
    * @param graph 분석된 의존성 그래프
-   * @param classesToExclude JSON 출력에서 제외할 클래스 이름 Set
+   * @param included JSON에 포함할 노드 마스크 (연결 목록도 포함된 노드로만 제한)
+   * @param excluded 핫스팟 연결 수 계산에서 제외할 노드 마스크
+   * @param hotspotIds 요약에 넣을 핫스팟 노드 ID (없으면 빈 배열)
+   * @param maxChars 조각 하나의 최대 글자 수 (클래스 하나가 이보다 크면 단독 조각이 됨)
+   * @return JSON 조각 목록 (최소 1개)
    */
-  public String getJsonString(DependencyGraph graph, Set<String> classesToExclude) {
-    ObjectMapper mapper = new ObjectMapper();
-    ObjectNode rootNode = mapper.createObjectNode();
-    ArrayNode classesArray = mapper.createArrayNode();
+  public List<String> getCompactJsonChunks(CompactGraph graph, boolean[] included, boolean[] excluded,
+      int[] hotspotIds, int maxChars) {
+    String prefix = "{" + (hotspotIds.length > 0 ? "\"hotspots\":" + write(createHotspots(graph, hotspotIds, excluded)) + "," : "")
+        + "\"classes\":[";
+    String suffix = "]}";
 
-    // 각 클래스 노드를 순회하며 JSON 객체 생성
-    for (ClassNode node : graph.getNodes().values()) {
-      // --- 신규 추가: 제외 목록에 포함된 클래스는 JSON에 추가하지 않음 ---
-      if (classesToExclude.contains(node.getName())) {
+    List<String> chunks = new ArrayList<>();
+    StringBuilder current = new StringBuilder(prefix);
+    boolean empty = true;
+    for (int id = 0; id < graph.nodeCount(); id++) {
+      if (!included[id]) {
         continue;
       }
-      // -----------------------------------------------------------
+      String entry = write(createClassEntry(graph, id, included));
+      if (!empty && current.length() + 1 + entry.length() + suffix.length() > maxChars) {
+        chunks.add(current.append(suffix).toString());
+        current = new StringBuilder(prefix);
+        empty = true;
+      }
+      if (!empty) {
+        current.append(',');
+      }
+      current.append(entry);
+      empty = false;
+    }
+    chunks.add(current.append(suffix).toString());
+    return chunks;
+  }
+
+  private ObjectNode createClassEntry(CompactGraph graph, int id, boolean[] included) {
+    ObjectNode classEntry = mapper.createObjectNode();
+    ObjectNode classInfo = mapper.createObjectNode();
 
-      ObjectNode classEntry = mapper.createObjectNode();
-      ObjectNode classInfo = mapper.createObjectNode();
+    ArrayNode dependents = mapper.createArrayNode();
+    for (int k = 0; k < graph.dependentCount(id); k++) {
+      int dependent = graph.dependentAt(id, k);
+      if (included[dependent]) { // 연결된 클래스도 필터링
+        dependents.add(graph.name(dependent));
+      }
+    }
 
-      ArrayNode dependents = mapper.createArrayNode();
-      node.getDependents().stream()
-          .map(ClassNode::getName)
-          .filter(name -> !classesToExclude.contains(name)) // 연결된 클래스도 필터링
-          .sorted().forEach(dependents::add);
+    ArrayNode dependencies = mapper.createArrayNode();
+    for (int k = 0; k < graph.dependencyCount(id); k++) {
+      int dependency = graph.dependencyAt(id, k);
+      if (included[dependency]) { // 연결된 클래스도 필터링
+        dependencies.add(graph.name(dependency));
+      }
+    }
 
-      ArrayNode dependencies = mapper.createArrayNode();
-      node.getDependencies().stream()
-          .map(ClassNode::getName)
-          .filter(name -> !classesToExclude.contains(name)) // 연결된 클래스도 필터링
-          .sorted().forEach(dependencies::add);
+    classInfo.set("depends", dependents);
+    classInfo.set("dependencies", dependencies);
 
-      classInfo.set("depends", dependents);
-      classInfo.set("dependencies", dependencies);
+    classEntry.set(graph.name(id), classInfo);
+    return classEntry;
+  }
 
-      classEntry.set(node.getName(), classInfo);
-      classesArray.add(classEntry);
+  private ArrayNode createHotspots(CompactGraph graph, int[] hotspotIds, boolean[] excluded) {
+    ArrayNode hotspots = mapper.createArrayNode();
+    for (int id : hotspotIds) {
+      int dependentCount = 0;
+      for (int k = 0; k < graph.dependentCount(id); k++) {
+        if (!excluded[graph.dependentAt(id, k)]) {
+          dependentCount++;
+        }
+      }
+      int dependencyCount = 0;
+      for (int k = 0; k < graph.dependencyCount(id); k++) {
+        if (!excluded[graph.dependencyAt(id, k)]) {
+          dependencyCount++;
+        }
+      }
+      ObjectNode hotspot = mapper.createObjectNode();
+      hotspot.put("class", graph.name(id));
+      hotspot.put("depends", dependentCount);
+      hotspot.put("dependencies", dependencyCount);
+      hotspots.add(hotspot);
     }
+    return hotspots;
+  }
 
-    rootNode.set("classes", classesArray);
-
+  private String write(Object node) {
     try {
-      return mapper.writerWithDefaultPrettyPrinter().writeValueAsString(rootNode);
-    } catch (IOException e) {
+      return mapper.writeValueAsString(node);
+    } catch (JsonProcessingException e) {
       System.err.println("JSON 생성 중 오류가 발생했습니다: " + e.getMessage());
+      return "";
     }
-    return "";
   }
 }
-
@@ -0,0 +1,81 @@
+package com.pbl.quantumleap;
+
+import com.pbl.quantumleap.model.ChangedFile;
+import com.pbl.quantumleap.model.ChangedFile.ChangeType;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 두 커밋 사이의 변경 파일 목록을 제공하는 백엔드입니다.
+ */
+public interface ChangeSource {
+
+  /**
+   * 두 커밋 사이에서 추가/수정/삭제/이름 변경된 파일을 반환합니다.
+   * @param projectPath Git 저장소(또는 그 하위 디렉토리)의 로컬 경로
+   * @param baseCommit 비교 기준이 될 커밋 (해시, 브랜치, HEAD~1 등)
+   * @param headCommit 최신 커밋
+   * @param mergeBase true면 base와 head의 merge-base부터 head까지(base...head), false면 base와 head를 직접 비교(base..head)
+   * @return 변경 파일 목록 (경로는 저장소 루트 기준)
+   * @throws IOException 커밋을 찾을 수 없거나(예: shallow clone) 저장소를 읽을 수 없는 경우
+   */
+  List<ChangedFile> findChanges(String projectPath, String baseCommit, String headCommit, boolean mergeBase)
+      throws IOException;
+
+  /**
+   * base와 head의 merge-base 커밋 해시를 반환합니다.
+   * @throws IOException 커밋을 찾을 수 없거나 공통 조상이 없는 경우
+   */
+  String findMergeBase(String projectPath, String baseCommit, String headCommit) throws IOException;
+
+  /**
+   * 특정 커밋 시점의 파일 내용을 읽습니다. 멤버 단위 분석에서 변경 전 소스를 얻을 때 사용합니다.
+   * @param revision 파일을 읽을 커밋
+   * @param paths 저장소 루트 기준 파일 경로
+   * @return <경로, 내용> 맵. 해당 커밋에 없는 파일은 포함되지 않습니다.
+   */
+  Map<String, byte[]> readFiles(String projectPath, String revision, Collection<String> paths) throws IOException;
+
+  /**
+   * 수정된 .java 파일의 변경 전 내용을 UTF-8로 읽습니다. 추가/삭제/이름 변경된 파일은 비교할 대상이 없으므로 제외합니다.
+   * @param revision 변경 전 커밋 (merge-base 비교라면 merge-base 커밋)
+   * @return <저장소 루트 기준 경로, 변경 전 내용> 맵
+   */
+  default Map<String, String> readBaseSources(String projectPath, String revision, List<ChangedFile> changes)
+      throws IOException {
+    List<String> paths = new ArrayList<>();
+    for (ChangedFile change : changes) {
+      if (change.getChangeType() == ChangeType.MODIFIED && change.getPath().endsWith(".java")) {
+        paths.add(change.getPath());
+      }
+    }
+    Map<String, String> sources = new HashMap<>();
+    readFiles(projectPath, revision, paths)
+        .forEach((path, content) -> sources.put(path, new String(content, StandardCharsets.UTF_8)));
+    return sources;
+  }
+
+  /**
+   * 변경 목록에서 .java 파일 경로만 모읍니다. 이름이 바뀐 파일은 이전 경로와 새 경로를 모두 포함하여,
+   * 이전 이름에 매핑된 테스트도 선별될 수 있게 합니다.
+   */
+  static Set<String> toJavaPaths(List<ChangedFile> changes) {
+    Set<String> javaPaths = new LinkedHashSet<>();
+    for (ChangedFile change : changes) {
+      if (change.getPath().endsWith(".java")) {
+        javaPaths.add(change.getPath());
+      }
+      if (change.getOldPath() != null && change.getOldPath().endsWith(".java")) {
+        javaPaths.add(change.getOldPath());
+      }
+    }
+    return javaPaths;
+  }
+}
@@ -0,0 +1,15 @@
+package com.pbl.quantumleap;
+
+/**
+ * 변경 파일을 구하는 백엔드 종류.
+ */
+public enum ChangeSourceType {
+  /** git 프로세스를 실행합니다. (git CLI 필요) */
+  GIT,
+  /** JGit으로 저장소 객체를 직접 읽습니다. (프로세스 실행 없음) */
+  JGIT;
+
+  public ChangeSource create() {
+    return this == GIT ? new GitChangeFinder() : new JGitChangeSource();
+  }
+}
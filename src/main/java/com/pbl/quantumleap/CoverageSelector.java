@@ -0,0 +1,131 @@
+package com.pbl.quantumleap;
+
+import com.pbl.quantumleap.coverage.CoverageIndex;
+import com.pbl.quantumleap.model.CompactGraph;
+import com.pbl.quantumleap.model.MemberGraph;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import lombok.Getter;
+
+/**
+ * 커버리지 색인에서 변경된 코드를 실제로 실행한 테스트를 찾습니다.
+ * 커버리지 데이터가 없는 변경과 테스트 클래스 자체의 변경은 정적 그래프로 선별하도록 따로 모읍니다.
+ */
+public class CoverageSelector {
+
+  private final CoverageIndex coverageIndex;
+  private final CompactGraph graph;
+
+  @Getter
+  private final Set<String> uncoveredClasses = new LinkedHashSet<>(); // 커버리지 데이터가 없는 변경 클래스
+  @Getter
+  private final Set<String> uncoveredMembers = new LinkedHashSet<>(); // 커버리지 데이터가 없는 변경 멤버
+  @Getter
+  private final Set<String> changedTestClasses = new LinkedHashSet<>(); // 변경된 테스트 클래스 (항상 정적 선별)
+  @Getter
+  private final Set<String> changedTestMembers = new LinkedHashSet<>(); // 변경된 테스트 멤버 (항상 정적 선별)
+  @Getter
+  private int unknownTestCount = 0; // 색인에는 있지만 프로젝트에 없는 테스트 (삭제/이름 변경된 테스트)
+
+  public CoverageSelector(CoverageIndex coverageIndex, CompactGraph graph) {
+    this.coverageIndex = coverageIndex;
+    this.graph = graph;
+  }
+
+  /**
+   * @param changedClasses 전체가 변경된 클래스 FQCN
+   * @param changedMembers 변경된 멤버 ("FQCN#멤버", 클래스 단위 분석이면 빈 Set)
+   * @return <테스트 식별자("FQCN" 또는 "FQCN#method"), 그 테스트가 실행한 변경 코드 단위>
+   */
+  public Map<String, String> select(Set<String> changedClasses, Set<String> changedMembers) {
+    Map<String, String> coveredTests = new LinkedHashMap<>();
+    for (String changedClass : changedClasses) {
+      if (isTestClass(changedClass)) {
+        changedTestClasses.add(changedClass);
+      } else if (coverageIndex.contains(changedClass)) {
+        addCoveringTests(coveredTests, changedClass, coverageIndex.testsCovering(changedClass));
+      } else {
+        uncoveredClasses.add(changedClass);
+      }
+    }
+    for (String changedMember : changedMembers) {
+      String className = changedMember.substring(0, changedMember.lastIndexOf(MemberGraph.SEPARATOR));
+      if (isTestClass(className)) {
+        changedTestMembers.add(changedMember); // 멤버 그래프가 바뀐 테스트로 바로 이어집니다.
+        continue;
+      }
+      // 클래스 단위 커버리지(exec)만 있는 테스트는 어떤 멤버를 실행했는지 모르므로 함께 선별합니다.
+      List<String> classOnlyTests = coverageIndex.testsCoveringClassOnly(className);
+      if (!coverageIndex.contains(changedMember) && classOnlyTests.isEmpty()) {
+        uncoveredMembers.add(changedMember); // 새로 추가되었거나 어떤 테스트도 실행하지 않은 멤버
+        continue;
+      }
+      addCoveringTests(coveredTests, changedMember, coverageIndex.testsCovering(changedMember));
+      addCoveringTests(coveredTests, className, classOnlyTests);
+    }
+    System.err.println("ℹ️ 커버리지: 변경 코드를 실행한 테스트 " + coveredTests.size() + "개, 데이터가 없는 변경 클래스 "
+        + uncoveredClasses.size() + "개 / 멤버 " + uncoveredMembers.size() + "개");
+    if (unknownTestCount > 0) {
+      System.err.println("⚠️ 커버리지 색인의 테스트 " + unknownTestCount + "개는 프로젝트에서 찾을 수 없어 제외했습니다. (색인을 다시 만들어 주세요)");
+    }
+    return coveredTests;
+  }
+
+  public boolean hasUncovered() {
+    return !uncoveredClasses.isEmpty() || !uncoveredMembers.isEmpty();
+  }
+
+  private void addCoveringTests(Map<String, String> coveredTests, String unit, List<String> testIds) {
+    for (String testId : testIds) {
+      int id = graph.idOf(classOf(testId));
+      if (id < 0 || !graph.isTest(id)) {
+        unknownTestCount++;
+        continue;
+      }
+      coveredTests.putIfAbsent(testId, unit);
+    }
+  }
+
+  private boolean isTestClass(String className) {
+    int id = graph.idOf(className);
+    return id >= 0 && graph.isTest(id);
+  }
+
+  /**
+   * 테스트 식별자나 코드 단위("FQCN" 또는 "FQCN#멤버")의 클래스 FQCN
+   */
+  public static String classOf(String id) {
+    int separator = id.indexOf(MemberGraph.SEPARATOR);
+    return separator < 0 ? id : id.substring(0, separator);
+  }
+
+  /**
+   * 테스트 필터 목록에 테스트 식별자를 합칩니다. 같은 클래스에 클래스 전체 필터가 있으면 메서드 필터는 생략합니다.
+   * @return 정렬된 테스트 필터 목록
+   */
+  public static List<String> mergeFilters(Collection<String> filters, Collection<String> testIds) {
+    Map<String, Set<String>> filtersByClass = new TreeMap<>(); // 클래스 전체면 클래스 이름 하나만 남깁니다.
+    List<String> all = new ArrayList<>(filters);
+    all.addAll(testIds);
+    for (String filter : all) {
+      String testClass = TestFilterFormatter.testClassOf(filter);
+      Set<String> classFilters = filtersByClass.computeIfAbsent(testClass, key -> new TreeSet<>());
+      if (filter.equals(testClass)) {
+        classFilters.clear();
+      } else if (classFilters.contains(testClass)) {
+        continue;
+      }
+      classFilters.add(filter);
+    }
+    List<String> merged = new ArrayList<>();
+    filtersByClass.values().forEach(merged::addAll);
+    return merged;
+  }
+}
@@ -5,12 +5,19 @@ import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
 import com.github.javaparser.ast.body.FieldDeclaration;
 import com.github.javaparser.ast.body.Parameter;
 import com.github.javaparser.ast.ImportDeclaration;
+import com.github.javaparser.ast.expr.NameExpr;
+import com.github.javaparser.ast.type.ClassOrInterfaceType;
 
 import java.util.HashSet;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+/**
+ * CompilationUnit에서 의존성 분석에 필요한 정보를 추출합니다.
+ * import 목록과 주입 지점(필드/생성자/Lombok)의 타입 이름은 파일 단위로 추출되며,
+ * 실제 클래스(FQCN)로의 해석은 전체 클래스 목록을 아는 TypeResolver가 담당합니다.
+ */
 public class DependencyAnalyzer {
 
   private final String projectBasePackage;
@@ -21,28 +28,95 @@ public class DependencyAnalyzer {
     this.knownProjectClasses = knownProjectClasses;
   }
 
-  public Set<String> analyze(CompilationUnit cu) {
-    Set<String> dependenciesFromImports = findDependenciesFromImports(cu);
-    Set<String> dependenciesFromFields = findDependenciesFromFields(cu);
-    Set<String> dependenciesFromConstructors = findDependenciesFromConstructors(cu);
-    Set<String> dependenciesFromLombok = findDependenciesFromLombok(cu);
+  /**
+   * 알려진 클래스 목록 없이, 의존성 후보가 되는 타입 이름을 모두 수집하는 분석기를 생성합니다.
+   * 파일 단위로 결과를 캐싱할 때 사용하며, 실제 엣지는 그래프에 존재하는 노드와 대조하여 연결합니다.
+   */
+  public DependencyAnalyzer(String projectBasePackage) {
+    this(projectBasePackage, null);
+  }
 
-    return Stream.of(dependenciesFromImports, dependenciesFromFields, dependenciesFromConstructors, dependenciesFromLombok)
+  /**
+   * 단순 클래스 이름 기준으로 의존성을 분석합니다. (import + 주입 지점)
+   */
+  public Set<String> analyze(CompilationUnit cu) {
+    Set<String> dependenciesFromImports = findImportedClasses(cu).stream()
+        .map(this::getClassNameFromFqcn)
+        .collect(Collectors.toSet());
+    return Stream.of(dependenciesFromImports, findInjectedTypeNames(cu))
         .flatMap(Set::stream)
         .collect(Collectors.toSet());
   }
 
-  // ... (findDependenciesFromImports, findDependenciesFromFields, findDependenciesFromConstructors는 이전과 동일)
+  /**
+   * 프로젝트 기본 패키지에 속하는 단일 타입 import의 FQCN 목록을 반환합니다. (static import 제외)
+   */
+  public Set<String> findImportedClasses(CompilationUnit cu) {
+    return cu.getImports().stream()
+        .filter(imp -> !imp.isStatic() && !imp.isAsterisk())
+        .map(ImportDeclaration::getNameAsString)
+        .filter(name -> name.startsWith(projectBasePackage))
+        .collect(Collectors.toSet());
+  }
 
-  private Set<String> findDependenciesFromImports(CompilationUnit cu) {
+  /**
+   * 프로젝트 기본 패키지에 속하는 와일드카드 import(import com.example.service.*)의 패키지 이름 목록을 반환합니다.
+   */
+  public Set<String> findWildcardImports(CompilationUnit cu) {
     return cu.getImports().stream()
-        .filter(imp -> !imp.isStatic())
+        .filter(imp -> !imp.isStatic() && imp.isAsterisk())
         .map(ImportDeclaration::getNameAsString)
         .filter(name -> name.startsWith(projectBasePackage))
-        .map(this::getClassNameFromFqcn)
         .collect(Collectors.toSet());
   }
 
+  /**
+   * {@link HeaderScanner}로 읽은 import 중 프로젝트 기본 패키지에 속하는 단일 타입 import의 FQCN 목록을 반환합니다.
+   */
+  public Set<String> findImportedClasses(HeaderScanner.Header header) {
+    return header.getImports().stream()
+        .filter(name -> name.startsWith(projectBasePackage))
+        .collect(Collectors.toSet());
+  }
+
+  /**
+   * {@link HeaderScanner}로 읽은 와일드카드 import 중 프로젝트 기본 패키지에 속하는 패키지 이름 목록을 반환합니다.
+   */
+  public Set<String> findWildcardImports(HeaderScanner.Header header) {
+    return header.getWildcardImports().stream()
+        .filter(name -> name.startsWith(projectBasePackage))
+        .collect(Collectors.toSet());
+  }
+
+  /**
+   * 주입 지점(@Autowired/@Inject 필드, 생성자 파라미터, Lombok 생성자 대상 필드)에 선언된 타입 이름을 반환합니다.
+   * 이름은 소스에 쓰인 그대로(단순 이름 또는 부분 한정 이름)이며, FQCN으로의 해석은 TypeResolver가 수행합니다.
+   */
+  public Set<String> findInjectedTypeNames(CompilationUnit cu) {
+    return Stream.of(findDependenciesFromFields(cu), findDependenciesFromConstructors(cu), findDependenciesFromLombok(cu))
+        .flatMap(Set::stream)
+        .collect(Collectors.toSet());
+  }
+
+  /**
+   * 테스트 클래스에서 참조하는 타입 이름을 반환합니다. 테스트는 주입 대신 직접 생성하거나 같은 패키지의 클래스를
+   * import 없이 사용하는 경우가 많으므로, 주입 지점 외에 코드에서 참조하는 모든 타입 이름을 함께 수집합니다.
+   */
+  public Set<String> findReferencedTypeNames(CompilationUnit cu) {
+    Set<String> typeNames = new HashSet<>(findInjectedTypeNames(cu));
+    cu.findAll(ClassOrInterfaceType.class).stream()
+        .map(ClassOrInterfaceType::getNameWithScope)
+        .filter(this::isKnownClass)
+        .forEach(typeNames::add);
+    // Fixtures.create()처럼 정적 멤버 호출의 대상이 되는 클래스 이름
+    cu.findAll(NameExpr.class).stream()
+        .map(NameExpr::getNameAsString)
+        .filter(name -> Character.isUpperCase(name.charAt(0)))
+        .filter(this::isKnownClass)
+        .forEach(typeNames::add);
+    return typeNames;
+  }
+
   private Set<String> findDependenciesFromFields(CompilationUnit cu) {
     Set<String> dependencies = new HashSet<>();
     cu.findAll(FieldDeclaration.class).forEach(field -> {
@@ -58,7 +132,7 @@ public class DependencyAnalyzer {
           if (fieldType.contains("<")) {
             fieldType = fieldType.substring(fieldType.indexOf('<') + 1, fieldType.indexOf('>'));
           }
-          if (knownProjectClasses.contains(fieldType)) {
+          if (isKnownClass(fieldType)) {
             dependencies.add(fieldType);
           }
         });
@@ -72,7 +146,7 @@ public class DependencyAnalyzer {
     cu.findAll(com.github.javaparser.ast.body.ConstructorDeclaration.class).forEach(constructor -> {
       for (Parameter parameter : constructor.getParameters()) {
         String paramType = parameter.getType().asString();
-        if (knownProjectClasses.contains(paramType)) {
+        if (isKnownClass(paramType)) {
           dependencies.add(paramType);
         }
       }
@@ -109,14 +183,17 @@ public class DependencyAnalyzer {
   private void addDependencyFromField(FieldDeclaration field, Set<String> dependencies) {
     field.getVariables().forEach(variable -> {
       String fieldType = variable.getType().asString();
-      if (knownProjectClasses.contains(fieldType)) {
+      if (isKnownClass(fieldType)) {
         dependencies.add(fieldType);
       }
     });
   }
 
+  private boolean isKnownClass(String typeName) {
+    return knownProjectClasses == null || knownProjectClasses.contains(typeName);
+  }
+
   private String getClassNameFromFqcn(String fqcn) {
     return fqcn.substring(fqcn.lastIndexOf('.') + 1);
   }
 }
-
@@ -1,57 +1,170 @@
 package com.pbl.quantumleap;
 
-import java.io.BufferedReader;
+import com.pbl.quantumleap.model.ChangedFile;
+import com.pbl.quantumleap.model.ChangedFile.ChangeType;
+
 import java.io.File;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * git 프로세스를 실행하여 변경 파일을 구하는 백엔드입니다. (git CLI 필요)
+ */
+public class GitChangeFinder implements ChangeSource {
 
-public class GitChangeFinder {
+  @Override
+  public List<ChangedFile> findChanges(String projectPath, String baseCommit, String headCommit, boolean mergeBase)
+      throws IOException {
+    // 분석 로그는 System.err로 출력합니다.
+    System.err.println("\n--- Git 변경점 분석 시작 (git 프로세스) ---");
+    System.err.println("Base: " + baseCommit + ", Head: " + headCommit + (mergeBase ? " (merge-base)" : ""));
+
+    // "git diff --name-status -M -z [base] [head]" 명령어를 준비합니다. merge-base 비교는 base...head 범위를 사용합니다.
+    List<String> command = new ArrayList<>(List.of("git", "diff", "--name-status", "-M", "-z"));
+    if (mergeBase) {
+      command.add(baseCommit + "..." + headCommit);
+    } else {
+      command.add(baseCommit);
+      command.add(headCommit);
+    }
+    String output = new String(run(projectPath, command, null), StandardCharsets.UTF_8);
+
+    List<ChangedFile> changes = parseNameStatus(output);
+    System.err.println("✅ " + changes.size() + "개의 변경된 파일을 찾았습니다.");
+    return changes;
+  }
+
+  @Override
+  public String findMergeBase(String projectPath, String baseCommit, String headCommit) throws IOException {
+    byte[] output = run(projectPath, List.of("git", "merge-base", baseCommit, headCommit), null);
+    return new String(output, StandardCharsets.UTF_8).strip();
+  }
 
   /**
-   * 두 Git 커밋 해시 사이에서 변경된 .java 파일 목록을 반환합니다.
-   * @param projectPath Git 저장소의 로컬 경로
-   * @param baseCommitHash 비교 기준이 될 이전 커밋 해시
-   * @param headCommitHash 최신 커밋 해시
-   * @return 변경된 .java 파일의 경로 Set (프로젝트 루트 기준)
+   * "git cat-file --batch" 프로세스 하나로 여러 파일을 읽습니다.
+   * 요청은 "커밋:경로" 한 줄씩이며, 응답은 "해시 blob 크기\n내용\n" 또는 해당 파일이 없으면 "커밋:경로 missing\n"입니다.
+   * 커밋 자체가 없어도 git은 성공으로 끝나므로, 첫 요청으로 커밋을 확인하여 빈 결과 대신 IOException을 던집니다.
    */
-  public Set<String> findChangedJavaFiles(String projectPath, String baseCommitHash, String headCommitHash) {
-    // 분석 로그는 System.err로 출력합니다.
-    System.err.println("\n--- Git 변경점 분석 시작 ---");
-    System.err.println("Base: " + baseCommitHash + ", Head: " + headCommitHash);
+  @Override
+  public Map<String, byte[]> readFiles(String projectPath, String revision, Collection<String> paths) throws IOException {
+    Map<String, byte[]> contents = new LinkedHashMap<>();
+    List<String> orderedPaths = new ArrayList<>(paths);
+    StringBuilder request = new StringBuilder(revision).append("^{commit}\n");
+    orderedPaths.forEach(path -> request.append(revision).append(':').append(path).append('\n'));
+    byte[] output = run(projectPath, List.of("git", "cat-file", "--batch"), request.toString().getBytes(StandardCharsets.UTF_8));
+
+    int lineEnd = indexOf(output, (byte) '\n', 0);
+    String[] commitFields = new String(output, 0, lineEnd, StandardCharsets.UTF_8).split(" ");
+    if (commitFields.length != 3 || !commitFields[1].equals("commit")) {
+      // shallow clone에서는 HEAD~1 같은 상위 커밋이 저장소에 없을 수 있습니다.
+      throw new IOException("커밋을 찾을 수 없습니다: " + revision
+          + " (shallow clone이라면 fetch-depth를 늘리거나 전체 이력을 가져와주세요)");
+    }
+    int position = lineEnd + 1 + Integer.parseInt(commitFields[2]) + 1;
+    for (String path : orderedPaths) {
+      lineEnd = indexOf(output, (byte) '\n', position);
+      String header = new String(output, position, lineEnd - position, StandardCharsets.UTF_8);
+      position = lineEnd + 1;
+      String[] fields = header.split(" ");
+      if (fields.length != 3 || !fields[1].equals("blob")) {
+        continue; // missing 또는 blob이 아닌 객체
+      }
+      int size = Integer.parseInt(fields[2]);
+      contents.put(path, Arrays.copyOfRange(output, position, position + size));
+      position += size + 1;
+    }
+    return contents;
+  }
 
-    // "git diff --name-only [base] [head]" 명령어를 준비합니다.
-    ProcessBuilder processBuilder = new ProcessBuilder(
-        "git", "diff", "--name-only", baseCommitHash, headCommitHash);
+  /**
+   * git 명령어를 실행하고 표준 출력을 반환합니다. 표준 입력은 출력과 동시에 별도 스레드에서 기록하여 파이프가 막히지 않게 합니다.
+   */
+  private static byte[] run(String projectPath, List<String> command, byte[] input) throws IOException {
+    ProcessBuilder processBuilder = new ProcessBuilder(command);
 
     // 명령어를 실행할 디렉토리를 지정합니다.
     processBuilder.directory(new File(projectPath));
 
+    Process process = processBuilder.start();
+    CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> {
+      try (OutputStream stdin = process.getOutputStream()) {
+        if (input != null) {
+          stdin.write(input);
+        }
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    });
+    CompletableFuture<byte[]> errorReader = CompletableFuture.supplyAsync(() -> {
+      try {
+        return process.getErrorStream().readAllBytes();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    });
+    byte[] output;
+    int exitCode;
     try {
-      Process process = processBuilder.start();
       // 명령어 실행 결과를 읽어옵니다.
-      try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+      output = process.getInputStream().readAllBytes();
+      exitCode = process.waitFor(); // 명령어가 끝날 때까지 대기
+      writer.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt(); // InterruptedException 발생 시 스레드 인터럽트 상태 복원
+      throw new IOException("Git 명령어 실행이 중단되었습니다: " + String.join(" ", command), e);
+    } catch (CompletionException e) {
+      throw new IOException("Git 명령어에 입력을 전달하지 못했습니다: " + String.join(" ", command), e.getCause());
+    }
+    if (exitCode != 0) {
+      // shallow clone에서 기준 커밋이 없으면 여기서 실패합니다. 빈 결과로 넘어가지 않고 원인을 알립니다.
+      String errorOutput = new String(errorReader.join(), StandardCharsets.UTF_8).strip();
+      throw new IOException("Git 명령어(" + command.get(1) + ") 실행 중 오류가 발생했습니다. Exit code: " + exitCode + " " + errorOutput);
+    }
+    return output;
+  }
 
-        Set<String> changedFiles = reader.lines()
-            .filter(line -> line.endsWith(".java")) // .java 파일만 필터링
-            .collect(Collectors.toSet());
+  private static int indexOf(byte[] bytes, byte value, int from) {
+    for (int i = from; i < bytes.length; i++) {
+      if (bytes[i] == value) {
+        return i;
+      }
+    }
+    return bytes.length;
+  }
 
-        int exitCode = process.waitFor(); // 명령어가 끝날 때까지 대기
-        if (exitCode != 0) {
-          System.err.println("Git diff 명령어 실행 중 오류가 발생했습니다. Exit code: " + exitCode);
-          return Set.of();
+  /**
+   * "--name-status -z" 출력(상태\0경로\0, 이름 변경은 상태\0이전 경로\0새 경로\0)을 변경 파일 목록으로 변환합니다.
+   */
+  private static List<ChangedFile> parseNameStatus(String output) {
+    List<ChangedFile> changes = new ArrayList<>();
+    String[] tokens = output.split("\0");
+    int i = 0;
+    while (i < tokens.length && !tokens[i].isEmpty()) {
+      char status = tokens[i++].charAt(0);
+      switch (status) {
+        case 'A' -> changes.add(new ChangedFile(ChangeType.ADDED, tokens[i++], null));
+        case 'D' -> changes.add(new ChangedFile(ChangeType.DELETED, tokens[i++], null));
+        case 'R' -> {
+          String oldPath = tokens[i++];
+          changes.add(new ChangedFile(ChangeType.RENAMED, tokens[i++], oldPath));
         }
-
-        System.err.println("✅ " + changedFiles.size() + "개의 변경된 Java 파일을 찾았습니다.");
-        return changedFiles;
-
+        case 'C' -> {
+          i++; // 복사 원본은 바뀌지 않았으므로 새 경로만 추가로 취급합니다.
+          changes.add(new ChangedFile(ChangeType.ADDED, tokens[i++], null));
+        }
+        default -> changes.add(new ChangedFile(ChangeType.MODIFIED, tokens[i++], null)); // M, T 등
       }
-    } catch (IOException | InterruptedException e) {
-      System.err.println("Git 변경점 분석 중 예외가 발생했습니다: " + e.getMessage());
-      Thread.currentThread().interrupt(); // InterruptedException 발생 시 스레드 인터럽트 상태 복원
-      return Set.of();
     }
+    return changes;
   }
 }
-
@@ -1,23 +1,52 @@
 package com.pbl.quantumleap;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
-import com.fasterxml.jackson.databind.node.ObjectNode;
-import com.pbl.quantumleap.model.DependencyGraph;
-import com.pbl.quantumleap.model.DependencyGraph.ClassNode;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.CharacterEscapes;
+import com.pbl.quantumleap.model.CompactGraph;
 
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.List;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+/**
+ * 인터랙티브 HTML 리포트를 파일에 바로 스트리밍하여 씁니다.
+ * 리포트 전체를 메모리에 만들지 않으므로, 그래프 자체를 제외한 추가 메모리는 그래프 크기와 관계없이 버퍼 크기 정도입니다.
+ * 리포트는 임시 파일에 쓴 뒤 옮기므로, 쓰는 도중 실패해도 이전 리포트가 깨지지 않습니다.
+ * <p>
+ * 전체 탐색 뷰의 데이터는 HTML에 넣지 않고 data 디렉토리에 나누어 씁니다.
+ * <ul>
+ *   <li>data/index.js: 검색 색인. 패키지 목록과 클래스별 (패키지 안 이름, 패키지 번호, shard 번호). 탐색 뷰를 처음 열 때 읽습니다.</li>
+ *   <li>data/shards/&lt;shard 번호&gt;.js: 패키지 하나(큰 패키지는 그 일부)에 속한 클래스들의 상위/하위 의존성(클래스 번호).
+ *   클래스를 펼칠 때 읽습니다.</li>
+ * </ul>
+ * 클래스 번호는 그래프의 노드 ID(이름순)와 같습니다. file://로 연 리포트에서는 fetch를 쓸 수 없으므로,
+ * 데이터 파일은 JSON을 QL.index(...) / QL.shard(...) 호출로 감싼 스크립트로 쓰고 script 태그로 불러옵니다.
+ */
 public class GraphVisualizer {
 
+  private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+  private static final int MAX_SHARD_CLASSES = 2000;
+  private static final int SHARD_BUFFER_SIZE = 8 * 1024; // shard는 패키지 하나 분량이라 작고 수가 많습니다.
+
+  private final JsonFactory jsonFactory = new JsonFactory()
+      .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+      .setCharacterEscapes(new HtmlSafeEscapes());
+
   /**
    * 변경점 분석과 전체 클래스 탐색 기능을 모두 포함하는 통합 인터랙티브 HTML 리포트를 생성합니다.
    * @param graph 분석된 의존성 그래프
@@ -25,14 +54,48 @@ public class GraphVisualizer {
    * @param impactSet 영향을 받는 모든 클래스 이름 Set
    * @param outputDir HTML 파일이 저장될 디렉토리
    */
-  public void generateInteractiveReport(DependencyGraph graph, Set<String> changedClasses, Set<String> impactSet, String aiAnalysisResult, String outputDir) {
-    String graphJson = graphToJson(graph);
-    StringBuilder htmlContent = new StringBuilder();
+  public void generateInteractiveReport(CompactGraph graph, Set<String> changedClasses, Set<String> impactSet, String aiAnalysisResult, String outputDir) {
+    Path outputPath = Paths.get(outputDir, "interactive-report.html");
+    Path tempPath = null;
+    try {
+      Files.createDirectories(outputPath.getParent());
+      boolean[] impacted = graph.maskOf(impactSet);
+      int shardCount = writeExplorerData(outputPath.resolveSibling("data"), graph, changedClasses, impacted);
+      tempPath = Files.createTempFile(outputPath.getParent(), "interactive-report", ".tmp");
+      try (Writer out = openWriter(tempPath)) {
+        writeReport(out, graph, changedClasses, impacted, aiAnalysisResult);
+      }
+      Files.move(tempPath, outputPath, StandardCopyOption.REPLACE_EXISTING);
+      System.err.println("✅ 통합 인터랙티브 리포트 HTML 파일이 생성되었습니다: " + outputPath
+          + " (탐색 데이터: 클래스 " + graph.nodeCount() + "개, shard " + shardCount + "개)");
+    } catch (IOException e) {
+      System.err.println("❌ HTML 파일 생성 중 오류가 발생했습니다: " + e.getMessage());
+      if (tempPath != null) {
+        try {
+          Files.deleteIfExists(tempPath);
+        } catch (IOException ignored) {
+          // 임시 파일 삭제 실패는 무시합니다.
+        }
+      }
+    }
+  }
+
+  private static Writer openWriter(Path path) throws IOException {
+    return openWriter(path, WRITE_BUFFER_SIZE);
+  }
 
-    htmlContent.append(generateHtmlHeader());
+  private static Writer openWriter(Path path, int bufferSize) throws IOException {
+    FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+        StandardOpenOption.TRUNCATE_EXISTING);
+    return new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8), bufferSize);
+  }
+
+  private void writeReport(Writer out, CompactGraph graph, Set<String> changedClasses, boolean[] impacted,
+      String aiAnalysisResult) throws IOException {
+    out.write(generateHtmlHeader());
 
     // 탭 UI 구조 생성
-    htmlContent.append("""
+    out.write("""
             <div class="tabs">
                 <button id="impact-tab-btn" class="tab-button active">영향 분석 뷰</button>
                 <button id="explorer-tab-btn" class="tab-button">전체 탐색 뷰</button>
@@ -41,106 +104,276 @@ public class GraphVisualizer {
         """);
 
     // 탭 1: 영향 분석 뷰
-    htmlContent.append("<div id=\"impact-view\" class=\"tab-content\" style=\"display:block;\">");
+    out.write("<div id=\"impact-view\" class=\"tab-content\" style=\"display:block;\">");
     if (changedClasses.isEmpty()) {
-      htmlContent.append("<p class=\"initial-message\">분석할 변경점이 없습니다.</p>");
+      out.write("<p class=\"initial-message\">분석할 변경점이 없습니다.</p>");
     } else {
+      ImpactTreeWriter treeWriter = new ImpactTreeWriter(graph, impacted);
       for (String className : changedClasses) {
-        ClassNode startNode = graph.getNode(className);
-        if (startNode != null) {
-          htmlContent.append("<h2><i class=\"fas fa-file-code\"></i> 변경된 클래스: ").append(className).append("</h2>");
-          htmlContent.append("<div class=\"tree\"><ul>");
-          htmlContent.append(buildTreeHtmlForImpact(startNode, impactSet, new HashSet<>()));
-          htmlContent.append("</ul></div>");
+        int startId = graph.idOf(className);
+        if (startId >= 0) {
+          out.write("<h2><i class=\"fas fa-file-code\"></i> 변경된 클래스: ");
+          out.write(className);
+          out.write("</h2>");
+          out.write("<div class=\"tree\"><ul>");
+          treeWriter.write(out, startId);
+          out.write("</ul></div>");
         }
       }
     }
-    htmlContent.append("</div>");
+    out.write("</div>");
 
-    // 탭 2: 전체 탐색 뷰
-    htmlContent.append("<div id=\"explorer-view\" class=\"tab-content\">");
-    htmlContent.append("""
-            <div class="controls">
-               <label for="classSelector"><b>클래스 탐색기:</b> </label>
-               <select id="classSelector">
-                   <option value="">-- 클래스를 선택하여 전체 연관 관계를 확인하세요 --</option>
-        """);
-    List<String> classNames = new ArrayList<>(graph.getNodes().keySet());
-    classNames.sort(String.CASE_INSENSITIVE_ORDER);
-    for (String className : classNames) {
-      htmlContent.append("<option value=\"").append(className).append("\">").append(className).append("</option>");
-    }
-    htmlContent.append("""
-               </select>
-            </div>
-            <div id="explorer-tree-container">
-                <p class="initial-message">클래스를 선택하여 연관 관계를 확인하세요.</p>
+    // 탭 2: 전체 탐색 뷰 (데이터는 탭을 열 때 data 디렉토리에서 읽습니다)
+    out.write("""
+            <div id="explorer-view" class="tab-content">
+                <div class="explorer">
+                    <div class="explorer-sidebar">
+                        <input id="class-search" type="search" placeholder="클래스 이름 검색 (예: OrderService, order.service)" autocomplete="off" disabled>
+                        <div id="class-count" class="class-count">클래스 목록을 불러오는 중...</div>
+                        <div id="class-list" class="class-list"><div id="class-list-spacer"></div><div id="class-list-rows"></div></div>
+                    </div>
+                    <div id="explorer-tree-container" class="explorer-detail">
+                        <p class="initial-message">클래스를 선택하여 연관 관계를 확인하세요.</p>
+                    </div>
+                </div>
             </div>
         """);
-    htmlContent.append("</div>");
     // 탭 3: AI 분석 뷰
-    htmlContent.append("<div id=\"ai-view\" class=\"tab-content\">");
-    htmlContent.append("<h2><i class=\"fas fa-brain\"></i> AI 아키텍처 건전성 분석 (GPT-4)</h2>");
+    out.write("<div id=\"ai-view\" class=\"tab-content\">");
+    out.write("<h2><i class=\"fas fa-brain\"></i> AI 아키텍처 건전성 분석 (GPT-4)</h2>");
 
     String safeAiResult = aiAnalysisResult
         .replace("<", "&lt;")
         .replace(">", "&gt;");
-    htmlContent.append("<pre class=\"ai-report\">").append(safeAiResult).append("</pre>");
-    htmlContent.append("</div>");
+    out.write("<pre class=\"ai-report\">");
+    out.write(safeAiResult);
+    out.write("</pre>");
+    out.write("</div>");
 
-    htmlContent.append(generateHtmlFooter(graphJson));
+    out.write(generateHtmlFooter());
+  }
 
-    try {
-      Path outputPath = Paths.get(outputDir, "interactive-report.html");
-      Files.createDirectories(outputPath.getParent());
-      Files.writeString(outputPath, htmlContent.toString());
-      System.err.println("✅ 통합 인터랙티브 리포트 HTML 파일이 생성되었습니다: " + outputPath);
-    } catch (IOException e) {
-      System.err.println("❌ HTML 파일 생성 중 오류가 발생했습니다: " + e.getMessage());
+  /**
+   * 변경된 클래스에서 영향받은 클래스를 따라가는 트리를 씁니다.
+   * 깊은 의존 체인에서도 스택이 넘치지 않도록 명시적 스택으로 깊이 우선 탐색하며, 재귀 버전과 같은 순서로 씁니다.
+   * 스택은 노드 수 크기로 한 번만 만들어 모든 트리에서 재사용합니다.
+   */
+  private static class ImpactTreeWriter {
+    private final CompactGraph graph;
+    private final boolean[] impacted;
+    private final int[] stackNodes;
+    private final int[] stackNext; // 다음에 확인할 dependent 인덱스
+    private final boolean[] stackOpenList; // 자식 목록(<ul>)을 열었는지
+
+    ImpactTreeWriter(CompactGraph graph, boolean[] impacted) {
+      this.graph = graph;
+      this.impacted = impacted;
+      this.stackNodes = new int[graph.nodeCount()];
+      this.stackNext = new int[graph.nodeCount()];
+      this.stackOpenList = new boolean[graph.nodeCount()];
     }
-  }
 
-  private String buildTreeHtmlForImpact(ClassNode node, Set<String> impactSet, Set<ClassNode> visited) {
-    if (node == null || visited.contains(node)) return "";
-    visited.add(node);
-    StringBuilder sb = new StringBuilder();
-    sb.append("<li><span class=\"impacted\">").append(node.getName()).append("</span>");
-    Set<ClassNode> dependentsToRender = node.getDependents().stream()
-        .filter(d -> impactSet.contains(d.getName()))
-        .collect(Collectors.toSet());
-    if (!dependentsToRender.isEmpty()) {
-      sb.append("<ul>");
-      dependentsToRender.forEach(d -> sb.append(buildTreeHtmlForImpact(d, impactSet, visited)));
-      sb.append("</ul>");
-    }
-    sb.append("</li>");
-    return sb.toString();
+    void write(Writer out, int startId) throws IOException {
+      boolean[] visited = new boolean[graph.nodeCount()];
+      int depth = enter(out, startId, visited, 0);
+      while (depth > 0) {
+        int top = depth - 1;
+        int id = stackNodes[top];
+        int child = -1;
+        while (stackNext[top] < graph.dependentCount(id)) {
+          int dependent = graph.dependentAt(id, stackNext[top]++);
+          if (impacted[dependent] && !visited[dependent]) {
+            child = dependent;
+            break;
+          }
+        }
+        if (child >= 0) {
+          depth = enter(out, child, visited, depth);
+        } else {
+          if (stackOpenList[top]) {
+            out.write("</ul>");
+          }
+          out.write("</li>");
+          depth--;
+        }
+      }
+    }
+
+    private int enter(Writer out, int id, boolean[] visited, int depth) throws IOException {
+      visited[id] = true;
+      out.write("<li><span class=\"impacted\">");
+      out.write(graph.name(id));
+      out.write("</span>");
+      boolean hasImpactedDependent = false;
+      for (int k = 0; k < graph.dependentCount(id) && !hasImpactedDependent; k++) {
+        hasImpactedDependent = impacted[graph.dependentAt(id, k)];
+      }
+      if (hasImpactedDependent) {
+        out.write("<ul>");
+      }
+      stackNodes[depth] = id;
+      stackNext[depth] = 0;
+      stackOpenList[depth] = hasImpactedDependent;
+      return depth + 1;
+    }
   }
 
   /**
-   * DependencyGraph를 상위/하위 의존성 관계를 모두 포함하는 JSON으로 변환합니다.
+   * 전체 탐색 뷰의 데이터(검색 색인과 패키지별 shard)를 씁니다. 이전 리포트의 데이터는 지우고 새로 씁니다.
+   * @return shard 수
    */
-  private String graphToJson(DependencyGraph graph) {
-    ObjectMapper mapper = new ObjectMapper();
-    ObjectNode rootNode = mapper.createObjectNode();
-    for (ClassNode node : graph.getNodes().values()) {
-      ObjectNode classInfo = mapper.createObjectNode();
+  private int writeExplorerData(Path dataDir, CompactGraph graph, Set<String> changedClasses, boolean[] impacted)
+      throws IOException {
+    deleteRecursively(dataDir);
+    Path shardDir = Files.createDirectories(dataDir.resolve("shards"));
+    int nodeCount = graph.nodeCount();
+
+    // 패키지 번호는 처음 나온 순서(= 이름순)로 매깁니다.
+    Map<String, Integer> packageIndex = new LinkedHashMap<>();
+    int[] packageOf = new int[nodeCount];
+    for (int id = 0; id < nodeCount; id++) {
+      packageOf[id] = packageIndex.computeIfAbsent(packageOf(graph, id), packageName -> packageIndex.size());
+    }
+    // 패키지마다 shard 하나. 클래스가 MAX_SHARD_CLASSES개를 넘는 패키지는 여러 shard로 나눕니다.
+    int[] packageSize = new int[packageIndex.size()];
+    for (int id = 0; id < nodeCount; id++) {
+      packageSize[packageOf[id]]++;
+    }
+    int[] firstShardOfPackage = new int[packageIndex.size()];
+    int shardCount = 0;
+    for (int packageId = 0; packageId < packageSize.length; packageId++) {
+      firstShardOfPackage[packageId] = shardCount;
+      shardCount += (packageSize[packageId] + MAX_SHARD_CLASSES - 1) / MAX_SHARD_CLASSES;
+    }
+    int[] shardOf = new int[nodeCount];
+    int[] seenInPackage = new int[packageSize.length];
+    for (int id = 0; id < nodeCount; id++) {
+      shardOf[id] = firstShardOfPackage[packageOf[id]] + seenInPackage[packageOf[id]]++ / MAX_SHARD_CLASSES;
+    }
+    // shard별 클래스 ID 목록 (CSR)
+    int[] shardStart = new int[shardCount + 1];
+    for (int id = 0; id < nodeCount; id++) {
+      shardStart[shardOf[id] + 1]++;
+    }
+    for (int shard = 0; shard < shardCount; shard++) {
+      shardStart[shard + 1] += shardStart[shard];
+    }
+    int[] shardMembers = new int[nodeCount];
+    int[] fill = shardStart.clone();
+    for (int id = 0; id < nodeCount; id++) {
+      shardMembers[fill[shardOf[id]]++] = id;
+    }
+
+    try (Writer out = openWriter(dataDir.resolve("index.js"))) {
+      out.write("QL.index(");
+      try (JsonGenerator json = jsonFactory.createGenerator(out)) {
+        json.writeStartObject();
+        json.writeArrayFieldStart("packages");
+        for (String packageName : packageIndex.keySet()) {
+          json.writeString(packageName);
+        }
+        json.writeEndArray();
+        json.writeArrayFieldStart("names"); // 패키지를 뺀 이름 (중첩 클래스는 Outer.Inner)
+        for (int id = 0; id < nodeCount; id++) {
+          String packageName = packageOf(graph, id);
+          json.writeString(packageName.isEmpty() ? graph.name(id) : graph.name(id).substring(packageName.length() + 1));
+        }
+        json.writeEndArray();
+        json.writeFieldName("package");
+        json.writeArray(packageOf, 0, nodeCount);
+        json.writeFieldName("shards");
+        json.writeArray(shardOf, 0, nodeCount);
+        json.writeArrayFieldStart("changed");
+        for (String className : changedClasses) {
+          int id = graph.idOf(className);
+          if (id >= 0) {
+            json.writeNumber(id);
+          }
+        }
+        json.writeEndArray();
+        json.writeArrayFieldStart("impacted");
+        for (int id = 0; id < nodeCount; id++) {
+          if (impacted[id]) {
+            json.writeNumber(id);
+          }
+        }
+        json.writeEndArray();
+        json.writeEndObject();
+      }
+      out.write(");\n");
+    }
+
+    for (int shard = 0; shard < shardCount; shard++) {
+      try (Writer out = openWriter(shardDir.resolve(shard + ".js"), SHARD_BUFFER_SIZE)) {
+        out.write("QL.shard(" + shard + ",");
+        try (JsonGenerator json = jsonFactory.createGenerator(out)) {
+          json.writeStartObject();
+          json.writeFieldName("ids");
+          json.writeArray(shardMembers, shardStart[shard], shardStart[shard + 1] - shardStart[shard]);
+          json.writeArrayFieldStart("dependencies"); // 하위 구조
+          for (int k = shardStart[shard]; k < shardStart[shard + 1]; k++) {
+            int id = shardMembers[k];
+            json.writeStartArray();
+            for (int i = 0; i < graph.dependencyCount(id); i++) {
+              json.writeNumber(graph.dependencyAt(id, i));
+            }
+            json.writeEndArray();
+          }
+          json.writeEndArray();
+          json.writeArrayFieldStart("dependents"); // 상위 구조
+          for (int k = shardStart[shard]; k < shardStart[shard + 1]; k++) {
+            int id = shardMembers[k];
+            json.writeStartArray();
+            for (int i = 0; i < graph.dependentCount(id); i++) {
+              json.writeNumber(graph.dependentAt(id, i));
+            }
+            json.writeEndArray();
+          }
+          json.writeEndArray();
+          json.writeEndObject();
+        }
+        out.write(");\n");
+      }
+    }
+    return shardCount;
+  }
 
-      ArrayNode dependencies = mapper.createArrayNode();
-      node.getDependencies().stream().map(ClassNode::getName).sorted().forEach(dependencies::add);
+  private static String packageOf(CompactGraph graph, int id) {
+    String packageName = graph.packageName(id);
+    return packageName == null || !graph.name(id).startsWith(packageName + ".") ? "" : packageName;
+  }
 
-      ArrayNode dependents = mapper.createArrayNode();
-      node.getDependents().stream().map(ClassNode::getName).sorted().forEach(dependents::add);
+  private static void deleteRecursively(Path dir) throws IOException {
+    if (!Files.exists(dir)) {
+      return;
+    }
+    try (Stream<Path> paths = Files.walk(dir)) {
+      for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+        Files.delete(path);
+      }
+    }
+  }
 
-      classInfo.set("dependencies", dependencies); // 하위 구조
-      classInfo.set("dependents", dependents);     // 상위 구조
+  /**
+   * 데이터 파일의 문자열이 HTML로 끼워 넣어지더라도 태그로 해석되지 않도록 '<', '>', '&'를 유니코드 이스케이프로 씁니다.
+   */
+  private static class HtmlSafeEscapes extends CharacterEscapes {
+    private final int[] asciiEscapes = standardAsciiEscapesForJSON();
 
-      rootNode.set(node.getName(), classInfo);
+    HtmlSafeEscapes() {
+      asciiEscapes['<'] = ESCAPE_STANDARD;
+      asciiEscapes['>'] = ESCAPE_STANDARD;
+      asciiEscapes['&'] = ESCAPE_STANDARD;
     }
-    try {
-      return mapper.writeValueAsString(rootNode);
-    } catch (IOException e) {
-      return "{}";
+
+    @Override
+    public int[] getEscapeCodesForAscii() {
+      return asciiEscapes;
+    }
+
+    @Override
+    public SerializableString getEscapeSequence(int ch) {
+      return null;
     }
   }
 
@@ -156,8 +389,20 @@ public class GraphVisualizer {
                    .tab-button { background-color: transparent; border: none; padding: 10px 15px; cursor: pointer; font-size: 16px; font-weight: 600; color: #6b7280; }
                    .tab-button.active { color: #4f46e5; border-bottom: 2px solid #4f46e5; }
                    .tab-content { display: none; }
-                   .controls { margin-bottom: 20px; }
-                   #classSelector { padding: 8px; border-radius: 4px; border: 1px solid #d1d5db; min-width: 300px; }
+                   .explorer { display: flex; gap: 20px; align-items: flex-start; }
+                   .explorer-sidebar { width: 420px; flex-shrink: 0; }
+                   .explorer-detail { flex: 1; min-width: 0; }
+                   #class-search { width: 100%; box-sizing: border-box; padding: 8px; border-radius: 4px; border: 1px solid #d1d5db; }
+                   .class-count { color: #6b7280; font-size: 13px; margin: 6px 0; }
+                   .class-list { height: 70vh; overflow-y: auto; position: relative; border: 1px solid #e5e7eb; border-radius: 4px; background-color: #ffffff; }
+                   #class-list-rows { position: absolute; top: 0; left: 0; right: 0; }
+                   .class-row { height: 24px; line-height: 24px; padding: 0 8px; white-space: nowrap; overflow: hidden; text-overflow: ellipsis; cursor: pointer; font-size: 13px; }
+                   .class-row:hover { background-color: #f3f4f6; }
+                   .class-row.impacted { font-weight: bold; color: #b45309; }
+                   .class-row.selected { background-color: #e0e7ff; }
+                   .tree span.expandable { cursor: pointer; }
+                   .tree .caret { display: inline-block; width: 1em; color: #6b7280; }
+                   .more-button { background-color: transparent; border: 1px dashed #9ca3af; border-radius: 4px; padding: 4px 8px; cursor: pointer; color: #4b5563; }
                    .tree ul { padding-left: 20px; position: relative; } .tree li { list-style-type: none; position: relative; padding: 5px 0 5px 25px; }
                    .tree li::before, .tree li::after { content: ''; position: absolute; left: 0; }
                    .tree li::before { border-left: 1px solid #d1d5db; height: 100%; width: 1px; top: -12px; }
@@ -183,12 +428,65 @@ public class GraphVisualizer {
                """;
   }
 
-  private String generateHtmlFooter(String graphJson) {
-    return String.format("""
-            <!-- Data Island for JSON data -->
-            <script id="graph-data" type="application/json">%s</script>
-        
+  private String generateHtmlFooter() {
+    return """
             <script>
+                // --- 데이터 로딩 ---
+                // 검색 색인(data/index.js)과 패키지별 shard(data/shards/N.js)를 필요할 때 script 태그로 불러옵니다.
+                // 각 파일은 QL.index(...) / QL.shard(...)를 호출합니다. (file://로 연 리포트에서는 fetch를 쓸 수 없습니다)
+                const QL = (() => {
+                    let index = null;
+                    const indexCallbacks = [];
+                    const shards = new Map();
+                    const shardCallbacks = new Map();
+
+                    function loadScript(src) {
+                        const script = document.createElement('script');
+                        script.src = src;
+                        script.onerror = () => showDataError(src);
+                        document.head.appendChild(script);
+                    }
+
+                    return {
+                        index(data) {
+                            const names = data.names.map((name, id) => {
+                                const packageName = data.packages[data.package[id]];
+                                return packageName ? packageName + '.' + name : name;
+                            });
+                            index = {
+                                names,
+                                keys: names.map(name => name.toLowerCase()),
+                                shards: data.shards,
+                                changed: new Set(data.changed),
+                                impacted: new Set(data.impacted)
+                            };
+                            indexCallbacks.splice(0).forEach(callback => callback(index));
+                        },
+                        shard(shard, data) {
+                            const nodes = new Map();
+                            data.ids.forEach((id, i) => nodes.set(id, { dependencies: data.dependencies[i], dependents: data.dependents[i] }));
+                            shards.set(shard, nodes);
+                            const callbacks = shardCallbacks.get(shard) || [];
+                            shardCallbacks.delete(shard);
+                            callbacks.forEach(callback => callback(nodes));
+                        },
+                        loadIndex(callback) {
+                            if (index) { callback(index); return; }
+                            indexCallbacks.push(callback);
+                            if (indexCallbacks.length === 1) loadScript('data/index.js');
+                        },
+                        loadNode(id, callback) {
+                            const shard = index.shards[id];
+                            if (shards.has(shard)) { callback(shards.get(shard).get(id)); return; }
+                            if (!shardCallbacks.has(shard)) {
+                                shardCallbacks.set(shard, []);
+                                loadScript('data/shards/' + shard + '.js');
+                            }
+                            shardCallbacks.get(shard).push(nodes => callback(nodes.get(id)));
+                        }
+                    };
+                })();
+
                 // --- Functions ---
                 function openTab(evt, tabName) {
                     let i, tabcontent, tablinks;
@@ -199,52 +497,170 @@ public class GraphVisualizer {
                     document.getElementById(tabName).style.display = "block";
                     evt.currentTarget.className += " active";
                 }
-        
-                function buildJsTree(nodes, graphData) {
-                    if (!nodes || nodes.length === 0) return '<ul><li><span class="base">없음</span></li></ul>';
-                    let html = '<ul>';
-                    for (const nodeName of nodes) {
-                        html += `<li><span class="base">${nodeName}</span>`;
-                        html += '</li>';
+
+                function escapeHtml(text) {
+                    return text.replace(/[&<>"]/g, ch => ({ '&': '&amp;', '<': '&lt;', '>': '&gt;', '"': '&quot;' })[ch]);
+                }
+
+                function showDataError(src) {
+                    document.getElementById('explorer-tree-container').innerHTML =
+                        `<p class="initial-message">탐색 데이터(${escapeHtml(src)})를 읽지 못했습니다. 리포트 HTML과 같은 위치의 data 디렉토리가 필요합니다.</p>`;
+                }
+
+                // --- 클래스 목록 (가상 스크롤: 보이는 행만 그립니다) ---
+                const ROW_HEIGHT = 24;
+                const OVERSCAN_ROWS = 10;
+                const PAGE_SIZE = 200; // 트리에서 한 번에 펼치는 자식 수
+                let explorerIndex = null;
+                let matches = new Int32Array(0);
+                let selectedId = -1;
+
+                function filterClasses(query) {
+                    const keyword = query.trim().toLowerCase();
+                    const keys = explorerIndex.keys;
+                    if (!keyword) {
+                        matches = Int32Array.from(keys.keys());
+                    } else {
+                        const found = [];
+                        for (let id = 0; id < keys.length; id++) {
+                            if (keys[id].includes(keyword)) found.push(id);
+                        }
+                        matches = Int32Array.from(found);
+                    }
+                    document.getElementById('class-count').textContent =
+                        `${matches.length.toLocaleString()}개 클래스 (전체 ${keys.length.toLocaleString()}개)`;
+                    document.getElementById('class-list-spacer').style.height = (matches.length * ROW_HEIGHT) + 'px';
+                    document.getElementById('class-list').scrollTop = 0;
+                    renderRows();
+                }
+
+                function renderRows() {
+                    const list = document.getElementById('class-list');
+                    const first = Math.max(0, Math.floor(list.scrollTop / ROW_HEIGHT) - OVERSCAN_ROWS);
+                    const last = Math.min(matches.length, Math.ceil((list.scrollTop + list.clientHeight) / ROW_HEIGHT) + OVERSCAN_ROWS);
+                    let html = '';
+                    for (let i = first; i < last; i++) {
+                        const id = matches[i];
+                        let className = 'class-row';
+                        if (explorerIndex.impacted.has(id)) className += ' impacted';
+                        if (id === selectedId) className += ' selected';
+                        const name = escapeHtml(explorerIndex.names[id]);
+                        html += `<div class="${className}" data-id="${id}" title="${name}">${name}</div>`;
+                    }
+                    const rows = document.getElementById('class-list-rows');
+                    rows.style.transform = `translateY(${first * ROW_HEIGHT}px)`;
+                    rows.innerHTML = html;
+                }
+
+                // --- 연관 관계 트리 (펼칠 때 해당 클래스의 shard를 불러옵니다) ---
+                function selectClass(id) {
+                    selectedId = id;
+                    renderRows();
+                    const spanClass = explorerIndex.impacted.has(id) ? 'impacted' : 'base';
+                    document.getElementById('explorer-tree-container').innerHTML = `
+                        <h2><i class="fas fa-search"></i> 탐색된 클래스: <span class="${spanClass}">${escapeHtml(explorerIndex.names[id])}</span></h2>
+                        <h3 style="margin-top: 1rem;"><i class="fas fa-arrow-up" style="color: #6366f1;"></i> 상위 구조 (이 클래스를 사용하는 클래스)</h3>
+                        <div class="tree"><ul id="dependents-tree"><li><span class="base">불러오는 중...</span></li></ul></div>
+                        <h3 style="margin-top: 1rem;"><i class="fas fa-arrow-down" style="color: #f43f5e;"></i> 하위 구조 (이 클래스가 사용하는 클래스)</h3>
+                        <div class="tree"><ul id="dependencies-tree"><li><span class="base">불러오는 중...</span></li></ul></div>
+                    `;
+                    QL.loadNode(id, node => {
+                        if (selectedId !== id) return;
+                        renderChildren(document.getElementById('dependents-tree'), node.dependents, 'dependents', [id], 0);
+                        renderChildren(document.getElementById('dependencies-tree'), node.dependencies, 'dependencies', [id], 0);
+                    });
+                }
+
+                function renderChildren(ul, ids, direction, path, start) {
+                    if (start === 0) ul.innerHTML = '';
+                    if (ids.length === 0) {
+                        ul.innerHTML = '<li><span class="base">없음</span></li>';
+                        return;
+                    }
+                    const end = Math.min(ids.length, start + PAGE_SIZE);
+                    const fragment = document.createDocumentFragment();
+                    for (let i = start; i < end; i++) fragment.appendChild(createTreeItem(ids[i], direction, path));
+                    if (end < ids.length) {
+                        const more = document.createElement('li');
+                        const button = document.createElement('button');
+                        button.className = 'more-button';
+                        button.textContent = `${(ids.length - end).toLocaleString()}개 더 보기`;
+                        button.addEventListener('click', () => {
+                            more.remove();
+                            renderChildren(ul, ids, direction, path, end);
+                        });
+                        more.appendChild(button);
+                        fragment.appendChild(more);
                     }
-                    html += '</ul>';
-                    return html;
+                    ul.appendChild(fragment);
                 }
-        
+
+                function createTreeItem(id, direction, path) {
+                    const li = document.createElement('li');
+                    const label = document.createElement('span');
+                    label.className = explorerIndex.impacted.has(id) ? 'impacted' : 'base';
+                    const name = explorerIndex.names[id];
+                    if (path.includes(id)) {
+                        label.textContent = name + ' (순환)';
+                        li.appendChild(label);
+                        return li;
+                    }
+                    label.classList.add('expandable');
+                    label.innerHTML = `<span class="caret">▸</span>${escapeHtml(name)}`;
+                    let children = null;
+                    label.addEventListener('click', () => {
+                        if (children) {
+                            children.remove();
+                            children = null;
+                            label.firstChild.textContent = '▸';
+                            return;
+                        }
+                        children = document.createElement('ul');
+                        children.innerHTML = '<li><span class="base">불러오는 중...</span></li>';
+                        li.appendChild(children);
+                        label.firstChild.textContent = '▾';
+                        const opened = children;
+                        QL.loadNode(id, node => {
+                            if (children === opened) renderChildren(opened, node[direction], direction, path.concat(id), 0);
+                        });
+                    });
+                    li.appendChild(label);
+                    return li;
+                }
+
+                function initExplorer() {
+                    if (explorerIndex) return;
+                    QL.loadIndex(index => {
+                        if (explorerIndex) return;
+                        explorerIndex = index;
+                        const search = document.getElementById('class-search');
+                        let timer = 0;
+                        search.disabled = false;
+                        search.addEventListener('input', () => {
+                            clearTimeout(timer);
+                            timer = setTimeout(() => filterClasses(search.value), 120);
+                        });
+                        let frame = 0;
+                        document.getElementById('class-list').addEventListener('scroll', () => {
+                            if (!frame) frame = requestAnimationFrame(() => { frame = 0; renderRows(); });
+                        });
+                        document.getElementById('class-list-rows').addEventListener('click', (event) => {
+                            const row = event.target.closest('.class-row');
+                            if (row) selectClass(Number(row.dataset.id));
+                        });
+                        filterClasses(search.value);
+                        search.focus();
+                    });
+                }
+
                 // --- Event Listeners ---
                 document.addEventListener('DOMContentLoaded', function() {
-                    const graphData = JSON.parse(document.getElementById('graph-data').textContent);
-        
                     document.getElementById('impact-tab-btn').addEventListener('click', (e) => openTab(e, 'impact-view'));
-                    document.getElementById('explorer-tab-btn').addEventListener('click', (e) => openTab(e, 'explorer-view'));
+                    document.getElementById('explorer-tab-btn').addEventListener('click', (e) => { openTab(e, 'explorer-view'); initExplorer(); });
                     document.getElementById('ai-tab-btn').addEventListener('click', (e) => openTab(e, 'ai-view'));
-        
-                    const selector = document.getElementById('classSelector');
-                    selector.addEventListener('change', (event) => {
-                        const selectedClass = event.target.value;
-                        const container = document.getElementById('explorer-tree-container');
-        
-                        if (selectedClass && graphData[selectedClass]) {
-                            const classInfo = graphData[selectedClass];
-                            const dependentsTree = buildJsTree(classInfo.dependents, graphData);
-                            const dependenciesTree = buildJsTree(classInfo.dependencies, graphData);
-        
-                            const treeHtml = `
-                                <h2><i class="fas fa-search"></i> 탐색된 클래스: <span class="impacted">${selectedClass}</span></h2>
-                                <h3 style="margin-top: 1rem;"><i class="fas fa-arrow-up" style="color: #6366f1;"></i> 상위 구조 (이 클래스를 사용하는 클래스)</h3>
-                                <div class="tree">${dependentsTree}</div>
-                                <h3 style="margin-top: 1rem;"><i class="fas fa-arrow-down" style="color: #f43f5e;"></i> 하위 구조 (이 클래스가 사용하는 클래스)</h3>
-                                <div class="tree">${dependenciesTree}</div>
-                            `;
-                            container.innerHTML = treeHtml;
-                        } else {
-                            container.innerHTML = '<p class="initial-message">클래스를 선택하여 연관 관계를 확인하세요.</p>';
-                        }
-                    });
                 });
             </script>
         </body></html>
-        """, graphJson);
+        """;
   }
 }
-
@@ -0,0 +1,452 @@
+package com.pbl.quantumleap;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * JavaParser AST를 만들지 않고 토큰만 읽어 소스 파일의 머리 정보(package, import, 최상위 타입 이름, 클래스 어노테이션)를 추출합니다.
+ * 그래프 노드 등록과 import 기반 의존성에는 이 정보로 충분하므로, SourceParser는 주입 지점이 있을 수 있는 파일만 전체 파싱합니다.
+ * <p>
+ * 전체 파싱이 필요한지는 보수적으로 판단합니다. 다음 중 하나라도 있으면 {@link Header#isFullParseRequired()}가 true입니다.
+ * <ul>
+ *   <li>주입 지점: @Autowired/@Inject, Lombok @RequiredArgsConstructor/@AllArgsConstructor, 매개변수가 있는 생성자로 보이는 선언</li>
+ *   <li>JavaParser 기본 언어 수준(Java 11)에서 파싱에 실패하는 문법: 텍스트 블록, record, switch 식(case ->, yield),
+ *   instanceof 패턴, sealed/permits. 전체 파싱과 같은 파일이 노드에서 빠지도록 판단을 JavaParser에 맡깁니다.</li>
+ *   <li>토큰 단위로 읽을 수 없는 내용: 유니코드 이스케이프, 닫히지 않은 주석/문자열, 짝이 맞지 않는 괄호</li>
+ * </ul>
+ * 그 밖의 문법 오류는 찾지 못하므로, 괄호 짝은 맞지만 컴파일되지 않는 파일은 전체 파싱과 달리 노드로 등록될 수 있습니다.
+ */
+public class HeaderScanner {
+
+  private static final Set<String> INJECTION_ANNOTATIONS = Set.of("Autowired", "Inject", "RequiredArgsConstructor", "AllArgsConstructor");
+
+  // 토큰 종류
+  private static final int EOF = 0;
+  private static final int IDENTIFIER = 1;
+  private static final int SYMBOL = 2;
+  private static final int LITERAL = 3;
+  // 두 글자 기호
+  private static final char ARROW = '→'; // ->
+  private static final char METHOD_REFERENCE = '∷'; // ::
+
+  /**
+   * 소스 파일 하나의 머리 정보입니다. 이름은 소스에 쓰인 그대로입니다.
+   */
+  @Getter
+  @RequiredArgsConstructor
+  public static class Header {
+    private final String packageName; // 없으면 ""
+    private final List<String> imports; // 단일 타입 import (static 제외)
+    private final List<String> wildcardImports; // 와일드카드 import의 패키지 (static 제외)
+    private final List<String> topLevelTypes; // 최상위 타입(class/interface/enum/record/@interface) 이름, 선언 순서
+    private final String className; // 첫 번째 class/interface 선언의 이름. JavaParser의 findFirst(ClassOrInterfaceDeclaration)와 같습니다.
+    private final List<String> classAnnotations; // 위 클래스에 붙은 어노테이션 이름
+    private final boolean fullParseRequired;
+
+    /**
+     * 클래스에 어노테이션이 붙어 있는지 확인합니다. 한정 이름(@jakarta.persistence.Entity)은 마지막 이름으로 비교합니다.
+     */
+    public boolean hasClassAnnotation(String annotationName) {
+      return classAnnotations.stream().anyMatch(name -> simpleNameOf(name).equals(annotationName));
+    }
+  }
+
+  private final String code;
+  private int pos;
+  private boolean unreadable; // 토큰 단위로 읽을 수 없는 내용이 있었는지
+  private boolean modernSyntax; // Java 11에서 파싱되지 않는 문법이 있었는지
+
+  // 현재 토큰
+  private int type;
+  private String text; // 식별자
+  private char symbol; // 기호
+
+  // 직전 토큰
+  private int previousType;
+  private String previousText;
+  private char previousSymbol;
+
+  private HeaderScanner(String code) {
+    this.code = code;
+  }
+
+  /**
+   * 소스 코드를 처음부터 끝까지 토큰 단위로 읽어 머리 정보를 추출합니다.
+   */
+  public static Header scan(String code) {
+    return new HeaderScanner(code).scan();
+  }
+
+  private Header scan() {
+    String packageName = null;
+    List<String> imports = new ArrayList<>();
+    List<String> wildcardImports = new ArrayList<>();
+    List<String> topLevelTypes = new ArrayList<>();
+    String className = null;
+    List<String> classAnnotations = List.of();
+    List<String> pendingAnnotations = new ArrayList<>(); // 다음 선언에 붙을 어노테이션
+    Set<String> declaredTypes = new HashSet<>(); // 지금까지 선언된 모든 타입 이름 (중첩/지역 클래스 포함)
+    boolean injectionSites = false;
+    boolean caseLabel = false; // case 라벨을 읽는 중인지 (':' 또는 '->'에서 끝남)
+    int braceDepth = 0;
+    int parenDepth = 0;
+
+    while (advance() != EOF) {
+      if (type == IDENTIFIER && caseLabel && previousType == IDENTIFIER && !isPrevious("case")) {
+        modernSyntax = true; // case 라벨의 타입 패턴 (case String s:)
+      }
+      if (type == IDENTIFIER && !isPrevious('.')) {
+        switch (text) {
+          case "package" -> {
+            if (braceDepth == 0 && packageName == null && advance() == IDENTIFIER) {
+              packageName = readQualifiedName();
+            }
+          }
+          case "import" -> {
+            if (braceDepth == 0) {
+              readImport(imports, wildcardImports);
+            }
+          }
+          case "class", "interface", "enum", "record" -> {
+            String keyword = text;
+            boolean declaration = !keyword.equals("record") || isRecordDeclaration();
+            if (declaration && advance() == IDENTIFIER) {
+              declaredTypes.add(text);
+              if (braceDepth == 0) {
+                topLevelTypes.add(text);
+              }
+              if (className == null && (keyword.equals("class") || keyword.equals("interface"))) {
+                className = text;
+                classAnnotations = List.copyOf(pendingAnnotations);
+              }
+              modernSyntax |= keyword.equals("record");
+            }
+          }
+          case "case" -> caseLabel = true;
+          case "instanceof" -> modernSyntax |= isInstanceofPattern();
+          case "yield" -> modernSyntax |= isYieldStatement();
+          case "sealed", "permits" -> modernSyntax |= peekType() == IDENTIFIER;
+          default -> {
+            // 선언된 타입 이름 뒤에 매개변수가 있는 괄호가 오면 생성자로 봅니다. (new Foo(...)는 제외)
+            if (declaredTypes.contains(text) && !isPrevious("new") && !isPrevious('@') && !isPrevious(METHOD_REFERENCE)
+                && hasParametersAhead()) {
+              injectionSites = true;
+            }
+          }
+        }
+      } else if (type == SYMBOL) {
+        switch (symbol) {
+          case '@' -> {
+            if (advance() == IDENTIFIER) {
+              if (text.equals("interface")) { // 어노테이션 타입 선언
+                if (advance() == IDENTIFIER) {
+                  declaredTypes.add(text);
+                  if (braceDepth == 0) {
+                    topLevelTypes.add(text);
+                  }
+                }
+              } else {
+                String annotation = readQualifiedName();
+                if (peekSymbol() == '(') {
+                  skipBalanced('(', ')');
+                }
+                pendingAnnotations.add(annotation);
+                injectionSites |= INJECTION_ANNOTATIONS.contains(simpleNameOf(annotation));
+              }
+            }
+          }
+          case '{' -> {
+            braceDepth++;
+            pendingAnnotations.clear();
+          }
+          case '}' -> {
+            braceDepth--;
+            pendingAnnotations.clear();
+          }
+          case ';' -> pendingAnnotations.clear();
+          case '(' -> parenDepth++;
+          case ')' -> parenDepth--;
+          case ':' -> caseLabel = false;
+          case ARROW -> {
+            modernSyntax |= caseLabel || isPrevious("default");
+            caseLabel = false;
+          }
+          default -> {
+          }
+        }
+      }
+      // 직전 토큰은 import/어노테이션처럼 여러 토큰을 읽었으면 그중 마지막 토큰입니다.
+      previousType = type;
+      previousText = text;
+      previousSymbol = symbol;
+    }
+    boolean fullParseRequired = injectionSites || modernSyntax || unreadable || braceDepth != 0 || parenDepth != 0;
+    return new Header(packageName == null ? "" : packageName, imports, wildcardImports, topLevelTypes, className,
+        classAnnotations, fullParseRequired);
+  }
+
+  /**
+   * 현재 토큰(식별자)부터 점으로 이어진 이름을 읽습니다.
+   */
+  private String readQualifiedName() {
+    StringBuilder name = new StringBuilder(text);
+    while (peekSymbol() == '.') {
+      Mark mark = mark();
+      advance();
+      if (advance() != IDENTIFIER) {
+        reset(mark); // foo.* 같은 와일드카드는 호출한 쪽에서 처리합니다.
+        break;
+      }
+      name.append('.').append(text);
+    }
+    return name.toString();
+  }
+
+  /**
+   * import 선언 하나를 읽습니다. (import 키워드 다음부터 ';'까지)
+   */
+  private void readImport(List<String> imports, List<String> wildcardImports) {
+    if (advance() != IDENTIFIER) {
+      return;
+    }
+    boolean staticImport = text.equals("static") && peekType() == IDENTIFIER;
+    if (staticImport) {
+      advance();
+    }
+    String name = readQualifiedName();
+    boolean wildcard = false;
+    if (peekSymbol() == '.') {
+      advance();
+      wildcard = advance() == SYMBOL && symbol == '*';
+    }
+    if (!staticImport) {
+      (wildcard ? wildcardImports : imports).add(name);
+    }
+  }
+
+  private boolean isRecordDeclaration() {
+    Mark mark = mark();
+    boolean declaration = advance() == IDENTIFIER && advance() == SYMBOL && (symbol == '(' || symbol == '<');
+    reset(mark);
+    return declaration;
+  }
+
+  /**
+   * instanceof 뒤의 타입에 변수 이름이나 분해 패턴이 이어지는지 확인합니다. (o instanceof String s)
+   */
+  private boolean isInstanceofPattern() {
+    Mark mark = mark();
+    try {
+      if (advance() == IDENTIFIER && text.equals("final")) {
+        advance();
+      }
+      if (type != IDENTIFIER) {
+        return false;
+      }
+      readQualifiedName();
+      if (peekSymbol() == '(') { // 레코드 분해 패턴
+        return true;
+      }
+      if (peekSymbol() == '<') {
+        skipBalanced('<', '>');
+      }
+      while (peekSymbol() == '[') {
+        advance();
+        advance();
+      }
+      return peekType() == IDENTIFIER;
+    } finally {
+      reset(mark);
+    }
+  }
+
+  /**
+   * 문장 처음에 온 yield 뒤에 값이 이어지는지 확인합니다. (yield(...) 메서드 호출, yield = ... 대입은 제외)
+   */
+  private boolean isYieldStatement() {
+    boolean statementStart = previousType == SYMBOL
+        && (previousSymbol == ';' || previousSymbol == '{' || previousSymbol == '}' || previousSymbol == ':' || previousSymbol == ARROW);
+    if (!statementStart) {
+      return false;
+    }
+    int nextType = peekType();
+    char next = peekSymbol();
+    return nextType != EOF && !(nextType == SYMBOL && (next == '(' || next == '=' || next == '.' || next == '[' || next == ';'));
+  }
+
+  /**
+   * 현재 토큰 다음이 '('이고 그 괄호 안이 비어 있지 않은지 확인합니다.
+   */
+  private boolean hasParametersAhead() {
+    Mark mark = mark();
+    boolean parameters = advance() == SYMBOL && symbol == '(' && !(advance() == SYMBOL && symbol == ')');
+    reset(mark);
+    return parameters;
+  }
+
+  /**
+   * 다음 토큰이 open이면 짝이 맞는 close까지 건너뜁니다. 현재 토큰은 close가 됩니다.
+   */
+  private void skipBalanced(char open, char close) {
+    int depth = 0;
+    while (advance() != EOF) {
+      if (type == SYMBOL && symbol == open) {
+        depth++;
+      } else if (type == SYMBOL && symbol == close && --depth == 0) {
+        return;
+      }
+    }
+    unreadable = true;
+  }
+
+  private int peekType() {
+    Mark mark = mark();
+    int nextType = advance();
+    reset(mark);
+    return nextType;
+  }
+
+  /**
+   * @return 다음 토큰이 기호이면 그 기호, 아니면 0
+   */
+  private char peekSymbol() {
+    Mark mark = mark();
+    char next = advance() == SYMBOL ? symbol : 0;
+    reset(mark);
+    return next;
+  }
+
+  /**
+   * 미리 보기 전의 위치와 현재 토큰
+   */
+  @RequiredArgsConstructor
+  private static class Mark {
+    private final int pos;
+    private final int type;
+    private final String text;
+    private final char symbol;
+  }
+
+  private Mark mark() {
+    return new Mark(pos, type, text, symbol);
+  }
+
+  private void reset(Mark mark) {
+    pos = mark.pos;
+    type = mark.type;
+    text = mark.text;
+    symbol = mark.symbol;
+  }
+
+  private boolean isPrevious(char expected) {
+    return previousType == SYMBOL && previousSymbol == expected;
+  }
+
+  private boolean isPrevious(String expected) {
+    return previousType == IDENTIFIER && expected.equals(previousText);
+  }
+
+  /**
+   * 다음 토큰을 읽습니다. 공백과 주석은 건너뛰며, 문자열/문자/숫자 리터럴은 내용을 버리고 LITERAL 하나로 읽습니다.
+   * @return 읽은 토큰 종류
+   */
+  private int advance() {
+    int length = code.length();
+    while (pos < length) {
+      char c = code.charAt(pos);
+      if (Character.isWhitespace(c)) {
+        pos++;
+      } else if (c == '/' && pos + 1 < length && code.charAt(pos + 1) == '/') {
+        int end = code.indexOf('\n', pos);
+        pos = end < 0 ? length : end + 1;
+      } else if (c == '/' && pos + 1 < length && code.charAt(pos + 1) == '*') {
+        int end = code.indexOf("*/", pos + 2);
+        if (end < 0) {
+          unreadable = true;
+          pos = length;
+        } else {
+          pos = end + 2;
+        }
+      } else {
+        break;
+      }
+    }
+    if (pos >= length) {
+      return type = EOF;
+    }
+
+    char c = code.charAt(pos);
+    int start = pos;
+    if (Character.isJavaIdentifierStart(c)) {
+      do {
+        pos++;
+      } while (pos < length && Character.isJavaIdentifierPart(code.charAt(pos)));
+      text = code.substring(start, pos);
+      return type = IDENTIFIER;
+    }
+    if (c >= '0' && c <= '9') {
+      do {
+        pos++;
+      } while (pos < length && (Character.isLetterOrDigit(code.charAt(pos)) || code.charAt(pos) == '_' || code.charAt(pos) == '.'));
+      return type = LITERAL;
+    }
+    if (c == '"') {
+      if (code.startsWith("\"\"\"", pos)) {
+        modernSyntax = true;
+        skipQuoted(pos + 3, "\"\"\"");
+      } else {
+        skipQuoted(pos + 1, "\"");
+      }
+      return type = LITERAL;
+    }
+    if (c == '\'') {
+      skipQuoted(pos + 1, "'");
+      return type = LITERAL;
+    }
+    pos++;
+    if (c == '\\') {
+      unreadable = true; // 유니코드 이스케이프(@ 등)는 풀어서 읽지 않습니다.
+    } else if (c == '-' && pos < length && code.charAt(pos) == '>') {
+      pos++;
+      c = ARROW;
+    } else if (c == ':' && pos < length && code.charAt(pos) == ':') {
+      pos++;
+      c = METHOD_REFERENCE;
+    }
+    symbol = c;
+    return type = SYMBOL;
+  }
+
+  /**
+   * 백슬래시 이스케이프를 건너뛰며 닫는 따옴표 다음으로 이동합니다. 한 줄 리터럴이 줄바꿈 전에 닫히지 않으면 읽을 수 없는 내용으로 봅니다.
+   */
+  private void skipQuoted(int from, String quote) {
+    boolean singleLine = quote.length() == 1;
+    int length = code.length();
+    int i = from;
+    while (i < length) {
+      char c = code.charAt(i);
+      if (c == '\\') {
+        i += 2;
+      } else if (code.startsWith(quote, i)) {
+        pos = i + quote.length();
+        return;
+      } else if (singleLine && c == '\n') {
+        break;
+      } else {
+        i++;
+      }
+    }
+    unreadable = true;
+    pos = length;
+  }
+
+  private static String simpleNameOf(String name) {
+    return name.substring(name.lastIndexOf('.') + 1);
+  }
+}
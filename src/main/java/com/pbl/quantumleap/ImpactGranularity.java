@@ -0,0 +1,11 @@
+package com.pbl.quantumleap;
+
+/**
+ * 변경 영향을 분석하는 단위.
+ */
+public enum ImpactGranularity {
+  /** 변경된 클래스에 의존하는 모든 클래스가 영향을 받는 것으로 봅니다. (기존 동작) */
+  CLASS,
+  /** 변경 전 소스와 비교하여 바뀐 멤버를 찾고, 그 멤버를 참조하는 코드만 영향을 받는 것으로 봅니다. */
+  MEMBER
+}
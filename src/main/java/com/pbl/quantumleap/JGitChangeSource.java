@@ -0,0 +1,144 @@
+package com.pbl.quantumleap;
+
+import com.pbl.quantumleap.model.ChangedFile;
+import com.pbl.quantumleap.model.ChangedFile.ChangeType;
+import org.eclipse.jgit.diff.DiffEntry;
+import org.eclipse.jgit.diff.DiffFormatter;
+import org.eclipse.jgit.errors.MissingObjectException;
+import org.eclipse.jgit.errors.RevisionSyntaxException;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectReader;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevTree;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.revwalk.filter.RevFilter;
+import org.eclipse.jgit.storage.file.FileRepositoryBuilder;
+import org.eclipse.jgit.treewalk.CanonicalTreeParser;
+import org.eclipse.jgit.treewalk.TreeWalk;
+import org.eclipse.jgit.util.io.DisabledOutputStream;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JGit으로 저장소의 객체 데이터베이스(pack/loose 객체)를 직접 읽어 변경 파일을 구하는 백엔드입니다.
+ * git 프로세스를 띄우지 않으므로 git CLI가 없는 환경에서도 동작합니다. 두 커밋의 트리만 비교하므로 커밋 수와 관계없이 비용이 일정하지만,
+ * JGit 클래스 로딩 비용 때문에 단발성 실행에서는 git 프로세스 백엔드보다 느립니다.
+ */
+public class JGitChangeSource implements ChangeSource {
+
+  @Override
+  public List<ChangedFile> findChanges(String projectPath, String baseCommit, String headCommit, boolean mergeBase)
+      throws IOException {
+    System.err.println("\n--- Git 변경점 분석 시작 (JGit) ---");
+    System.err.println("Base: " + baseCommit + ", Head: " + headCommit + (mergeBase ? " (merge-base)" : ""));
+
+    try (Repository repository = openRepository(projectPath);
+        RevWalk revWalk = new RevWalk(repository);
+        ObjectReader reader = repository.newObjectReader()) {
+
+      RevCommit head = parseCommit(repository, revWalk, headCommit);
+      RevCommit base = parseCommit(repository, revWalk, baseCommit);
+      if (mergeBase) {
+        base = findMergeBase(revWalk, base, head);
+      }
+
+      CanonicalTreeParser baseTree = new CanonicalTreeParser();
+      baseTree.reset(reader, base.getTree());
+      CanonicalTreeParser headTree = new CanonicalTreeParser();
+      headTree.reset(reader, head.getTree());
+
+      List<ChangedFile> changes = new ArrayList<>();
+      try (DiffFormatter diffFormatter = new DiffFormatter(DisabledOutputStream.INSTANCE)) {
+        diffFormatter.setRepository(repository);
+        diffFormatter.setDetectRenames(true);
+        for (DiffEntry entry : diffFormatter.scan(baseTree, headTree)) {
+          changes.add(toChangedFile(entry));
+        }
+      }
+      System.err.println("✅ " + changes.size() + "개의 변경된 파일을 찾았습니다.");
+      return changes;
+    }
+  }
+
+  @Override
+  public String findMergeBase(String projectPath, String baseCommit, String headCommit) throws IOException {
+    try (Repository repository = openRepository(projectPath);
+        RevWalk revWalk = new RevWalk(repository)) {
+      RevCommit head = parseCommit(repository, revWalk, headCommit);
+      RevCommit base = parseCommit(repository, revWalk, baseCommit);
+      return findMergeBase(revWalk, base, head).name();
+    }
+  }
+
+  @Override
+  public Map<String, byte[]> readFiles(String projectPath, String revision, Collection<String> paths) throws IOException {
+    Map<String, byte[]> contents = new LinkedHashMap<>();
+    try (Repository repository = openRepository(projectPath);
+        RevWalk revWalk = new RevWalk(repository)) {
+      RevTree tree = parseCommit(repository, revWalk, revision).getTree();
+      for (String path : paths) {
+        try (TreeWalk treeWalk = TreeWalk.forPath(repository, path, tree)) {
+          if (treeWalk != null && treeWalk.getFileMode(0).getObjectType() == Constants.OBJ_BLOB) {
+            contents.put(path, repository.open(treeWalk.getObjectId(0), Constants.OBJ_BLOB).getBytes());
+          }
+        }
+      }
+    }
+    return contents;
+  }
+
+  private static Repository openRepository(String projectPath) throws IOException {
+    return new FileRepositoryBuilder()
+        .findGitDir(new File(projectPath))
+        .setMustExist(true)
+        .build();
+  }
+
+  private static RevCommit parseCommit(Repository repository, RevWalk revWalk, String revision) throws IOException {
+    ObjectId objectId;
+    try {
+      objectId = repository.resolve(revision);
+    } catch (MissingObjectException | RevisionSyntaxException e) {
+      objectId = null;
+    }
+    if (objectId == null) {
+      // shallow clone에서는 HEAD~1 같은 상위 커밋이 저장소에 없을 수 있습니다.
+      throw new IOException("커밋을 찾을 수 없습니다: " + revision
+          + " (shallow clone이라면 fetch-depth를 늘리거나 전체 이력을 가져와주세요)");
+    }
+    return revWalk.parseCommit(objectId);
+  }
+
+  private static RevCommit findMergeBase(RevWalk revWalk, RevCommit base, RevCommit head) throws IOException {
+    revWalk.reset();
+    revWalk.setRevFilter(RevFilter.MERGE_BASE);
+    revWalk.markStart(base);
+    revWalk.markStart(head);
+    RevCommit mergeBase = revWalk.next();
+    if (mergeBase == null) {
+      throw new IOException("merge-base를 찾을 수 없습니다: " + base.name() + ", " + head.name()
+          + " (shallow clone이라면 공통 조상까지 이력을 가져와주세요)");
+    }
+    revWalk.reset();
+    revWalk.setRevFilter(RevFilter.ALL);
+    return revWalk.parseCommit(mergeBase);
+  }
+
+  private static ChangedFile toChangedFile(DiffEntry entry) {
+    return switch (entry.getChangeType()) {
+      case ADD -> new ChangedFile(ChangeType.ADDED, entry.getNewPath(), null);
+      case DELETE -> new ChangedFile(ChangeType.DELETED, entry.getOldPath(), null);
+      case RENAME -> new ChangedFile(ChangeType.RENAMED, entry.getNewPath(), entry.getOldPath());
+      case COPY -> new ChangedFile(ChangeType.ADDED, entry.getNewPath(), null);
+      default -> new ChangedFile(ChangeType.MODIFIED, entry.getNewPath(), null);
+    };
+  }
+}
@@ -1,27 +1,56 @@
 package com.pbl.quantumleap;
 
+import com.pbl.quantumleap.cache.AiResponseCache;
+import com.pbl.quantumleap.cache.AnalysisCache;
+import com.pbl.quantumleap.coverage.CoverageCommand;
+import com.pbl.quantumleap.coverage.CoverageIndex;
+import com.pbl.quantumleap.daemon.DaemonCommand;
+import com.pbl.quantumleap.daemon.QueryCommand;
+import com.pbl.quantumleap.history.HistoryCommand;
+import com.pbl.quantumleap.history.TestHistory;
+import com.pbl.quantumleap.metrics.Instrumentation;
+import com.pbl.quantumleap.metrics.MetricsExporter;
+import com.pbl.quantumleap.metrics.MetricsFormat;
+import com.pbl.quantumleap.metrics.PhaseMetrics;
+import com.pbl.quantumleap.model.ChangedFile;
+import com.pbl.quantumleap.model.ShardPlan;
+import com.pbl.quantumleap.model.TestPlan;
+import com.pbl.quantumleap.service.AiPromptScope;
+import com.pbl.quantumleap.service.AiReviewMode;
+import com.pbl.quantumleap.service.AiReviewOptions;
+import com.pbl.quantumleap.service.CoverageMode;
 import com.pbl.quantumleap.service.OpenAIService;
 import com.pbl.quantumleap.service.QuantumLeapService;
+import com.pbl.quantumleap.service.SelectionOptions;
+import com.pbl.quantumleap.service.UncoveredPolicy;
+import com.pbl.quantumleap.synthetic.GenerateCommand;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import org.springframework.boot.autoconfigure.info.ProjectInfoProperties.Git;
 import picocli.CommandLine;
 import picocli.CommandLine.Command;
 import picocli.CommandLine.Option;
 import picocli.CommandLine.Parameters;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Command(name = "quantumleap", mixinStandardHelpOptions = true, version = "QuantumLeap 0.1",
+    subcommands = {DaemonCommand.class, QueryCommand.class, CoverageCommand.class, HistoryCommand.class, GenerateCommand.class},
     description = "지능적으로 테스트를 선별하여 실행하는 CI 최적화 도구")
 public class Main implements Callable<Integer> {
 
-  @Parameters(index = "0", description = "분석할 프로젝트의 루트 경로.")
+  // daemon/query 하위 명령을 쓸 때는 생략할 수 있도록 선택 인자로 둡니다.
+  @Parameters(index = "0", arity = "0..1", description = "분석할 프로젝트의 루트 경로.")
   private File projectRoot;
 
   // --- 수정: required=true 제거, 기본값 유지 ---
@@ -34,29 +63,158 @@ public class Main implements Callable<Integer> {
   @Option(names = {"--head"}, description = "최신 커밋 해시.", defaultValue = "HEAD")
   private String headCommit;
 
+  @Option(names = {"--merge-base"}, description = "base와 head를 직접 비교하지 않고, 두 커밋의 merge-base부터 head까지의 변경(base...head)을 분석합니다.")
+  private boolean mergeBase;
+
+  @Option(names = {"--change-source"}, description = "변경 파일을 구하는 백엔드: ${COMPLETION-CANDIDATES}. jgit은 git CLI 없이 저장소를 직접 읽습니다. (기본값: ${DEFAULT-VALUE})",
+      defaultValue = "git")
+  private ChangeSourceType changeSourceType;
+
+  @Option(names = {"--granularity"}, description = "변경 영향 분석 단위: ${COMPLETION-CANDIDATES}. member는 변경 전 소스와 비교하여 바뀐 메서드/필드를 참조하는 코드의 테스트만 선별합니다. (기본값: ${DEFAULT-VALUE})",
+      defaultValue = "class")
+  private ImpactGranularity granularity;
+
+  @Option(names = {"--test-methods"}, description = "선별된 테스트 클래스 안에서 변경의 영향을 받는 테스트 메서드만 골라 Gradle(--tests)/Maven(-Dtest) 필터로 출력합니다.")
+  private boolean testMethods;
+
+  @Option(names = {"--coverage"}, description = "coverage 하위 명령으로 만든 테스트별 커버리지 색인. 변경 코드를 실제로 실행한 테스트를 함께 선별합니다. 상대 경로는 프로젝트 루트 기준입니다.")
+  private String coverageFile;
+
+  @Option(names = {"--coverage-mode"}, description = "커버리지 사용 방식: ${COMPLETION-CANDIDATES}. augment는 정적 선별 결과에 더하고, replace는 커버리지 데이터가 있는 변경을 커버리지로만 선별합니다. (기본값: ${DEFAULT-VALUE})",
+      defaultValue = "augment")
+  private CoverageMode coverageMode;
+
+  @Option(names = {"--uncovered"}, description = "커버리지 데이터가 없는 변경(새 코드 등)의 처리: ${COMPLETION-CANDIDATES}. static은 정적 그래프로 선별하고, all은 모든 테스트를 실행합니다. (기본값: ${DEFAULT-VALUE})",
+      defaultValue = "static")
+  private UncoveredPolicy uncoveredPolicy;
+
+  @Option(names = {"--time-budget"}, description = "테스트 실행 시간 예산(초). 선별된 테스트를 변경과의 거리, 실패 이력, 실행 시간으로 순위를 매겨 예산 안에서 가장 가치 있는 테스트만 실행 순서대로 출력합니다.")
+  private Long timeBudgetSeconds;
+
+  @Option(names = {"--history"}, description = "history 하위 명령으로 만든 테스트 실행 시간/실패 이력 파일. 상대 경로는 프로젝트 루트 기준입니다. (기본값: ${DEFAULT-VALUE})",
+      defaultValue = "build/quantumleap-history.json")
+  private String historyFile;
+
+  @Option(names = {"--shards"}, description = "선별된 테스트를 N개의 CI 러너용 샤드로 나누어 샤드별 필터 파일을 만듭니다. 실행 시간 이력이 있으면 시간으로, 없으면 클래스 수로 균형을 맞추며, 같은 테스트는 실행마다 같은 샤드에 배정됩니다.")
+  private int shards;
+
+  @Option(names = {"--shard-dir"}, description = "샤드 파일(shard-<번호>.txt, shard-<번호>.gradle)을 저장할 디렉토리. 상대 경로는 프로젝트 루트 기준입니다. (기본값: ${DEFAULT-VALUE})",
+      defaultValue = "build/quantumleap-shards")
+  private String shardDir;
+
+  @Option(names = {"--format"}, description = "선별 결과 출력 형식: plain|json|gradle|maven|junit-platform. plain은 테스트 필터를 한 줄에 하나씩, json은 선별 경로/변경 클래스/순환 참조/단계별 소요 시간을 함께 출력합니다. (기본값: ${DEFAULT-VALUE})",
+      defaultValue = "plain")
+  private String format;
+
+  @Option(names = {"--output"}, description = "선별 결과를 표준 출력 대신 저장할 파일. 상대 경로는 현재 디렉토리 기준입니다.")
+  private File outputFile;
+
+  @Option(names = {"--metrics"}, description = "단계별 실행 시간, CPU 시간, 힙 할당량, 처리 항목 수(파일/노드/엣지)를 저장할 파일. 상대 경로는 현재 디렉토리 기준입니다.")
+  private File metricsFile;
+
+  @Option(names = {"--metrics-format"}, description = "--metrics 파일 형식: ${COMPLETION-CANDIDATES}. prometheus는 node_exporter textfile 수집기나 Pushgateway로 보낼 수 있는 텍스트 형식입니다. (기본값: ${DEFAULT-VALUE})",
+      defaultValue = "json")
+  private MetricsFormat metricsFormat;
+
+  @Option(names = {"--parallelism"}, description = "파싱/분석에 사용할 워커 스레드 수. (기본값: CPU 코어 수)")
+  private int parallelism = Runtime.getRuntime().availableProcessors();
+
+  @Option(names = {"--cache-dir"}, description = "증분 분석 캐시 디렉토리. 상대 경로는 프로젝트 루트 기준입니다.", defaultValue = "build/quantumleap-cache")
+  private String cacheDir;
+
+  @Option(names = {"--no-cache"}, description = "증분 분석 캐시와 AI 응답 캐시를 사용하지 않고 모든 파일을 다시 분석합니다.")
+  private boolean noCache;
+
+  @Option(names = {"--ai"}, description = "AI 아키텍처 리뷰 모드: ${COMPLETION-CANDIDATES}. async는 테스트 선별을 기다리게 하지 않고 리포트에만 반영합니다. (기본값: ${DEFAULT-VALUE})",
+      defaultValue = "async")
+  private AiReviewMode aiMode;
+
+  @Option(names = {"--ai-timeout"}, description = "AI 리뷰 응답을 기다리는 최대 시간(초). (기본값: ${DEFAULT-VALUE})", defaultValue = "60")
+  private long aiTimeoutSeconds;
+
+  @Option(names = {"--ai-scope"}, description = "AI 리뷰에 전송할 그래프 범위: ${COMPLETION-CANDIDATES}. diff는 변경 클래스 주변 부분 그래프와 핫스팟 요약만 전송합니다. (기본값: ${DEFAULT-VALUE})",
+      defaultValue = "full")
+  private AiPromptScope aiScope;
+
+  @Option(names = {"--ai-hops"}, description = "diff 범위에서 변경 클래스로부터 포함할 최대 거리. (기본값: ${DEFAULT-VALUE})", defaultValue = "2")
+  private int aiHops;
+
+  @Option(names = {"--ai-node-budget"}, description = "diff 범위에서 포함할 최대 클래스 수. (기본값: ${DEFAULT-VALUE})", defaultValue = "300")
+  private int aiNodeBudget;
+
+  @Option(names = {"--ai-token-budget"}, description = "요청 하나에 담을 그래프 JSON의 최대 토큰 수. 넘으면 나누어 요청한 뒤 결과를 합칩니다. (기본값: ${DEFAULT-VALUE})",
+      defaultValue = "30000")
+  private int aiTokenBudget;
+
+  @Option(names = {"--ai-max-concurrency"}, description = "그래프를 나누어 요청할 때 동시에 보낼 최대 요청 수. (기본값: ${DEFAULT-VALUE})",
+      defaultValue = "2")
+  private int aiMaxConcurrency;
+
+  @Option(names = {"--ai-cache-ttl"}, description = "AI 응답 캐시 유효 기간(시간). (기본값: ${DEFAULT-VALUE})", defaultValue = "168")
+  private long aiCacheTtlHours;
+
+  @Option(names = {"--ai-cache-max-mb"}, description = "AI 응답 캐시 최대 크기(MB). 넘으면 오래 사용되지 않은 응답부터 삭제합니다. (기본값: ${DEFAULT-VALUE})",
+      defaultValue = "16")
+  private long aiCacheMaxMegabytes;
+
   @Override
   public Integer call() throws Exception {
+    if (projectRoot == null) {
+      System.err.println("분석할 프로젝트의 루트 경로를 지정해주세요. (예: quantumleap <프로젝트 경로>)");
+      return 2;
+    }
+    OutputFormat outputFormat;
+    try {
+      outputFormat = OutputFormat.fromName(format);
+    } catch (IllegalArgumentException e) {
+      System.err.println(e.getMessage());
+      return 2;
+    }
     System.err.println("🚀 QuantumLeap 분석기를 시작합니다!");
     Path projectRootPath = projectRoot.toPath();
     System.err.println("분석 대상 프로젝트: " + projectRootPath);
     System.err.println("분석 범위: " + baseCommit + ".." + headCommit);
 
     // 1. Git 변경점 분석
-    GitChangeFinder gitChangeFinder = new GitChangeFinder();
-    Set<String> changedFilePaths = gitChangeFinder.findChangedJavaFiles(projectRootPath.toString(), baseCommit, headCommit);
+    Instrumentation instrumentation = new Instrumentation();
+    Instrumentation.Phase phase = instrumentation.start();
+    ChangeSource changeSource = changeSourceType.create();
+    List<ChangedFile> changes;
+    try {
+      changes = changeSource.findChanges(projectRootPath.toString(), baseCommit, headCommit, mergeBase);
+    } catch (IOException e) {
+      // 변경점을 모른 채 테스트를 건너뛰면 안 되므로 실패로 종료합니다.
+      System.err.println("⚠️ Git 변경점 분석에 실패했습니다: " + e.getMessage());
+      return 3;
+    }
+    Set<String> changedFilePaths = ChangeSource.toJavaPaths(changes);
+    System.err.println("⏱️ " + Instrumentation.describe(phase.count("files", changes.size()).end("Git 변경점 분석")));
 
-    Set<String> changedClasses = changedFilePaths.stream()
-        .map(path -> Paths.get(path).getFileName().toString().replace(".java", ""))
-        .collect(Collectors.toSet());
+    // 멤버 단위 분석에는 수정된 파일의 변경 전 내용이 필요합니다. 읽지 못하면 클래스 단위로 분석합니다.
+    Map<String, String> baseSources = null;
+    if (granularity == ImpactGranularity.MEMBER && !changedFilePaths.isEmpty()) {
+      phase = instrumentation.start();
+      try {
+        String baseRevision = mergeBase
+            ? changeSource.findMergeBase(projectRootPath.toString(), baseCommit, headCommit) : baseCommit;
+        baseSources = changeSource.readBaseSources(projectRootPath.toString(), baseRevision, changes);
+        System.err.println("⏱️ " + Instrumentation.describe(phase.count("files", baseSources.size()).end("변경 전 소스 읽기")));
+      } catch (IOException e) {
+        System.err.println("⚠️ 변경 전 소스를 읽지 못해 클래스 단위로 분석합니다: " + e.getMessage());
+      }
+    }
 
-    if (changedClasses.isEmpty()) {
+    if (changedFilePaths.isEmpty()) {
       System.err.println("분석할 Java 변경점이 없습니다. 테스트를 건너뜁니다.");
     }
 
     System.err.println("\n========================================");
     System.err.println(" 1. 변경된 파일 (Git Diff)");
     System.err.println("========================================");
-    changedClasses.forEach(className -> System.err.println("- " + className));
+    changes.stream()
+        .filter(change -> change.getPath().endsWith(".java")
+            || (change.getOldPath() != null && change.getOldPath().endsWith(".java")))
+        .forEach(change -> System.err.println("- " + change));
 
     // 2. 설정 파일 로드 및 경로 계산
     ConfigLoader configLoader = new ConfigLoader();
@@ -64,15 +222,60 @@ public class Main implements Callable<Integer> {
     Path sourcePath = projectRootPath.resolve(config.getSourceDirectory());
     Path testPath = projectRootPath.resolve(config.getTestDirectory());
 
-    OpenAIService openAIService = new OpenAIService();
+    AnalysisCache analysisCache = noCache ? null
+        : AnalysisCache.load(projectRootPath.resolve(cacheDir), config.getProjectBasePackage());
+
+    Duration aiTimeout = Duration.ofSeconds(aiTimeoutSeconds);
+    AiResponseCache aiResponseCache = noCache ? null
+        : AiResponseCache.open(projectRootPath.resolve(cacheDir).resolve("ai-responses"),
+            Duration.ofHours(aiCacheTtlHours), aiCacheMaxMegabytes * 1024 * 1024);
+    OpenAIService openAIService = OpenAIService.fromEnvironment(aiTimeout, aiResponseCache);
+    AiReviewOptions aiReviewOptions = new AiReviewOptions();
+    aiReviewOptions.setMode(aiMode);
+    aiReviewOptions.setTimeout(aiTimeout);
+    aiReviewOptions.setScope(aiScope);
+    aiReviewOptions.setHops(aiHops);
+    aiReviewOptions.setNodeBudget(aiNodeBudget);
+    aiReviewOptions.setTokenBudget(aiTokenBudget);
+    aiReviewOptions.setMaxConcurrentRequests(aiMaxConcurrency);
+    SelectionOptions selectionOptions = new SelectionOptions();
+    selectionOptions.setTestMethods(testMethods);
+    selectionOptions.setCoverageMode(coverageMode);
+    selectionOptions.setUncoveredPolicy(uncoveredPolicy);
+    if (timeBudgetSeconds != null) {
+      selectionOptions.setTimeBudget(Duration.ofSeconds(timeBudgetSeconds));
+    }
+    selectionOptions.setShards(shards);
+    if (timeBudgetSeconds != null || shards > 0) {
+      selectionOptions.setTestHistory(TestHistory.load(projectRootPath.resolve(historyFile)));
+    }
+    if (coverageFile != null) {
+      // 커버리지 색인을 읽지 못해도 정적 선별은 가능하므로 경고 후 계속합니다.
+      Path coveragePath = projectRootPath.resolve(coverageFile);
+      try {
+        CoverageIndex coverageIndex = CoverageIndex.read(coveragePath);
+        selectionOptions.setCoverageIndex(coverageIndex);
+        System.err.println("ℹ️ 커버리지 색인: 테스트 " + coverageIndex.testCount() + "개, 코드 단위 " + coverageIndex.unitCount() + "개");
+      } catch (IOException e) {
+        System.err.println("⚠️ 커버리지 색인을 읽지 못해 정적 그래프로만 선별합니다: " + coveragePath + " (" + e.getMessage() + ")");
+      }
+    }
     // 3. QuantumLeapService를 통해 전체 분석 수행
     QuantumLeapService service = new QuantumLeapService(
         sourcePath.toString(),
         testPath.toString(),
         config.getProjectBasePackage(),
-        openAIService
+        openAIService,
+        parallelism,
+        analysisCache,
+        aiReviewOptions,
+        selectionOptions
     );
-    AnalysisResult result = service.analyze(changedClasses);
+    // 변경 파일 경로는 서비스에서 그래프의 FQCN으로 변환됩니다.
+    // 테스트 선별은 AI 리뷰를 기다리지 않으며, 리포트 생성 단계에서만 AI 결과를 기다립니다.
+    AnalysisResult result = service.selectTests(changedFilePaths, baseSources);
+    Set<String> changedClasses = result.getChangedClasses();
+    Set<String> changedMembers = result.getChangedMembers();
 
     System.err.println("\n========================================");
     System.err.println(" 2. 지능형 테스트 선별 경로 (BFS 알고리즘)");
@@ -85,15 +288,85 @@ public class Main implements Callable<Integer> {
       for (Map.Entry<String, List<String>> entry : testsWithPaths.entrySet()) {
         String testClass = entry.getKey();
         List<String> path = entry.getValue();
-        // 경로 출력: 예) [MemberService(변경됨)] → MemberController
+        // 경로 출력: 예) [MemberService(변경됨)] → MemberController, 멤버 단위면 [MemberService#join()(변경됨)] → ...
         String dependencyPath = path.stream()
-            .map(className -> changedClasses.contains(className) ? "[" + className + "(변경됨)]" : className)
+            .map(name -> changedClasses.contains(name) || changedMembers.contains(name) ? "[" + name + "(변경됨)]" : name)
             .collect(Collectors.joining(" → "));
 
         System.err.println("  ▶️ " + testClass + " (선별됨)");
         System.err.println("    └─ 이유(경로): " + dependencyPath + "\n");
       }
     }
+    TestPlan testPlan = result.getTestPlan();
+    if (testPlan != null) {
+      System.err.println("\n========================================");
+      System.err.println(" 테스트 실행 계획 (시간 예산 " + testPlan.getBudgetMillis() / 1000 + "초)");
+      System.err.println("========================================");
+      int rank = 1;
+      for (TestPlan.PlannedTest plannedTest : testPlan.getSelected()) {
+        System.err.printf("  %2d. %s (예상 %.1f초%s, 실패 확률 %.0f%%, 거리 %d)%n", rank++, plannedTest.getTestClass(),
+            plannedTest.getEstimatedMillis() / 1000, plannedTest.isMeasured() ? "" : " - 이력 없음",
+            plannedTest.getFailureRate() * 100, plannedTest.getDistance());
+      }
+      System.err.printf("예상 실행 시간: %.1f초 / 예산 %d초%n", testPlan.getEstimatedMillis() / 1000, testPlan.getBudgetMillis() / 1000);
+      if (!testPlan.getDeferred().isEmpty()) {
+        System.err.printf("⚠️ 예산을 넘어 제외된 테스트 %d개 (예상 %.1f초): %s%n", testPlan.getDeferred().size(),
+            testPlan.getDeferredMillis() / 1000, testPlan.getDeferred().stream()
+                .map(TestPlan.PlannedTest::getTestClass).collect(Collectors.joining(", ")));
+      }
+    }
+    ShardPlan shardPlan = result.getShardPlan();
+    if (shardPlan != null) {
+      Path shardPath = projectRootPath.resolve(shardDir);
+      System.err.println("\n========================================");
+      System.err.println(" 샤드 배분 (" + shardPlan.getShards().size() + "개, " + (shardPlan.isDurationBased() ? "실행 시간 이력" : "클래스 수") + " 기준)");
+      System.err.println("========================================");
+      for (ShardPlan.Shard shard : shardPlan.getShards()) {
+        System.err.printf("  샤드 %d: 테스트 %d개, 예상 %.1f초%n", shard.getIndex(), shard.getTestClasses().size(),
+            shard.getEstimatedMillis() / 1000);
+      }
+      System.err.printf("가장 긴 샤드 예상 실행 시간: %.1f초%n", shardPlan.getMakespanMillis() / 1000);
+      try {
+        writeShardFiles(shardPlan, shardPath);
+        System.err.println("✅ 샤드 파일 저장: " + shardPath + " (CI 러너 k에서: eval ./gradlew test \"$(cat " + shardDir + "/shard-k.gradle)\")");
+      } catch (IOException e) {
+        System.err.println("⚠️ 샤드 파일 저장 중 오류가 발생했습니다: " + e.getMessage());
+        return 1;
+      }
+    }
+    if (testMethods && !testsWithPaths.isEmpty()) {
+      List<String> testFilters = result.getTestFilters();
+      System.err.println("\n========================================");
+      System.err.println(" 3. 테스트 필터 (" + testFilters.size() + "개)");
+      System.err.println("========================================");
+      testFilters.forEach(filter -> System.err.println("  - " + filter));
+      System.err.println("Gradle: " + TestFilterFormatter.gradle(testFilters));
+      System.err.println("Maven: -Dtest=" + TestFilterFormatter.surefire(testFilters));
+    }
+
+    // 최종 결과(선별된 테스트)만 표준 출력(stdout) 또는 --output 파일로 출력합니다. 로그는 모두 stderr로 출력합니다.
+    // AI 리뷰와 HTML 리포트를 기다리지 않도록 선별이 끝나면 바로 출력하므로, 여기의 단계별 소요 시간에는 두 단계가 없습니다.
+    List<PhaseMetrics> selectionMetrics = new ArrayList<>(instrumentation.getPhases());
+    selectionMetrics.addAll(service.getPhaseMetrics());
+    AnalysisResultWriter resultWriter = new AnalysisResultWriter();
+    try {
+      if (outputFile == null) {
+        resultWriter.write(result, outputFormat, selectionMetrics, System.out);
+      } else {
+        Path outputPath = outputFile.toPath().toAbsolutePath();
+        if (outputPath.getParent() != null) {
+          Files.createDirectories(outputPath.getParent());
+        }
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(outputPath))) {
+          resultWriter.write(result, outputFormat, selectionMetrics, out);
+        }
+        System.err.println("✅ 선별 결과 저장 (" + outputFormat.cliName() + "): " + outputPath);
+      }
+    } catch (IOException e) {
+      System.err.println("⚠️ 선별 결과 출력 중 오류가 발생했습니다: " + e.getMessage());
+      return 1;
+    }
+
     // 4. 아키텍처 분석 결과를 로그(stderr)로 출력
     System.err.println("\n========================================");
     System.err.println(" 아키텍처 분석 결과 (규칙 기반)");
@@ -101,23 +374,65 @@ public class Main implements Callable<Integer> {
     if (result.getCircularDependencies().isEmpty()) {
       System.err.println("✅ 순환 참조가 발견되지 않았습니다.");
     } else {
-      result.getCircularDependencies().forEach(cycle ->
-          System.err.println("⚠️ 순환 참조 발견: " + String.join(" -> ", cycle))
-      );
+      result.getCyclicComponents().forEach(component -> {
+        System.err.println("⚠️ 순환 참조 발견: " + String.join(" -> ", component.getCycle()));
+        System.err.println("    └─ 순환 그룹(" + component.getMembers().size() + "개): " + String.join(", ", component.getMembers()));
+      });
     }
+
+    // 5. HTML 리포트 생성 (AI 리뷰 결과 포함)
+    service.generateReport(result);
     System.err.println("AI 분석 결과: " + result.getAiArchitectureSuggestions());
+    if (aiResponseCache != null && aiMode != AiReviewMode.OFF) {
+      System.err.println("ℹ️ AI 응답 캐시: 적중 " + aiResponseCache.getHitCount() + " / 미적중 " + aiResponseCache.getMissCount());
+    }
 
-    // 5. 최종 결과(테스트 목록)만 표준 출력(stdout)으로 출력합니다.
-    if (!testsWithPaths.isEmpty()) {
-      testsWithPaths.forEach((key, value) -> System.err.println(key));
+    // 6. 단계별 측정 결과는 선별 결과와 별도 파일로 저장합니다. AI 리뷰 대기와 리포트 생성 단계도 포함합니다.
+    // 실패해도 선별 결과는 이미 출력되었으므로 경고만 남깁니다.
+    if (metricsFile != null) {
+      List<PhaseMetrics> phaseMetrics = new ArrayList<>(instrumentation.getPhases());
+      phaseMetrics.addAll(service.getPhaseMetrics());
+      Path metricsPath = metricsFile.toPath().toAbsolutePath();
+      try {
+        if (metricsPath.getParent() != null) {
+          Files.createDirectories(metricsPath.getParent());
+        }
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(metricsPath))) {
+          new MetricsExporter().write(phaseMetrics, metricsFormat, out);
+        }
+        System.err.println("✅ 단계별 측정 결과 저장 (" + metricsFormat.name().toLowerCase() + "): " + metricsPath);
+      } catch (IOException e) {
+        System.err.println("⚠️ 단계별 측정 결과를 저장하지 못했습니다: " + e.getMessage());
+      }
     }
 
     return 0; // 성공
   }
 
+  /**
+   * 샤드별로 테스트 필터 목록(shard-k.txt, 한 줄에 하나)과 Gradle 인자(shard-k.gradle)를 저장합니다.
+   * 이전 실행에서 더 많은 샤드로 만든 파일이 남지 않도록 기존 샤드 파일은 지웁니다.
+   * 빈 샤드도 빈 파일을 만듭니다. 빈 --tests 인자로 Gradle을 실행하면 전체 테스트가 실행되므로 CI에서 파일이 비었는지 확인해야 합니다.
+   */
+  private static void writeShardFiles(ShardPlan shardPlan, Path directory) throws IOException {
+    Files.createDirectories(directory);
+    try (Stream<Path> files = Files.list(directory)) {
+      for (Path file : files.filter(file -> file.getFileName().toString().startsWith("shard-")).collect(Collectors.toList())) {
+        Files.delete(file);
+      }
+    }
+    for (ShardPlan.Shard shard : shardPlan.getShards()) {
+      List<String> filters = shard.getFilters();
+      Files.write(directory.resolve("shard-" + shard.getIndex() + ".txt"), filters);
+      Files.writeString(directory.resolve("shard-" + shard.getIndex() + ".gradle"), TestFilterFormatter.gradle(filters) + "\n");
+    }
+  }
+
   // CI 환경용
   public static void main(String[] args) {
-    int exitCode = new CommandLine(new Main()).execute(args);
+    int exitCode = new CommandLine(new Main())
+        .setCaseInsensitiveEnumValuesAllowed(true)
+        .execute(args);
     System.exit(exitCode);
   }
 
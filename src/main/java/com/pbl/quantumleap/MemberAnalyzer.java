@@ -0,0 +1,374 @@
+package com.pbl.quantumleap;
+
+import com.github.javaparser.JavaToken;
+import com.github.javaparser.TokenRange;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.body.BodyDeclaration;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.ConstructorDeclaration;
+import com.github.javaparser.ast.body.FieldDeclaration;
+import com.github.javaparser.ast.body.InitializerDeclaration;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.body.Parameter;
+import com.github.javaparser.ast.body.TypeDeclaration;
+import com.github.javaparser.ast.body.VariableDeclarator;
+import com.github.javaparser.ast.expr.AnnotationExpr;
+import com.github.javaparser.ast.expr.Expression;
+import com.github.javaparser.ast.expr.FieldAccessExpr;
+import com.github.javaparser.ast.expr.MethodCallExpr;
+import com.github.javaparser.ast.expr.MethodReferenceExpr;
+import com.github.javaparser.ast.expr.NameExpr;
+import com.github.javaparser.ast.expr.ObjectCreationExpr;
+import com.github.javaparser.ast.stmt.ExplicitConstructorInvocationStmt;
+import com.github.javaparser.ast.type.ClassOrInterfaceType;
+import com.github.javaparser.ast.type.Type;
+import com.github.javaparser.printer.DefaultPrettyPrinter;
+import com.github.javaparser.printer.configuration.DefaultConfigurationOption;
+import com.github.javaparser.printer.configuration.DefaultPrinterConfiguration;
+import com.github.javaparser.printer.configuration.DefaultPrinterConfiguration.ConfigOption;
+import com.github.javaparser.printer.configuration.PrinterConfiguration;
+import com.pbl.quantumleap.cache.AnalysisCache;
+import com.pbl.quantumleap.model.MemberFacts;
+import com.pbl.quantumleap.model.MemberFacts.TestRole;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * 클래스 선언을 멤버(메서드, 필드, 생성자, 초기화 블록, 중첩 타입) 단위로 나누어, 멤버마다 내용 해시와 참조 목록을 추출합니다.
+ * 심볼 해석 없이 문법 정보만 사용하므로, 참조 대상의 타입은 변수/필드 선언에 쓰인 타입 이름으로 추정합니다.
+ * 타입을 알 수 없는 참조는 이름만 기록하며, 그래프 구성 시 같은 이름의 멤버 모두에 보수적으로 연결됩니다.
+ */
+public class MemberAnalyzer {
+
+  /** 생성자, 인스턴스 필드 초기값과 인스턴스 초기화 블록 */
+  public static final String CONSTRUCTOR = "<init>";
+  /** static 초기화 블록. 클래스의 모든 멤버가 이 멤버에 의존합니다. */
+  public static final String STATIC_INITIALIZER = "<clinit>";
+  /** 중첩 타입 멤버 이름의 접미사 (예: Builder{}) */
+  public static final String NESTED_TYPE_SUFFIX = "{}";
+
+  /** 타입 참조: "T|타입 이름" */
+  public static final String REF_TYPE = "T|";
+  /** 타입 이름을 아는 대상의 멤버 참조: "C|타입 이름|멤버" */
+  public static final String REF_TYPED = "C|";
+  /** 자기 클래스(this 또는 한정자 없음)의 멤버 참조: "S|멤버" */
+  public static final String REF_SELF = "S|";
+  /** 상위 타입(super)의 멤버 참조: "P|멤버" */
+  public static final String REF_SUPER = "P|";
+  /** 대상 타입을 알 수 없는 멤버 참조: "U|멤버" */
+  public static final String REF_UNKNOWN = "U|";
+
+  /** 개별 실행 단위가 되는 테스트 메서드 어노테이션 (JUnit 4/5) */
+  private static final List<String> TEST_ANNOTATIONS =
+      List.of("Test", "ParameterizedTest", "RepeatedTest", "TestFactory", "TestTemplate");
+  /** 모든 테스트 전후에 실행되는 생명주기 메서드 어노테이션 (JUnit 4/5) */
+  private static final List<String> LIFECYCLE_ANNOTATIONS =
+      List.of("BeforeEach", "AfterEach", "BeforeAll", "AfterAll", "Before", "After", "BeforeClass", "AfterClass");
+
+  private static final String UNKNOWN_TYPE = ""; // 지역 변수 타입을 알 수 없음 (var, 타입 없는 람다 파라미터 등)
+  private static final int HASH_LENGTH = 16;
+
+  private static final PrinterConfiguration PRINTER_CONFIGURATION = new DefaultPrinterConfiguration()
+      .removeOption(new DefaultConfigurationOption(ConfigOption.PRINT_COMMENTS))
+      .removeOption(new DefaultConfigurationOption(ConfigOption.PRINT_JAVADOC));
+
+  /**
+   * 멤버를 제외한 클래스 선언부(패키지, 어노테이션, 상속, 타입 파라미터)와 같은 파일의 다른 최상위 타입의 해시입니다.
+   * 이 값이 바뀌면 클래스 전체가 변경된 것으로 취급합니다.
+   */
+  public String classHash(CompilationUnit cu, ClassOrInterfaceDeclaration classDecl) {
+    StringBuilder text = new StringBuilder();
+    cu.getPackageDeclaration().ifPresent(packageDeclaration -> appendTokens(text, packageDeclaration, Map.of()));
+    // 멤버 토큰은 건너뛰고 선언부 토큰만 모읍니다.
+    Map<JavaToken, JavaToken> memberRanges = new IdentityHashMap<>();
+    for (BodyDeclaration<?> member : classDecl.getMembers()) {
+      member.getTokenRange().ifPresent(range -> memberRanges.put(range.getBegin(), range.getEnd()));
+    }
+    appendTokens(text, classDecl, memberRanges);
+    for (TypeDeclaration<?> type : cu.getTypes()) {
+      if (type != classDecl) {
+        appendTokens(text, type, Map.of()); // classDecl을 감싸는 최상위 타입이면 전체가 포함되어 보수적으로 비교됩니다.
+      }
+    }
+    return hash(text);
+  }
+
+  /**
+   * extends/implements에 쓰인 상위 타입 이름 목록입니다. (소스에 쓰인 그대로)
+   */
+  public List<String> superTypes(ClassOrInterfaceDeclaration classDecl) {
+    List<String> superTypes = new ArrayList<>();
+    classDecl.getExtendedTypes().forEach(type -> superTypes.add(type.getNameWithScope()));
+    classDecl.getImplementedTypes().forEach(type -> superTypes.add(type.getNameWithScope()));
+    return superTypes;
+  }
+
+  /**
+   * 클래스의 멤버 목록을 선언 순서대로 반환합니다. 오버로드 메서드와 여러 생성자는 각각 하나의 멤버로 합쳐집니다.
+   */
+  public List<MemberFacts> members(ClassOrInterfaceDeclaration classDecl) {
+    Map<String, String> fieldTypes = new HashMap<>();
+    for (FieldDeclaration field : classDecl.getFields()) {
+      field.getVariables().forEach(variable -> fieldTypes.put(variable.getNameAsString(), typeName(variable.getType())));
+    }
+
+    Map<String, StringBuilder> texts = new LinkedHashMap<>();
+    Map<String, Set<String>> references = new HashMap<>();
+    Map<String, TestRole> testRoles = new HashMap<>();
+    for (BodyDeclaration<?> member : classDecl.getMembers()) {
+      if (member instanceof MethodDeclaration method) {
+        String name = method.getNameAsString() + "()";
+        addMember(texts, references, name, method, classDecl, fieldTypes);
+        if (isTestMethod(method)) {
+          testRoles.put(name, TestRole.TEST);
+        } else if (LIFECYCLE_ANNOTATIONS.stream().anyMatch(method::isAnnotationPresent)) {
+          testRoles.putIfAbsent(name, TestRole.LIFECYCLE);
+        }
+      } else if (member instanceof ConstructorDeclaration constructor) {
+        addMember(texts, references, CONSTRUCTOR, constructor, classDecl, fieldTypes);
+      } else if (member instanceof FieldDeclaration field) {
+        for (VariableDeclarator variable : field.getVariables()) {
+          addMember(texts, references, variable.getNameAsString(), field, classDecl, fieldTypes);
+          if (!field.isStatic() && variable.getInitializer().isPresent()) {
+            // 인스턴스 필드 초기값은 객체 생성 시 실행되므로 생성자에도 포함합니다.
+            addMember(texts, references, CONSTRUCTOR, variable, classDecl, fieldTypes);
+          }
+        }
+      } else if (member instanceof InitializerDeclaration initializer) {
+        addMember(texts, references, initializer.isStatic() ? STATIC_INITIALIZER : CONSTRUCTOR, initializer, classDecl, fieldTypes);
+      } else if (member instanceof TypeDeclaration<?> nestedType) {
+        String name = nestedType.getNameAsString() + NESTED_TYPE_SUFFIX;
+        addMember(texts, references, name, nestedType, classDecl, fieldTypes);
+        if (nestedType.isAnnotationPresent("Nested")) {
+          testRoles.put(name, TestRole.TEST); // @Nested 클래스는 안의 테스트를 한 단위로 선별합니다.
+        }
+      } else {
+        addMember(texts, references, STATIC_INITIALIZER, member, classDecl, fieldTypes); // 그 밖의 선언은 클래스 전체에 영향이 있다고 봅니다.
+      }
+    }
+
+    List<MemberFacts> members = new ArrayList<>(texts.size());
+    texts.forEach((name, text) -> {
+      MemberFacts facts = new MemberFacts(name, hash(text), new ArrayList<>(references.get(name)));
+      facts.setTestRole(testRoles.get(name));
+      members.add(facts);
+    });
+    return members;
+  }
+
+  /**
+   * 개별로 실행할 수 있는 테스트 메서드(@Test, @ParameterizedTest, @RepeatedTest, @TestFactory, @TestTemplate)인지 확인합니다.
+   */
+  public static boolean isTestMethod(MethodDeclaration method) {
+    return TEST_ANNOTATIONS.stream().anyMatch(method::isAnnotationPresent);
+  }
+
+  private void addMember(Map<String, StringBuilder> texts, Map<String, Set<String>> references, String name, Node node,
+      ClassOrInterfaceDeclaration classDecl, Map<String, String> fieldTypes) {
+    appendTokens(texts.computeIfAbsent(name, key -> new StringBuilder()), node, Map.of());
+    texts.get(name).append('\n');
+    // 캐시 파일 내용이 실행마다 달라지지 않도록 정렬하여 저장합니다.
+    references.computeIfAbsent(name, key -> new TreeSet<>()).addAll(collectReferences(node, classDecl, fieldTypes));
+  }
+
+  /**
+   * 멤버 본문에서 다른 타입과 멤버에 대한 참조를 수집합니다.
+   */
+  private Set<String> collectReferences(Node node, ClassOrInterfaceDeclaration classDecl, Map<String, String> fieldTypes) {
+    // 지역 변수와 파라미터의 타입 (블록 범위는 구분하지 않음)
+    Map<String, String> localTypes = new HashMap<>();
+    node.findAll(Parameter.class).forEach(parameter -> localTypes.put(parameter.getNameAsString(), typeName(parameter.getType())));
+    for (VariableDeclarator variable : node.findAll(VariableDeclarator.class)) {
+      if (variable.getParentNode().filter(parent -> parent instanceof FieldDeclaration
+          && parent.getParentNode().filter(grandParent -> grandParent == classDecl).isPresent()).isPresent()) {
+        continue; // 클래스 자신의 필드
+      }
+      String type = variable.getType().isVarType()
+          ? variable.getInitializer().filter(Expression::isObjectCreationExpr)
+              .map(initializer -> initializer.asObjectCreationExpr().getType().getNameWithScope())
+              .orElse(UNKNOWN_TYPE)
+          : typeName(variable.getType());
+      localTypes.put(variable.getNameAsString(), type);
+    }
+    Scope scope = new Scope(localTypes, fieldTypes);
+
+    Set<String> references = new TreeSet<>();
+    for (MethodCallExpr call : node.findAll(MethodCallExpr.class)) {
+      String receiver = call.getScope().map(scope::receiver).orElse(REF_SELF);
+      if (receiver != null) {
+        references.add(receiver + call.getNameAsString() + "()");
+      }
+    }
+    for (MethodReferenceExpr reference : node.findAll(MethodReferenceExpr.class)) {
+      String receiver = scope.receiver(reference.getScope());
+      if (receiver != null) {
+        references.add(receiver + (reference.getIdentifier().equals("new") ? CONSTRUCTOR : reference.getIdentifier() + "()"));
+      }
+    }
+    for (ObjectCreationExpr creation : node.findAll(ObjectCreationExpr.class)) {
+      references.add(REF_TYPED + creation.getType().getNameWithScope() + "|" + CONSTRUCTOR);
+    }
+    for (ExplicitConstructorInvocationStmt invocation : node.findAll(ExplicitConstructorInvocationStmt.class)) {
+      references.add((invocation.isThis() ? REF_SELF : REF_SUPER) + CONSTRUCTOR);
+    }
+    for (FieldAccessExpr access : node.findAll(FieldAccessExpr.class)) {
+      if (scope.isPackageName(access.getScope())) {
+        continue; // com.example.Foo 같은 이름의 패키지 부분
+      }
+      String receiver = scope.receiver(access.getScope());
+      if (receiver != null) {
+        references.add(receiver + access.getNameAsString());
+      }
+    }
+    for (NameExpr nameExpr : node.findAll(NameExpr.class)) {
+      String name = nameExpr.getNameAsString();
+      if (localTypes.containsKey(name)) {
+        continue;
+      }
+      if (fieldTypes.containsKey(name)) {
+        references.add(REF_SELF + name); // 필드를 통해 호출하는 경우에도 필드 선언(타입) 변경의 영향을 받습니다.
+      } else if (!isScopeOf(nameExpr)) {
+        references.add(REF_UNKNOWN + name); // static import 또는 상속받은 필드
+      }
+    }
+    for (ClassOrInterfaceType type : node.findAll(ClassOrInterfaceType.class)) {
+      references.add(REF_TYPE + type.getNameWithScope());
+    }
+    for (AnnotationExpr annotation : node.findAll(AnnotationExpr.class)) {
+      references.add(REF_TYPE + annotation.getNameAsString());
+    }
+    return references;
+  }
+
+  private static boolean isScopeOf(NameExpr nameExpr) {
+    return nameExpr.getParentNode().filter(parent ->
+        (parent instanceof MethodCallExpr call && call.getScope().filter(callScope -> callScope == nameExpr).isPresent())
+            || (parent instanceof FieldAccessExpr access && access.getScope() == nameExpr)
+            || (parent instanceof MethodReferenceExpr reference && reference.getScope() == nameExpr)).isPresent();
+  }
+
+  private static String typeName(Type type) {
+    return type.isClassOrInterfaceType() ? type.asClassOrInterfaceType().getNameWithScope() : UNKNOWN_TYPE;
+  }
+
+  /**
+   * 노드의 토큰을 공백과 주석을 제외하고 이어 붙입니다. 코드 모양(들여쓰기, 줄바꿈)이나 주석만 바뀐 경우 같은 텍스트가 됩니다.
+   * 소스를 다시 출력(pretty print)하는 것보다 훨씬 빠르며, 토큰 정보가 없는 노드만 출력 결과를 사용합니다.
+   * @param skippedRanges <건너뛸 구간의 첫 토큰, 마지막 토큰>
+   */
+  private static void appendTokens(StringBuilder text, Node node, Map<JavaToken, JavaToken> skippedRanges) {
+    Optional<TokenRange> tokenRange = node.getTokenRange();
+    if (tokenRange.isEmpty()) {
+      text.append(new DefaultPrettyPrinter(PRINTER_CONFIGURATION).print(node));
+      return;
+    }
+    JavaToken end = tokenRange.get().getEnd();
+    JavaToken token = tokenRange.get().getBegin();
+    while (token != null) {
+      JavaToken skippedEnd = skippedRanges.get(token);
+      if (skippedEnd != null) {
+        token = skippedEnd;
+      } else if (!token.getCategory().isWhitespaceOrComment()) {
+        text.append(token.getText()).append(' ');
+      }
+      if (token == end) {
+        break;
+      }
+      token = token.getNextToken().orElse(null);
+    }
+  }
+
+  private static String hash(CharSequence text) {
+    return AnalysisCache.hash(text.toString().getBytes(StandardCharsets.UTF_8)).substring(0, HASH_LENGTH);
+  }
+
+  /**
+   * 멤버 본문의 이름 범위(지역 변수, 필드)로 멤버 접근 대상(receiver)의 참조 접두사를 구합니다.
+   */
+  private static class Scope {
+
+    private final Map<String, String> localTypes;
+    private final Map<String, String> fieldTypes;
+
+    Scope(Map<String, String> localTypes, Map<String, String> fieldTypes) {
+      this.localTypes = localTypes;
+      this.fieldTypes = fieldTypes;
+    }
+
+    /**
+     * @return 참조 접두사(REF_*), 패키지 이름처럼 멤버 접근이 아니면 null
+     */
+    String receiver(Expression expression) {
+      if (expression.isThisExpr()) {
+        return expression.asThisExpr().getTypeName().isPresent() ? REF_UNKNOWN : REF_SELF; // Outer.this는 바깥 클래스
+      }
+      if (expression.isSuperExpr()) {
+        return expression.asSuperExpr().getTypeName().isPresent() ? REF_UNKNOWN : REF_SUPER;
+      }
+      if (expression.isNameExpr()) {
+        String name = expression.asNameExpr().getNameAsString();
+        if (isVariable(name)) {
+          return typed(localTypes.containsKey(name) ? localTypes.get(name) : fieldTypes.get(name));
+        }
+        // 변수가 아닌 대문자 이름은 static 멤버를 가진 타입(Foo.bar()), 소문자 이름은 상속받은 필드 등으로 봅니다.
+        return Character.isUpperCase(name.charAt(0)) ? typed(name) : REF_UNKNOWN;
+      }
+      if (expression.isFieldAccessExpr()) {
+        FieldAccessExpr access = expression.asFieldAccessExpr();
+        if (access.getScope().isThisExpr() && access.getScope().asThisExpr().getTypeName().isEmpty()) {
+          return typed(fieldTypes.getOrDefault(access.getNameAsString(), UNKNOWN_TYPE));
+        }
+        Expression root = access.getScope();
+        while (root.isFieldAccessExpr()) {
+          root = root.asFieldAccessExpr().getScope();
+        }
+        if (root.isNameExpr() && !isVariable(root.asNameExpr().getNameAsString())) {
+          if (Character.isUpperCase(access.getNameAsString().charAt(0))) {
+            return typed(access.toString()); // com.example.Foo, Outer.Inner
+          }
+          return isPackageName(access) ? null : REF_UNKNOWN;
+        }
+        return REF_UNKNOWN;
+      }
+      if (expression.isTypeExpr()) {
+        return typed(typeName(expression.asTypeExpr().getType()));
+      }
+      return REF_UNKNOWN; // 메서드 호출 결과, 배열 원소, 캐스팅 등
+    }
+
+    /**
+     * 변수가 아닌 소문자 이름으로만 이루어진 이름(com, com.example)인지 확인합니다.
+     */
+    boolean isPackageName(Expression expression) {
+      while (expression.isFieldAccessExpr()) {
+        if (Character.isUpperCase(expression.asFieldAccessExpr().getNameAsString().charAt(0))) {
+          return false;
+        }
+        expression = expression.asFieldAccessExpr().getScope();
+      }
+      if (!expression.isNameExpr()) {
+        return false;
+      }
+      String name = expression.asNameExpr().getNameAsString();
+      return !isVariable(name) && Character.isLowerCase(name.charAt(0));
+    }
+
+    private boolean isVariable(String name) {
+      return localTypes.containsKey(name) || fieldTypes.containsKey(name);
+    }
+
+    private static String typed(String typeName) {
+      return typeName == null || typeName.isEmpty() ? REF_UNKNOWN : REF_TYPED + typeName + "|";
+    }
+  }
+}
@@ -0,0 +1,154 @@
+package com.pbl.quantumleap;
+
+import com.pbl.quantumleap.model.MemberFacts;
+import com.pbl.quantumleap.model.MemberGraph;
+import com.pbl.quantumleap.model.ParsedSource;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 변경 전(base) 소스와 현재 소스의 멤버 정보를 비교하여 실제로 바뀐 멤버를 찾습니다.
+ * 멤버 본문, 시그니처, 어노테이션, 필드 선언이 바뀌면 해당 멤버가 변경된 것으로 보며, 주석만 바뀐 경우는 무시합니다.
+ * 클래스 선언부가 바뀌었거나 비교할 변경 전 소스가 없는 파일(추가/삭제/이름 변경)은 클래스 전체가 변경된 것으로 봅니다.
+ */
+public class MemberChangeDetector {
+
+  private final SourceParser sourceParser;
+
+  public MemberChangeDetector(SourceParser sourceParser) {
+    this.sourceParser = sourceParser;
+  }
+
+  /**
+   * @param changes 변경된 파일 경로(.java), 클래스 FQCN 또는 단순 클래스 이름 Set
+   * @param baseSources <저장소 루트 기준 파일 경로, 변경 전 내용>. 여기에 없는 변경은 클래스 전체 변경으로 취급합니다.
+   * @param headSources 현재 소스/테스트 파일 분석 결과 (멤버 정보 포함)
+   */
+  public Result detect(Set<String> changes, Map<String, String> baseSources, List<ParsedSource> headSources) {
+    Set<String> changedMembers = new LinkedHashSet<>();
+    Set<String> wholeChanges = new LinkedHashSet<>();
+    for (String change : changes) {
+      String baseContent = baseSources.get(change);
+      ParsedSource head = baseContent == null ? null : findByPath(headSources, Paths.get(change).normalize());
+      if (head == null || head.getMembers() == null) {
+        wholeChanges.add(change);
+        continue;
+      }
+      ParsedSource base = sourceParser.parseContent(head.getFilePath(), baseContent, head.isTest());
+      Set<String> members = diff(base, head);
+      if (members == null) {
+        System.err.println("ℹ️ " + head.getQualifiedName() + ": 클래스 선언부가 변경되어 클래스 전체를 변경된 것으로 봅니다.");
+        wholeChanges.add(head.getQualifiedName());
+        if (base != null && !base.getQualifiedName().equals(head.getQualifiedName())) {
+          wholeChanges.add(base.getQualifiedName());
+        }
+      } else if (members.isEmpty()) {
+        System.err.println("ℹ️ " + head.getQualifiedName() + ": 변경된 멤버가 없습니다. (주석/공백만 변경)");
+      } else {
+        System.err.println("ℹ️ " + head.getQualifiedName() + ": 변경된 멤버 " + members);
+        members.forEach(member -> changedMembers.add(head.getQualifiedName() + MemberGraph.SEPARATOR + member));
+      }
+    }
+    return new Result(changedMembers, wholeChanges);
+  }
+
+  /**
+   * 두 버전의 멤버를 비교합니다.
+   * @return 변경된 멤버 이름 Set, 클래스 전체가 변경된 것으로 봐야 하면 null
+   */
+  private Set<String> diff(ParsedSource base, ParsedSource head) {
+    if (base == null || base.getMembers() == null
+        || !base.getQualifiedName().equals(head.getQualifiedName())
+        || !base.getClassHash().equals(head.getClassHash())
+        || !base.getWildcardImports().equals(head.getWildcardImports())) {
+      return null;
+    }
+
+    Map<String, String> baseHashes = hashes(base.getMembers());
+    Map<String, String> headHashes = hashes(head.getMembers());
+    Set<String> changed = new LinkedHashSet<>();
+    for (Map.Entry<String, String> entry : headHashes.entrySet()) {
+      if (!entry.getValue().equals(baseHashes.get(entry.getKey()))) {
+        changed.add(entry.getKey()); // 추가되었거나 내용이 바뀐 멤버
+      }
+    }
+    for (String name : baseHashes.keySet()) {
+      if (!headHashes.containsKey(name)) {
+        changed.add(name); // 삭제된 멤버
+      }
+    }
+
+    // import가 바뀌면 본문이 같아도 같은 이름이 다른 클래스를 가리킬 수 있으므로, 그 이름을 참조하는 멤버도 변경된 것으로 봅니다.
+    Set<String> reboundNames = reboundNames(base.getImports(), head.getImports());
+    if (!reboundNames.isEmpty()) {
+      for (MemberFacts member : head.getMembers()) {
+        if (!changed.contains(member.getName()) && referencesAny(member, reboundNames)) {
+          changed.add(member.getName());
+        }
+      }
+    }
+    return changed;
+  }
+
+  private static Map<String, String> hashes(List<MemberFacts> members) {
+    Map<String, String> hashes = new LinkedHashMap<>();
+    members.forEach(member -> hashes.put(member.getName(), member.getHash()));
+    return hashes;
+  }
+
+  /**
+   * 두 import 목록에서 가리키는 클래스가 달라진 단순 이름을 반환합니다.
+   */
+  private static Set<String> reboundNames(Set<String> baseImports, Set<String> headImports) {
+    Map<String, String> baseBySimpleName = new HashMap<>();
+    baseImports.forEach(imported -> baseBySimpleName.put(TypeResolver.simpleNameOf(imported), imported));
+    Map<String, String> headBySimpleName = new HashMap<>();
+    headImports.forEach(imported -> headBySimpleName.put(TypeResolver.simpleNameOf(imported), imported));
+    Set<String> names = new HashSet<>(baseBySimpleName.keySet());
+    names.addAll(headBySimpleName.keySet());
+    names.removeIf(name -> baseBySimpleName.getOrDefault(name, "").equals(headBySimpleName.getOrDefault(name, "")));
+    return names;
+  }
+
+  private static boolean referencesAny(MemberFacts member, Set<String> simpleNames) {
+    for (String reference : member.getReferences()) {
+      if (reference.startsWith(MemberAnalyzer.REF_TYPE) || reference.startsWith(MemberAnalyzer.REF_TYPED)) {
+        String typeName = reference.substring(2);
+        int end = typeName.indexOf('.') >= 0 ? typeName.indexOf('.') : typeName.indexOf('|');
+        if (simpleNames.contains(end >= 0 ? typeName.substring(0, end) : typeName)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  private static ParsedSource findByPath(List<ParsedSource> sources, Path changedPath) {
+    for (ParsedSource source : sources) {
+      if (source.getFilePath().toAbsolutePath().normalize().endsWith(changedPath)) {
+        return source;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * 멤버 단위 변경 분석 결과입니다.
+   */
+  @Getter
+  @RequiredArgsConstructor
+  public static class Result {
+    private final Set<String> changedMembers; // "클래스 FQCN#멤버"
+    private final Set<String> wholeChanges; // 클래스 전체가 변경된 것으로 보는 항목 (파일 경로, FQCN 또는 클래스 이름)
+  }
+}
@@ -0,0 +1,318 @@
+package com.pbl.quantumleap;
+
+import com.pbl.quantumleap.model.CompactGraph;
+import com.pbl.quantumleap.model.MemberFacts;
+import com.pbl.quantumleap.model.MemberGraph;
+import com.pbl.quantumleap.model.ParsedSource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 파싱된 멤버 정보(MemberFacts)로 멤버 단위 참조 그래프를 구성합니다.
+ * 참조에 쓰인 타입 이름은 클래스 그래프와 같은 규칙(TypeResolver)으로 해석하며, 어느 멤버인지 확정할 수 없는 참조는
+ * 보수적으로 연결합니다. (대상 타입을 모르면 같은 이름의 멤버 전체, 대상 타입만 알면 그 클래스의 {@link MemberGraph#ANY})
+ * 상위 타입의 메서드를 재정의한 멤버는 상위 타입 멤버를 통한 호출(동적 디스패치)에도 영향을 주도록 연결합니다.
+ */
+public class MemberGraphBuilder {
+
+  private static final int TYPE_OFFSET = 0; // 클래스 노드 범위 안에서 TYPE 노드의 위치
+  private static final int ANY_OFFSET = 1;
+
+  private final CompactGraph classGraph;
+  private final TypeResolver typeResolver;
+
+  private ParsedSource[] sources;
+  private int[] classOffsets;
+  private List<String> memberNames;
+  private int[][] superTypes;
+  private int[][] ancestors; // 클래스 ID → 모든 상위 타입 (필요할 때 계산)
+  private final Map<String, List<Integer>> declaringClasses = new HashMap<>(); // 멤버 이름 → 선언한 클래스 ID
+
+  private int[] edgeFrom = new int[1024];
+  private int[] edgeTo = new int[1024];
+  private int edgeCount = 0;
+
+  public MemberGraphBuilder(CompactGraph classGraph) {
+    this.classGraph = classGraph;
+    Set<String> classNames = new HashSet<>();
+    for (int id = 0; id < classGraph.nodeCount(); id++) {
+      classNames.add(classGraph.name(id));
+    }
+    this.typeResolver = new TypeResolver(classNames);
+  }
+
+  /**
+   * @param parsedSources 멤버 정보를 포함한 소스/테스트 파일 분석 결과. 클래스 그래프에 없는 파일은 무시됩니다.
+   */
+  public MemberGraph build(List<ParsedSource> parsedSources) {
+    int classCount = classGraph.nodeCount();
+    sources = new ParsedSource[classCount];
+    for (ParsedSource parsed : parsedSources) {
+      int classId = classGraph.idOf(parsed.getQualifiedName());
+      // 소스 클래스와 이름이 같아 그래프에서 제외된 테스트 클래스는 경로로 걸러냅니다.
+      if (classId >= 0 && classGraph.filePath(classId).equals(parsed.getFilePath().toString())) {
+        sources[classId] = parsed;
+      }
+    }
+
+    // 노드: 클래스마다 TYPE, ANY, 선언된 멤버 순
+    classOffsets = new int[classCount + 1];
+    memberNames = new ArrayList<>();
+    for (int c = 0; c < classCount; c++) {
+      memberNames.add(MemberGraph.TYPE);
+      memberNames.add(MemberGraph.ANY);
+      if (sources[c] != null && sources[c].getMembers() != null) {
+        for (MemberFacts member : sources[c].getMembers()) {
+          memberNames.add(member.getName());
+          declaringClasses.computeIfAbsent(member.getName(), key -> new ArrayList<>()).add(c);
+        }
+      }
+      classOffsets[c + 1] = memberNames.size();
+    }
+
+    superTypes = new int[classCount][];
+    ancestors = new int[classCount][];
+    for (int c = 0; c < classCount; c++) {
+      superTypes[c] = resolveSuperTypes(c);
+    }
+
+    for (int c = 0; c < classCount; c++) {
+      addReferenceEdges(c);
+      addStructuralEdges(c);
+    }
+    return MemberGraph.of(classGraph, classOffsets, memberNames.toArray(new String[0]), superTypes,
+        edgeFrom, edgeTo, edgeCount);
+  }
+
+  private int[] resolveSuperTypes(int c) {
+    if (sources[c] == null || sources[c].getSuperTypes() == null) {
+      return new int[0];
+    }
+    return sources[c].getSuperTypes().stream()
+        .map(typeName -> typeResolver.resolveType(typeName, sources[c]))
+        .filter(Objects::nonNull)
+        .mapToInt(classGraph::idOf)
+        .filter(id -> id >= 0 && id != c)
+        .distinct()
+        .toArray();
+  }
+
+  private void addReferenceEdges(int c) {
+    if (sources[c] == null || sources[c].getMembers() == null) {
+      return;
+    }
+    Map<String, Integer> resolvedTypes = new HashMap<>(); // 파일 안에서 같은 타입 이름은 한 번만 해석합니다.
+    for (MemberFacts member : sources[c].getMembers()) {
+      int from = memberId(c, member.getName());
+      for (String reference : member.getReferences()) {
+        String target = reference.substring(2);
+        if (reference.startsWith(MemberAnalyzer.REF_TYPE)) {
+          addEdge(from, typeTarget(c, target, null, resolvedTypes));
+        } else if (reference.startsWith(MemberAnalyzer.REF_TYPED)) {
+          int separator = target.lastIndexOf('|');
+          addEdge(from, typeTarget(c, target.substring(0, separator), target.substring(separator + 1), resolvedTypes));
+        } else if (reference.startsWith(MemberAnalyzer.REF_SELF)) {
+          int declared = findDeclared(c, target, true);
+          if (declared >= 0) {
+            addEdge(from, declared);
+          } else {
+            addUnknownEdges(from, target); // static import 또는 프로젝트 밖의 상위 클래스 멤버
+          }
+        } else if (reference.startsWith(MemberAnalyzer.REF_SUPER)) {
+          for (int superType : superTypes[c]) {
+            addEdge(from, findDeclared(superType, target, true));
+          }
+        } else if (reference.startsWith(MemberAnalyzer.REF_UNKNOWN)) {
+          addUnknownEdges(from, target);
+        }
+      }
+    }
+  }
+
+  private void addStructuralEdges(int c) {
+    int any = classOffsets[c] + ANY_OFFSET;
+    int staticInitializer = memberId(c, MemberAnalyzer.STATIC_INITIALIZER);
+    for (int id = classOffsets[c] + ANY_OFFSET + 1; id < classOffsets[c + 1]; id++) {
+      addEdge(any, id);
+      if (staticInitializer >= 0) {
+        addEdge(id, staticInitializer); // static 초기화는 클래스의 어떤 멤버를 사용하든 먼저 실행됩니다.
+      }
+    }
+
+    int constructor = memberId(c, MemberAnalyzer.CONSTRUCTOR);
+    for (int superType : superTypes[c]) {
+      addEdge(classOffsets[c] + TYPE_OFFSET, classOffsets[superType] + TYPE_OFFSET);
+      if (constructor >= 0) {
+        addEdge(constructor, findDeclared(superType, MemberAnalyzer.CONSTRUCTOR, false)); // 상위 클래스 생성자 호출
+      }
+    }
+
+    // 재정의: 상위 타입의 메서드로 호출해도 실제로는 이 클래스의 메서드가 실행될 수 있습니다.
+    int[] ancestors = ancestorsOf(c);
+    if (ancestors.length == 0) {
+      return;
+    }
+    for (int id = classOffsets[c] + ANY_OFFSET + 1; id < classOffsets[c + 1]; id++) {
+      String name = memberNames.get(id);
+      if (!name.endsWith("()")) {
+        continue;
+      }
+      for (int ancestor : ancestors) {
+        int overridden = memberId(ancestor, name);
+        if (overridden >= 0) {
+          addEdge(overridden, id);
+        }
+      }
+    }
+  }
+
+  /**
+   * 타입 이름으로 참조한 대상의 노드 ID를 구합니다.
+   * @param member 참조한 멤버 이름, 타입 자체를 참조했다면 null
+   * @return 노드 ID, 프로젝트 밖의 타입이면 -1
+   */
+  private int typeTarget(int c, String typeName, String member, Map<String, Integer> resolvedTypes) {
+    int firstDot = typeName.indexOf('.');
+    String firstName = firstDot < 0 ? typeName : typeName.substring(0, firstDot);
+    int ownNestedType = memberId(c, firstName + MemberAnalyzer.NESTED_TYPE_SUFFIX);
+    if (ownNestedType >= 0) {
+      return ownNestedType; // 자기 클래스의 중첩 타입
+    }
+    int t = resolvedTypes.computeIfAbsent(typeName, name -> {
+      String resolved = typeResolver.resolveType(name, sources[c]);
+      return resolved == null ? -1 : classGraph.idOf(resolved);
+    });
+    if (t < 0) {
+      return -1;
+    }
+    String lastName = typeName.substring(typeName.lastIndexOf('.') + 1);
+    if (!lastName.equals(classGraph.simpleName(t))) {
+      // 중첩 타입(Outer.Inner)은 바깥 클래스의 중첩 타입 멤버로, 찾지 못하면 바깥 클래스 전체로 연결합니다.
+      int nestedType = memberId(t, lastName + MemberAnalyzer.NESTED_TYPE_SUFFIX);
+      return nestedType >= 0 ? nestedType : classOffsets[t] + ANY_OFFSET;
+    }
+    if (member == null) {
+      return classOffsets[t] + TYPE_OFFSET;
+    }
+    int declared = findDeclared(t, member, true);
+    if (declared >= 0) {
+      return declared;
+    }
+    // 선언을 찾지 못한 멤버(Lombok 빌더, 프로젝트 밖 상위 클래스의 메서드 등)는 클래스 전체에 의존하는 것으로 봅니다.
+    return member.equals(MemberAnalyzer.CONSTRUCTOR) ? classOffsets[t] + TYPE_OFFSET : classOffsets[t] + ANY_OFFSET;
+  }
+
+  /**
+   * 대상 타입을 모르는 참조는 같은 이름의 멤버를 선언한 모든 클래스로 연결합니다.
+   */
+  private void addUnknownEdges(int from, String member) {
+    for (int declaringClass : declaringClasses.getOrDefault(member, List.of())) {
+      addEdge(from, memberId(declaringClass, member));
+    }
+    String property = propertyOf(member);
+    if (property != null) {
+      for (int declaringClass : declaringClasses.getOrDefault(property, List.of())) {
+        addEdge(from, memberId(declaringClass, property));
+      }
+    }
+  }
+
+  /**
+   * 클래스와 상위 타입에서 멤버 선언을 찾습니다. (가까운 타입 우선)
+   * @param includeProperties true면 Lombok 등으로 생성된 접근자(getName(), isActive(), setName())를 필드로 찾습니다.
+   * @return 노드 ID, 없으면 -1
+   */
+  private int findDeclared(int c, String member, boolean includeProperties) {
+    int declared = memberId(c, member);
+    if (declared >= 0) {
+      return declared;
+    }
+    for (int ancestor : ancestorsOf(c)) {
+      declared = memberId(ancestor, member);
+      if (declared >= 0) {
+        return declared;
+      }
+    }
+    String property = includeProperties ? propertyOf(member) : null;
+    return property == null ? -1 : findDeclared(c, property, false);
+  }
+
+  /**
+   * 프로젝트 안의 모든 상위 타입을 가까운 순서로 반환합니다.
+   */
+  private int[] ancestorsOf(int c) {
+    if (ancestors[c] == null) {
+      ancestors[c] = superTypes[c].length == 0 ? superTypes[c] : collectAncestors(c);
+    }
+    return ancestors[c];
+  }
+
+  private int[] collectAncestors(int c) {
+    int[] found = new int[8];
+    int count = 0;
+    int head = -1;
+    int current = c;
+    while (true) {
+      for (int superType : superTypes[current]) {
+        boolean known = superType == c;
+        for (int i = 0; i < count && !known; i++) {
+          known = found[i] == superType;
+        }
+        if (!known) {
+          if (count == found.length) {
+            found = Arrays.copyOf(found, count * 2);
+          }
+          found[count++] = superType;
+        }
+      }
+      if (++head >= count) {
+        return Arrays.copyOf(found, count);
+      }
+      current = found[head];
+    }
+  }
+
+  private int memberId(int c, String member) {
+    for (int id = classOffsets[c] + ANY_OFFSET + 1; id < classOffsets[c + 1]; id++) {
+      if (memberNames.get(id).equals(member)) {
+        return id;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * 접근자 이름(getName(), isActive(), setName())에 해당하는 필드 이름을 반환합니다.
+   */
+  private static String propertyOf(String member) {
+    if (!member.endsWith("()")) {
+      return null;
+    }
+    String name = member.substring(0, member.length() - 2);
+    int prefixLength = name.startsWith("get") || name.startsWith("set") ? 3 : name.startsWith("is") ? 2 : 0;
+    if (prefixLength == 0 || name.length() == prefixLength || !Character.isUpperCase(name.charAt(prefixLength))) {
+      return null;
+    }
+    return Character.toLowerCase(name.charAt(prefixLength)) + name.substring(prefixLength + 1);
+  }
+
+  private void addEdge(int from, int to) {
+    if (from < 0 || to < 0 || from == to) {
+      return;
+    }
+    if (edgeCount == edgeFrom.length) {
+      edgeFrom = Arrays.copyOf(edgeFrom, edgeCount * 2);
+      edgeTo = Arrays.copyOf(edgeTo, edgeCount * 2);
+    }
+    edgeFrom[edgeCount] = from;
+    edgeTo[edgeCount] = to;
+    edgeCount++;
+  }
+}
@@ -0,0 +1,178 @@
+package com.pbl.quantumleap;
+
+import com.pbl.quantumleap.model.CompactGraph;
+import com.pbl.quantumleap.model.MemberGraph;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.Getter;
+
+/**
+ * 멤버 단위 참조 그래프를 따라 영향을 전파하여 테스트를 선별합니다.
+ * 변경된 멤버를 실제로 참조하는 멤버를 통해서만 영향이 전파되므로, 같은 클래스의 다른 멤버만 사용하는 클래스는 선별되지 않습니다.
+ * 선별 규칙(소스-테스트 매핑, 그래프로 도달한 실행 가능한 테스트)은 클래스 단위의 {@link TestSelector}와 같습니다.
+ */
+public class MemberTestSelector {
+
+  private static final int UNVISITED = -2;
+  private static final int ROOT = -1;
+
+  private final MemberGraph memberGraph;
+  private final CompactGraph graph;
+  private final Map<String, String> sourceToTestMap;
+
+  @Getter
+  private Set<String> impactSet = new LinkedHashSet<>(); // 영향받은 클래스 FQCN
+  @Getter
+  private Map<String, Set<String>> impactedTestMembers = new HashMap<>(); // <테스트 클래스 FQCN, 영향받은 멤버 이름>
+  private int[] parents = new int[0]; // BFS 트리의 <자식 ID → 부모 ID> (시작점은 ROOT, 미방문은 UNVISITED)
+  private int[] impactedIds = new int[0]; // 영향받은 멤버 노드 ID (BFS 방문 순서)
+  private int impactedCount = 0;
+
+  public MemberTestSelector(MemberGraph memberGraph, Map<String, String> sourceToTestMap) {
+    this.memberGraph = memberGraph;
+    this.graph = memberGraph.classGraph();
+    this.sourceToTestMap = sourceToTestMap;
+  }
+
+  /**
+   * 변경된 멤버와 클래스를 기반으로 실행해야 할 테스트 클래스 목록을 선별합니다.
+   * @param changedMembers 변경된 멤버 ("클래스 FQCN#멤버")
+   * @param changedClasses 전체가 변경된 것으로 보는 클래스 FQCN (추가/삭제/이름 변경, 선언부 변경 등)
+   * @return <실행해야 할 테스트 클래스 FQCN, 변경 멤버로부터의 경로("클래스 FQCN#멤버" 목록)> 맵
+   */
+  public Map<String, List<String>> selectTestsAndPaths(Set<String> changedMembers, Set<String> changedClasses) {
+    System.err.println("--- 테스트 선별 시작 (멤버 단위) ---");
+    System.err.println("변경된 멤버: " + changedMembers);
+    System.err.println("전체가 변경된 클래스: " + changedClasses);
+
+    // 1. 변경된 멤버에서 시작하여, 영향을 받는 모든 멤버와 그 경로를 찾습니다.
+    findImpactPaths(changedMembers, changedClasses);
+    System.err.println("영향을 받은 클래스: " + this.impactSet);
+
+    // 2. 영향받는 클래스들에 해당하는 테스트 클래스를 찾고, 클래스에 처음 도달한 멤버까지의 경로를 매핑합니다.
+    Map<String, List<String>> testsWithPaths = new HashMap<>();
+    int[] firstImpacted = new int[graph.nodeCount()];
+    Arrays.fill(firstImpacted, -1);
+    for (int i = 0; i < impactedCount; i++) {
+      int owner = memberGraph.owner(impactedIds[i]);
+      if (firstImpacted[owner] < 0) {
+        firstImpacted[owner] = impactedIds[i];
+      }
+    }
+    for (String impactedClass : this.impactSet) {
+      String testClass = sourceToTestMap.get(impactedClass);
+      if (testClass != null) {
+        int id = graph.idOf(impactedClass);
+        List<String> path = id >= 0 && firstImpacted[id] >= 0
+            ? buildPath(firstImpacted[id])
+            : new ArrayList<>(List.of(impactedClass)); // 그래프에 없는 변경 클래스는 자기 자신만의 경로를 가집니다.
+        testsWithPaths.put(testClass, path);
+      }
+    }
+
+    // 3. 그래프를 따라 직접 도달한 테스트 클래스도 선별합니다.
+    for (int i = 0; i < impactedCount; i++) {
+      int owner = memberGraph.owner(impactedIds[i]);
+      if (graph.isRunnableTest(owner)) {
+        testsWithPaths.putIfAbsent(graph.name(owner), buildPath(impactedIds[i]));
+      }
+    }
+
+    System.err.println("실행될 테스트: " + testsWithPaths.keySet());
+    return testsWithPaths;
+  }
+
+  /**
+   * 변경된 멤버들로부터 시작하여, 멤버 그래프의 역방향 엣지를 따라 영향을 받는 모든 멤버를 찾습니다. (BFS)
+   */
+  private void findImpactPaths(Set<String> changedMembers, Set<String> changedClasses) {
+    int nodeCount = memberGraph.nodeCount();
+    parents = new int[nodeCount];
+    Arrays.fill(parents, UNVISITED);
+    impactedIds = new int[nodeCount]; // BFS 큐 겸 방문 순서 기록
+    int tail = 0;
+
+    // 그래프에 없는 클래스도 영향 집합에는 포함합니다.
+    Set<String> impacted = new LinkedHashSet<>();
+    for (String changedClass : changedClasses) {
+      impacted.add(changedClass);
+      int classId = graph.idOf(changedClass);
+      if (classId >= 0) {
+        for (int id = memberGraph.firstOf(classId); id < memberGraph.endOf(classId); id++) {
+          tail = enqueueSeed(id, tail);
+        }
+      }
+    }
+    for (String changedMember : changedMembers) {
+      int separator = changedMember.lastIndexOf(MemberGraph.SEPARATOR);
+      String className = changedMember.substring(0, separator);
+      String memberName = changedMember.substring(separator + 1);
+      int classId = graph.idOf(className);
+      if (classId < 0) {
+        impacted.add(className);
+        continue;
+      }
+      int id = memberGraph.idOf(classId, memberName);
+      if (id >= 0) {
+        tail = enqueueSeed(id, tail);
+        continue;
+      }
+      // 삭제된 멤버: 이 클래스를 통해 상위 타입의 멤버를 호출하던 곳과, 어느 멤버인지 알 수 없던 참조가 영향을 받습니다.
+      tail = enqueueSeed(memberGraph.idOf(classId, MemberGraph.ANY), tail);
+      for (int superType : memberGraph.superTypesOf(classId)) {
+        tail = enqueueSeed(memberGraph.idOf(superType, memberName), tail);
+      }
+    }
+
+    int head = 0;
+    while (head < tail) {
+      int current = impactedIds[head++];
+      int dependentCount = memberGraph.dependentCount(current);
+      for (int k = 0; k < dependentCount; k++) {
+        int dependent = memberGraph.dependentAt(current, k);
+        if (parents[dependent] == UNVISITED) {
+          parents[dependent] = current; // 경로 기록(자식, 부모)
+          impactedIds[tail++] = dependent;
+        }
+      }
+    }
+    Map<String, Set<String>> testMembers = new HashMap<>();
+    for (int i = 0; i < tail; i++) {
+      int owner = memberGraph.owner(impactedIds[i]);
+      impacted.add(graph.name(owner));
+      if (graph.isTest(owner)) {
+        testMembers.computeIfAbsent(graph.name(owner), key -> new LinkedHashSet<>()).add(memberGraph.memberName(impactedIds[i]));
+      }
+    }
+    this.impactedTestMembers = testMembers;
+    this.impactedCount = tail;
+    this.impactSet = impacted;
+  }
+
+  private int enqueueSeed(int id, int tail) {
+    if (id < 0 || parents[id] != UNVISITED) {
+      return tail;
+    }
+    parents[id] = ROOT;
+    impactedIds[tail] = id;
+    return tail + 1;
+  }
+
+  /**
+   * <자식, 부모> 배열을 역추적하여, 변경된 멤버로부터 시작하는 참조 경로 리스트를 생성합니다.
+   */
+  private List<String> buildPath(int impactedId) {
+    List<String> path = new ArrayList<>();
+    for (int current = impactedId; current != ROOT; current = parents[current]) {
+      path.add(memberGraph.name(current)); // 부모를 찾아 이동
+    }
+    Collections.reverse(path); // 경로를 A -> B -> C 순으로 뒤집음
+    return path;
+  }
+}
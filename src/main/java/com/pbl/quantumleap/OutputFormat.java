@@ -0,0 +1,41 @@
+package com.pbl.quantumleap;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * 선별 결과를 표준 출력(또는 --output 파일)으로 내보내는 형식.
+ */
+public enum OutputFormat {
+  /** 테스트 필터 식별자를 한 줄에 하나씩 출력합니다. */
+  PLAIN,
+  /** 선별된 테스트, 영향 경로, 변경 클래스, 순환 참조, 단계별 소요 시간을 담은 JSON */
+  JSON,
+  /** Gradle 인자 (--tests ...) */
+  GRADLE,
+  /** Maven Surefire 인자 (-Dtest=...) */
+  MAVEN,
+  /** JUnit Platform Console Launcher 선택자 (--select-class=..., 한 줄에 하나씩이라 @파일 인자로도 사용 가능) */
+  JUNIT_PLATFORM;
+
+  /**
+   * 명령행 이름으로 형식을 찾습니다. 대소문자를 구분하지 않으며 '-'와 '_'를 같게 봅니다. (예: junit-platform)
+   * @throws IllegalArgumentException 지원하지 않는 이름
+   */
+  public static OutputFormat fromName(String name) {
+    try {
+      return valueOf(name.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("지원하지 않는 출력 형식입니다: " + name + " (" + names() + ")");
+    }
+  }
+
+  public String cliName() {
+    return name().toLowerCase(Locale.ROOT).replace('_', '-');
+  }
+
+  public static String names() {
+    return Arrays.stream(values()).map(OutputFormat::cliName).collect(Collectors.joining("|"));
+  }
+}
@@ -0,0 +1,132 @@
+package com.pbl.quantumleap;
+
+import com.pbl.quantumleap.model.ShardPlan;
+import com.pbl.quantumleap.model.ShardPlan.Shard;
+import com.pbl.quantumleap.model.TestPlan.PlannedTest;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 선별된 테스트 클래스를 N개의 샤드로 나눕니다.
+ * 테스트마다 이름의 해시로 샤드 선호 순서를 정하고(rendezvous hashing), 긴 테스트부터 용량(이상적인 샤드 부하 + 여유분)을
+ * 넘지 않는 가장 선호하는 샤드에 배정합니다. 같은 테스트는 선별 결과가 조금 바뀌어도 대부분 같은 샤드에 배정되어
+ * 러너별 빌드/의존성 캐시가 유지되며, 부하는 LPT(가장 긴 작업 우선) 배분에 가깝게 균형을 이룹니다.
+ */
+public class ShardPlanner {
+
+  /** 샤드 용량을 이상적인 부하(전체 ÷ 샤드 수)보다 얼마나 크게 둘지. 클수록 선호 샤드를 지키고, 작을수록 균형을 우선합니다. */
+  private static final double BALANCE_SLACK = 0.05;
+
+  private final int shardCount;
+
+  public ShardPlanner(int shardCount) {
+    if (shardCount < 1) {
+      throw new IllegalArgumentException("샤드 수는 1 이상이어야 합니다: " + shardCount);
+    }
+    this.shardCount = shardCount;
+  }
+
+  /**
+   * @param rankedTests 실행 순서로 정렬된 테스트 ({@link TestPrioritizer#rank})
+   * @param durationBased true면 예상 실행 시간으로, false면 테스트 클래스 수로 균형을 맞춥니다.
+   */
+  public ShardPlan plan(List<PlannedTest> rankedTests, boolean durationBased) {
+    String[] names = new String[rankedTests.size()];
+    double[] weights = new double[rankedTests.size()];
+    for (int i = 0; i < names.length; i++) {
+      names[i] = rankedTests.get(i).getTestClass();
+      weights[i] = durationBased ? rankedTests.get(i).getEstimatedMillis() : 1;
+    }
+    int[] assignment = assign(names, weights);
+
+    List<Shard> shards = new ArrayList<>(shardCount);
+    for (int shard = 0; shard < shardCount; shard++) {
+      List<String> testClasses = new ArrayList<>();
+      List<String> filters = new ArrayList<>();
+      double millis = 0;
+      for (int i = 0; i < names.length; i++) {
+        if (assignment[i] == shard) {
+          PlannedTest test = rankedTests.get(i);
+          testClasses.add(test.getTestClass());
+          filters.addAll(test.getFilters());
+          millis += test.getEstimatedMillis();
+        }
+      }
+      filters.sort(null);
+      shards.add(new Shard(shard + 1, testClasses, filters, millis));
+    }
+    ShardPlan plan = new ShardPlan(durationBased, shards);
+    System.err.printf("ℹ️ 테스트 %d개를 샤드 %d개로 나눔 (%s 기준, 가장 긴 샤드 예상 %.1f초)%n", names.length, shardCount,
+        durationBased ? "실행 시간 이력" : "클래스 수", plan.getMakespanMillis() / 1000);
+    return plan;
+  }
+
+  /**
+   * 테스트를 샤드에 배정합니다. 입력 순서와 무관하게 같은 이름과 가중치에는 항상 같은 결과를 돌려줍니다.
+   * @return 테스트별 샤드 번호 (0부터 시작)
+   */
+  public int[] assign(String[] names, double[] weights) {
+    double total = 0;
+    double heaviest = 0;
+    for (double weight : weights) {
+      total += weight;
+      heaviest = Math.max(heaviest, weight);
+    }
+    double capacity = Math.max(total / shardCount * (1 + BALANCE_SLACK), heaviest);
+
+    Integer[] order = new Integer[names.length];
+    for (int i = 0; i < order.length; i++) {
+      order[i] = i;
+    }
+    Arrays.sort(order, Comparator.<Integer>comparingDouble(i -> -weights[i]).thenComparing(i -> names[i]));
+
+    int[] assignment = new int[names.length];
+    double[] loads = new double[shardCount];
+    long[] scores = new long[shardCount];
+    for (int i : order) {
+      long nameHash = hash(names[i]);
+      for (int shard = 0; shard < shardCount; shard++) {
+        scores[shard] = mix(nameHash + shard * 0x9E3779B97F4A7C15L);
+      }
+      int chosen = -1;
+      int leastLoaded = 0;
+      long chosenScore = 0;
+      for (int shard = 0; shard < shardCount; shard++) {
+        if (loads[shard] < loads[leastLoaded]) {
+          leastLoaded = shard;
+        }
+        if (loads[shard] + weights[i] <= capacity && (chosen < 0 || Long.compareUnsigned(scores[shard], chosenScore) > 0)) {
+          chosen = shard;
+          chosenScore = scores[shard];
+        }
+      }
+      // 어느 샤드에도 들어가지 않으면(부동소수점 오차 등) 가장 여유 있는 샤드에 배정합니다.
+      assignment[i] = chosen >= 0 ? chosen : leastLoaded;
+      loads[assignment[i]] += weights[i];
+    }
+    return assignment;
+  }
+
+  /**
+   * 실행 환경(JVM, 기본 인코딩)과 무관하게 같은 값을 내는 64비트 FNV-1a 해시
+   */
+  private static long hash(String name) {
+    long hash = 0xCBF29CE484222325L;
+    for (byte b : name.getBytes(StandardCharsets.UTF_8)) {
+      hash = (hash ^ (b & 0xFF)) * 0x100000001B3L;
+    }
+    return hash;
+  }
+
+  /**
+   * SplitMix64 마무리 함수. 샤드 번호만 다른 입력도 고르게 섞이도록 합니다.
+   */
+  private static long mix(long value) {
+    value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+    value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+    return value ^ (value >>> 31);
+  }
+}
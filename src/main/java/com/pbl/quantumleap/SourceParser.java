@@ -0,0 +1,223 @@
+package com.pbl.quantumleap;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ParseResult;
+import com.github.javaparser.ParserConfiguration;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.pbl.quantumleap.cache.AnalysisCache;
+import com.pbl.quantumleap.model.NameSet;
+import com.pbl.quantumleap.model.ParsedSource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+/**
+ * Java 소스 파일들을 워커 풀에서 병렬로 파싱하고, 파일 단위로 클래스 정보와 의존성 후보를 추출합니다.
+ * JavaParser는 스레드 안전하지 않으므로 워커마다 별도의 JavaParser와 ParserConfiguration을 생성합니다.
+ * 분석 캐시가 주어지면 내용 해시가 같은 파일은 파싱하지 않고 캐시된 결과를 사용합니다.
+ * 소스 파일은 먼저 {@link HeaderScanner}로 머리 정보만 읽고, 주입 지점이 있을 수 있는 파일만 AST를 만들어 분석합니다.
+ * (테스트 파일과 멤버 단위 분석은 코드 전체의 참조 정보가 필요하므로 항상 전체 파싱합니다)
+ * AST는 파일 하나를 분석하는 동안만 유지되며, 결과로는 그래프 구성에 필요한 이름 정보(ParsedSource)만 남습니다.
+ */
+public class SourceParser {
+
+  private static final String TEST_KEY_PREFIX = "test:";
+
+  private final WorkerPool workerPool;
+  private final DependencyAnalyzer dependencyAnalyzer;
+  private final AnalysisCache analysisCache; // null이면 캐시를 사용하지 않습니다.
+  private final MemberAnalyzer memberAnalyzer; // null이면 멤버 단위 정보를 추출하지 않습니다.
+  private final boolean headerPrePass;
+  private final AtomicInteger headerOnlyCount = new AtomicInteger(); // 전체 파싱 없이 머리 정보만으로 분석한 파일 수
+
+  public SourceParser(WorkerPool workerPool, String projectBasePackage, AnalysisCache analysisCache) {
+    this(workerPool, projectBasePackage, analysisCache, false);
+  }
+
+  /**
+   * @param memberFacts true면 멤버 단위 영향 분석에 필요한 멤버별 해시와 참조 목록도 추출합니다.
+   */
+  public SourceParser(WorkerPool workerPool, String projectBasePackage, AnalysisCache analysisCache, boolean memberFacts) {
+    this(workerPool, projectBasePackage, analysisCache, memberFacts, true);
+  }
+
+  /**
+   * @param headerPrePass false면 머리 정보 사전 분석 없이 모든 파일을 전체 파싱합니다. (결과 비교/벤치마크용)
+   */
+  public SourceParser(WorkerPool workerPool, String projectBasePackage, AnalysisCache analysisCache, boolean memberFacts,
+      boolean headerPrePass) {
+    this.workerPool = workerPool;
+    this.dependencyAnalyzer = new DependencyAnalyzer(projectBasePackage);
+    this.analysisCache = analysisCache;
+    this.memberAnalyzer = memberFacts ? new MemberAnalyzer() : null;
+    this.headerPrePass = headerPrePass;
+  }
+
+  /**
+   * @return 지금까지 전체 파싱 없이 머리 정보만으로 분석한 파일 수
+   */
+  public int getHeaderOnlyCount() {
+    return headerOnlyCount.get();
+  }
+
+  /**
+   * 파일 목록을 분석하여 클래스가 선언된 파일의 결과만 입력 순서대로 반환합니다.
+   * 파싱에 실패했거나 클래스 선언이 없는 파일은 결과에서 제외됩니다.
+   */
+  public List<ParsedSource> parseAll(List<Path> javaFiles) throws IOException {
+    return parseAll(javaFiles, List.of());
+  }
+
+  /**
+   * 소스 파일과 테스트 파일을 한 번의 병렬 작업으로 분석합니다. 모든 파일은 정확히 한 번만 파싱되며,
+   * 결과는 소스 파일, 테스트 파일 순서로 입력 순서를 유지합니다.
+   */
+  public List<ParsedSource> parseAll(List<Path> sourceFiles, List<Path> testFiles) throws IOException {
+    List<Map.Entry<Path, Boolean>> targets = new ArrayList<>(sourceFiles.size() + testFiles.size());
+    sourceFiles.forEach(path -> targets.add(Map.entry(path, false)));
+    testFiles.forEach(path -> targets.add(Map.entry(path, true)));
+
+    // 같은 import/패키지 이름이 파일마다 별도의 문자열로 만들어지므로, 이번 분석 결과 안에서는 하나의 인스턴스를 공유하게 합니다.
+    Map<String, String> namePool = new ConcurrentHashMap<>();
+    UnaryOperator<String> canonicalizer = name -> {
+      String pooled = namePool.putIfAbsent(name, name);
+      return pooled == null ? name : pooled;
+    };
+    List<ParsedSource> results = workerPool.map(targets, SourceParser::newJavaParser,
+        (javaParser, target) -> parseFile(javaParser, target.getKey(), target.getValue(), canonicalizer));
+    return results.stream()
+        .filter(Objects::nonNull)
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * 디스크가 아닌 곳(예: 이전 커밋)에서 읽은 소스 내용 하나를 분석합니다. 캐시는 사용하지 않습니다.
+   * @return 분석 결과, 파싱에 실패했거나 클래스 선언이 없으면 null
+   */
+  public ParsedSource parseContent(Path filePath, String code, boolean test) {
+    return toParsedSource(filePath, test, analyze(newJavaParser(), code, test), UnaryOperator.identity());
+  }
+
+  private static JavaParser newJavaParser() {
+    return new JavaParser(new ParserConfiguration());
+  }
+
+  private ParsedSource parseFile(JavaParser javaParser, Path filePath, boolean test, UnaryOperator<String> canonicalizer)
+      throws IOException {
+    byte[] content = Files.readAllBytes(filePath);
+    if (analysisCache == null) {
+      return toParsedSource(filePath, test, analyze(javaParser, new String(content, StandardCharsets.UTF_8), test), canonicalizer);
+    }
+
+    // 테스트 파일은 의존성 추출 규칙이 다르므로 같은 내용이라도 별도의 키로 저장합니다.
+    String cacheKey = (test ? TEST_KEY_PREFIX : "") + AnalysisCache.hash(content);
+    AnalysisCache.Entry entry = analysisCache.get(cacheKey);
+    if (entry == null || (memberAnalyzer != null && entry.getClassName() != null && entry.getMembers() == null)) {
+      entry = analyze(javaParser, new String(content, StandardCharsets.UTF_8), test);
+      analysisCache.put(cacheKey, entry);
+    }
+    return toParsedSource(filePath, test, entry, canonicalizer);
+  }
+
+  private AnalysisCache.Entry analyze(JavaParser javaParser, String code, boolean test) {
+    if (headerPrePass && !test && memberAnalyzer == null) {
+      HeaderScanner.Header header = HeaderScanner.scan(code);
+      if (!header.isFullParseRequired()) {
+        headerOnlyCount.incrementAndGet();
+        return analyzeHeader(header);
+      }
+    }
+    AnalysisCache.Entry entry = new AnalysisCache.Entry();
+    ParseResult<CompilationUnit> parseResult = javaParser.parse(code);
+    if (!parseResult.isSuccessful() || parseResult.getResult().isEmpty()) {
+      return entry;
+    }
+    CompilationUnit cu = parseResult.getResult().get();
+    Optional<ClassOrInterfaceDeclaration> classOpt = cu.findFirst(ClassOrInterfaceDeclaration.class);
+    if (classOpt.isEmpty()) {
+      return entry;
+    }
+    ClassOrInterfaceDeclaration classDecl = classOpt.get();
+    String className = classDecl.getNameAsString();
+    entry.setClassName(className);
+    entry.setPackageName(cu.getPackageDeclaration().map(pd -> pd.getName().asString()).orElse(""));
+    entry.setEntity(classDecl.isAnnotationPresent("Entity"));
+    entry.setDto(isDtoName(className));
+    if (test) {
+      boolean isSpringBootTest = classDecl.isAnnotationPresent("SpringBootTest");
+      boolean hasTestMethod = cu.findAll(MethodDeclaration.class).stream()
+          .anyMatch(MemberAnalyzer::isTestMethod);
+      entry.setRunnableTest(isSpringBootTest || hasTestMethod);
+    }
+    // 캐시 파일 내용이 실행마다 달라지지 않도록 정렬하여 저장합니다.
+    entry.setImports(sorted(dependencyAnalyzer.findImportedClasses(cu)));
+    entry.setWildcardImports(sorted(dependencyAnalyzer.findWildcardImports(cu)));
+    entry.setTypeNames(sorted(test ? dependencyAnalyzer.findReferencedTypeNames(cu) : dependencyAnalyzer.findInjectedTypeNames(cu)));
+    if (memberAnalyzer != null) {
+      entry.setClassHash(memberAnalyzer.classHash(cu, classDecl));
+      entry.setSuperTypes(memberAnalyzer.superTypes(classDecl));
+      entry.setMembers(memberAnalyzer.members(classDecl));
+    }
+    return entry;
+  }
+
+  /**
+   * 주입 지점이 없는 소스 파일을 머리 정보만으로 분석합니다. 전체 파싱과 같은 결과를 만듭니다. (주입 타입 이름은 없음)
+   */
+  private AnalysisCache.Entry analyzeHeader(HeaderScanner.Header header) {
+    AnalysisCache.Entry entry = new AnalysisCache.Entry();
+    String className = header.getClassName();
+    if (className == null) {
+      return entry;
+    }
+    entry.setClassName(className);
+    entry.setPackageName(header.getPackageName());
+    entry.setEntity(header.hasClassAnnotation("Entity"));
+    entry.setDto(isDtoName(className));
+    entry.setImports(sorted(dependencyAnalyzer.findImportedClasses(header)));
+    entry.setWildcardImports(sorted(dependencyAnalyzer.findWildcardImports(header)));
+    entry.setTypeNames(List.of());
+    return entry;
+  }
+
+  private static boolean isDtoName(String className) {
+    return className.endsWith("Request") || className.endsWith("Response") || className.endsWith("Dto");
+  }
+
+  private static List<String> sorted(Set<String> values) {
+    List<String> list = new ArrayList<>(values);
+    list.sort(null);
+    return list;
+  }
+
+  /**
+   * 분석 결과를 그래프 구성용 ParsedSource로 줄입니다. 이름 목록은 정렬된 배열 기반의 NameSet으로 저장합니다.
+   */
+  private ParsedSource toParsedSource(Path filePath, boolean test, AnalysisCache.Entry entry,
+      UnaryOperator<String> canonicalizer) {
+    if (entry.getClassName() == null) {
+      return null;
+    }
+    boolean withMembers = memberAnalyzer != null;
+    return new ParsedSource(filePath, canonicalizer.apply(entry.getClassName()), canonicalizer.apply(entry.getPackageName()),
+        entry.isEntity(), entry.isDto(), test, test && entry.isRunnableTest(),
+        NameSet.of(entry.getImports(), canonicalizer), NameSet.of(entry.getWildcardImports(), canonicalizer),
+        NameSet.of(entry.getTypeNames(), canonicalizer),
+        withMembers ? entry.getClassHash() : null, withMembers ? entry.getSuperTypes() : null,
+        withMembers ? entry.getMembers() : null);
+  }
+}
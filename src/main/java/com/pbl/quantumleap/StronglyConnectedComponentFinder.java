@@ -0,0 +1,170 @@
+package com.pbl.quantumleap;
+
+import com.pbl.quantumleap.model.CompactGraph;
+import com.pbl.quantumleap.model.CyclicComponent;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 반복(iterative) 방식의 Tarjan 알고리즘으로 의존성 그래프의 강한 연결 요소(SCC)를 찾습니다.
+ * 재귀를 사용하지 않으므로 의존성 체인이 아무리 깊어도 스택 오버플로가 발생하지 않으며, O(V + E) 시간에 동작합니다.
+ */
+public class StronglyConnectedComponentFinder {
+
+  private final CompactGraph graph;
+  private final boolean[] excluded;
+
+  /**
+   * @param graph 분석할 압축 의존성 그래프
+   * @param classesToExclude 분석에서 제외할 클래스 이름 Set (해당 노드와 연결된 엣지도 무시)
+   */
+  public StronglyConnectedComponentFinder(CompactGraph graph, Set<String> classesToExclude) {
+    this.graph = graph;
+    this.excluded = graph.maskOf(classesToExclude);
+  }
+
+  /**
+   * 순환을 이루는 모든 SCC를 찾습니다. 크기가 2 이상인 SCC와 자기 자신을 참조하는 클래스가 대상입니다.
+   * @return SCC 목록 (구성원 이름순으로 정렬된 첫 구성원 기준 정렬)
+   */
+  public List<CyclicComponent> findCyclicComponents() {
+    int nodeCount = graph.nodeCount();
+    int[] index = new int[nodeCount];
+    int[] lowLink = new int[nodeCount];
+    int[] nextEdge = new int[nodeCount];
+    int[] component = new int[nodeCount];
+    boolean[] onStack = new boolean[nodeCount];
+    int[] sccStack = new int[nodeCount];
+    int[] callStack = new int[nodeCount];
+    Arrays.fill(index, -1);
+    Arrays.fill(component, Integer.MIN_VALUE); // 제외된 노드는 어떤 SCC에도 속하지 않습니다.
+
+    List<int[]> components = new ArrayList<>();
+    int counter = 0;
+    int sccTop = 0;
+
+    for (int root = 0; root < nodeCount; root++) {
+      if (index[root] != -1 || excluded[root]) {
+        continue;
+      }
+      int callTop = 0;
+      callStack[callTop++] = root;
+      index[root] = lowLink[root] = counter++;
+      nextEdge[root] = 0;
+      sccStack[sccTop++] = root;
+      onStack[root] = true;
+
+      while (callTop > 0) {
+        int v = callStack[callTop - 1];
+        if (nextEdge[v] < graph.dependencyCount(v)) {
+          int w = graph.dependencyAt(v, nextEdge[v]++);
+          if (excluded[w]) {
+            continue; // 제외된 클래스로 향하는 엣지
+          }
+          if (index[w] == -1) {
+            // 재귀 호출 대신 명시적인 호출 스택에 다음 노드를 올립니다.
+            index[w] = lowLink[w] = counter++;
+            nextEdge[w] = 0;
+            sccStack[sccTop++] = w;
+            onStack[w] = true;
+            callStack[callTop++] = w;
+          } else if (onStack[w]) {
+            lowLink[v] = Math.min(lowLink[v], index[w]);
+          }
+          continue;
+        }
+
+        // v의 모든 엣지를 처리했으므로 호출 스택에서 내립니다.
+        callTop--;
+        if (lowLink[v] == index[v]) {
+          int size = 0;
+          int w;
+          do {
+            w = sccStack[--sccTop];
+            onStack[w] = false;
+            component[w] = components.size();
+            size++;
+          } while (w != v);
+          components.add(Arrays.copyOfRange(sccStack, sccTop, sccTop + size));
+        }
+        if (callTop > 0) {
+          int parent = callStack[callTop - 1];
+          lowLink[parent] = Math.min(lowLink[parent], lowLink[v]);
+        }
+      }
+    }
+
+    List<CyclicComponent> result = new ArrayList<>();
+    int[] parent = new int[nodeCount];
+    int[] queue = new int[nodeCount];
+    for (int c = 0; c < components.size(); c++) {
+      int[] members = components.get(c);
+      Arrays.sort(members);
+      if (members.length == 1 && !hasSelfLoop(members[0])) {
+        continue;
+      }
+      List<String> memberNames = new ArrayList<>(members.length);
+      for (int member : members) {
+        memberNames.add(graph.name(member));
+      }
+      result.add(new CyclicComponent(memberNames, representativeCycle(members[0], c, component, parent, queue)));
+    }
+    result.sort((a, b) -> a.getMembers().get(0).compareTo(b.getMembers().get(0)));
+    return result;
+  }
+
+  private boolean hasSelfLoop(int node) {
+    for (int k = 0; k < graph.dependencyCount(node); k++) {
+      if (graph.dependencyAt(node, k) == node) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * SCC 내부에서 start로 되돌아오는 가장 짧은 순환 경로를 BFS로 찾습니다. (SCC 크기에 비례하는 시간)
+   */
+  private List<String> representativeCycle(int start, int componentId, int[] component, int[] parent, int[] queue) {
+    int head = 0;
+    int tail = 0;
+    queue[tail++] = start;
+    parent[start] = -1;
+    int last = -1;
+    // 방문 여부는 parent 값 대신 component 값을 -1 - componentId로 바꾸어 표시하고, 탐색 후 복원합니다.
+    int visitedMark = -1 - componentId;
+    component[start] = visitedMark;
+
+    search:
+    while (head < tail) {
+      int v = queue[head++];
+      for (int k = 0; k < graph.dependencyCount(v); k++) {
+        int w = graph.dependencyAt(v, k);
+        if (w == start) {
+          last = v;
+          break search;
+        }
+        if (component[w] == componentId) {
+          component[w] = visitedMark;
+          parent[w] = v;
+          queue[tail++] = w;
+        }
+      }
+    }
+    for (int i = 0; i < tail; i++) {
+      component[queue[i]] = componentId;
+    }
+
+    List<String> cycle = new ArrayList<>();
+    for (int v = last; v != -1; v = parent[v]) {
+      cycle.add(graph.name(v));
+    }
+    Collections.reverse(cycle);
+    cycle.add(graph.name(start)); // 사이클의 마지막을 닫아줌
+    return cycle;
+  }
+}
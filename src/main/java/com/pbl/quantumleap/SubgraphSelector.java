@@ -0,0 +1,107 @@
+package com.pbl.quantumleap;
+
+import com.pbl.quantumleap.model.CompactGraph;
+import java.util.Comparator;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * AI 리뷰에 전송할 그래프 범위를 고릅니다.
+ * 변경된 클래스로부터 정해진 거리(홉) 안의 부분 그래프와, 전체 그래프에서 연결이 많은 핫스팟 클래스를 찾습니다.
+ */
+public class SubgraphSelector {
+
+  private final CompactGraph graph;
+  private final boolean[] excluded;
+
+  /**
+   * @param graph 분석된 의존성 그래프
+   * @param excluded 선택 대상에서 제외할 노드 마스크 (예: 테스트 클래스)
+   */
+  public SubgraphSelector(CompactGraph graph, boolean[] excluded) {
+    this.graph = graph;
+    this.excluded = excluded;
+  }
+
+  /**
+   * 시작 클래스로부터 양방향(의존/피의존)으로 hops 거리 안의 노드를 BFS 순서로 선택합니다.
+   * 가까운 노드부터 채우며, 피의존 클래스(영향 방향)를 먼저 포함합니다. 선택된 노드가 nodeBudget에 도달하면 멈춥니다.
+   * @param seeds 시작 클래스 FQCN Set (그래프에 없는 이름은 무시)
+   * @return 선택된 노드 마스크
+   */
+  public boolean[] select(Set<String> seeds, int hops, int nodeBudget) {
+    boolean[] selected = new boolean[graph.nodeCount()];
+    int[] queue = new int[graph.nodeCount()];
+    int head = 0;
+    int tail = 0;
+
+    for (String seed : seeds) {
+      if (tail >= nodeBudget) {
+        break;
+      }
+      int id = graph.idOf(seed);
+      if (id >= 0 && !excluded[id] && !selected[id]) {
+        selected[id] = true;
+        queue[tail++] = id;
+      }
+    }
+
+    for (int hop = 0; hop < hops && head < tail && tail < nodeBudget; hop++) {
+      int layerEnd = tail;
+      while (head < layerEnd && tail < nodeBudget) {
+        int current = queue[head++];
+        for (int k = 0; k < graph.dependentCount(current) && tail < nodeBudget; k++) {
+          int dependent = graph.dependentAt(current, k);
+          if (!excluded[dependent] && !selected[dependent]) {
+            selected[dependent] = true;
+            queue[tail++] = dependent;
+          }
+        }
+        for (int k = 0; k < graph.dependencyCount(current) && tail < nodeBudget; k++) {
+          int dependency = graph.dependencyAt(current, k);
+          if (!excluded[dependency] && !selected[dependency]) {
+            selected[dependency] = true;
+            queue[tail++] = dependency;
+          }
+        }
+      }
+    }
+    return selected;
+  }
+
+  /**
+   * 제외되지 않은 클래스 사이의 연결 수(피의존 + 의존)가 가장 많은 노드를 반환합니다.
+   * @param count 반환할 최대 노드 수
+   * @return 연결 수 내림차순(같으면 이름순)으로 정렬된 노드 ID
+   */
+  public int[] hotspots(int count) {
+    int[] degrees = new int[graph.nodeCount()];
+    for (int id = 0; id < graph.nodeCount(); id++) {
+      if (!excluded[id]) {
+        degrees[id] = countIncluded(id);
+      }
+    }
+    return IntStream.range(0, graph.nodeCount())
+        .filter(id -> !excluded[id] && degrees[id] > 0)
+        .boxed()
+        .sorted(Comparator.comparingInt((Integer id) -> -degrees[id]).thenComparingInt(id -> id))
+        .limit(count)
+        .mapToInt(Integer::intValue)
+        .toArray();
+  }
+
+  private int countIncluded(int id) {
+    int degree = 0;
+    for (int k = 0; k < graph.dependentCount(id); k++) {
+      if (!excluded[graph.dependentAt(id, k)]) {
+        degree++;
+      }
+    }
+    for (int k = 0; k < graph.dependencyCount(id); k++) {
+      if (!excluded[graph.dependencyAt(id, k)]) {
+        degree++;
+      }
+    }
+    return degree;
+  }
+}
@@ -0,0 +1,71 @@
+package com.pbl.quantumleap;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 테스트 필터 식별자("FQCN", "FQCN#method", "FQCN$Nested")를 빌드 도구의 테스트 필터 문법으로 변환합니다.
+ */
+public final class TestFilterFormatter {
+
+  private TestFilterFormatter() {
+  }
+
+  /**
+   * 테스트 필터 식별자가 속한 최상위 테스트 클래스 FQCN. 예) "com.example.FooTest$Nested" → "com.example.FooTest"
+   */
+  public static String testClassOf(String filter) {
+    int separator = filter.indexOf('#');
+    String className = separator < 0 ? filter : filter.substring(0, separator);
+    int nested = className.indexOf('$');
+    return nested < 0 ? className : className.substring(0, nested);
+  }
+
+  /**
+   * Gradle 인자로 변환합니다. 예) --tests com.example.FooTest.save --tests 'com.example.BarTest$Nested'
+   * 중첩 클래스의 '$'는 셸이 변수로 해석하지 않도록 작은따옴표로 감쌉니다. 따라서 출력은 셸이 다시 해석해야 하며,
+   * 명령 치환으로 넘길 때는 eval을 사용합니다. 예) eval ./gradlew test "$(cat shard-1.gradle)"
+   */
+  public static String gradle(List<String> testFilters) {
+    List<String> arguments = new ArrayList<>(testFilters.size());
+    for (String filter : testFilters) {
+      String pattern = filter.replace('#', '.');
+      arguments.add("--tests " + (pattern.indexOf('$') < 0 ? pattern : "'" + pattern + "'"));
+    }
+    return String.join(" ", arguments);
+  }
+
+  /**
+   * Maven Surefire의 test 파라미터 값으로 변환합니다. 같은 클래스의 메서드는 '+'로 묶습니다.
+   * 예) com.example.FooTest#save+delete,com.example.BarTest (-Dtest=... 으로 전달)
+   */
+  public static String surefire(List<String> testFilters) {
+    Map<String, List<String>> methodsByClass = new LinkedHashMap<>(); // 클래스 전체면 빈 목록
+    for (String filter : testFilters) {
+      int separator = filter.indexOf('#');
+      String testClass = separator < 0 ? filter : filter.substring(0, separator);
+      List<String> methods = methodsByClass.computeIfAbsent(testClass, key -> new ArrayList<>());
+      if (separator >= 0) {
+        methods.add(filter.substring(separator + 1));
+      }
+    }
+    List<String> patterns = new ArrayList<>(methodsByClass.size());
+    methodsByClass.forEach((testClass, methods) ->
+        patterns.add(methods.isEmpty() ? testClass : testClass + "#" + String.join("+", methods)));
+    return String.join(",", patterns);
+  }
+
+  /**
+   * JUnit Platform Console Launcher 선택자로 변환합니다. 한 줄에 하나씩 쓰면 @파일 인자로 넘길 수 있습니다.
+   * 예) --select-method=com.example.FooTest#save, --select-class=com.example.BarTest$Nested
+   */
+  public static List<String> junitPlatform(List<String> testFilters) {
+    List<String> selectors = new ArrayList<>(testFilters.size());
+    for (String filter : testFilters) {
+      selectors.add((filter.indexOf('#') < 0 ? "--select-class=" : "--select-method=") + filter);
+    }
+    return selectors;
+  }
+}
@@ -1,62 +1,125 @@
 package com.pbl.quantumleap;
 
-import com.github.javaparser.JavaParser;
-import com.github.javaparser.ParseResult;
-import com.github.javaparser.ast.CompilationUnit;
-import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
-
-import com.github.javaparser.ast.body.MethodDeclaration;
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
+import com.pbl.quantumleap.model.MemberFacts;
+import com.pbl.quantumleap.model.MemberFacts.TestRole;
+import com.pbl.quantumleap.model.ParsedSource;
+import com.pbl.quantumleap.model.TestMethodIndex;
+
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 public class TestFinder {
 
-  public Map<String, String> findTests(List<Path> testFiles) {
+  /**
+   * 이미 파싱된 테스트 파일 분석 결과로부터 소스 클래스와 테스트 클래스의 매핑을 생성합니다.
+   * 테스트 파일은 그래프 구성 단계에서 한 번만 파싱되며, 여기서는 다시 파싱하지 않습니다.
+   * FooTest는 같은 패키지의 Foo에 매핑되며, 같은 패키지에 없으면 단순 이름이 Foo인 클래스가 하나뿐일 때만 매핑됩니다.
+   * @param testSources 테스트 디렉토리의 파일 분석 결과
+   * @param sourceClasses 소스 클래스 FQCN Set
+   * @return <소스 클래스 FQCN, 테스트 클래스 FQCN> 맵
+   */
+  public Map<String, String> findTests(List<ParsedSource> testSources, Set<String> sourceClasses) {
     System.err.println("\n--- 테스트 클래스 분석 시작 ---");
     Map<String, String> sourceToTestMap = new HashMap<>();
-    JavaParser javaParser = new JavaParser();
-
-    for (Path testFile : testFiles) {
-      try {
-        String code = Files.readString(testFile);
-        ParseResult<CompilationUnit> parseResult = javaParser.parse(code);
-
-        if (parseResult.isSuccessful() && parseResult.getResult().isPresent()) {
-          CompilationUnit cu = parseResult.getResult().get();
-          Optional<ClassOrInterfaceDeclaration> classOpt = cu.findFirst(ClassOrInterfaceDeclaration.class);
-
-          if (classOpt.isPresent()) {
-            ClassOrInterfaceDeclaration classDecl = classOpt.get();
-            String testClassName = classDecl.getNameAsString();
-
-            String packageName = cu.getPackageDeclaration()
-                .map(pd -> pd.getNameAsString() + ".")
-                .orElse("");
-            String fullTestClassName = packageName + testClassName;
-            boolean isSpringBootTest = classDecl.getAnnotations().stream()
-                .anyMatch(ann -> ann.getNameAsString().equals("SpringBootTest"));
-            boolean hasTestMethod = cu.findAll(MethodDeclaration.class).stream()
-                .anyMatch(m -> m.getAnnotations().stream()
-                    .anyMatch(a -> a.getNameAsString().equals("Test")));
-
-            if (testClassName.endsWith("Test") && (isSpringBootTest || hasTestMethod)) {
-              String sourceClassName = testClassName.substring(0, testClassName.length() - 4);
-              sourceToTestMap.put(sourceClassName, fullTestClassName);
-              System.err.println("매핑됨: " + sourceClassName + " -> " + fullTestClassName);
-              System.out.println(fullTestClassName);
-            }
+    Map<String, List<String>> sourceClassesBySimpleName = sourceClasses.stream()
+        .collect(Collectors.groupingBy(TypeResolver::simpleNameOf));
+
+    for (ParsedSource testSource : testSources) {
+      String testClassName = testSource.getClassName();
+      String fullTestClassName = testSource.getQualifiedName();
+
+      if (testClassName.endsWith("Test") && testSource.isRunnableTest()) {
+        String simpleSourceName = testClassName.substring(0, testClassName.length() - 4);
+        String sourceClassName = TypeResolver.qualify(testSource.getPackageName(), simpleSourceName);
+        if (!sourceClasses.contains(sourceClassName)) {
+          List<String> candidates = sourceClassesBySimpleName.getOrDefault(simpleSourceName, List.of());
+          if (candidates.size() == 1) {
+            sourceClassName = candidates.get(0);
           }
         }
-      } catch (IOException e) {
-        System.err.println("테스트 파일을 읽는 중 오류가 발생했습니다: " + testFile);
+        sourceToTestMap.put(sourceClassName, fullTestClassName);
+        System.err.println("매핑됨: " + sourceClassName + " -> " + fullTestClassName);
       }
     }
     System.err.println(sourceToTestMap.size() + "개의 테스트 클래스를 소스 클래스와 매핑했습니다.");
     return sourceToTestMap;
   }
+
+  /**
+   * 실행 가능한 테스트 클래스마다 개별 테스트(테스트 메서드, @Nested 클래스)가 참조하는 프로젝트 클래스를 색인합니다.
+   * 테스트가 사용하는 필드와 헬퍼 메서드의 참조도 따라가서 포함하며, 멤버 정보 없이 파싱된 클래스는 색인하지 않습니다.
+   * @param testSources 테스트 디렉토리의 파일 분석 결과 (멤버 정보 포함)
+   * @param typeResolver 프로젝트의 소스/테스트 클래스를 아는 타입 해석기
+   */
+  public TestMethodIndex indexTestMethods(List<ParsedSource> testSources, TypeResolver typeResolver) {
+    Map<String, TestMethodIndex.TestClass> testClasses = new HashMap<>();
+    int testCount = 0;
+    for (ParsedSource testSource : testSources) {
+      if (!testSource.isRunnableTest() || testSource.getMembers() == null) {
+        continue;
+      }
+      Map<String, MemberFacts> membersByName = new HashMap<>();
+      testSource.getMembers().forEach(member -> membersByName.put(member.getName(), member));
+
+      Map<String, Set<String>> tests = new LinkedHashMap<>();
+      Set<String> lifecycleMembers = new LinkedHashSet<>();
+      Set<String> sharedClasses = new LinkedHashSet<>();
+      Set<String> coveredClasses = new LinkedHashSet<>();
+      for (MemberFacts member : testSource.getMembers()) {
+        Set<String> referenced = new LinkedHashSet<>();
+        collectReferencedClasses(member.getName(), testSource, membersByName, typeResolver, new HashSet<>(), referenced);
+        coveredClasses.addAll(referenced);
+        boolean runsForEveryTest = member.getTestRole() == TestRole.LIFECYCLE
+            || member.getName().equals(MemberAnalyzer.CONSTRUCTOR) || member.getName().equals(MemberAnalyzer.STATIC_INITIALIZER);
+        if (member.getTestRole() == TestRole.TEST) {
+          tests.put(member.getName(), referenced);
+        } else if (runsForEveryTest) {
+          lifecycleMembers.add(member.getName());
+          sharedClasses.addAll(referenced);
+        }
+      }
+      // 상위 테스트 클래스가 바뀌면 상속받은 설정과 생명주기 메서드가 모든 테스트에 영향을 줍니다.
+      for (String superType : testSource.getSuperTypes()) {
+        String resolved = typeResolver.resolveType(superType, testSource);
+        if (resolved != null) {
+          sharedClasses.add(resolved);
+          coveredClasses.add(resolved);
+        }
+      }
+      testCount += tests.size();
+      testClasses.put(testSource.getQualifiedName(),
+          new TestMethodIndex.TestClass(tests, lifecycleMembers, sharedClasses, coveredClasses));
+    }
+    System.err.println(testClasses.size() + "개 테스트 클래스의 테스트 " + testCount + "개를 색인했습니다.");
+    return new TestMethodIndex(testClasses);
+  }
+
+  /**
+   * 멤버가 직접 또는 같은 클래스의 필드/메서드를 거쳐 참조하는 프로젝트 클래스를 모읍니다.
+   * 대상 타입을 알 수 없는 참조(U|)는 그 호출을 만든 수신 객체의 타입이 이미 포함되어 있으므로 따로 해석하지 않습니다.
+   */
+  private static void collectReferencedClasses(String memberName, ParsedSource source, Map<String, MemberFacts> membersByName,
+      TypeResolver typeResolver, Set<String> visitedMembers, Set<String> classes) {
+    if (!visitedMembers.add(memberName)) {
+      return; // 서로 호출하는 헬퍼 메서드
+    }
+    for (String reference : membersByName.get(memberName).getReferences()) {
+      String target = reference.substring(2);
+      if (reference.startsWith(MemberAnalyzer.REF_TYPE) || reference.startsWith(MemberAnalyzer.REF_TYPED)) {
+        String typeName = reference.startsWith(MemberAnalyzer.REF_TYPED) ? target.substring(0, target.lastIndexOf('|')) : target;
+        String resolved = typeResolver.resolveType(typeName, source);
+        if (resolved != null && !resolved.equals(source.getQualifiedName())) {
+          classes.add(resolved);
+        }
+      } else if (reference.startsWith(MemberAnalyzer.REF_SELF) && membersByName.containsKey(target)) {
+        collectReferencedClasses(target, source, membersByName, typeResolver, visitedMembers, classes);
+      }
+    }
+  }
 }
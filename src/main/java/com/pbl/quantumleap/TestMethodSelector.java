@@ -0,0 +1,128 @@
+package com.pbl.quantumleap;
+
+import com.pbl.quantumleap.model.CompactGraph;
+import com.pbl.quantumleap.model.MemberGraph;
+import com.pbl.quantumleap.model.TestMethodIndex;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 선별된 테스트 클래스 안에서 변경의 영향을 받는 테스트(테스트 메서드, @Nested 클래스)만 골라 테스트 필터 식별자로 반환합니다.
+ * 필터 식별자는 클래스 전체면 "FQCN", 테스트 메서드면 "FQCN#method", @Nested 클래스면 "FQCN$Nested"입니다.
+ * 모든 테스트가 거치는 코드(생명주기 메서드, 생성자, 상위 테스트 클래스)가 영향을 받았거나, 어느 테스트가 영향을 받았는지
+ * 설명할 수 없으면 클래스 전체를 실행합니다.
+ */
+public class TestMethodSelector {
+
+  private final CompactGraph graph;
+  private final TestMethodIndex testMethodIndex;
+
+  public TestMethodSelector(CompactGraph graph, TestMethodIndex testMethodIndex) {
+    this.graph = graph;
+    this.testMethodIndex = testMethodIndex;
+  }
+
+  /**
+   * 클래스 단위 영향 분석 결과로 테스트를 고릅니다. 영향받은 클래스를 참조하는 테스트만 선택합니다.
+   * @param testClasses 선별된 테스트 클래스 FQCN
+   * @param changedClasses 변경된 클래스 FQCN (테스트 클래스 자체가 변경되었으면 클래스 전체를 실행합니다)
+   * @param impactSet 영향받은 클래스 FQCN
+   * @return 정렬된 테스트 필터 식별자 목록
+   */
+  public List<String> select(Set<String> testClasses, Set<String> changedClasses, Set<String> impactSet) {
+    List<String> filters = new ArrayList<>();
+    int narrowedCount = 0;
+    for (String testClass : testClasses) {
+      TestMethodIndex.TestClass indexed = testMethodIndex.get(testClass);
+      List<String> selected = indexed == null || changedClasses.contains(testClass)
+          || intersects(indexed.getSharedClasses(), impactSet) || hasUnexplainedDependency(testClass, indexed, impactSet)
+          ? List.of() : testsReferencing(testClass, indexed, impactSet);
+      narrowedCount += addFilters(filters, testClass, selected);
+    }
+    return sorted(filters, narrowedCount);
+  }
+
+  /**
+   * 멤버 단위 영향 분석 결과로 테스트를 고릅니다. 멤버 그래프에서 영향을 받은 테스트 멤버만 선택합니다.
+   * @param testClasses 선별된 테스트 클래스 FQCN
+   * @param impactedTestMembers <테스트 클래스 FQCN, 영향받은 멤버 이름>
+   * @return 정렬된 테스트 필터 식별자 목록
+   */
+  public List<String> select(Set<String> testClasses, Map<String, Set<String>> impactedTestMembers) {
+    List<String> filters = new ArrayList<>();
+    int narrowedCount = 0;
+    for (String testClass : testClasses) {
+      TestMethodIndex.TestClass indexed = testMethodIndex.get(testClass);
+      Set<String> impactedMembers = impactedTestMembers.getOrDefault(testClass, Set.of());
+      List<String> selected = new ArrayList<>();
+      if (indexed != null && !impactedMembers.contains(MemberGraph.TYPE)
+          && !intersects(indexed.getLifecycleMembers(), impactedMembers)) {
+        for (String test : indexed.getTests().keySet()) {
+          if (impactedMembers.contains(test)) {
+            selected.add(TestMethodIndex.filterId(testClass, test));
+          }
+        }
+      }
+      narrowedCount += addFilters(filters, testClass, selected);
+    }
+    return sorted(filters, narrowedCount);
+  }
+
+  private List<String> testsReferencing(String testClass, TestMethodIndex.TestClass indexed, Set<String> impactSet) {
+    List<String> selected = new ArrayList<>();
+    indexed.getTests().forEach((test, referencedClasses) -> {
+      if (intersects(referencedClasses, impactSet)) {
+        selected.add(TestMethodIndex.filterId(testClass, test));
+      }
+    });
+    return selected;
+  }
+
+  /**
+   * 테스트 클래스가 의존하는 영향받은 클래스 중 멤버 참조로 설명되지 않는 클래스가 있는지 확인합니다.
+   * (클래스 어노테이션에만 쓰인 설정 클래스 등은 어느 테스트에 영향을 주는지 알 수 없습니다)
+   */
+  private boolean hasUnexplainedDependency(String testClass, TestMethodIndex.TestClass indexed, Set<String> impactSet) {
+    int id = graph.idOf(testClass);
+    if (id < 0) {
+      return true;
+    }
+    for (int k = 0; k < graph.dependencyCount(id); k++) {
+      String dependency = graph.name(graph.dependencyAt(id, k));
+      if (impactSet.contains(dependency) && !indexed.getCoveredClasses().contains(dependency)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * 고른 테스트가 없으면 클래스 전체를 실행합니다.
+   * @return 클래스 안의 일부 테스트만 고른 경우 1
+   */
+  private static int addFilters(List<String> filters, String testClass, List<String> selected) {
+    if (selected.isEmpty()) {
+      filters.add(testClass);
+      return 0;
+    }
+    filters.addAll(selected);
+    return 1;
+  }
+
+  private static List<String> sorted(List<String> filters, int narrowedCount) {
+    filters.sort(null);
+    System.err.println("ℹ️ 테스트 클래스 " + narrowedCount + "개는 영향받은 테스트만 실행합니다. (필터 " + filters.size() + "개)");
+    return filters;
+  }
+
+  private static boolean intersects(Set<String> values, Set<String> others) {
+    for (String value : values) {
+      if (others.contains(value)) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
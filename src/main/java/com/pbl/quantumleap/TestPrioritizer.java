@@ -0,0 +1,105 @@
+package com.pbl.quantumleap;
+
+import com.pbl.quantumleap.history.TestHistory;
+import com.pbl.quantumleap.model.TestPlan;
+import com.pbl.quantumleap.model.TestPlan.PlannedTest;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 선별된 테스트에 순위를 매겨 시간 예산 안에서 가장 가치 있는 테스트를 고릅니다.
+ * 가치는 "실패 확률 ÷ 변경 코드와의 거리"이며, 이를 예상 실행 시간으로 나눈 초당 가치가 큰 순서로 예산을 채웁니다.
+ * 예산을 넘는 테스트는 건너뛰고 더 짧은 다음 테스트를 계속 시도합니다. (0-1 배낭 문제의 탐욕 근사)
+ */
+public class TestPrioritizer {
+
+  /** 이력이 하나도 없을 때 사용하는 테스트 클래스의 예상 실행 시간 */
+  private static final double DEFAULT_MILLIS = 1000;
+  /** 매우 짧은 테스트의 초당 가치가 과도하게 커지지 않도록 하는 최소 비용 */
+  private static final double MIN_COST_MILLIS = 100;
+
+  private final TestHistory history;
+  private final double fallbackMillis; // 이력이 없는 테스트 클래스의 예상 실행 시간
+
+  public TestPrioritizer(TestHistory history) {
+    this.history = history;
+    double median = history.medianClassMillis();
+    this.fallbackMillis = median < 0 ? DEFAULT_MILLIS : median;
+  }
+
+  /**
+   * @param testsWithPaths 선별된 테스트 클래스와 변경 코드로부터의 경로
+   * @param testFilters 실행할 테스트 필터 식별자 (테스트 메서드 단위 선별이면 메서드, 아니면 클래스)
+   * @param budgetMillis 시간 예산
+   */
+  public TestPlan plan(Map<String, List<String>> testsWithPaths, List<String> testFilters, long budgetMillis) {
+    List<PlannedTest> ranked = rank(testsWithPaths, testFilters);
+    List<PlannedTest> selected = new ArrayList<>();
+    List<PlannedTest> deferred = new ArrayList<>();
+    double remaining = budgetMillis;
+    for (PlannedTest test : ranked) {
+      if (test.getEstimatedMillis() <= remaining) {
+        selected.add(test);
+        remaining -= test.getEstimatedMillis();
+      } else {
+        deferred.add(test);
+      }
+    }
+    TestPlan plan = new TestPlan(budgetMillis, selected, deferred);
+    long unmeasured = ranked.stream().filter(test -> !test.isMeasured()).count();
+    System.err.printf("ℹ️ 시간 예산 %d초: 테스트 %d개 중 %d개 선택 (예상 %.1f초), 제외 %d개 (예상 %.1f초), 실행 시간 이력 없음 %d개%n",
+        budgetMillis / 1000, ranked.size(), selected.size(), plan.getEstimatedMillis() / 1000, deferred.size(),
+        plan.getDeferredMillis() / 1000, unmeasured);
+    return plan;
+  }
+
+  /**
+   * 선별된 테스트 클래스마다 예상 실행 시간과 실패 확률을 추정하여 초당 가치가 큰 순서로 정렬합니다.
+   */
+  public List<PlannedTest> rank(Map<String, List<String>> testsWithPaths, List<String> testFilters) {
+    Map<String, List<String>> filtersByClass = new LinkedHashMap<>();
+    for (String filter : testFilters) {
+      filtersByClass.computeIfAbsent(TestFilterFormatter.testClassOf(filter), key -> new ArrayList<>()).add(filter);
+    }
+
+    List<PlannedTest> ranked = new ArrayList<>(testsWithPaths.size());
+    testsWithPaths.forEach((testClass, path) -> {
+      List<String> filters = filtersByClass.getOrDefault(testClass, List.of(testClass));
+      ranked.add(estimate(testClass, filters, Math.max(1, path.size() - 1)));
+    });
+    ranked.sort(Comparator.comparingDouble(PlannedTest::getScore).reversed()
+        .thenComparingInt(PlannedTest::getDistance)
+        .thenComparing(PlannedTest::getTestClass));
+    return ranked;
+  }
+
+  private PlannedTest estimate(String testClass, List<String> filters, int distance) {
+    double millis = 0;
+    boolean measured = true;
+    double passProbability = 1;
+    for (String filter : filters) {
+      double filterMillis = filter.indexOf('#') < 0 ? history.classMillis(filter) : methodMillis(filter);
+      if (filterMillis < 0) {
+        measured = false;
+      }
+      millis += Math.max(filterMillis, 0);
+      passProbability *= 1 - (filter.indexOf('#') < 0 ? history.classFailureRate(filter) : history.failureRate(filter));
+    }
+    if (!measured) {
+      // 일부 테스트의 이력이 없으면 클래스 전체 실행 시간(없으면 다른 테스트 클래스의 중앙값)을 상한으로 사용합니다.
+      double classMillis = history.classMillis(testClass);
+      millis = classMillis < 0 ? fallbackMillis : classMillis;
+    }
+    double failureRate = 1 - passProbability;
+    double score = failureRate / distance / Math.max(millis, MIN_COST_MILLIS) * 1000;
+    return new PlannedTest(testClass, filters, distance, failureRate, millis, measured, score);
+  }
+
+  private double methodMillis(String testId) {
+    TestHistory.Entry entry = history.get(testId);
+    return entry == null ? -1 : entry.getDurationMillis();
+  }
+}
@@ -1,50 +1,57 @@
 package com.pbl.quantumleap;
 
+import com.pbl.quantumleap.model.CompactGraph;
 import com.pbl.quantumleap.model.DependencyGraph;
-import com.pbl.quantumleap.model.DependencyGraph.ClassNode;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import lombok.Getter;
 
-import java.util.ArrayDeque;
 import java.util.HashSet;
 import java.util.Map;
-import java.util.Queue;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 public class TestSelector {
 
-  private final DependencyGraph dependencyGraph;
+  private static final int UNVISITED = -2;
+  private static final int ROOT = -1;
+
+  private final CompactGraph graph;
   private final Map<String, String> sourceToTestMap;
 
   @Getter
   private Set<String> impactSet = new HashSet<>();
-  private Map<String, String> impactPaths = new HashMap<>();
+  private int[] parents = new int[0]; // BFS 트리의 <자식 ID → 부모 ID> (시작점은 ROOT, 미방문은 UNVISITED)
+  private int[] impactedIds = new int[0]; // 영향받은 노드 ID (BFS 방문 순서)
+  private int impactedCount = 0;
 
-  public TestSelector(DependencyGraph dependencyGraph, Map<String, String> sourceToTestMap) {
-    this.dependencyGraph = dependencyGraph;
+  public TestSelector(CompactGraph graph, Map<String, String> sourceToTestMap) {
+    this.graph = graph;
     this.sourceToTestMap = sourceToTestMap;
   }
 
+  public TestSelector(DependencyGraph dependencyGraph, Map<String, String> sourceToTestMap) {
+    this(dependencyGraph.freeze(), sourceToTestMap);
+  }
+
 
   public Set<String> selectTests(Set<String> changedClasses) {
     return selectTestsAndPaths(changedClasses).keySet();
   }
   /**
    * 변경된 클래스 목록을 기반으로 실행해야 할 테스트 클래스 목록을 선별합니다.
-   * @param changedClasses 변경된 소스 클래스 이름 Set
-   * @return 실행해야 할 테스트 클래스 이름 Set
+   * @param changedClasses 변경된 소스 클래스 FQCN Set
+   * @return <실행해야 할 테스트 클래스 FQCN, 변경 클래스로부터의 경로> 맵
    */
   public Map<String, List<String>> selectTestsAndPaths(Set<String> changedClasses) {
     System.err.println("--- 테스트 선별 시작 ---");
     System.err.println("변경된 클래스: " + changedClasses);
 
     // 1. 변경된 클래스에서 시작하여, 영향을 받는 모든 클래스와 그 경로를 찾습니다.
-    this.impactPaths = findImpactPaths(changedClasses);
-    this.impactSet = this.impactPaths.keySet();
+    findImpactPaths(changedClasses);
     System.err.println("영향을 받은 클래스: " + this.impactSet);
 
     // 2. 영향받는 클래스들에 해당하는 테스트 클래스를 찾고, 그 경로를 매핑합니다.
@@ -57,46 +64,71 @@ public class TestSelector {
       }
     }
 
+    // 3. 그래프를 따라 직접 도달한 테스트 클래스 노드도 선별합니다. (헬퍼 클래스 등을 거친 간접 의존 포함)
+    for (int i = 0; i < impactedCount; i++) {
+      int id = impactedIds[i];
+      if (graph.isRunnableTest(id)) {
+        testsWithPaths.putIfAbsent(graph.name(id), buildPath(id));
+      }
+    }
+
     System.err.println("실행될 테스트: " + testsWithPaths.keySet());
     return testsWithPaths;
   }
 
   /**
    * 변경된 클래스들로부터 시작하여, 그래프를 따라가며 영향을 받는 모든 클래스를 찾습니다. (BFS)
+   * 압축 그래프의 역방향 엣지 배열을 그대로 따라가므로 문자열 조회나 박싱이 없습니다.
    */
-  private Map<String, String> findImpactPaths(Set<String> changedClasses) {
-    Map<String, String> paths = new HashMap<>();
-    Queue<String> queue = new ArrayDeque<>(changedClasses);
-
-    // 시작점(변경된 클래스)은 부모가 null입니다.
-    changedClasses.forEach(cls -> paths.put(cls, null));
-
-    while (!queue.isEmpty()) {
-      String currentClassName = queue.poll();
-      ClassNode currentNode = dependencyGraph.getNode(currentClassName);
-
-      if (currentNode == null) continue;
+  private void findImpactPaths(Set<String> changedClasses) {
+    int nodeCount = graph.nodeCount();
+    parents = new int[nodeCount];
+    Arrays.fill(parents, UNVISITED);
+    impactedIds = new int[nodeCount]; // BFS 큐 겸 방문 순서 기록
+    int head = 0;
+    int tail = 0;
+
+    // 시작점(변경된 클래스)은 부모가 없습니다. 그래프에 없는 클래스도 영향 집합에는 포함합니다.
+    Set<String> impacted = new LinkedHashSet<>(changedClasses);
+    for (String changedClass : changedClasses) {
+      int id = graph.idOf(changedClass);
+      if (id >= 0 && parents[id] == UNVISITED) {
+        parents[id] = ROOT;
+        impactedIds[tail++] = id;
+      }
+    }
 
-      for (ClassNode dependentNode : currentNode.getDependents()) {
-        String dependentName = dependentNode.getName();
-        if (!paths.containsKey(dependentName)) {
-          paths.put(dependentName, currentClassName); // 경로 기록(자식, 부모)
-          queue.add(dependentName);
+    while (head < tail) {
+      int current = impactedIds[head++];
+      int dependentCount = graph.dependentCount(current);
+      for (int k = 0; k < dependentCount; k++) {
+        int dependent = graph.dependentAt(current, k);
+        if (parents[dependent] == UNVISITED) {
+          parents[dependent] = current; // 경로 기록(자식, 부모)
+          impactedIds[tail++] = dependent;
+          impacted.add(graph.name(dependent));
         }
       }
     }
-    return paths;
+    this.impactedCount = tail;
+    this.impactSet = impacted;
+  }
+
+  private List<String> buildPath(String impactedClass) {
+    int id = graph.idOf(impactedClass);
+    if (id < 0) {
+      return new ArrayList<>(List.of(impactedClass)); // 그래프에 없는 변경 클래스는 자기 자신만의 경로를 가집니다.
+    }
+    return buildPath(id);
   }
 
   /**
-   * <자식, 부모> 맵을 역추적하여, 변경된 클래스로부터 시작하는 의존성 경로 리스트를 생성합니다.
+   * <자식, 부모> 배열을 역추적하여, 변경된 클래스로부터 시작하는 의존성 경로 리스트를 생성합니다.
    */
-  private List<String> buildPath(String impactedClass) {
+  private List<String> buildPath(int impactedId) {
     List<String> path = new ArrayList<>();
-    String current = impactedClass;
-    while (current != null) {
-      path.add(current);
-      current = this.impactPaths.get(current); // 부모를 찾아 이동
+    for (int current = impactedId; current != ROOT; current = parents[current]) {
+      path.add(graph.name(current)); // 부모를 찾아 이동
     }
     Collections.reverse(path); // 경로를 A -> B -> C 순으로 뒤집음
     return path;
@@ -0,0 +1,123 @@
+package com.pbl.quantumleap;
+
+import com.pbl.quantumleap.model.ParsedSource;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 파일 단위로 추출된 import 목록과 타입 이름을, 프로젝트에 존재하는 클래스의 FQCN으로 해석합니다.
+ * 해석 순서는 Java 컴파일러의 규칙을 따릅니다: 단일 타입 import → 같은 패키지 → 와일드카드 import.
+ * 이름이 같은 클래스가 여러 패키지에 있어도, 실제로 참조되는 클래스 하나로만 연결됩니다.
+ */
+public class TypeResolver {
+
+  private final Set<String> knownClasses; // 프로젝트에 존재하는 클래스의 FQCN
+
+  public TypeResolver(Set<String> knownClasses) {
+    this.knownClasses = knownClasses;
+  }
+
+  /**
+   * 파일 하나의 의존 대상 클래스(FQCN) 목록을 반환합니다.
+   */
+  public Set<String> resolveDependencies(ParsedSource source) {
+    Set<String> dependencies = new LinkedHashSet<>();
+    Map<String, String> importsBySimpleName = new HashMap<>();
+    for (String importedClass : source.getImports()) {
+      importsBySimpleName.put(simpleNameOf(importedClass), importedClass);
+      String resolved = resolveImport(importedClass);
+      if (resolved != null) {
+        dependencies.add(resolved);
+      }
+    }
+    for (String typeName : source.getTypeNames()) {
+      String resolved = resolveTypeName(typeName, source, importsBySimpleName);
+      if (resolved != null) {
+        dependencies.add(resolved);
+      }
+    }
+    return dependencies;
+  }
+
+  /**
+   * 파일 하나에서 소스에 쓰인 타입 이름 하나를 클래스(FQCN)로 해석합니다. 중첩 타입은 바깥 클래스로 해석됩니다.
+   * @return 프로젝트 클래스의 FQCN, 프로젝트 밖의 타입이거나 해석할 수 없으면 null
+   */
+  public String resolveType(String typeName, ParsedSource source) {
+    Map<String, String> importsBySimpleName = new HashMap<>();
+    for (String importedClass : source.getImports()) {
+      importsBySimpleName.put(simpleNameOf(importedClass), importedClass);
+    }
+    int firstDot = typeName.indexOf('.');
+    String imported = importsBySimpleName.get(firstDot < 0 ? typeName : typeName.substring(0, firstDot));
+    if (imported != null && !knownClasses.contains(imported)) {
+      return resolveImport(imported); // 중첩 클래스 import(com.example.Outer.Inner)
+    }
+    return resolveTypeName(typeName, source, importsBySimpleName);
+  }
+
+  /**
+   * import된 이름을 클래스로 해석합니다. 중첩 클래스 import(com.example.Outer.Inner)는 바깥 클래스로 연결됩니다.
+   */
+  private String resolveImport(String importedName) {
+    String candidate = importedName;
+    while (true) {
+      if (knownClasses.contains(candidate)) {
+        return candidate;
+      }
+      int lastDot = candidate.lastIndexOf('.');
+      if (lastDot < 0) {
+        return null;
+      }
+      candidate = candidate.substring(0, lastDot);
+    }
+  }
+
+  private String resolveTypeName(String typeName, ParsedSource source, Map<String, String> importsBySimpleName) {
+    int firstDot = typeName.indexOf('.');
+    if (firstDot >= 0) {
+      // 완전 한정 이름(com.example.Foo)이거나, 중첩 타입(Outer.Inner)이면 바깥 클래스로 해석합니다.
+      if (knownClasses.contains(typeName)) {
+        return typeName;
+      }
+      String resolved = resolveImport(typeName);
+      if (resolved != null && resolved.indexOf('.') >= 0) {
+        return resolved;
+      }
+      typeName = typeName.substring(0, firstDot);
+    }
+
+    String imported = importsBySimpleName.get(typeName);
+    if (imported != null) {
+      return knownClasses.contains(imported) ? imported : null; // 다른 클래스를 명시적으로 import했다면 그 클래스를 가리킵니다.
+    }
+    String samePackage = source.getPackageName().isEmpty() ? typeName : source.getPackageName() + "." + typeName;
+    if (knownClasses.contains(samePackage)) {
+      return samePackage;
+    }
+    for (String wildcardPackage : source.getWildcardImports()) {
+      String candidate = wildcardPackage + "." + typeName;
+      if (knownClasses.contains(candidate)) {
+        return candidate;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * FQCN에서 패키지를 제외한 단순 클래스 이름을 반환합니다.
+   */
+  public static String simpleNameOf(String className) {
+    return className.substring(className.lastIndexOf('.') + 1);
+  }
+
+  /**
+   * 패키지 이름과 단순 클래스 이름으로 FQCN을 만듭니다. (기본 패키지면 단순 이름 그대로)
+   */
+  public static String qualify(String packageName, String simpleName) {
+    return packageName == null || packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+  }
+}
@@ -0,0 +1,119 @@
+package com.pbl.quantumleap;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 파일 단위 작업을 여러 워커 스레드에 나누어 실행하는 고정 크기 워커 풀입니다.
+ * 각 워커는 자신만의 컨텍스트(예: JavaParser)를 하나씩 생성해 사용하며, 결과는 입력 순서를 그대로 유지합니다.
+ */
+public class WorkerPool implements AutoCloseable {
+
+  private final int parallelism;
+  private final ExecutorService executor;
+
+  public WorkerPool(int parallelism) {
+    this.parallelism = Math.max(1, parallelism);
+    if (this.parallelism > 1) {
+      AtomicInteger threadIndex = new AtomicInteger();
+      this.executor = Executors.newFixedThreadPool(this.parallelism, runnable -> {
+        Thread thread = new Thread(runnable, "quantumleap-worker-" + threadIndex.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+      });
+    } else {
+      this.executor = null; // 병렬도 1이면 호출 스레드에서 직렬로 실행합니다.
+    }
+  }
+
+  public int getParallelism() {
+    return parallelism;
+  }
+
+  /**
+   * 각 항목에 작업을 적용하고, 입력과 같은 순서의 결과 리스트를 반환합니다.
+   * @param items 처리할 항목 목록
+   * @param contextFactory 워커마다 한 번씩 호출되어 워커 전용 컨텍스트를 생성
+   * @param task 항목 하나를 처리하는 작업
+   * @return 입력 순서와 동일한 순서의 결과 리스트
+   */
+  public <C, T, R> List<R> map(List<T> items, Supplier<C> contextFactory, WorkerTask<C, T, R> task) throws IOException {
+    int size = items.size();
+    if (executor == null || size < 2) {
+      C context = contextFactory.get();
+      List<R> results = new ArrayList<>(size);
+      for (T item : items) {
+        results.add(task.apply(context, item));
+      }
+      return results;
+    }
+
+    Object[] results = new Object[size];
+    AtomicInteger nextIndex = new AtomicInteger();
+    int workerCount = Math.min(parallelism, size);
+    List<Future<?>> futures = new ArrayList<>(workerCount);
+    for (int w = 0; w < workerCount; w++) {
+      futures.add(executor.submit(() -> {
+        C context = contextFactory.get();
+        int index;
+        // 작업을 미리 나누지 않고 공유 인덱스에서 하나씩 가져가므로, 큰 파일이 몰려도 부하가 고르게 분산됩니다.
+        while ((index = nextIndex.getAndIncrement()) < size) {
+          try {
+            results[index] = task.apply(context, items.get(index));
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        }
+        return null;
+      }));
+    }
+
+    try {
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } catch (InterruptedException e) {
+      futures.forEach(f -> f.cancel(true));
+      Thread.currentThread().interrupt();
+      throw new IOException("병렬 작업이 중단되었습니다.", e);
+    } catch (ExecutionException e) {
+      futures.forEach(f -> f.cancel(true));
+      Throwable cause = e.getCause();
+      if (cause instanceof UncheckedIOException uncheckedIOException) {
+        throw uncheckedIOException.getCause();
+      }
+      if (cause instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      if (cause instanceof Error error) {
+        throw error;
+      }
+      throw new IOException("병렬 작업 중 오류가 발생했습니다.", cause);
+    }
+
+    @SuppressWarnings("unchecked")
+    List<R> ordered = (List<R>) Arrays.asList(results);
+    return ordered;
+  }
+
+  @Override
+  public void close() {
+    if (executor != null) {
+      executor.shutdownNow();
+    }
+  }
+
+  @FunctionalInterface
+  public interface WorkerTask<C, T, R> {
+    R apply(C context, T item) throws IOException;
+  }
+}
@@ -0,0 +1,244 @@
+package com.pbl.quantumleap.cache;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 정규화된 프롬프트와 모델 이름의 해시를 키로 AI 응답을 디스크에 저장하는 캐시입니다.
+ * 아키텍처(그래프 JSON)가 바뀌지 않은 실행에서는 API를 호출하지 않고 저장된 응답을 바로 돌려줍니다.
+ * 항목은 생성 후 TTL이 지나면 만료되며, 전체 크기가 상한을 넘으면 가장 오래 사용되지 않은 항목부터 삭제합니다.
+ * 생성 시각은 파일 이름("키-생성시각.json")에, 최근 사용 시각은 파일 수정 시각에 담으므로, 정리할 때 항목 내용을 읽지 않습니다.
+ * 키는 프롬프트 전체에서 만들어지므로, 변경 클래스 주변 부분 그래프를 담는 diff 범위(--ai-scope=diff) 프롬프트는 변경마다 키가 달라집니다.
+ * 이때 캐시는 같은 변경을 다시 분석하는 경우(같은 PR의 CI 재실행 등)에만 적중하며, 다른 변경 사이에서 응답을 재사용하지 않습니다.
+ * (부분 그래프가 다르면 리뷰 내용도 달라야 하므로 의도된 동작입니다)
+ */
+public class AiResponseCache {
+
+  public static final Duration DEFAULT_TTL = Duration.ofDays(7);
+  public static final long DEFAULT_MAX_BYTES = 16L * 1024 * 1024;
+  private static final String ENTRY_SUFFIX = ".json";
+  private static final char CREATED_AT_SEPARATOR = '-'; // 키(16진수 해시)와 생성 시각 사이의 구분자
+
+  private final Path directory;
+  private final Duration ttl;
+  private final long maxBytes;
+  private final ObjectMapper objectMapper = new ObjectMapper()
+      .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+  private final AtomicInteger hits = new AtomicInteger();
+  private final AtomicInteger misses = new AtomicInteger();
+
+  private AiResponseCache(Path directory, Duration ttl, long maxBytes) {
+    this.directory = directory;
+    this.ttl = ttl;
+    this.maxBytes = maxBytes;
+  }
+
+  /**
+   * 캐시 디렉토리를 열고, 만료되었거나 크기 상한을 넘는 항목을 정리합니다.
+   * @param directory 응답 파일이 저장될 디렉토리 (예: build/quantumleap-cache/ai-responses)
+   * @param ttl 항목의 유효 기간 (생성 시각 기준)
+   * @param maxBytes 캐시 디렉토리 전체 크기 상한
+   */
+  public static AiResponseCache open(Path directory, Duration ttl, long maxBytes) {
+    AiResponseCache cache = new AiResponseCache(directory, ttl, maxBytes);
+    cache.evict();
+    return cache;
+  }
+
+  /**
+   * 프롬프트와 모델 이름으로 캐시 키를 만듭니다. 공백 차이(들여쓰기, 줄바꿈)는 같은 프롬프트로 취급합니다.
+   */
+  public static String key(String model, String prompt) {
+    String normalizedPrompt = prompt.strip().replaceAll("\\s+", " ");
+    return AnalysisCache.hash((model + "\n" + normalizedPrompt).getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * 캐시된 응답을 조회합니다. 적중한 항목은 최근 사용 시각이 갱신되어 크기 기반 정리에서 뒤로 밀립니다.
+   * @return 저장된 응답, 없거나 만료되었으면 null
+   */
+  public String get(String key) {
+    try {
+      Path entryFile = findEntryFile(key);
+      if (entryFile == null) {
+        misses.incrementAndGet();
+        return null;
+      }
+      if (isExpired(createdAtOf(entryFile))) {
+        Files.deleteIfExists(entryFile);
+        misses.incrementAndGet();
+        return null;
+      }
+      Entry entry = objectMapper.readValue(entryFile.toFile(), Entry.class);
+      Files.setLastModifiedTime(entryFile, FileTime.fromMillis(System.currentTimeMillis()));
+      hits.incrementAndGet();
+      return entry.getResponse();
+    } catch (IOException e) {
+      System.err.println("⚠️ AI 응답 캐시 읽기 오류! 캐시 없이 진행합니다. 오류: " + e.getMessage());
+      misses.incrementAndGet();
+      return null;
+    }
+  }
+
+  /**
+   * 응답을 저장하고 크기 상한을 넘으면 오래된 항목을 정리합니다.
+   */
+  public void put(String key, String model, String response) {
+    Entry entry = new Entry();
+    entry.setModel(model);
+    entry.setCreatedAt(System.currentTimeMillis());
+    entry.setResponse(response);
+    try {
+      Files.createDirectories(directory);
+      Path previousFile = findEntryFile(key);
+      // 다른 프로세스가 읽는 중에도 깨진 파일을 보지 않도록 임시 파일에 쓴 뒤 교체합니다.
+      Path tempFile = Files.createTempFile(directory, key, ".tmp");
+      objectMapper.writeValue(tempFile.toFile(), entry);
+      Path entryFile = directory.resolve(key + CREATED_AT_SEPARATOR + entry.getCreatedAt() + ENTRY_SUFFIX);
+      Files.move(tempFile, entryFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      if (previousFile != null && !previousFile.equals(entryFile)) {
+        deleteQuietly(previousFile); // 생성 시각이 이름에 들어가므로, 같은 키의 이전 항목은 따로 지웁니다.
+      }
+    } catch (IOException e) {
+      System.err.println("⚠️ AI 응답 캐시 저장 중 오류가 발생했습니다: " + e.getMessage());
+      return;
+    }
+    evict();
+  }
+
+  public int getHitCount() {
+    return hits.get();
+  }
+
+  public int getMissCount() {
+    return misses.get();
+  }
+
+  /**
+   * 만료된 항목을 삭제한 뒤, 전체 크기가 상한 이하가 될 때까지 최근 사용 시각이 가장 오래된 항목부터 삭제합니다.
+   * 파일 이름(생성 시각)과 파일 속성(크기, 수정 시각)만 사용하며 항목 내용은 읽지 않습니다.
+   */
+  private synchronized void evict() {
+    if (!Files.isDirectory(directory)) {
+      return;
+    }
+    List<Path> entryFiles;
+    try (Stream<Path> files = Files.list(directory)) {
+      entryFiles = files.filter(file -> file.getFileName().toString().endsWith(ENTRY_SUFFIX))
+          .collect(Collectors.toCollection(ArrayList::new));
+    } catch (IOException e) {
+      System.err.println("⚠️ AI 응답 캐시 정리 중 오류가 발생했습니다: " + e.getMessage());
+      return;
+    }
+
+    long totalBytes = 0;
+    Map<Path, BasicFileAttributes> liveFiles = new HashMap<>();
+    for (Path file : entryFiles) {
+      long createdAt = createdAtOf(file);
+      if (createdAt < 0 || isExpired(createdAt)) {
+        deleteQuietly(file); // 만료되었거나 이름 형식이 다른(이전 형식) 항목은 정리합니다.
+        continue;
+      }
+      try {
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        totalBytes += attributes.size();
+        liveFiles.put(file, attributes);
+      } catch (IOException e) {
+        // 다른 프로세스가 먼저 지운 항목입니다.
+      }
+    }
+
+    if (totalBytes <= maxBytes) {
+      return;
+    }
+    List<Path> leastRecentlyUsed = new ArrayList<>(liveFiles.keySet());
+    leastRecentlyUsed.sort(Comparator.comparing(file -> liveFiles.get(file).lastModifiedTime()));
+    for (Path file : leastRecentlyUsed) {
+      if (totalBytes <= maxBytes) {
+        break;
+      }
+      if (deleteQuietly(file)) {
+        totalBytes -= liveFiles.get(file).size();
+      }
+    }
+  }
+
+  private boolean isExpired(long createdAt) {
+    return System.currentTimeMillis() - createdAt > ttl.toMillis();
+  }
+
+  /**
+   * 키에 해당하는 항목 파일을 찾습니다. 여러 개라면(동시에 저장한 경우) 가장 최근에 만든 파일을 사용합니다.
+   * @return 항목 파일, 없으면 null
+   */
+  private Path findEntryFile(String key) throws IOException {
+    if (!Files.isDirectory(directory)) {
+      return null;
+    }
+    Path latest = null;
+    try (DirectoryStream<Path> files = Files.newDirectoryStream(directory,
+        key + CREATED_AT_SEPARATOR + "*" + ENTRY_SUFFIX)) {
+      for (Path file : files) {
+        if (latest == null || createdAtOf(file) > createdAtOf(latest)) {
+          latest = file;
+        }
+      }
+    }
+    return latest;
+  }
+
+  /**
+   * 항목 파일 이름("키-생성시각.json")에서 생성 시각을 읽습니다.
+   * @return epoch millis, 이름 형식이 맞지 않으면 -1
+   */
+  private static long createdAtOf(Path file) {
+    String name = file.getFileName().toString();
+    int separator = name.lastIndexOf(CREATED_AT_SEPARATOR);
+    if (separator < 0 || !name.endsWith(ENTRY_SUFFIX)) {
+      return -1;
+    }
+    try {
+      return Long.parseLong(name.substring(separator + 1, name.length() - ENTRY_SUFFIX.length()));
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+
+
+
+  private static boolean deleteQuietly(Path file) {
+    try {
+      return Files.deleteIfExists(file);
+    } catch (IOException e) {
+      return false;
+    }
+  }
+
+  @Getter
+  @Setter
+  static class Entry {
+    private String model;
+    private long createdAt; // epoch millis
+    private String response;
+  }
+}
@@ -0,0 +1,175 @@
+package com.pbl.quantumleap.cache;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.javaparser.JavaParser;
+import com.pbl.quantumleap.model.MemberFacts;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 파일 내용 해시를 키로 파일 단위 분석 결과를 디스크에 저장하는 증분 분석 캐시입니다.
+ * 내용이 바뀌지 않은 파일은 다시 파싱하지 않고 캐시된 클래스 정보와 의존성 이름을 재사용합니다.
+ * 캐시 포맷, JavaParser 버전, 기본 패키지 중 하나라도 달라지면 캐시 전체를 무효화합니다.
+ */
+public class AnalysisCache {
+
+  /** 의존성 추출 규칙이나 저장 형식이 바뀌면 올려서 기존 캐시를 무효화합니다. */
+  private static final int CACHE_FORMAT_VERSION = 4;
+  private static final String CACHE_FILE_NAME = "analysis-cache.json";
+
+  private final Path cacheFile;
+  private final String fingerprint;
+  private final ObjectMapper objectMapper = new ObjectMapper()
+      .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+  private final Map<String, Entry> previousEntries = new ConcurrentHashMap<>();
+  private final Map<String, Entry> currentEntries = new ConcurrentHashMap<>();
+  private final AtomicInteger hits = new AtomicInteger();
+  private final AtomicInteger misses = new AtomicInteger();
+
+  private AnalysisCache(Path cacheDirectory, String projectBasePackage) {
+    this.cacheFile = cacheDirectory.resolve(CACHE_FILE_NAME);
+    this.fingerprint = CACHE_FORMAT_VERSION + "|" + javaParserVersion() + "|" + projectBasePackage;
+  }
+
+  /**
+   * 캐시 디렉토리에서 기존 캐시를 읽어옵니다. 파일이 없거나 손상되었거나 버전이 다르면 빈 캐시로 시작합니다.
+   * @param cacheDirectory 캐시 파일이 저장될 디렉토리 (예: build/quantumleap-cache)
+   * @param projectBasePackage 의존성 추출에 사용되는 기본 패키지 (바뀌면 캐시 무효화)
+   */
+  public static AnalysisCache load(Path cacheDirectory, String projectBasePackage) {
+    AnalysisCache cache = new AnalysisCache(cacheDirectory, projectBasePackage);
+    if (!Files.exists(cache.cacheFile)) {
+      System.err.println("ℹ️ 분석 캐시가 없습니다. 전체 파일을 분석합니다.");
+      return cache;
+    }
+    try {
+      CacheFile stored = cache.objectMapper.readValue(cache.cacheFile.toFile(), CacheFile.class);
+      if (!cache.fingerprint.equals(stored.getFingerprint())) {
+        System.err.println("ℹ️ 분석 캐시 버전이 달라 캐시를 무효화합니다. (" + stored.getFingerprint() + " → " + cache.fingerprint + ")");
+      } else if (stored.getEntries() != null) {
+        cache.previousEntries.putAll(stored.getEntries());
+        System.err.println("✅ 분석 캐시를 불러왔습니다: " + cache.previousEntries.size() + "개 항목");
+      }
+    } catch (IOException e) {
+      System.err.println("⚠️ 분석 캐시 읽기 오류! 캐시 없이 진행합니다. 오류: " + e.getMessage());
+    }
+    return cache;
+  }
+
+  /**
+   * 내용 해시에 해당하는 캐시 항목을 조회합니다. 조회된 항목은 이번 실행에서 사용된 것으로 기록됩니다.
+   * @return 캐시 항목, 없으면 null
+   */
+  public Entry get(String contentHash) {
+    Entry entry = previousEntries.get(contentHash);
+    if (entry == null) {
+      misses.incrementAndGet();
+      return null;
+    }
+    hits.incrementAndGet();
+    currentEntries.put(contentHash, entry);
+    return entry;
+  }
+
+  public void put(String contentHash, Entry entry) {
+    currentEntries.put(contentHash, entry);
+  }
+
+  /**
+   * 이번 실행에서 사용된 항목만 디스크에 저장합니다. 삭제되었거나 내용이 바뀐 파일의 항목은 자연스럽게 정리됩니다.
+   */
+  public void save() {
+    CacheFile file = new CacheFile();
+    file.setFingerprint(fingerprint);
+    file.setEntries(new HashMap<>(currentEntries));
+    try {
+      Files.createDirectories(cacheFile.getParent());
+      // 다른 프로세스가 읽는 중에도 깨진 파일을 보지 않도록 임시 파일에 쓴 뒤 교체합니다.
+      Path tempFile = Files.createTempFile(cacheFile.getParent(), CACHE_FILE_NAME, ".tmp");
+      objectMapper.writeValue(tempFile.toFile(), file);
+      Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      System.err.println("✅ 분석 캐시 저장 완료 (적중 " + hits.get() + " / 미적중 " + misses.get() + "): " + cacheFile);
+    } catch (IOException e) {
+      System.err.println("⚠️ 분석 캐시 저장 중 오류가 발생했습니다: " + e.getMessage());
+    }
+  }
+
+  public int getHitCount() {
+    return hits.get();
+  }
+
+  public int getMissCount() {
+    return misses.get();
+  }
+
+  /**
+   * 파일 내용의 SHA-256 해시를 16진수 문자열로 반환합니다.
+   */
+  public static String hash(byte[] content) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      return HexFormat.of().formatHex(digest.digest(content));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 알고리즘을 사용할 수 없습니다.", e);
+    }
+  }
+
+  private static String javaParserVersion() {
+    String resource = "/META-INF/maven/com.github.javaparser/javaparser-core/pom.properties";
+    try (InputStream in = JavaParser.class.getResourceAsStream(resource)) {
+      if (in != null) {
+        Properties properties = new Properties();
+        properties.load(in);
+        return properties.getProperty("version", "unknown");
+      }
+    } catch (IOException e) {
+      // 버전을 알 수 없으면 아래의 대체 값을 사용합니다.
+    }
+    String implementationVersion = JavaParser.class.getPackage().getImplementationVersion();
+    return implementationVersion != null ? implementationVersion : "unknown";
+  }
+
+  /**
+   * 파일 하나에 대한 캐시 항목입니다. 클래스 선언이 없거나 파싱에 실패한 파일은 className이 null입니다.
+   */
+  @Getter
+  @Setter
+  public static class Entry {
+    private String className;
+    private String packageName;
+    private boolean entity;
+    private boolean dto;
+    private boolean runnableTest;
+    private List<String> imports;
+    private List<String> wildcardImports;
+    private List<String> typeNames;
+    // 멤버 단위 분석용 정보. 클래스 단위로만 분석한 항목은 null이며, 멤버 단위 분석 시 다시 분석하여 채웁니다.
+    private String classHash;
+    private List<String> superTypes;
+    private List<MemberFacts> members;
+  }
+
+  @Getter
+  @Setter
+  static class CacheFile {
+    private String fingerprint;
+    private Map<String, Entry> entries;
+  }
+}
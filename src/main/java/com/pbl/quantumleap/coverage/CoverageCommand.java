@@ -0,0 +1,58 @@
+package com.pbl.quantumleap.coverage;
+
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+import picocli.CommandLine.Parameters;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+
+@Command(name = "coverage", mixinStandardHelpOptions = true,
+    description = "테스트별 세션으로 수집한 JaCoCo 커버리지(exec/XML)를 테스트 선별용 커버리지 색인으로 변환합니다.")
+public class CoverageCommand implements Callable<Integer> {
+
+  @Parameters(arity = "1..*", description = "JaCoCo exec 파일, XML 리포트 또는 이들이 있는 디렉토리.")
+  private List<Path> inputs;
+
+  @Option(names = {"-o", "--output"}, description = "저장할 커버리지 색인 파일. (기본값: ${DEFAULT-VALUE})",
+      defaultValue = "build/quantumleap-coverage.idx")
+  private Path output;
+
+  @Option(names = {"--package"}, description = "이 패키지 아래의 클래스만 기록합니다. (예: com.example)", defaultValue = "")
+  private String packagePrefix;
+
+  @Option(names = {"--merge"}, description = "기존 색인이 있으면 합칩니다. 같은 테스트는 새로 가져온 커버리지로 교체됩니다.")
+  private boolean merge;
+
+  @Override
+  public Integer call() throws Exception {
+    long start = System.nanoTime();
+    JacocoImporter importer = new JacocoImporter(packagePrefix);
+    try {
+      for (Path input : inputs) {
+        importer.importPath(input);
+      }
+    } catch (IOException e) {
+      System.err.println("⚠️ 커버리지를 가져오지 못했습니다: " + e.getMessage());
+      return 1;
+    }
+
+    Map<String, Set<String>> coverage = importer.getCoverage();
+    if (merge && Files.exists(output)) {
+      Map<String, Set<String>> merged = CoverageIndex.read(output).toCoverage();
+      merged.putAll(coverage);
+      coverage = merged;
+    }
+    CoverageIndex index = CoverageIndex.of(coverage);
+    index.write(output);
+    System.err.println("✅ 커버리지 색인 저장: " + output + " (파일 " + importer.getFileCount() + "개, 테스트 " + index.testCount()
+        + "개, 코드 단위 " + index.unitCount() + "개, 항목 " + index.entryCount() + "개, " + Files.size(output) / 1024 + " KB, "
+        + (System.nanoTime() - start) / 1_000_000 + " ms)");
+    return 0;
+  }
+}
@@ -0,0 +1,227 @@
+package com.pbl.quantumleap.coverage;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * 테스트별 커버리지를 뒤집어 "코드 단위 → 그 코드를 실행한 테스트"로 조회하는 읽기 전용 색인입니다.
+ * 코드 단위는 클래스 FQCN 또는 멤버("FQCN#method()", "FQCN#&lt;init&gt;", "FQCN#Nested{}")이며, 테스트는
+ * "FQCN" 또는 "FQCN#method" 형식의 테스트 식별자입니다.
+ * 조회 구조는 코드 단위별 테스트 ID 목록을 CSR(offsets + targets) int 배열로 저장하고, 파일에는 정렬된 테스트 ID의
+ * 차이값을 가변 길이 정수로 기록하여 작게 유지합니다.
+ */
+public class CoverageIndex {
+
+  private static final int MAGIC = 0x514C4356; // "QLCV"
+  private static final int FORMAT_VERSION = 1;
+
+  private final String[] tests; // 정렬됨
+  private final String[] units; // 정렬됨
+  private final int[] offsets; // 코드 단위 u를 실행한 테스트: testIds[offsets[u] .. offsets[u + 1])
+  private final int[] testIds;
+
+  private CoverageIndex(String[] tests, String[] units, int[] offsets, int[] testIds) {
+    this.tests = tests;
+    this.units = units;
+    this.offsets = offsets;
+    this.testIds = testIds;
+  }
+
+  /**
+   * @param coverage <테스트 식별자, 그 테스트가 실행한 코드 단위>
+   */
+  public static CoverageIndex of(Map<String, Set<String>> coverage) {
+    String[] tests = coverage.keySet().stream().sorted().toArray(String[]::new);
+    String[] units = coverage.values().stream().flatMap(Set::stream).distinct().sorted().toArray(String[]::new);
+    Map<String, Integer> unitIds = new HashMap<>(units.length * 2);
+    for (int u = 0; u < units.length; u++) {
+      unitIds.put(units[u], u);
+    }
+    // 코드 단위별 테스트 수를 세어 offsets를 만든 뒤, 테스트 순서대로 채워 각 목록이 정렬되게 합니다.
+    int[] offsets = new int[units.length + 1];
+    for (Set<String> testUnits : coverage.values()) {
+      for (String unit : testUnits) {
+        offsets[unitIds.get(unit) + 1]++;
+      }
+    }
+    for (int u = 0; u < units.length; u++) {
+      offsets[u + 1] += offsets[u];
+    }
+    int[] testIds = new int[offsets[units.length]];
+    int[] next = Arrays.copyOf(offsets, units.length);
+    for (int t = 0; t < tests.length; t++) {
+      for (String unit : coverage.get(tests[t])) {
+        testIds[next[unitIds.get(unit)]++] = t;
+      }
+    }
+    return new CoverageIndex(tests, units, offsets, testIds);
+  }
+
+  public static CoverageIndex read(Path file) throws IOException {
+    try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+      if (in.readInt() != MAGIC) {
+        throw new IOException("커버리지 색인 파일이 아닙니다: " + file);
+      }
+      int version = in.readInt();
+      if (version != FORMAT_VERSION) {
+        throw new IOException("지원하지 않는 커버리지 색인 버전입니다: " + version + " (다시 가져와 주세요)");
+      }
+      String[] tests = new String[readVarInt(in)];
+      for (int t = 0; t < tests.length; t++) {
+        tests[t] = in.readUTF();
+      }
+      String[] units = new String[readVarInt(in)];
+      int[] offsets = new int[units.length + 1];
+      int[] testIds = new int[Math.max(16, tests.length)];
+      for (int u = 0; u < units.length; u++) {
+        units[u] = in.readUTF();
+        int count = readVarInt(in);
+        if (testIds.length < offsets[u] + count) {
+          testIds = Arrays.copyOf(testIds, Math.max(testIds.length * 2, offsets[u] + count));
+        }
+        int previous = 0;
+        for (int k = 0; k < count; k++) {
+          previous += readVarInt(in);
+          testIds[offsets[u] + k] = previous;
+        }
+        offsets[u + 1] = offsets[u] + count;
+      }
+      return new CoverageIndex(tests, units, offsets, Arrays.copyOf(testIds, offsets[units.length]));
+    }
+  }
+
+  public void write(Path file) throws IOException {
+    if (file.getParent() != null) {
+      Files.createDirectories(file.getParent());
+    }
+    try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+      out.writeInt(MAGIC);
+      out.writeInt(FORMAT_VERSION);
+      writeVarInt(out, tests.length);
+      for (String test : tests) {
+        out.writeUTF(test);
+      }
+      writeVarInt(out, units.length);
+      for (int u = 0; u < units.length; u++) {
+        out.writeUTF(units[u]);
+        writeVarInt(out, offsets[u + 1] - offsets[u]);
+        int previous = 0;
+        for (int k = offsets[u]; k < offsets[u + 1]; k++) {
+          writeVarInt(out, testIds[k] - previous);
+          previous = testIds[k];
+        }
+      }
+    }
+  }
+
+  /**
+   * 커버리지 데이터가 있는 코드 단위인지 확인합니다. (어떤 테스트든 한 번이라도 실행한 코드)
+   */
+  public boolean contains(String unit) {
+    return Arrays.binarySearch(units, unit) >= 0;
+  }
+
+  /**
+   * 클래스를 실행했지만 그 클래스의 멤버 단위 기록은 없는 테스트 식별자 목록을 반환합니다.
+   * exec 파일에서 가져온 커버리지는 클래스 단위로만 기록되므로, 어떤 멤버를 실행했는지 모르는 테스트입니다.
+   */
+  public List<String> testsCoveringClassOnly(String className) {
+    int c = Arrays.binarySearch(units, className);
+    if (c < 0) {
+      return List.of();
+    }
+    // 정렬된 units에서 "FQCN#..."는 연속되어 있습니다.
+    String prefix = className + "#";
+    int insertion = Arrays.binarySearch(units, prefix);
+    Set<Integer> withMembers = new HashSet<>();
+    for (int u = insertion >= 0 ? insertion : -insertion - 1; u < units.length && units[u].startsWith(prefix); u++) {
+      for (int k = offsets[u]; k < offsets[u + 1]; k++) {
+        withMembers.add(testIds[k]);
+      }
+    }
+    List<String> classOnly = new ArrayList<>();
+    for (int k = offsets[c]; k < offsets[c + 1]; k++) {
+      if (!withMembers.contains(testIds[k])) {
+        classOnly.add(tests[testIds[k]]);
+      }
+    }
+    return classOnly;
+  }
+
+  /**
+   * 코드 단위를 실행한 테스트 식별자 목록을 반환합니다.
+   * @return 테스트 식별자 목록, 커버리지 데이터가 없으면 빈 목록
+   */
+  public List<String> testsCovering(String unit) {
+    int u = Arrays.binarySearch(units, unit);
+    if (u < 0) {
+      return List.of();
+    }
+    List<String> covering = new ArrayList<>(offsets[u + 1] - offsets[u]);
+    for (int k = offsets[u]; k < offsets[u + 1]; k++) {
+      covering.add(tests[testIds[k]]);
+    }
+    return covering;
+  }
+
+  /**
+   * 테스트별로 실행한 코드 단위 목록을 복원합니다. 여러 색인을 합칠 때 사용합니다.
+   */
+  public Map<String, Set<String>> toCoverage() {
+    Map<String, Set<String>> coverage = new HashMap<>();
+    for (String test : tests) {
+      coverage.put(test, new TreeSet<>());
+    }
+    for (int u = 0; u < units.length; u++) {
+      for (int k = offsets[u]; k < offsets[u + 1]; k++) {
+        coverage.get(tests[testIds[k]]).add(units[u]);
+      }
+    }
+    return coverage;
+  }
+
+  public int testCount() {
+    return tests.length;
+  }
+
+  public int unitCount() {
+    return units.length;
+  }
+
+  /** 테스트-코드 단위 쌍의 수 */
+  public int entryCount() {
+    return testIds.length;
+  }
+
+  private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+    while ((value & ~0x7F) != 0) {
+      out.writeByte(0x80 | (value & 0x7F));
+      value >>>= 7;
+    }
+    out.writeByte(value);
+  }
+
+  private static int readVarInt(DataInputStream in) throws IOException {
+    int value = 0;
+    for (int shift = 0; ; shift += 7) {
+      int b = in.readUnsignedByte();
+      value |= (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+  }
+}
@@ -0,0 +1,290 @@
+package com.pbl.quantumleap.coverage;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import lombok.Getter;
+
+/**
+ * 테스트별 세션으로 수집한 JaCoCo 커버리지(exec 또는 XML 리포트)를 읽어 테스트별 실행 코드 단위를 모읍니다.
+ * 테스트 식별자는 JaCoCo 세션 ID를 사용하므로, 테스트마다 세션 ID를 "테스트 클래스 FQCN" 또는 "FQCN#method"로 지정하여
+ * 덤프해야 합니다. (XML 리포트는 세션이 하나일 때 그 세션 ID를, 여러 개면 report 이름을 사용합니다)
+ * exec 파일은 클래스 단위, XML 리포트는 메서드 단위까지 기록합니다. JaCoCo 라이브러리 없이 파일 형식을 직접 읽습니다.
+ */
+public class JacocoImporter {
+
+  // exec 파일 형식 (JaCoCo 0.7.5 이상, ExecutionDataWriter)
+  private static final int BLOCK_HEADER = 0x01;
+  private static final int BLOCK_SESSION_INFO = 0x10;
+  private static final int BLOCK_EXECUTION_DATA = 0x11;
+  private static final int EXEC_MAGIC = 0xC0C0;
+  private static final int EXEC_FORMAT_VERSION = 0x1007;
+
+  private final String packagePrefix; // 이 패키지와 하위 패키지의 클래스만 기록합니다. (빈 문자열이면 전체)
+  @Getter
+  private final Map<String, Set<String>> coverage = new HashMap<>(); // <테스트 식별자, 실행한 코드 단위>
+  @Getter
+  private int fileCount = 0;
+
+  public JacocoImporter(String packagePrefix) {
+    String prefix = packagePrefix == null ? "" : packagePrefix.strip();
+    this.packagePrefix = prefix.endsWith(".") ? prefix.substring(0, prefix.length() - 1) : prefix;
+  }
+
+  /**
+   * 파일 또는 디렉토리(하위의 *.exec, *.xml 전체)를 가져옵니다.
+   */
+  public void importPath(Path path) throws IOException {
+    if (!Files.exists(path)) {
+      throw new IOException("커버리지 파일을 찾을 수 없습니다: " + path);
+    }
+    List<Path> files;
+    if (Files.isDirectory(path)) {
+      try (Stream<Path> walk = Files.walk(path)) {
+        files = walk.filter(Files::isRegularFile)
+            .filter(file -> file.toString().endsWith(".exec") || file.toString().endsWith(".xml"))
+            .sorted()
+            .collect(Collectors.toList());
+      }
+    } else {
+      files = List.of(path);
+    }
+    for (Path file : files) {
+      if (file.toString().endsWith(".xml")) {
+        importXml(file);
+      } else {
+        importExec(file);
+      }
+    }
+  }
+
+  /**
+   * exec 파일을 가져옵니다. 세션 정보 블록 뒤에 오는 클래스 실행 데이터는 그 세션(테스트)의 커버리지로 기록됩니다.
+   */
+  public void importExec(Path file) throws IOException {
+    String fallbackTestId = baseName(file); // 세션 정보 없이 시작하는 파일
+    try (InputStream input = new BufferedInputStream(Files.newInputStream(file))) {
+      DataInputStream in = new DataInputStream(input);
+      Set<String> units = null;
+      int block;
+      while ((block = input.read()) != -1) {
+        switch (block) {
+          case BLOCK_HEADER -> {
+            int magic = in.readChar();
+            int version = in.readChar();
+            if (magic != EXEC_MAGIC || version != EXEC_FORMAT_VERSION) {
+              throw new IOException("지원하지 않는 JaCoCo exec 형식입니다 (magic=0x" + Integer.toHexString(magic)
+                  + ", version=0x" + Integer.toHexString(version) + "): " + file);
+            }
+          }
+          case BLOCK_SESSION_INFO -> {
+            String sessionId = in.readUTF();
+            in.readLong(); // 시작 시각
+            in.readLong(); // 덤프 시각
+            units = unitsOf(toTestId(sessionId));
+          }
+          case BLOCK_EXECUTION_DATA -> {
+            in.readLong(); // 클래스 ID (바이트코드 CRC)
+            String className = in.readUTF();
+            if (readProbes(in)) {
+              if (units == null) {
+                units = unitsOf(fallbackTestId);
+              }
+              addUnits(units, className, null);
+            }
+          }
+          default -> throw new IOException("알 수 없는 JaCoCo exec 블록(0x" + Integer.toHexString(block) + "): " + file);
+        }
+      }
+    } catch (EOFException e) {
+      throw new IOException("JaCoCo exec 파일이 중간에 끝났습니다: " + file, e);
+    }
+    fileCount++;
+  }
+
+  /**
+   * XML 리포트를 가져옵니다. 명령어가 하나라도 실행된 메서드와 그 클래스를 기록합니다.
+   */
+  public void importXml(Path file) throws IOException {
+    XMLInputFactory factory = XMLInputFactory.newFactory();
+    factory.setProperty(XMLInputFactory.SUPPORT_DTD, false); // report.dtd를 읽으러 가지 않습니다.
+    factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+
+    String reportName = baseName(file);
+    List<String> sessionIds = new ArrayList<>();
+    Set<String> units = new HashSet<>();
+    try (InputStream input = new BufferedInputStream(Files.newInputStream(file))) {
+      XMLStreamReader reader = factory.createXMLStreamReader(input);
+      String className = null;
+      String methodName = null;
+      boolean methodCovered = false;
+      while (reader.hasNext()) {
+        int event = reader.next();
+        if (event == XMLStreamConstants.START_ELEMENT) {
+          switch (reader.getLocalName()) {
+            case "report" -> reportName = attribute(reader, "name", reportName);
+            case "sessioninfo" -> sessionIds.add(attribute(reader, "id", ""));
+            case "class" -> className = attribute(reader, "name", null);
+            case "method" -> {
+              methodName = attribute(reader, "name", null);
+              methodCovered = false;
+            }
+            case "counter" -> {
+              if (methodName != null && "INSTRUCTION".equals(attribute(reader, "type", ""))) {
+                methodCovered = Long.parseLong(attribute(reader, "covered", "0")) > 0;
+              }
+            }
+            default -> {
+            }
+          }
+        } else if (event == XMLStreamConstants.END_ELEMENT) {
+          if ("method".equals(reader.getLocalName())) {
+            if (methodCovered && className != null) {
+              addUnits(units, className, methodName);
+            }
+            methodName = null;
+          } else if ("class".equals(reader.getLocalName())) {
+            className = null;
+          }
+        }
+      }
+      reader.close();
+    } catch (XMLStreamException | NumberFormatException e) {
+      throw new IOException("JaCoCo XML 리포트를 읽을 수 없습니다: " + file + " (" + e.getMessage() + ")", e);
+    }
+
+    if (sessionIds.size() > 1) {
+      System.err.println("⚠️ 세션이 " + sessionIds.size() + "개인 리포트는 테스트를 구분할 수 없어 report 이름(" + reportName
+          + ")을 테스트로 사용합니다: " + file);
+    }
+    String testId = toTestId(sessionIds.size() == 1 ? sessionIds.get(0) : reportName);
+    if (!units.isEmpty()) {
+      unitsOf(testId).addAll(units);
+    }
+    fileCount++;
+  }
+
+  /**
+   * 패키지 경계에서만 접두사를 비교합니다. 예) com.example은 com.example.Foo를 포함하지만 com.examples.Foo는 포함하지 않습니다.
+   */
+  private boolean inPackage(String binaryName) {
+    return packagePrefix.isEmpty() || binaryName.equals(packagePrefix) || binaryName.startsWith(packagePrefix + ".");
+  }
+
+  public CoverageIndex toIndex() {
+    return CoverageIndex.of(coverage);
+  }
+
+  private Set<String> unitsOf(String testId) {
+    return coverage.computeIfAbsent(testId, key -> new HashSet<>());
+  }
+
+  /**
+   * JVM 클래스 이름(com/example/Foo$Bar)과 메서드 이름을 코드 단위로 변환하여 추가합니다.
+   * 중첩 클래스는 바깥 클래스와 그 중첩 타입 멤버("Foo#Bar{}")로, 람다는 람다를 선언한 메서드로 기록합니다.
+   * 익명 클래스와 컴파일러가 만든 메서드는 바깥 클래스로만 기록합니다.
+   */
+  private void addUnits(Set<String> units, String vmClassName, String methodName) {
+    String binaryName = vmClassName.replace('/', '.');
+    if (!inPackage(binaryName)) {
+      return;
+    }
+    int nestedStart = binaryName.indexOf('$');
+    String outerClass = nestedStart < 0 ? binaryName : binaryName.substring(0, nestedStart);
+    units.add(outerClass);
+
+    String member = null;
+    if (nestedStart >= 0) {
+      String nested = binaryName.substring(nestedStart + 1);
+      nested = nested.contains("$") ? nested.substring(0, nested.indexOf('$')) : nested;
+      if (!nested.isEmpty() && !Character.isDigit(nested.charAt(0))) {
+        member = nested + "{}";
+      }
+    } else if (methodName != null) {
+      member = memberName(methodName);
+    }
+    if (member != null) {
+      units.add(outerClass + "#" + member);
+    }
+  }
+
+  private static String memberName(String methodName) {
+    if (methodName.equals("<init>") || methodName.equals("<clinit>")) {
+      return methodName;
+    }
+    if (methodName.startsWith("lambda$")) {
+      String enclosing = methodName.substring("lambda$".length(), Math.max("lambda$".length(), methodName.lastIndexOf('$')));
+      if (enclosing.equals("new")) {
+        return "<init>";
+      }
+      return enclosing.equals("static") ? "<clinit>" : enclosing.isEmpty() ? null : enclosing + "()";
+    }
+    return methodName.contains("$") ? null : methodName + "()"; // access$000 등 컴파일러가 만든 메서드
+  }
+
+  /**
+   * 세션 ID를 테스트 식별자로 정규화합니다. "FQCN#method(args)"나 "FQCN#method[1]"의 인자 부분은 제거합니다.
+   */
+  static String toTestId(String sessionId) {
+    String testId = sessionId.trim();
+    int separator = testId.indexOf('#');
+    if (separator < 0) {
+      return testId;
+    }
+    int end = testId.length();
+    for (char delimiter : new char[] {'(', '[', ' '}) {
+      int index = testId.indexOf(delimiter, separator);
+      if (index >= 0) {
+        end = Math.min(end, index);
+      }
+    }
+    return testId.substring(0, end);
+  }
+
+  /**
+   * JaCoCo의 압축 boolean 배열(가변 길이 정수 길이 + 비트 묶음)을 읽고, 실행된 프로브가 있는지 반환합니다.
+   */
+  private static boolean readProbes(DataInputStream in) throws IOException {
+    int length = readVarInt(in);
+    boolean hit = false;
+    for (int i = 0; i < (length + 7) / 8; i++) {
+      hit |= in.readUnsignedByte() != 0;
+    }
+    return hit;
+  }
+
+  private static int readVarInt(DataInputStream in) throws IOException {
+    int value = in.readUnsignedByte();
+    if ((value & 0x80) == 0) {
+      return value;
+    }
+    return (value & 0x7F) | (readVarInt(in) << 7);
+  }
+
+  private static String attribute(XMLStreamReader reader, String name, String defaultValue) {
+    String value = reader.getAttributeValue(null, name);
+    return value == null ? defaultValue : value;
+  }
+
+  private static String baseName(Path file) {
+    String fileName = file.getFileName().toString();
+    int dot = fileName.lastIndexOf('.');
+    return dot < 0 ? fileName : fileName.substring(0, dot);
+  }
+}
@@ -0,0 +1,58 @@
+package com.pbl.quantumleap.daemon;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pbl.quantumleap.cache.AnalysisCache;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * 로컬 Unix 도메인 소켓으로 데몬에 요청을 보내는 경량 클라이언트입니다.
+ * 요청과 응답은 각각 한 줄짜리 JSON이며, 연결 하나에 요청 하나를 처리합니다.
+ */
+public class DaemonClient {
+
+  private final Path socketPath;
+  private final ObjectMapper objectMapper = new ObjectMapper()
+      .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+  public DaemonClient(Path socketPath) {
+    this.socketPath = socketPath;
+  }
+
+  /**
+   * 프로젝트 루트마다 고유한 기본 소켓 경로를 반환합니다.
+   * 소켓 경로 길이 제한(약 100자)을 넘지 않도록 프로젝트 경로 대신 그 해시를 임시 디렉토리 아래의 파일 이름으로 사용합니다.
+   */
+  public static Path defaultSocketPath(Path projectRoot) {
+    String projectKey = projectRoot.toAbsolutePath().normalize().toString();
+    String hash = AnalysisCache.hash(projectKey.getBytes(StandardCharsets.UTF_8)).substring(0, 12);
+    return Paths.get(System.getProperty("java.io.tmpdir"), "quantumleap-" + hash + ".sock");
+  }
+
+  public DaemonResponse send(DaemonRequest request) throws IOException {
+    try (SocketChannel channel = SocketChannel.open(StandardProtocolFamily.UNIX)) {
+      channel.connect(UnixDomainSocketAddress.of(socketPath));
+      Writer writer = Channels.newWriter(channel, StandardCharsets.UTF_8);
+      writer.write(objectMapper.writeValueAsString(request));
+      writer.write('\n');
+      writer.flush();
+
+      BufferedReader reader = new BufferedReader(Channels.newReader(channel, StandardCharsets.UTF_8));
+      String line = reader.readLine();
+      if (line == null) {
+        throw new IOException("데몬이 응답 없이 연결을 종료했습니다.");
+      }
+      return objectMapper.readValue(line, DaemonResponse.class);
+    }
+  }
+}
@@ -0,0 +1,63 @@
+package com.pbl.quantumleap.daemon;
+
+import com.pbl.quantumleap.ConfigLoader;
+import com.pbl.quantumleap.Configuration;
+import com.pbl.quantumleap.SourceParser;
+import com.pbl.quantumleap.WorkerPool;
+import com.pbl.quantumleap.cache.AnalysisCache;
+import com.pbl.quantumleap.service.OpenAIService;
+import com.pbl.quantumleap.service.QuantumLeapService;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+import picocli.CommandLine.Parameters;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.concurrent.Callable;
+
+@Command(name = "daemon", mixinStandardHelpOptions = true,
+    description = "의존성 그래프를 메모리에 유지하며 파일 변경을 감시하고, 로컬 소켓으로 테스트 선별 요청에 응답합니다.")
+public class DaemonCommand implements Callable<Integer> {
+
+  @Parameters(index = "0", description = "분석할 프로젝트의 루트 경로.")
+  private File projectRoot;
+
+  @Option(names = {"--parallelism"}, description = "파싱/분석에 사용할 워커 스레드 수. (기본값: CPU 코어 수)")
+  private int parallelism = Runtime.getRuntime().availableProcessors();
+
+  @Option(names = {"--cache-dir"}, description = "증분 분석 캐시 디렉토리. 상대 경로는 프로젝트 루트 기준입니다.", defaultValue = "build/quantumleap-cache")
+  private String cacheDir;
+
+  @Option(names = {"--no-cache"}, description = "증분 분석 캐시를 사용하지 않고 모든 파일을 다시 분석합니다.")
+  private boolean noCache;
+
+  @Option(names = {"--socket"}, description = "요청을 받을 Unix 도메인 소켓 경로. (기본값: 임시 디렉토리의 프로젝트별 소켓)")
+  private Path socketPath;
+
+  @Override
+  public Integer call() throws Exception {
+    Path projectRootPath = projectRoot.toPath().toAbsolutePath().normalize();
+    System.err.println("🚀 QuantumLeap 데몬을 시작합니다: " + projectRootPath);
+
+    Configuration config = new ConfigLoader().loadConfig(projectRootPath);
+    Path sourcePath = projectRootPath.resolve(config.getSourceDirectory());
+    Path testPath = projectRootPath.resolve(config.getTestDirectory());
+    AnalysisCache analysisCache = noCache ? null
+        : AnalysisCache.load(projectRootPath.resolve(cacheDir), config.getProjectBasePackage());
+
+    QuantumLeapService service = new QuantumLeapService(sourcePath.toString(), testPath.toString(),
+        config.getProjectBasePackage(), new OpenAIService(null, null), parallelism);
+    Path socket = socketPath != null ? socketPath : DaemonClient.defaultSocketPath(projectRootPath);
+
+    try (WorkerPool workerPool = new WorkerPool(parallelism);
+        QuantumLeapDaemon daemon = new QuantumLeapDaemon(sourcePath, testPath, service,
+            new SourceParser(workerPool, config.getProjectBasePackage(), analysisCache))) {
+      daemon.start();
+      if (analysisCache != null) {
+        analysisCache.save();
+      }
+      daemon.serve(socket);
+    }
+    return 0;
+  }
+}
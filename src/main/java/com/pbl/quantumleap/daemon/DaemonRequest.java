@@ -0,0 +1,19 @@
+package com.pbl.quantumleap.daemon;
+
+import java.util.Set;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 데몬에 보내는 요청 한 건입니다. 한 줄짜리 JSON으로 직렬화됩니다.
+ */
+@Getter
+@Setter
+public class DaemonRequest {
+  public static final String SELECT = "select";
+  public static final String STATUS = "status";
+  public static final String SHUTDOWN = "shutdown";
+
+  private String command;
+  private Set<String> changes; // select: 변경된 파일 경로(.java), 클래스 FQCN 또는 단순 클래스 이름
+}
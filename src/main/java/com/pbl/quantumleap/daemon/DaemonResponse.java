@@ -0,0 +1,23 @@
+package com.pbl.quantumleap.daemon;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 데몬의 응답 한 건입니다. 한 줄짜리 JSON으로 직렬화됩니다.
+ */
+@Getter
+@Setter
+public class DaemonResponse {
+  private String error; // 요청 처리에 실패하면 오류 메시지, 성공하면 null
+  private Map<String, List<String>> testsWithPaths; // select: <테스트 클래스 FQCN, 변경 클래스로부터의 경로>
+  private Set<String> changedClasses; // select: 그래프 노드 이름(FQCN)으로 변환된 변경 클래스
+  private long elapsedMicros; // 데몬 내부 처리 시간
+  private int nodeCount; // status: 그래프 노드 수
+  private int edgeCount; // status: 그래프 엣지 수
+  private int fileCount; // status: 메모리에 유지 중인 파일 분석 결과 수
+  private long refreshCount; // status: 시작 이후 파일 변경을 반영한 횟수
+}
@@ -0,0 +1,321 @@
+package com.pbl.quantumleap.daemon;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pbl.quantumleap.ProjectScanner;
+import com.pbl.quantumleap.SourceParser;
+import com.pbl.quantumleap.TestSelector;
+import com.pbl.quantumleap.model.CompactGraph;
+import com.pbl.quantumleap.model.ParsedSource;
+import com.pbl.quantumleap.model.ProjectModel;
+import com.pbl.quantumleap.service.QuantumLeapService;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 파일 분석 결과와 의존성 그래프를 메모리에 유지하면서 테스트 선별 요청에 응답하는 상주 프로세스입니다.
+ * 소스/테스트 디렉토리를 WatchService로 감시하여 바뀐 파일만 다시 파싱하고, 메모리에 있는 분석 결과로 그래프를 다시 연결합니다.
+ * 요청은 로컬 Unix 도메인 소켓으로 받으며, 한 줄짜리 JSON 요청 하나에 JSON 응답 하나를 돌려줍니다.
+ */
+public class QuantumLeapDaemon implements AutoCloseable {
+
+  private static final long DEBOUNCE_MILLIS = 200; // 저장 직후 연속으로 발생하는 이벤트를 한 번에 반영하기 위한 대기 시간
+
+  private final Path sourceRoot;
+  private final Path testRoot;
+  private final QuantumLeapService service;
+  private final SourceParser sourceParser;
+  private final WatchService watchService;
+  private final Map<WatchKey, Path> watchedDirectories = new HashMap<>();
+  private final Map<Path, ParsedSource> parsedSources = new HashMap<>(); // 갱신 스레드에서만 변경
+  private final ObjectMapper objectMapper = new ObjectMapper()
+      .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+  private final ExecutorService requestExecutor = Executors.newCachedThreadPool(runnable -> {
+    Thread thread = new Thread(runnable, "quantumleap-daemon-request");
+    thread.setDaemon(true);
+    return thread;
+  });
+  private final AtomicLong refreshCount = new AtomicLong();
+
+  private volatile ProjectModel model; // 갱신 시 통째로 교체되며, 요청은 교체 전후 중 한 시점의 모델만 봅니다.
+  private volatile int fileCount;
+  private volatile boolean running = true;
+  private ServerSocketChannel serverChannel;
+
+  /**
+   * @param sourceRoot 소스 디렉토리
+   * @param testRoot 테스트 디렉토리
+   * @param service 그래프 구성과 변경 클래스 해석에 사용할 서비스
+   * @param sourceParser 파싱에 사용할 파서 (워커 풀은 데몬이 종료될 때까지 유지되어야 함)
+   */
+  public QuantumLeapDaemon(Path sourceRoot, Path testRoot, QuantumLeapService service, SourceParser sourceParser)
+      throws IOException {
+    this.sourceRoot = sourceRoot.toAbsolutePath().normalize();
+    this.testRoot = testRoot.toAbsolutePath().normalize();
+    this.service = service;
+    this.sourceParser = sourceParser;
+    this.watchService = FileSystems.getDefault().newWatchService();
+  }
+
+  /**
+   * 전체 파일을 한 번 분석하여 그래프를 구성하고, 디렉토리 감시를 시작합니다.
+   */
+  public void start() throws IOException {
+    long startNanos = System.nanoTime();
+    registerAll(sourceRoot);
+    registerAll(testRoot);
+    Set<Path> allFiles = new LinkedHashSet<>(scan(sourceRoot));
+    allFiles.addAll(scan(testRoot));
+    refresh(allFiles);
+    System.err.println("✅ 데몬 준비 완료: 파일 " + fileCount + "개, 노드 " + model.getGraph().nodeCount()
+        + "개 (" + (System.nanoTime() - startNanos) / 1_000_000 + " ms)");
+
+    Thread watcher = new Thread(this::watchLoop, "quantumleap-daemon-watcher");
+    watcher.setDaemon(true);
+    watcher.start();
+  }
+
+  /**
+   * 소켓에서 요청을 받아 처리합니다. shutdown 요청을 받거나 {@link #close()}가 호출될 때까지 반환하지 않습니다.
+   * @param socketPath Unix 도메인 소켓 파일 경로 (이미 있으면 교체)
+   */
+  public void serve(Path socketPath) throws IOException {
+    Files.deleteIfExists(socketPath);
+    serverChannel = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+    serverChannel.bind(UnixDomainSocketAddress.of(socketPath));
+    System.err.println("🛰️ 데몬이 요청을 기다립니다: " + socketPath);
+    try {
+      while (running) {
+        SocketChannel client = serverChannel.accept();
+        requestExecutor.execute(() -> handle(client));
+      }
+    } catch (ClosedChannelException e) {
+      // close()로 종료된 경우입니다.
+    } finally {
+      Files.deleteIfExists(socketPath);
+    }
+  }
+
+  /**
+   * 변경 목록에 대한 테스트를 현재 메모리 그래프로 선별합니다.
+   * @param changes 변경된 파일 경로(.java), 클래스 FQCN 또는 단순 클래스 이름 Set
+   */
+  public DaemonResponse select(Set<String> changes) {
+    long startNanos = System.nanoTime();
+    ProjectModel current = model;
+    Set<String> changedClasses = service.resolveChangedClasses(current.getGraph(), changes);
+    TestSelector testSelector = new TestSelector(current.getGraph(), current.getSourceToTestMap());
+
+    DaemonResponse response = new DaemonResponse();
+    response.setTestsWithPaths(testSelector.selectTestsAndPaths(changedClasses));
+    response.setChangedClasses(changedClasses);
+    response.setElapsedMicros((System.nanoTime() - startNanos) / 1_000);
+    return response;
+  }
+
+  public DaemonResponse status() {
+    CompactGraph graph = model.getGraph();
+    DaemonResponse response = new DaemonResponse();
+    response.setNodeCount(graph.nodeCount());
+    response.setEdgeCount(graph.edgeCount());
+    response.setFileCount(fileCount);
+    response.setRefreshCount(refreshCount.get());
+    return response;
+  }
+
+  @Override
+  public void close() throws IOException {
+    running = false;
+    watchService.close();
+    if (serverChannel != null) {
+      serverChannel.close();
+    }
+    requestExecutor.shutdownNow();
+  }
+
+  private void handle(SocketChannel client) {
+    try (client) {
+      BufferedReader reader = new BufferedReader(Channels.newReader(client, StandardCharsets.UTF_8));
+      String line = reader.readLine();
+      if (line == null) {
+        return;
+      }
+      DaemonResponse response;
+      boolean shutdown = false;
+      try {
+        DaemonRequest request = objectMapper.readValue(line, DaemonRequest.class);
+        if (DaemonRequest.SELECT.equals(request.getCommand())) {
+          response = select(request.getChanges() != null ? request.getChanges() : Set.of());
+        } else if (DaemonRequest.STATUS.equals(request.getCommand())) {
+          response = status();
+        } else if (DaemonRequest.SHUTDOWN.equals(request.getCommand())) {
+          response = new DaemonResponse();
+          shutdown = true;
+        } else {
+          response = new DaemonResponse();
+          response.setError("알 수 없는 명령입니다: " + request.getCommand());
+        }
+      } catch (IOException | RuntimeException e) {
+        response = new DaemonResponse();
+        response.setError("요청 처리 중 오류가 발생했습니다: " + e.getMessage());
+      }
+
+      Writer writer = Channels.newWriter(client, StandardCharsets.UTF_8);
+      writer.write(objectMapper.writeValueAsString(response));
+      writer.write('\n');
+      writer.flush();
+      if (shutdown) {
+        System.err.println("👋 종료 요청을 받았습니다. 데몬을 종료합니다.");
+        close();
+      }
+    } catch (IOException e) {
+      System.err.println("⚠️ 요청 처리 중 오류가 발생했습니다: " + e.getMessage());
+    }
+  }
+
+  /**
+   * 파일 변경 이벤트를 모아 반영합니다. 이벤트가 DEBOUNCE_MILLIS 동안 더 오지 않을 때까지 모은 뒤 한 번에 반영합니다.
+   */
+  private void watchLoop() {
+    try {
+      while (running) {
+        Set<Path> changedFiles = new LinkedHashSet<>();
+        boolean overflow = collectEvents(watchService.take(), changedFiles);
+        WatchKey key;
+        while ((key = watchService.poll(DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+          overflow |= collectEvents(key, changedFiles);
+        }
+        if (overflow) {
+          // 이벤트가 유실되었으므로 전체 파일을 다시 확인합니다. (내용이 같으면 분석 캐시로 빠르게 처리)
+          changedFiles.addAll(parsedSources.keySet());
+          changedFiles.addAll(scan(sourceRoot));
+          changedFiles.addAll(scan(testRoot));
+        }
+        if (!changedFiles.isEmpty()) {
+          refresh(changedFiles);
+        }
+      }
+    } catch (ClosedWatchServiceException e) {
+      // close()로 종료된 경우입니다.
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * 감시 키에 쌓인 이벤트를 변경 파일 목록에 모읍니다.
+   * @return 이벤트가 유실되어(OVERFLOW) 전체 확인이 필요하면 true
+   */
+  private boolean collectEvents(WatchKey key, Set<Path> changedFiles) {
+    Path directory = watchedDirectories.get(key);
+    boolean overflow = false;
+    for (WatchEvent<?> event : key.pollEvents()) {
+      if (event.kind() == StandardWatchEventKinds.OVERFLOW || directory == null) {
+        overflow = true;
+        continue;
+      }
+      Path changed = directory.resolve((Path) event.context());
+      if (Files.isDirectory(changed)) {
+        if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE) {
+          // 새 디렉토리는 감시 대상에 추가하고, 이미 들어 있는 파일도 반영합니다.
+          registerAll(changed);
+          changedFiles.addAll(scan(changed));
+        }
+      } else if (changed.toString().endsWith(".java")) {
+        changedFiles.add(changed);
+      } else if (event.kind() == StandardWatchEventKinds.ENTRY_DELETE) {
+        // 삭제된 디렉토리 아래에 있던 파일도 모두 제거합니다.
+        parsedSources.keySet().stream().filter(path -> path.startsWith(changed)).forEach(changedFiles::add);
+      }
+    }
+    if (!key.reset()) {
+      watchedDirectories.remove(key);
+    }
+    return overflow;
+  }
+
+  /**
+   * 바뀐 파일만 다시 파싱하고, 메모리에 있는 전체 분석 결과로 그래프를 다시 구성합니다.
+   * 삭제된 파일은 분석 결과에서 제거됩니다.
+   */
+  private void refresh(Set<Path> changedFiles) {
+    long startNanos = System.nanoTime();
+    List<Path> sourceFiles = new ArrayList<>();
+    List<Path> testFiles = new ArrayList<>();
+    for (Path file : changedFiles) {
+      if (Files.isRegularFile(file)) {
+        (file.startsWith(testRoot) ? testFiles : sourceFiles).add(file);
+      }
+    }
+
+    List<ParsedSource> reparsed;
+    try {
+      reparsed = sourceParser.parseAll(sourceFiles, testFiles);
+    } catch (IOException e) {
+      System.err.println("⚠️ 변경 파일 분석 중 오류가 발생했습니다. 이전 그래프를 유지합니다: " + e.getMessage());
+      return;
+    }
+    changedFiles.forEach(parsedSources::remove);
+    reparsed.forEach(parsed -> parsedSources.put(parsed.getFilePath(), parsed));
+
+    // 그래프 구성 시 소스 클래스가 테스트 클래스보다 먼저 등록되어야 하므로, 소스 → 테스트, 경로순으로 정렬합니다.
+    List<ParsedSource> ordered = parsedSources.values().stream()
+        .sorted(Comparator.comparing(ParsedSource::isTest).thenComparing(ParsedSource::getFilePath))
+        .collect(Collectors.toList());
+    model = service.buildModel(ordered);
+    fileCount = ordered.size();
+    if (refreshCount.getAndIncrement() > 0) {
+      System.err.println("🔄 변경 파일 " + changedFiles.size() + "개 반영 완료 ("
+          + (System.nanoTime() - startNanos) / 1_000_000 + " ms)");
+    }
+  }
+
+  private void registerAll(Path root) {
+    if (!Files.isDirectory(root)) {
+      return;
+    }
+    try (Stream<Path> directories = Files.walk(root)) {
+      for (Path directory : directories.filter(Files::isDirectory).collect(Collectors.toList())) {
+        WatchKey key = directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+            StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        watchedDirectories.put(key, directory);
+      }
+    } catch (IOException e) {
+      System.err.println("⚠️ 디렉토리 감시 등록 중 오류가 발생했습니다: " + e.getMessage());
+    }
+  }
+
+  private static List<Path> scan(Path root) {
+    return new ProjectScanner().scan(root.toString());
+  }
+}
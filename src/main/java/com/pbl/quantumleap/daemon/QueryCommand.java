@@ -0,0 +1,96 @@
+package com.pbl.quantumleap.daemon;
+
+import com.pbl.quantumleap.ChangeSource;
+import com.pbl.quantumleap.ChangeSourceType;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+import picocli.CommandLine.Parameters;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+
+@Command(name = "query", mixinStandardHelpOptions = true,
+    description = "실행 중인 데몬에 변경 사항을 보내고, 선별된 테스트 클래스를 표준 출력으로 한 줄씩 출력합니다.")
+public class QueryCommand implements Callable<Integer> {
+
+  @Parameters(index = "0", description = "분석할 프로젝트의 루트 경로.")
+  private File projectRoot;
+
+  @Option(names = {"--base"}, description = "비교 기준이 될 이전 커밋 해시.", defaultValue = "HEAD~1")
+  private String baseCommit;
+
+  @Option(names = {"--head"}, description = "최신 커밋 해시.", defaultValue = "HEAD")
+  private String headCommit;
+
+  @Option(names = {"--merge-base"}, description = "base와 head의 merge-base부터 head까지의 변경(base...head)을 분석합니다.")
+  private boolean mergeBase;
+
+  @Option(names = {"--change-source"}, description = "변경 파일을 구하는 백엔드: ${COMPLETION-CANDIDATES}. (기본값: ${DEFAULT-VALUE})",
+      defaultValue = "git")
+  private ChangeSourceType changeSourceType;
+
+  @Option(names = {"--changed"}, split = ",", description = "Git 대신 직접 지정할 변경 파일 경로(.java) 또는 클래스 이름 목록.")
+  private List<String> changed;
+
+  @Option(names = {"--status"}, description = "테스트 선별 대신 데몬 상태(그래프 크기, 반영 횟수)를 출력합니다.")
+  private boolean status;
+
+  @Option(names = {"--shutdown"}, description = "데몬을 종료합니다.")
+  private boolean shutdown;
+
+  @Option(names = {"--socket"}, description = "데몬 소켓 경로. (기본값: 임시 디렉토리의 프로젝트별 소켓)")
+  private Path socketPath;
+
+  @Override
+  public Integer call() throws Exception {
+    Path projectRootPath = projectRoot.toPath().toAbsolutePath().normalize();
+    DaemonClient client = new DaemonClient(socketPath != null ? socketPath : DaemonClient.defaultSocketPath(projectRootPath));
+    DaemonRequest request = new DaemonRequest();
+
+    if (shutdown || status) {
+      request.setCommand(shutdown ? DaemonRequest.SHUTDOWN : DaemonRequest.STATUS);
+    } else {
+      request.setCommand(DaemonRequest.SELECT);
+      if (changed != null) {
+        request.setChanges(new LinkedHashSet<>(changed));
+      } else {
+        try {
+          request.setChanges(ChangeSource.toJavaPaths(
+              changeSourceType.create().findChanges(projectRootPath.toString(), baseCommit, headCommit, mergeBase)));
+        } catch (IOException e) {
+          System.err.println("⚠️ Git 변경점 분석에 실패했습니다: " + e.getMessage());
+          return 3;
+        }
+      }
+    }
+
+    long startNanos = System.nanoTime();
+    DaemonResponse response;
+    try {
+      response = client.send(request);
+    } catch (IOException e) {
+      System.err.println("⚠️ 데몬에 연결할 수 없습니다. 'quantumleap daemon " + projectRootPath + "'로 먼저 실행해주세요. (" + e.getMessage() + ")");
+      return 2;
+    }
+    if (response.getError() != null) {
+      System.err.println("⚠️ " + response.getError());
+      return 1;
+    }
+
+    if (status) {
+      System.err.println("ℹ️ 데몬 상태: 파일 " + response.getFileCount() + "개, 노드 " + response.getNodeCount() + "개, 엣지 "
+          + response.getEdgeCount() + "개, 변경 반영 " + response.getRefreshCount() + "회");
+    } else if (!shutdown) {
+      Set<String> tests = response.getTestsWithPaths().keySet();
+      System.err.println("✅ " + tests.size() + "개의 테스트가 선별되었습니다. (응답 "
+          + (System.nanoTime() - startNanos) / 1_000_000 + " ms, 데몬 처리 " + response.getElapsedMicros() + " µs)");
+      tests.stream().sorted().forEach(System.out::println);
+    }
+    return 0;
+  }
+}
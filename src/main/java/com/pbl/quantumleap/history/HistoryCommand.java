@@ -0,0 +1,42 @@
+package com.pbl.quantumleap.history;
+
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+import picocli.CommandLine.Parameters;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+@Command(name = "history", mixinStandardHelpOptions = true,
+    description = "JUnit XML 테스트 리포트에서 테스트별 실행 시간과 실패 이력을 가져와 --time-budget 선별에 사용할 이력 파일에 기록합니다.")
+public class HistoryCommand implements Callable<Integer> {
+
+  @Parameters(arity = "0..*", description = "JUnit XML 리포트 또는 이들이 있는 디렉토리. (기본값: build/test-results)")
+  private List<Path> inputs = List.of(Path.of("build/test-results"));
+
+  @Option(names = {"-o", "--output"}, description = "기록할 테스트 이력 파일. 이미 있으면 새 실행을 더합니다. (기본값: ${DEFAULT-VALUE})",
+      defaultValue = "build/quantumleap-history.json")
+  private Path output;
+
+  @Override
+  public Integer call() throws Exception {
+    long start = System.nanoTime();
+    TestHistory history = TestHistory.load(output);
+    JUnitReportImporter importer = new JUnitReportImporter(history);
+    try {
+      for (Path input : inputs) {
+        importer.importPath(input);
+      }
+    } catch (IOException e) {
+      System.err.println("⚠️ 테스트 리포트를 가져오지 못했습니다: " + e.getMessage());
+      return 1;
+    }
+    history.save(output);
+    System.err.println("✅ 테스트 이력 저장: " + output + " (리포트 " + importer.getFileCount() + "개, 새 실행 "
+        + importer.getRecordedCount() + "개, 이미 기록된 실행 " + importer.getDuplicateCount() + "개, 테스트 " + history.size() + "개, "
+        + (System.nanoTime() - start) / 1_000_000 + " ms)");
+    return 0;
+  }
+}
@@ -0,0 +1,229 @@
+package com.pbl.quantumleap.history;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import lombok.Getter;
+
+/**
+ * JUnit XML 리포트(Gradle build/test-results, Maven surefire-reports의 TEST-*.xml)를 읽어 테스트 이력에 기록합니다.
+ * testsuite는 테스트 클래스, testcase는 테스트 메서드로 기록하며, 파라미터화 테스트의 여러 실행은 메서드 하나로 합칩니다.
+ * 같은 리포트를 다시 가져와도 중복 기록되지 않도록 testsuite의 실행 시각(timestamp)으로 실행을 구분합니다.
+ */
+public class JUnitReportImporter {
+
+  private final TestHistory history;
+  @Getter
+  private int fileCount = 0;
+  @Getter
+  private int recordedCount = 0; // 새로 기록한 테스트 실행 수
+  @Getter
+  private int duplicateCount = 0; // 이미 기록되어 건너뛴 테스트 실행 수
+
+  public JUnitReportImporter(TestHistory history) {
+    this.history = history;
+  }
+
+  /**
+   * 리포트 파일 또는 디렉토리(하위의 *.xml 전체)를 가져옵니다. 모든 리포트를 읽은 뒤 한 번에 기록합니다.
+   */
+  public void importPath(Path path) throws IOException {
+    if (!Files.exists(path)) {
+      throw new IOException("테스트 리포트를 찾을 수 없습니다: " + path);
+    }
+    List<Path> files;
+    if (Files.isDirectory(path)) {
+      try (Stream<Path> walk = Files.walk(path)) {
+        files = walk.filter(Files::isRegularFile)
+            .filter(file -> file.getFileName().toString().endsWith(".xml"))
+            .sorted()
+            .collect(Collectors.toList());
+      }
+    } else {
+      files = List.of(path);
+    }
+    List<Suite> suites = new ArrayList<>();
+    for (Path file : files) {
+      suites.addAll(readReport(file));
+    }
+    record(suites);
+  }
+
+  public void importReport(Path file) throws IOException {
+    record(readReport(file));
+  }
+
+  private List<Suite> readReport(Path file) throws IOException {
+    XMLInputFactory factory = XMLInputFactory.newFactory();
+    factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+    factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+
+    String fallbackKey = Files.getLastModifiedTime(file).toString(); // timestamp가 없는 리포트
+    List<Suite> suites = new ArrayList<>();
+    try (InputStream input = new BufferedInputStream(Files.newInputStream(file))) {
+      XMLStreamReader reader = factory.createXMLStreamReader(input);
+      Suite suite = null;
+      String testId = null;
+      boolean failed = false;
+      boolean skipped = false;
+      double millis = 0;
+      while (reader.hasNext()) {
+        int event = reader.next();
+        if (event == XMLStreamConstants.START_ELEMENT) {
+          switch (reader.getLocalName()) {
+            case "testsuite" -> suite = new Suite(attribute(reader, "name", ""), seconds(reader),
+                attribute(reader, "timestamp", fallbackKey));
+            case "testcase" -> {
+              String className = attribute(reader, "classname", suite == null ? "" : suite.name);
+              testId = className + "#" + methodName(attribute(reader, "name", ""));
+              millis = seconds(reader);
+              failed = false;
+              skipped = false;
+            }
+            case "failure", "error" -> failed = true;
+            case "skipped" -> skipped = true;
+            default -> {
+            }
+          }
+        } else if (event == XMLStreamConstants.END_ELEMENT) {
+          switch (reader.getLocalName()) {
+            case "testcase" -> {
+              if (suite != null && testId != null && !skipped) {
+                suite.add(testId, millis, failed);
+              }
+              testId = null;
+            }
+            case "testsuite" -> {
+              if (suite != null) {
+                suites.add(suite);
+              }
+              suite = null;
+            }
+            default -> {
+            }
+          }
+        }
+      }
+      reader.close();
+    } catch (XMLStreamException | NumberFormatException e) {
+      throw new IOException("JUnit XML 리포트를 읽을 수 없습니다: " + file + " (" + e.getMessage() + ")", e);
+    }
+    fileCount++;
+    return suites;
+  }
+
+  private void record(List<Suite> suites) {
+    Set<String> suiteNames = suites.stream().map(suite -> suite.name).collect(Collectors.toSet());
+    for (Suite suite : suites) {
+      record(suite, suiteNames);
+    }
+  }
+
+  /**
+   * testsuite 하나를 기록합니다. 클래스 이력은 타입마다 자기 테스트의 시간만 갖도록 기록합니다.
+   * Maven Surefire는 @Nested 클래스의 testcase를 바깥 클래스의 testsuite 안에도 기록하므로(classname="FQCN$Nested"),
+   * 그 시간은 바깥 클래스에서 빼고 중첩 클래스로 기록합니다. 중첩 클래스의 testsuite가 따로 있으면 그쪽에서만 기록합니다.
+   * {@link TestHistory#classMillis}가 중첩 클래스의 시간을 더하므로, 그대로 두면 같은 테스트가 두 번 더해집니다.
+   * @param suiteNames 함께 가져온 모든 testsuite 이름
+   */
+  private void record(Suite suite, Set<String> suiteNames) {
+    if (suite.name.isEmpty() || suite.methods.isEmpty()) {
+      return; // 실행된 테스트가 없는 클래스 (모두 건너뜀 등)
+    }
+    Result own = new Result();
+    Map<String, Result> nestedTypes = new LinkedHashMap<>();
+    suite.methods.forEach((testId, result) -> {
+      String type = testId.substring(0, testId.lastIndexOf('#'));
+      Result typeResult = type.equals(suite.name) ? own : nestedTypes.computeIfAbsent(type, key -> new Result());
+      typeResult.millis += result.millis;
+      typeResult.failed |= result.failed;
+    });
+    // testsuite 시간에는 @BeforeAll 등 테스트 밖의 시간도 포함되므로, 바깥 클래스는 중첩 클래스의 시간을 뺀 나머지로 기록합니다.
+    double nestedMillis = nestedTypes.values().stream().mapToDouble(result -> result.millis).sum();
+    count(history.record(suite.name, Math.max(suite.millis - nestedMillis, own.millis), own.failed, suite.timestamp));
+    nestedTypes.forEach((type, result) -> {
+      if (!suiteNames.contains(type)) {
+        count(history.record(type, result.millis, result.failed, suite.timestamp));
+      }
+    });
+    suite.methods.forEach((testId, result) -> {
+      String type = testId.substring(0, testId.lastIndexOf('#'));
+      if (type.equals(suite.name) || !suiteNames.contains(type)) {
+        count(history.record(testId, result.millis, result.failed, suite.timestamp));
+      }
+    });
+  }
+
+  private void count(boolean recorded) {
+    if (recorded) {
+      recordedCount++;
+    } else {
+      duplicateCount++;
+    }
+  }
+
+  /**
+   * 리포트의 테스트 이름을 메서드 이름으로 정규화합니다. 예) "notes(String)[2]" → "notes", "placesOrder()" → "placesOrder"
+   * 표시 이름(@DisplayName)이 기록된 경우에는 그대로 사용되므로 테스트 필터와 맞지 않을 수 있습니다.
+   */
+  static String methodName(String name) {
+    int end = name.length();
+    for (char delimiter : new char[] {'(', '['}) {
+      int index = name.indexOf(delimiter);
+      if (index > 0) {
+        end = Math.min(end, index);
+      }
+    }
+    return name.substring(0, end).trim();
+  }
+
+  private static double seconds(XMLStreamReader reader) {
+    // 로케일에 따라 "1,234.5"처럼 기록되는 경우가 있습니다.
+    return Double.parseDouble(attribute(reader, "time", "0").replace(",", "")) * 1000;
+  }
+
+  private static String attribute(XMLStreamReader reader, String name, String defaultValue) {
+    String value = reader.getAttributeValue(null, name);
+    return value == null ? defaultValue : value;
+  }
+
+  /**
+   * testsuite 하나의 실행 결과. 같은 메서드의 여러 실행(파라미터화 테스트)은 시간을 더하고 실패 여부를 합칩니다.
+   */
+  private static class Suite {
+    private final String name;
+    private final double millis;
+    private final String timestamp;
+    private final Map<String, Result> methods = new LinkedHashMap<>();
+
+    private Suite(String name, double millis, String timestamp) {
+      this.name = name;
+      this.millis = millis;
+      this.timestamp = timestamp;
+    }
+
+    private void add(String testId, double testMillis, boolean testFailed) {
+      Result result = methods.computeIfAbsent(testId, key -> new Result());
+      result.millis += testMillis;
+      result.failed |= testFailed;
+    }
+  }
+
+  private static class Result {
+    private double millis = 0;
+    private boolean failed = false;
+  }
+}
@@ -0,0 +1,186 @@
+package com.pbl.quantumleap.history;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 테스트별 실행 시간과 실패 이력을 저장하는 로컬 이력 파일입니다. (JUnit XML 리포트에서 가져옵니다)
+ * 테스트 식별자는 테스트 클래스("FQCN", @Nested 클래스는 "FQCN$Nested")와 테스트 메서드("FQCN#method")입니다.
+ * 오래된 실행일수록 덜 반영되도록 실행/실패 횟수는 새 실행을 기록할 때마다 감쇠시키고, 실행 시간은 지수 이동 평균으로 유지합니다.
+ */
+public class TestHistory {
+
+  /** 저장 형식이 바뀌면 올려서 기존 이력을 무시합니다. */
+  private static final int FORMAT_VERSION = 1;
+  /** 새 실행을 기록할 때 기존 실행/실패 횟수에 곱하는 값 (최근 20회 정도가 주로 반영됨) */
+  private static final double DECAY = 0.95;
+  /** 실행 시간 지수 이동 평균에서 새 측정값의 비중 */
+  private static final double DURATION_WEIGHT = 0.3;
+  /** 이력이 없거나 적은 테스트의 실패 확률 사전값과 그 가중치(실행 횟수) */
+  private static final double PRIOR_FAILURE_RATE = 0.1;
+  private static final double PRIOR_RUNS = 2;
+
+  private final ObjectMapper objectMapper = new ObjectMapper()
+      .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+  private final TreeMap<String, Entry> tests = new TreeMap<>(); // 정렬: "FQCN"의 @Nested 클래스와 메서드가 바로 뒤에 옵니다.
+
+  /**
+   * 이력 파일을 읽습니다. 파일이 없거나 손상되었거나 버전이 다르면 빈 이력으로 시작합니다.
+   */
+  public static TestHistory load(Path file) {
+    TestHistory history = new TestHistory();
+    if (!Files.exists(file)) {
+      System.err.println("ℹ️ 테스트 이력이 없습니다: " + file + " (history 명령으로 JUnit XML 리포트를 가져올 수 있습니다)");
+      return history;
+    }
+    try {
+      HistoryFile stored = history.objectMapper.readValue(file.toFile(), HistoryFile.class);
+      if (stored.getVersion() != FORMAT_VERSION) {
+        System.err.println("ℹ️ 테스트 이력 형식이 달라 무시합니다. (버전 " + stored.getVersion() + " → " + FORMAT_VERSION + ")");
+      } else if (stored.getTests() != null) {
+        history.tests.putAll(stored.getTests());
+      }
+    } catch (IOException e) {
+      System.err.println("⚠️ 테스트 이력 읽기 오류! 이력 없이 진행합니다. 오류: " + e.getMessage());
+    }
+    return history;
+  }
+
+  public void save(Path file) throws IOException {
+    HistoryFile stored = new HistoryFile();
+    stored.setVersion(FORMAT_VERSION);
+    stored.setTests(tests);
+    if (file.getParent() != null) {
+      Files.createDirectories(file.getParent());
+    }
+    // 다른 프로세스가 읽는 중에도 깨진 파일을 보지 않도록 임시 파일에 쓴 뒤 교체합니다.
+    Path tempFile = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp");
+    objectMapper.writeValue(tempFile.toFile(), stored);
+    Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  /**
+   * 테스트 실행 한 번을 기록합니다.
+   * @param reportKey 실행을 구분하는 값 (리포트의 실행 시각 등). 마지막으로 기록한 값과 같으면 같은 리포트로 보고 무시합니다.
+   * @return 기록했으면 true, 이미 기록한 실행이면 false
+   */
+  public boolean record(String testId, double durationMillis, boolean failed, String reportKey) {
+    Entry entry = tests.computeIfAbsent(testId, key -> new Entry());
+    if (reportKey != null && reportKey.equals(entry.getLastReport())) {
+      return false;
+    }
+    entry.setDurationMillis(entry.getRuns() == 0
+        ? durationMillis : DURATION_WEIGHT * durationMillis + (1 - DURATION_WEIGHT) * entry.getDurationMillis());
+    entry.setRuns(entry.getRuns() * DECAY + 1);
+    entry.setFailures(entry.getFailures() * DECAY + (failed ? 1 : 0));
+    entry.setLastFailed(failed);
+    entry.setLastReport(reportKey);
+    return true;
+  }
+
+  public Entry get(String testId) {
+    return tests.get(testId);
+  }
+
+  /**
+   * 실패 확률 추정값. 이력이 적을수록 사전값(10%)에 가깝고, 최근 실행이 더 크게 반영됩니다.
+   */
+  public double failureRate(String testId) {
+    Entry entry = tests.get(testId);
+    if (entry == null) {
+      return PRIOR_FAILURE_RATE;
+    }
+    return (entry.getFailures() + PRIOR_FAILURE_RATE * PRIOR_RUNS) / (entry.getRuns() + PRIOR_RUNS);
+  }
+
+  /**
+   * 테스트 클래스 전체의 예상 실행 시간. 클래스 이력은 타입마다 자기 테스트의 시간만 가지므로 @Nested 클래스의 이력을 더합니다.
+   * @return 예상 실행 시간(ms), 이력이 없으면 -1
+   */
+  public double classMillis(String testClass) {
+    Entry entry = tests.get(testClass);
+    double millis = entry == null ? -1 : entry.getDurationMillis();
+    for (Entry nested : nestedClasses(testClass).values()) {
+      millis = Math.max(millis, 0) + nested.getDurationMillis();
+    }
+    return millis;
+  }
+
+  /**
+   * 테스트 클래스 전체(@Nested 클래스 포함)가 실패할 확률의 추정값. 타입마다 한 번씩만 반영합니다.
+   */
+  public double classFailureRate(String testClass) {
+    double passProbability = 1 - failureRate(testClass);
+    for (String nested : nestedClasses(testClass).keySet()) {
+      passProbability *= 1 - failureRate(nested);
+    }
+    return 1 - passProbability;
+  }
+
+  /**
+   * 이력이 있는 @Nested 클래스 ("FQCN$Nested", 중첩의 중첩 포함). 메서드 이력은 클래스 이력에 이미 포함되므로 제외합니다.
+   */
+  private Map<String, Entry> nestedClasses(String testClass) {
+    Map<String, Entry> nested = new TreeMap<>();
+    tests.subMap(testClass + "$", testClass + "$\uffff").forEach((testId, entry) -> {
+      if (testId.indexOf('#') < 0) {
+        nested.put(testId, entry);
+      }
+    });
+    return nested;
+  }
+
+  /**
+   * 테스트 클래스의 실행 시간 중앙값. 이력이 없는 테스트의 실행 시간 추정에 사용합니다.
+   * @return 중앙값(ms), 클래스 이력이 하나도 없으면 -1
+   */
+  public double medianClassMillis() {
+    List<Double> durations = new ArrayList<>();
+    tests.forEach((testId, entry) -> {
+      if (testId.indexOf('#') < 0 && testId.indexOf('$') < 0) {
+        durations.add(classMillis(testId));
+      }
+    });
+    if (durations.isEmpty()) {
+      return -1;
+    }
+    Collections.sort(durations);
+    return durations.get(durations.size() / 2);
+  }
+
+  public int size() {
+    return tests.size();
+  }
+
+  /**
+   * 테스트 하나의 이력입니다. 실행/실패 횟수는 감쇠된 값이라 정수가 아닙니다.
+   */
+  @Getter
+  @Setter
+  public static class Entry {
+    private double runs;
+    private double failures;
+    private double durationMillis; // 실행 시간 지수 이동 평균
+    private boolean lastFailed;
+    private String lastReport; // 마지막으로 기록한 리포트 (중복 기록 방지)
+  }
+
+  @Getter
+  @Setter
+  static class HistoryFile {
+    private int version;
+    private Map<String, Entry> tests;
+  }
+}
@@ -0,0 +1,127 @@
+package com.pbl.quantumleap.metrics;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 단계별 측정 결과를 JSON 요약 또는 Prometheus 텍스트 형식(node_exporter textfile 수집기 등)으로 씁니다.
+ * 출력 스트림은 닫지 않습니다.
+ */
+public class MetricsExporter {
+
+  private static final String PREFIX = "quantumleap_";
+
+  public void write(List<PhaseMetrics> phases, MetricsFormat format, OutputStream out) throws IOException {
+    switch (format) {
+      case JSON -> writeJson(phases, out);
+      case PROMETHEUS -> writePrometheus(phases, out);
+    }
+  }
+
+  private void writeJson(List<PhaseMetrics> phases, OutputStream out) throws IOException {
+    JsonFactory jsonFactory = new JsonFactory().disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    try (JsonGenerator json = jsonFactory.createGenerator(out, JsonEncoding.UTF8)) {
+      json.useDefaultPrettyPrinter();
+      json.writeStartObject();
+      json.writeArrayFieldStart("phases");
+      for (PhaseMetrics phase : phases) {
+        json.writeStartObject();
+        json.writeStringField("phase", phase.getPhase());
+        json.writeNumberField("wallMillis", phase.getWallNanos() / 1e6);
+        if (phase.getCpuNanos() >= 0) {
+          json.writeNumberField("cpuMillis", phase.getCpuNanos() / 1e6);
+        }
+        if (phase.getAllocatedBytes() >= 0) {
+          json.writeNumberField("allocatedBytes", phase.getAllocatedBytes());
+        }
+        json.writeObjectFieldStart("counts");
+        for (Map.Entry<String, Long> counter : phase.getCounters().entrySet()) {
+          json.writeNumberField(counter.getKey(), counter.getValue());
+        }
+        json.writeEndObject();
+        if (phase.getCounters().containsKey("files")) {
+          json.writeNumberField("filesPerSecond", Math.round(phase.getRate("files")));
+        }
+        json.writeEndObject();
+      }
+      json.writeEndArray();
+      json.writeNumberField("totalWallMillis", phases.stream().mapToLong(PhaseMetrics::getWallNanos).sum() / 1e6);
+      json.writeNumberField("heapPeakBytes", heapPeakBytes());
+      json.writeEndObject();
+      json.writeRaw('\n');
+    }
+  }
+
+  private void writePrometheus(List<PhaseMetrics> phases, OutputStream out) throws IOException {
+    Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    gauge(writer, "phase_wall_seconds", "분석 단계 실행 시간(초)");
+    for (PhaseMetrics phase : phases) {
+      sample(writer, "phase_wall_seconds", phase, null, phase.getWallNanos() / 1e9);
+    }
+    gauge(writer, "phase_cpu_seconds", "분석 단계 중 모든 스레드의 CPU 시간 합(초)");
+    for (PhaseMetrics phase : phases) {
+      if (phase.getCpuNanos() >= 0) {
+        sample(writer, "phase_cpu_seconds", phase, null, phase.getCpuNanos() / 1e9);
+      }
+    }
+    gauge(writer, "phase_allocated_bytes", "분석 단계 중 모든 스레드의 힙 할당량(바이트)");
+    for (PhaseMetrics phase : phases) {
+      if (phase.getAllocatedBytes() >= 0) {
+        sample(writer, "phase_allocated_bytes", phase, null, phase.getAllocatedBytes());
+      }
+    }
+    gauge(writer, "phase_items", "분석 단계에서 처리한 항목 수 (item: files, nodes, edges 등)");
+    for (PhaseMetrics phase : phases) {
+      for (Map.Entry<String, Long> counter : phase.getCounters().entrySet()) {
+        sample(writer, "phase_items", phase, counter.getKey(), counter.getValue());
+      }
+    }
+    gauge(writer, "heap_peak_bytes", "실행 중 힙 메모리 최대 사용량(바이트)");
+    writer.write(PREFIX + "heap_peak_bytes " + heapPeakBytes() + "\n");
+    writer.flush();
+  }
+
+  private static void gauge(Writer writer, String name, String help) throws IOException {
+    writer.write("# HELP " + PREFIX + name + " " + help + "\n");
+    writer.write("# TYPE " + PREFIX + name + " gauge\n");
+  }
+
+  private static void sample(Writer writer, String name, PhaseMetrics phase, String item, double value) throws IOException {
+    writer.write(PREFIX + name + "{phase=\"" + escapeLabel(phase.getPhase()) + "\""
+        + (item != null ? ",item=\"" + escapeLabel(item) + "\"" : "") + "} " + format(value) + "\n");
+  }
+
+  private static String format(double value) {
+    return value == Math.rint(value) ? Long.toString((long) value) : String.format(Locale.ROOT, "%.6f", value);
+  }
+
+  private static String escapeLabel(String value) {
+    return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+  }
+
+  /**
+   * 힙 메모리 풀별 최대 사용량의 합 (풀마다 최대 시점이 달라 실제 최대 사용량보다 조금 클 수 있습니다)
+   */
+  private static long heapPeakBytes() {
+    long total = 0;
+    for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+      if (pool.getType() == MemoryType.HEAP && pool.getPeakUsage() != null) {
+        total += pool.getPeakUsage().getUsed();
+      }
+    }
+    return total;
+  }
+}
@@ -0,0 +1,11 @@
+package com.pbl.quantumleap.metrics;
+
+/**
+ * 단계별 측정 결과 파일 형식
+ */
+public enum MetricsFormat {
+  /** 단계별 실행 시간, CPU 시간, 할당량, 처리 항목 수와 초당 파일 수 */
+  JSON,
+  /** Prometheus 텍스트 노출 형식 (node_exporter textfile 수집기, Pushgateway 등) */
+  PROMETHEUS
+}
@@ -0,0 +1,44 @@
+package com.pbl.quantumleap.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Java Flight Recorder로 분석 단계를 기록하는 사용자 정의 이벤트입니다.
+ * 기록 중이 아니면 커밋 비용이 거의 없습니다. 예) java -XX:StartFlightRecording=filename=run.jfr -jar quantumleap.jar ...
+ */
+@Name("com.pbl.quantumleap.Phase")
+@Label("QuantumLeap Phase")
+@Category("QuantumLeap")
+@Description("QuantumLeap 분석 단계 하나의 실행 구간")
+@StackTrace(false)
+class PhaseEvent extends Event {
+
+  @Label("Phase")
+  String phase;
+
+  @Label("CPU Time")
+  @Description("단계 중에 살아 있던 모든 스레드의 CPU 시간 합")
+  @Timespan(Timespan.NANOSECONDS)
+  long cpuTime;
+
+  @Label("Allocated")
+  @Description("단계 중에 살아 있던 모든 스레드가 할당한 힙 메모리 합")
+  @DataAmount(DataAmount.BYTES)
+  long allocated;
+
+  @Label("Files")
+  long files;
+
+  @Label("Nodes")
+  long nodes;
+
+  @Label("Edges")
+  long edges;
+}
@@ -0,0 +1,31 @@
+package com.pbl.quantumleap.metrics;
+
+import java.util.Map;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 분석 단계 하나의 측정 결과입니다. CPU 시간과 할당량은 단계 중에 살아 있던 모든 스레드(워커 스레드 포함)의 합입니다.
+ */
+@Getter
+@RequiredArgsConstructor
+public class PhaseMetrics {
+  private final String phase;
+  private final long wallNanos;
+  private final long cpuNanos; // JVM이 스레드 CPU 시간 측정을 지원하지 않으면 -1
+  private final long allocatedBytes; // JVM이 스레드별 할당량 측정을 지원하지 않으면 -1
+  private final Map<String, Long> counters; // 처리한 항목 수 (예: files, nodes, edges), 기록 순서
+
+  public long getWallMillis() {
+    return wallNanos / 1_000_000;
+  }
+
+  /**
+   * 초당 처리한 항목 수 (예: files → 초당 파일 수)
+   * @return 항목이 기록되지 않았으면 -1
+   */
+  public double getRate(String counter) {
+    Long count = counters.get(counter);
+    return count == null ? -1 : count * 1e9 / Math.max(1, wallNanos);
+  }
+}
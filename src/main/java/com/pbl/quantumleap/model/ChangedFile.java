@@ -0,0 +1,23 @@
+package com.pbl.quantumleap.model;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 두 커밋 사이에서 변경된 파일 하나입니다. 경로는 저장소 루트 기준입니다.
+ */
+@Getter
+@RequiredArgsConstructor
+public class ChangedFile {
+
+  public enum ChangeType { ADDED, MODIFIED, DELETED, RENAMED }
+
+  private final ChangeType changeType;
+  private final String path; // 변경 후 경로 (삭제된 파일은 삭제 전 경로)
+  private final String oldPath; // 이름이 바뀐 파일의 변경 전 경로, 그 외에는 null
+
+  @Override
+  public String toString() {
+    return changeType == ChangeType.RENAMED ? changeType + " " + oldPath + " → " + path : changeType + " " + path;
+  }
+}
@@ -0,0 +1,199 @@
+package com.pbl.quantumleap.model;
+
+import com.pbl.quantumleap.model.DependencyGraph.ClassNode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 그래프 구성이 끝난 뒤 만드는 읽기 전용(frozen) 압축 의존성 그래프입니다.
+ * 클래스 이름을 이름순의 int ID로 바꾸고, 정방향(의존)/역방향(피의존) 엣지를 CSR(offsets + targets) int 배열로 저장합니다.
+ * 엣지당 int 하나만 사용하므로 HashSet 기반 그래프보다 훨씬 작고, 탐색 시 박싱이나 문자열 해시 조회가 없습니다.
+ */
+public class CompactGraph {
+
+  private static final byte ENTITY = 1;
+  private static final byte DTO = 1 << 1;
+  private static final byte CONFIG = 1 << 2;
+  private static final byte TEST = 1 << 3;
+  private static final byte RUNNABLE_TEST = 1 << 4;
+
+  private final String[] names; // FQCN, 이름순 정렬 (ID = 인덱스)
+  private final String[] packageNames;
+  private final String[] filePaths;
+  private final byte[] flags;
+
+  private final int[] dependencyOffsets; // 노드 i의 의존 대상: dependencyTargets[dependencyOffsets[i] .. dependencyOffsets[i + 1])
+  private final int[] dependencyTargets;
+  private final int[] dependentOffsets; // 노드 i를 의존하는 노드: dependentTargets[dependentOffsets[i] .. dependentOffsets[i + 1])
+  private final int[] dependentTargets;
+
+  private CompactGraph(String[] names, String[] packageNames, String[] filePaths, byte[] flags,
+      int[] dependencyOffsets, int[] dependencyTargets, int[] dependentOffsets, int[] dependentTargets) {
+    this.names = names;
+    this.packageNames = packageNames;
+    this.filePaths = filePaths;
+    this.flags = flags;
+    this.dependencyOffsets = dependencyOffsets;
+    this.dependencyTargets = dependencyTargets;
+    this.dependentOffsets = dependentOffsets;
+    this.dependentTargets = dependentTargets;
+  }
+
+  /**
+   * DependencyGraph로부터 압축 그래프를 만듭니다. 각 노드의 엣지는 대상 ID(=이름) 순으로 정렬됩니다.
+   */
+  public static CompactGraph of(DependencyGraph graph) {
+    List<ClassNode> nodes = new ArrayList<>(graph.getNodes().values());
+    nodes.sort((a, b) -> a.getName().compareTo(b.getName()));
+    int nodeCount = nodes.size();
+
+    String[] names = new String[nodeCount];
+    String[] packageNames = new String[nodeCount];
+    String[] filePaths = new String[nodeCount];
+    byte[] flags = new byte[nodeCount];
+    Map<ClassNode, Integer> ids = new HashMap<>(nodeCount * 2);
+    int edgeCount = 0;
+    for (int i = 0; i < nodeCount; i++) {
+      ClassNode node = nodes.get(i);
+      names[i] = node.getName();
+      packageNames[i] = node.getPackageName();
+      filePaths[i] = node.getFilePath();
+      flags[i] = (byte) ((node.isEntity() ? ENTITY : 0) | (node.isDto() ? DTO : 0) | (node.isConfig() ? CONFIG : 0)
+          | (node.isTest() ? TEST : 0) | (node.isRunnableTest() ? RUNNABLE_TEST : 0));
+      ids.put(node, i);
+      edgeCount += node.getDependencies().size();
+    }
+
+    int[] dependencyOffsets = new int[nodeCount + 1];
+    int[] dependencyTargets = new int[edgeCount];
+    int[] inDegree = new int[nodeCount + 1];
+    int cursor = 0;
+    for (int i = 0; i < nodeCount; i++) {
+      int start = cursor;
+      for (ClassNode dependency : nodes.get(i).getDependencies()) {
+        int target = ids.get(dependency);
+        dependencyTargets[cursor++] = target;
+        inDegree[target + 1]++;
+      }
+      Arrays.sort(dependencyTargets, start, cursor);
+      dependencyOffsets[i + 1] = cursor;
+    }
+
+    // 역방향 엣지는 정방향 엣지를 한 번 훑어 채웁니다. 출발 노드를 ID 순으로 훑으므로 자동으로 정렬됩니다.
+    int[] dependentOffsets = inDegree;
+    for (int i = 0; i < nodeCount; i++) {
+      dependentOffsets[i + 1] += dependentOffsets[i];
+    }
+    int[] dependentTargets = new int[edgeCount];
+    int[] fill = Arrays.copyOf(dependentOffsets, nodeCount);
+    for (int from = 0; from < nodeCount; from++) {
+      for (int e = dependencyOffsets[from]; e < dependencyOffsets[from + 1]; e++) {
+        dependentTargets[fill[dependencyTargets[e]]++] = from;
+      }
+    }
+    return new CompactGraph(names, packageNames, filePaths, flags,
+        dependencyOffsets, dependencyTargets, dependentOffsets, dependentTargets);
+  }
+
+  public int nodeCount() {
+    return names.length;
+  }
+
+  public int edgeCount() {
+    return dependencyTargets.length;
+  }
+
+  /**
+   * 클래스 이름에 해당하는 ID를 반환합니다. (이진 탐색)
+   * @return ID, 그래프에 없으면 -1
+   */
+  public int idOf(String className) {
+    int id = Arrays.binarySearch(names, className);
+    return id >= 0 ? id : -1;
+  }
+
+  public String name(int id) {
+    return names[id];
+  }
+
+  /** 패키지를 제외한 단순 클래스 이름 */
+  public String simpleName(int id) {
+    return names[id].substring(names[id].lastIndexOf('.') + 1);
+  }
+
+  public String packageName(int id) {
+    return packageNames[id];
+  }
+
+  public String filePath(int id) {
+    return filePaths[id];
+  }
+
+  public boolean isEntity(int id) {
+    return (flags[id] & ENTITY) != 0;
+  }
+
+  public boolean isDto(int id) {
+    return (flags[id] & DTO) != 0;
+  }
+
+  public boolean isConfig(int id) {
+    return (flags[id] & CONFIG) != 0;
+  }
+
+  public boolean isTest(int id) {
+    return (flags[id] & TEST) != 0;
+  }
+
+  public boolean isRunnableTest(int id) {
+    return (flags[id] & RUNNABLE_TEST) != 0;
+  }
+
+  /** 노드 id가 의존하는 클래스 수 */
+  public int dependencyCount(int id) {
+    return dependencyOffsets[id + 1] - dependencyOffsets[id];
+  }
+
+  /** 노드 id가 의존하는 k번째 클래스의 ID (ID 순 정렬) */
+  public int dependencyAt(int id, int k) {
+    return dependencyTargets[dependencyOffsets[id] + k];
+  }
+
+  /** 노드 id를 의존하는 클래스 수 */
+  public int dependentCount(int id) {
+    return dependentOffsets[id + 1] - dependentOffsets[id];
+  }
+
+  /** 노드 id를 의존하는 k번째 클래스의 ID (ID 순 정렬) */
+  public int dependentAt(int id, int k) {
+    return dependentTargets[dependentOffsets[id] + k];
+  }
+
+  /**
+   * 클래스 이름 Set을 ID 기준의 boolean 마스크로 변환합니다. 그래프에 없는 이름은 무시됩니다.
+   */
+  public boolean[] maskOf(Set<String> classNames) {
+    boolean[] mask = new boolean[names.length];
+    for (String className : classNames) {
+      int id = idOf(className);
+      if (id >= 0) {
+        mask[id] = true;
+      }
+    }
+    return mask;
+  }
+
+  /**
+   * 그래프가 차지하는 대략적인 힙 크기(바이트)입니다. 문자열은 다른 곳과 공유될 수 있어 제외합니다.
+   */
+  public long estimatedSizeInBytes() {
+    long arrays = 4L * (dependencyOffsets.length + dependencyTargets.length + dependentOffsets.length + dependentTargets.length);
+    long references = 8L * 3 * names.length;
+    return arrays + references + flags.length;
+  }
+}
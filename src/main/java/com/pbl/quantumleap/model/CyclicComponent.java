@@ -0,0 +1,16 @@
+package com.pbl.quantumleap.model;
+
+import java.util.List;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 순환 참조를 이루는 강한 연결 요소(SCC) 하나입니다.
+ * members는 서로 순환적으로 의존하는 모든 클래스이고, cycle은 그중 하나를 대표하는 순환 경로입니다. (e.g., [A, B, C, A])
+ */
+@Getter
+@RequiredArgsConstructor
+public class CyclicComponent {
+  private final List<String> members;
+  private final List<String> cycle;
+}
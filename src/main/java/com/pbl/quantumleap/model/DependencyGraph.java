@@ -27,16 +27,25 @@ public class DependencyGraph {
     return nodes.get(className);
   }
 
+  /**
+   * 그래프 구성이 끝난 뒤, 탐색 전용의 압축 그래프로 변환합니다.
+   */
+  public CompactGraph freeze() {
+    return CompactGraph.of(this);
+  }
+
   @Getter
   @Setter
   @ToString(of = "name")
   public static class ClassNode {
-    private final String name;
+    private final String name; // 패키지를 포함한 클래스 전체 이름 (FQCN)
     private final String filePath;
     private final String packageName;
     private boolean isEntity = false;
     private boolean isDto = false;
     private boolean isConfig = false;
+    private boolean isTest = false; // 테스트 디렉토리에 선언된 클래스 (테스트 헬퍼 포함)
+    private boolean isRunnableTest = false; // 실행 대상이 되는 테스트 클래스
 
     private final Set<ClassNode> dependencies = new HashSet<>();
     private final Set<ClassNode> dependents = new HashSet<>();
@@ -47,6 +56,13 @@ public class DependencyGraph {
       this.packageName = packageName;
     }
 
+    /**
+     * 패키지를 제외한 단순 클래스 이름을 반환합니다.
+     */
+    public String getSimpleName() {
+      return name.substring(name.lastIndexOf('.') + 1);
+    }
+
     public void addDependency(ClassNode dependency) {
       dependencies.add(dependency);
     }
@@ -0,0 +1,40 @@
+package com.pbl.quantumleap.model;
+
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 클래스 멤버 하나(메서드, 필드, 생성자 등)를 분석한 결과입니다. 멤버 단위 영향 분석에 사용되며 분석 캐시에 그대로 저장됩니다.
+ * 이름은 메서드면 "name()", 필드면 "name", 생성자/초기화 블록은 "&lt;init&gt;", static 초기화는 "&lt;clinit&gt;", 중첩 타입은 "Name{}"입니다.
+ * 같은 이름의 오버로드 메서드는 하나의 멤버로 합쳐집니다.
+ * 참조는 FQCN으로 해석되기 전의 값이며, 형식은 MemberAnalyzer의 REF_* 접두사를 따릅니다.
+ */
+@Getter
+@Setter
+public class MemberFacts {
+
+  /**
+   * 테스트 클래스에서 멤버가 맡는 역할입니다.
+   */
+  public enum TestRole {
+    /** 개별로 실행할 수 있는 테스트 (@Test, @ParameterizedTest 등의 메서드 또는 @Nested 클래스) */
+    TEST,
+    /** 모든 테스트 실행 전후에 호출되는 메서드 (@BeforeEach, @AfterAll 등) */
+    LIFECYCLE
+  }
+
+  private String name;
+  private String hash; // 주석을 제외한 선언 내용의 해시 (변경 여부 비교용)
+  private List<String> references;
+  private TestRole testRole; // 테스트나 생명주기 메서드가 아니면 null
+
+  public MemberFacts() {
+  }
+
+  public MemberFacts(String name, String hash, List<String> references) {
+    this.name = name;
+    this.hash = hash;
+    this.references = references;
+  }
+}
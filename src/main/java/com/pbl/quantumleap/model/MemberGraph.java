@@ -0,0 +1,155 @@
+package com.pbl.quantumleap.model;
+
+import java.util.Arrays;
+
+/**
+ * 멤버(메서드, 필드, 생성자 등) 단위의 읽기 전용 참조 그래프입니다. 멤버 단위 영향 분석에 사용됩니다.
+ * 노드는 클래스 ID 순으로 묶여 있으며, 클래스마다 {@link #TYPE}, {@link #ANY} 노드 뒤에 선언된 멤버가 이어집니다.
+ * 영향 전파에는 역방향(피참조) 엣지만 필요하므로 역방향 엣지만 CSR(offsets + targets) int 배열로 저장합니다.
+ */
+public class MemberGraph {
+
+  /** 타입 자체(상속 관계, 어노테이션 등 클래스 선언부)를 나타내는 노드. 타입 이름만 참조하는 멤버가 의존합니다. */
+  public static final String TYPE = "<type>";
+  /** 클래스의 모든 멤버에 의존하는 노드. 어느 멤버를 참조하는지 알 수 없는 참조가 의존합니다. */
+  public static final String ANY = "*";
+  /** 노드 이름에서 클래스 이름과 멤버 이름의 구분자 (예: com.example.OrderService#place()) */
+  public static final char SEPARATOR = '#';
+
+  private final CompactGraph classGraph;
+  private final int[] classOffsets; // 클래스 c의 노드: [classOffsets[c], classOffsets[c + 1])
+  private final int[] owners; // 노드 ID → 클래스 ID
+  private final String[] memberNames;
+  private final int[][] superTypes; // 클래스 ID → 프로젝트 안의 직접 상위 타입 클래스 ID
+  private final int[] dependentOffsets; // 노드 i를 참조하는 노드: dependentTargets[dependentOffsets[i] .. dependentOffsets[i + 1])
+  private final int[] dependentTargets;
+
+  private MemberGraph(CompactGraph classGraph, int[] classOffsets, int[] owners, String[] memberNames, int[][] superTypes,
+      int[] dependentOffsets, int[] dependentTargets) {
+    this.classGraph = classGraph;
+    this.classOffsets = classOffsets;
+    this.owners = owners;
+    this.memberNames = memberNames;
+    this.superTypes = superTypes;
+    this.dependentOffsets = dependentOffsets;
+    this.dependentTargets = dependentTargets;
+  }
+
+  /**
+   * 참조 엣지 목록으로 그래프를 만듭니다. 중복 엣지와 자기 자신으로의 엣지는 제거됩니다.
+   * @param classOffsets 클래스별 노드 범위 (길이 = 클래스 수 + 1)
+   * @param memberNames 노드별 멤버 이름
+   * @param edgeFrom 참조하는 노드 ID
+   * @param edgeTo 참조되는 노드 ID
+   * @param edgeCount 유효한 엣지 수
+   */
+  public static MemberGraph of(CompactGraph classGraph, int[] classOffsets, String[] memberNames, int[][] superTypes,
+      int[] edgeFrom, int[] edgeTo, int edgeCount) {
+    int nodeCount = memberNames.length;
+    int[] owners = new int[nodeCount];
+    for (int c = 0; c + 1 < classOffsets.length; c++) {
+      Arrays.fill(owners, classOffsets[c], classOffsets[c + 1], c);
+    }
+
+    // 참조되는 노드 기준으로 계수 정렬한 뒤, 노드별로 정렬하여 중복을 제거합니다.
+    int[] offsets = new int[nodeCount + 1];
+    for (int e = 0; e < edgeCount; e++) {
+      offsets[edgeTo[e] + 1]++;
+    }
+    for (int i = 0; i < nodeCount; i++) {
+      offsets[i + 1] += offsets[i];
+    }
+    int[] targets = new int[edgeCount];
+    int[] fill = Arrays.copyOf(offsets, nodeCount);
+    for (int e = 0; e < edgeCount; e++) {
+      targets[fill[edgeTo[e]]++] = edgeFrom[e];
+    }
+    int[] dependentOffsets = new int[nodeCount + 1];
+    int cursor = 0;
+    for (int i = 0; i < nodeCount; i++) {
+      Arrays.sort(targets, offsets[i], offsets[i + 1]);
+      int previous = -1;
+      for (int e = offsets[i]; e < offsets[i + 1]; e++) {
+        if (targets[e] != previous && targets[e] != i) {
+          targets[cursor++] = targets[e];
+        }
+        previous = targets[e];
+      }
+      dependentOffsets[i + 1] = cursor;
+    }
+    return new MemberGraph(classGraph, classOffsets, owners, memberNames, superTypes,
+        dependentOffsets, Arrays.copyOf(targets, cursor));
+  }
+
+  public CompactGraph classGraph() {
+    return classGraph;
+  }
+
+  public int nodeCount() {
+    return memberNames.length;
+  }
+
+  public int edgeCount() {
+    return dependentTargets.length;
+  }
+
+  /**
+   * 클래스의 멤버 노드 ID를 반환합니다.
+   * @return ID, 없으면 -1
+   */
+  public int idOf(int classId, String memberName) {
+    for (int id = classOffsets[classId]; id < classOffsets[classId + 1]; id++) {
+      if (memberNames[id].equals(memberName)) {
+        return id;
+      }
+    }
+    return -1;
+  }
+
+  /** 클래스 노드 범위의 시작 ID */
+  public int firstOf(int classId) {
+    return classOffsets[classId];
+  }
+
+  /** 클래스 노드 범위의 끝 ID (포함하지 않음) */
+  public int endOf(int classId) {
+    return classOffsets[classId + 1];
+  }
+
+  /** 노드가 속한 클래스의 ID */
+  public int owner(int id) {
+    return owners[id];
+  }
+
+  public String memberName(int id) {
+    return memberNames[id];
+  }
+
+  /** "클래스 FQCN#멤버" 형식의 노드 이름 */
+  public String name(int id) {
+    return classGraph.name(owners[id]) + SEPARATOR + memberNames[id];
+  }
+
+  /** 프로젝트 안의 직접 상위 타입(extends/implements) 클래스 ID */
+  public int[] superTypesOf(int classId) {
+    return superTypes[classId];
+  }
+
+  /** 노드 id를 참조하는 노드 수 */
+  public int dependentCount(int id) {
+    return dependentOffsets[id + 1] - dependentOffsets[id];
+  }
+
+  /** 노드 id를 참조하는 k번째 노드의 ID */
+  public int dependentAt(int id, int k) {
+    return dependentTargets[dependentOffsets[id] + k];
+  }
+
+  /**
+   * 그래프가 차지하는 대략적인 힙 크기(바이트)입니다. 멤버 이름 문자열은 분석 결과와 공유되므로 제외합니다.
+   */
+  public long estimatedSizeInBytes() {
+    long arrays = 4L * (classOffsets.length + owners.length + dependentOffsets.length + dependentTargets.length);
+    return arrays + 8L * memberNames.length;
+  }
+}
@@ -0,0 +1,64 @@
+package com.pbl.quantumleap.model;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.function.UnaryOperator;
+
+/**
+ * 이름 목록을 정렬된 String 배열 하나로 저장하는 읽기 전용 Set입니다. 순회는 이름순이고, contains는 이진 탐색입니다.
+ * 파일마다 import/타입 이름 Set을 LinkedHashSet으로 들고 있으면 원소마다 Entry와 해시 테이블이 붙어,
+ * 대형 프로젝트에서는 분석 결과가 문자열보다 컬렉션에 더 많은 메모리를 쓰게 됩니다.
+ */
+public final class NameSet extends AbstractSet<String> {
+
+  private static final NameSet EMPTY = new NameSet(new String[0]);
+
+  private final String[] names;
+
+  private NameSet(String[] names) {
+    this.names = names;
+  }
+
+  public static NameSet empty() {
+    return EMPTY;
+  }
+
+  /**
+   * @param canonicalizer 같은 내용의 문자열을 하나의 인스턴스로 모을 때 사용합니다. (예: 파싱 작업 단위의 이름 풀)
+   */
+  public static NameSet of(Collection<String> values, UnaryOperator<String> canonicalizer) {
+    if (values == null || values.isEmpty()) {
+      return EMPTY;
+    }
+    String[] names = new String[values.size()];
+    int size = 0;
+    for (String value : values) {
+      names[size++] = canonicalizer.apply(value);
+    }
+    Arrays.sort(names);
+    int distinct = 1;
+    for (int i = 1; i < size; i++) {
+      if (!names[i].equals(names[distinct - 1])) {
+        names[distinct++] = names[i];
+      }
+    }
+    return new NameSet(distinct == size ? names : Arrays.copyOf(names, distinct));
+  }
+
+  @Override
+  public boolean contains(Object o) {
+    return o instanceof String && Arrays.binarySearch(names, o) >= 0;
+  }
+
+  @Override
+  public Iterator<String> iterator() {
+    return Arrays.asList(names).iterator(); // remove()는 지원하지 않습니다.
+  }
+
+  @Override
+  public int size() {
+    return names.length;
+  }
+}
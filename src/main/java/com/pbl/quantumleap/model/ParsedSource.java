@@ -0,0 +1,37 @@
+package com.pbl.quantumleap.model;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 소스 파일 하나를 분석한 결과입니다. 그래프 노드 등록에 필요한 정보와 의존성 해석에 필요한 참조 정보를 함께 담습니다.
+ * import와 타입 이름은 알려진 클래스로 해석되기 전의 값이며, TypeResolver가 그래프에 존재하는 클래스(FQCN)로 해석합니다.
+ */
+@Getter
+@RequiredArgsConstructor
+public class ParsedSource {
+  private final Path filePath;
+  private final String className;
+  private final String packageName;
+  private final boolean entity;
+  private final boolean dto;
+  private final boolean test; // 테스트 디렉토리에 있는 파일인지 여부
+  private final boolean runnableTest; // @SpringBootTest 또는 @Test 메서드를 가진 테스트 클래스인지 여부
+  private final Set<String> imports; // 단일 타입 import FQCN
+  private final Set<String> wildcardImports; // 와일드카드 import 패키지
+  private final Set<String> typeNames; // 주입 지점 등에서 참조한 타입 이름 (소스에 쓰인 그대로)
+  // 멤버 단위 분석 정보 (클래스 단위로만 파싱했다면 null)
+  private final String classHash; // 멤버를 제외한 클래스 선언부의 해시
+  private final List<String> superTypes; // extends/implements 타입 이름 (소스에 쓰인 그대로)
+  private final List<MemberFacts> members;
+
+  /**
+   * 패키지를 포함한 클래스 전체 이름(FQCN)입니다. 그래프 노드의 식별자로 사용됩니다.
+   */
+  public String getQualifiedName() {
+    return packageName.isEmpty() ? className : packageName + "." + className;
+  }
+}
@@ -0,0 +1,17 @@
+package com.pbl.quantumleap.model;
+
+import java.util.Map;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 테스트 선별에 필요한 프로젝트 분석 결과(압축 의존성 그래프, 소스-테스트 매핑, 테스트 메서드 색인)입니다.
+ * 구성 후에는 변경되지 않으므로 여러 스레드에서 동시에 조회해도 안전합니다.
+ */
+@Getter
+@RequiredArgsConstructor
+public class ProjectModel {
+  private final CompactGraph graph;
+  private final Map<String, String> sourceToTestMap; // <소스 클래스 FQCN, 테스트 클래스 FQCN>
+  private final TestMethodIndex testMethodIndex; // 테스트 파일을 멤버 단위로 분석하지 않았으면 null
+}
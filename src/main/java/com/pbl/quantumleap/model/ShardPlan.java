@@ -0,0 +1,34 @@
+package com.pbl.quantumleap.model;
+
+import java.util.List;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 선별된 테스트를 여러 CI 러너에 나누어 실행하기 위한 샤드 계획입니다.
+ */
+@Getter
+@RequiredArgsConstructor
+public class ShardPlan {
+  private final boolean durationBased; // 실행 시간 이력으로 나누었으면 true, 이력이 없어 클래스 수로 나누었으면 false
+  private final List<Shard> shards;
+
+  /**
+   * 가장 오래 걸리는 샤드의 예상 실행 시간 (전체 CI 실행 시간)
+   */
+  public double getMakespanMillis() {
+    return shards.stream().mapToDouble(Shard::getEstimatedMillis).max().orElse(0);
+  }
+
+  /**
+   * 샤드 하나입니다. 테스트 클래스는 실행할 순서(가치 대비 비용이 큰 순)로 정렬되어 있습니다.
+   */
+  @Getter
+  @RequiredArgsConstructor
+  public static class Shard {
+    private final int index; // 1부터 시작
+    private final List<String> testClasses;
+    private final List<String> filters; // 이 샤드에서 실행할 테스트 필터 식별자, 정렬됨
+    private final double estimatedMillis;
+  }
+}
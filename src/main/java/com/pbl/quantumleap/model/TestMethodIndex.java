@@ -0,0 +1,51 @@
+package com.pbl.quantumleap.model;
+
+import java.util.Map;
+import java.util.Set;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 테스트 클래스별로 개별 테스트(테스트 메서드, @Nested 클래스)가 참조하는 프로젝트 클래스를 모아 둔 색인입니다.
+ * 선별된 테스트 클래스 안에서 변경과 관련된 테스트만 골라 실행할 때 사용합니다.
+ */
+@RequiredArgsConstructor
+public class TestMethodIndex {
+
+  private final Map<String, TestClass> testClasses; // <테스트 클래스 FQCN, 색인>
+
+  /**
+   * @return 테스트 클래스의 색인, 멤버 정보가 없는 클래스면 null
+   */
+  public TestClass get(String testClassName) {
+    return testClasses.get(testClassName);
+  }
+
+  public int size() {
+    return testClasses.size();
+  }
+
+  /**
+   * 빌드 도구의 테스트 필터에 쓰는 식별자로 변환합니다.
+   * 테스트 메서드는 "FQCN#method", @Nested 클래스는 "FQCN$Nested"가 됩니다.
+   * @param memberName 멤버 이름 ("method()" 또는 "Nested{}")
+   */
+  public static String filterId(String testClassName, String memberName) {
+    if (memberName.endsWith("()")) {
+      return testClassName + '#' + memberName.substring(0, memberName.length() - 2);
+    }
+    return testClassName + '$' + memberName.substring(0, memberName.length() - 2);
+  }
+
+  /**
+   * 테스트 클래스 하나의 색인입니다.
+   */
+  @Getter
+  @RequiredArgsConstructor
+  public static class TestClass {
+    private final Map<String, Set<String>> tests; // <테스트 멤버 이름, 실행 시 참조하는 프로젝트 클래스 FQCN> (선언 순서)
+    private final Set<String> lifecycleMembers; // 모든 테스트가 거치는 멤버 (생명주기 메서드, 생성자, static 초기화)
+    private final Set<String> sharedClasses; // 모든 테스트에 영향을 주는 클래스 (생명주기 멤버가 참조하는 클래스, 상위 타입)
+    private final Set<String> coveredClasses; // 멤버 참조로 설명되는 모든 클래스
+  }
+}
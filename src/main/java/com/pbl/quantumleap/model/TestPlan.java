@@ -0,0 +1,39 @@
+package com.pbl.quantumleap.model;
+
+import java.util.List;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 시간 예산 안에서 실행할 테스트 계획입니다. 선택된 테스트는 실행할 순서(가치 대비 비용이 큰 순)로 정렬되어 있습니다.
+ */
+@Getter
+@RequiredArgsConstructor
+public class TestPlan {
+  private final long budgetMillis;
+  private final List<PlannedTest> selected; // 예산 안에서 실행할 테스트 (실행 순서)
+  private final List<PlannedTest> deferred; // 예산을 넘어 이번에는 실행하지 않는 테스트 (순위 순)
+
+  public double getEstimatedMillis() {
+    return selected.stream().mapToDouble(PlannedTest::getEstimatedMillis).sum();
+  }
+
+  public double getDeferredMillis() {
+    return deferred.stream().mapToDouble(PlannedTest::getEstimatedMillis).sum();
+  }
+
+  /**
+   * 순위를 매긴 테스트 클래스 하나입니다.
+   */
+  @Getter
+  @RequiredArgsConstructor
+  public static class PlannedTest {
+    private final String testClass;
+    private final List<String> filters; // 이 클래스에서 실행할 테스트 필터 식별자
+    private final int distance; // 변경 코드에서 테스트까지의 의존성 경로 길이 (1이면 직접 의존)
+    private final double failureRate; // 이력 기반 실패 확률 추정값
+    private final double estimatedMillis;
+    private final boolean measured; // 실행 시간을 이력으로 추정했는지 여부 (false면 다른 테스트의 중앙값 등으로 대체)
+    private final double score; // 초당 가치 (순위 기준)
+  }
+}
@@ -0,0 +1,11 @@
+package com.pbl.quantumleap.service;
+
+/**
+ * AI 아키텍처 리뷰에 전송할 그래프 범위.
+ */
+public enum AiPromptScope {
+  /** 테스트를 제외한 전체 그래프를 전송합니다. */
+  FULL,
+  /** 변경된 클래스 주변의 부분 그래프와 전체 그래프의 핫스팟 요약만 전송합니다. */
+  DIFF
+}
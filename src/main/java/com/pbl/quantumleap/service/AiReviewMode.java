@@ -0,0 +1,13 @@
+package com.pbl.quantumleap.service;
+
+/**
+ * AI 아키텍처 리뷰 실행 방식.
+ */
+public enum AiReviewMode {
+  /** AI 리뷰를 호출하지 않습니다. */
+  OFF,
+  /** 테스트 선별과 동시에 실행하고, 결과는 HTML 리포트에만 반영합니다. */
+  ASYNC,
+  /** 테스트 선별 전에 AI 리뷰가 끝날 때까지 기다립니다. (기존 동작) */
+  BLOCKING
+}
@@ -0,0 +1,21 @@
+package com.pbl.quantumleap.service;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * AI 아키텍처 리뷰의 실행 방식과 프롬프트 크기 설정.
+ */
+@Getter
+@Setter
+public class AiReviewOptions {
+  private AiReviewMode mode = AiReviewMode.BLOCKING;
+  private Duration timeout = OpenAIService.DEFAULT_TIMEOUT;
+  private AiPromptScope scope = AiPromptScope.FULL;
+  private int hops = 2; // diff 범위: 변경된 클래스로부터 포함할 최대 거리
+  private int nodeBudget = 300; // diff 범위: 부분 그래프에 포함할 최대 노드 수
+  private int hotspotCount = 20; // diff 범위: 함께 전송할 연결 수 상위 클래스 수
+  private int tokenBudget = 30_000; // 요청 하나에 담을 그래프 JSON의 최대 토큰 수 (넘으면 나누어 전송)
+  private int maxConcurrentRequests = 2; // 나누어 보낼 때 동시에 진행할 최대 요청 수 (API 호출 한도 보호)
+}
@@ -0,0 +1,11 @@
+package com.pbl.quantumleap.service;
+
+/**
+ * 커버리지 색인을 정적 의존성 그래프와 함께 쓰는 방식.
+ */
+public enum CoverageMode {
+  /** 정적 그래프로 선별한 테스트에 변경 코드를 실행한 테스트를 더합니다. (누락 방지) */
+  AUGMENT,
+  /** 커버리지 데이터가 있는 변경은 그 코드를 실행한 테스트만 선별하고, 데이터가 없는 변경만 정책에 따라 처리합니다. */
+  REPLACE
+}
@@ -2,95 +2,219 @@ package com.pbl.quantumleap.service;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pbl.quantumleap.cache.AiResponseCache;
 
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 
 public class OpenAIService {
 
+  public static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(60);
+  private static final String MODEL = "gpt-4.1"; // 또는 사용 가능한 최신 모델
+  private static final Duration MAX_CONNECT_TIMEOUT = Duration.ofSeconds(10);
+
   private final String openaiApiUrl;
   private final String openaiApiKey;
+  private final Duration requestTimeout; // 요청 한 건의 최대 대기 시간 (연결 + 응답)
+  private final AiResponseCache responseCache; // 응답 캐시 (null이면 사용 안 함)
   private final HttpClient httpClient;
   private final ObjectMapper objectMapper;
 
 
   public OpenAIService() {
+    this(DEFAULT_TIMEOUT, null);
+  }
+
+  /**
+   * 환경 변수(OPENAI_API_URL, OPENAI_API_KEY)에서 API 설정을 읽어 서비스를 생성합니다.
+   * @param requestTimeout 요청 한 건의 최대 대기 시간
+   * @param responseCache 응답 캐시 (null이면 사용 안 함)
+   */
+  public static OpenAIService fromEnvironment(Duration requestTimeout, AiResponseCache responseCache) {
+    return new OpenAIService(requestTimeout, responseCache);
+  }
+
+  private OpenAIService(Duration requestTimeout, AiResponseCache responseCache) {
     // 환경 변수에서 직접 읽어옵니다.
-    this.openaiApiUrl = System.getenv("OPENAI_API_URL");
-    this.openaiApiKey = System.getenv("OPENAI_API_KEY");
+    this(System.getenv("OPENAI_API_URL"), System.getenv("OPENAI_API_KEY"), requestTimeout, responseCache);
 
     if (this.openaiApiUrl == null || this.openaiApiKey == null) {
       System.err.println("경고: 환경변수 OPENAI_API_URL 또는 OPENAI_API_KEY가 설정되지 않았습니다. AI 분석을 건너뜁니다.");
     }
-
-    this.httpClient = HttpClient.newHttpClient();
-    this.objectMapper = new ObjectMapper();
   }
 
   // 테스트 또는 다른 설정 방식을 위해 추가 생성자 제공 가능
   public OpenAIService(String apiUrl, String apiKey) {
+    this(apiUrl, apiKey, DEFAULT_TIMEOUT);
+  }
+
+  public OpenAIService(String apiUrl, String apiKey, Duration requestTimeout) {
+    this(apiUrl, apiKey, requestTimeout, null);
+  }
+
+  public OpenAIService(String apiUrl, String apiKey, Duration requestTimeout, AiResponseCache responseCache) {
     this.openaiApiUrl = apiUrl;
     this.openaiApiKey = apiKey;
-    this.httpClient = HttpClient.newHttpClient();
+    this.requestTimeout = requestTimeout;
+    this.responseCache = responseCache;
+    this.httpClient = HttpClient.newBuilder()
+        .connectTimeout(requestTimeout.compareTo(MAX_CONNECT_TIMEOUT) < 0 ? requestTimeout : MAX_CONNECT_TIMEOUT)
+        .build();
     this.objectMapper = new ObjectMapper();
   }
+
   public String callOpenAI(String prompt) {
+    return callOpenAIAsync(prompt).join();
+  }
+
+  /**
+   * OpenAI API를 비동기로 호출합니다. 반환된 future는 실패하지 않으며, 오류나 타임아웃은 안내 문구로 완료됩니다.
+   * 같은 프롬프트에 대한 정상 응답이 캐시에 있으면 API를 호출하지 않고 바로 완료됩니다.
+   * @param prompt 전송할 프롬프트
+   * @return AI 응답 본문(또는 오류 안내 문구)으로 완료되는 future
+   */
+  public CompletableFuture<String> callOpenAIAsync(String prompt) {
+    return reviewAsync(prompt).thenApply(Review::getContent);
+  }
+
+  /**
+   * {@link #callOpenAIAsync}와 같지만, 응답 본문과 함께 요청이 실패했는지(설정 없음, 오류 응답, 시간 초과 등)를 알려줍니다.
+   * 반환된 future는 실패하지 않으며, 취소하면 진행 중인 HTTP 요청도 취소됩니다.
+   */
+  public CompletableFuture<Review> reviewAsync(String prompt) {
     if (openaiApiUrl == null || openaiApiKey == null) {
-      return "OpenAI API 설정이 없어 AI 분석을 수행할 수 없습니다.";
+      return CompletableFuture.completedFuture(Review.failure("OpenAI API 설정이 없어 AI 분석을 수행할 수 없습니다."));
     }
 
+    String cacheKey = responseCache != null ? AiResponseCache.key(MODEL, prompt) : null;
+    if (cacheKey != null) {
+      String cached = responseCache.get(cacheKey);
+      if (cached != null) {
+        System.err.println("✅ AI 응답 캐시 적중: 아키텍처 변경이 없어 저장된 분석 결과를 사용합니다.");
+        return CompletableFuture.completedFuture(Review.success(cached));
+      }
+    }
+
+    HttpRequest request;
     try {
       Map<String, Object> requestBodyMap = Map.of(
-          "model", "gpt-4.1", // 또는 사용 가능한 최신 모델
+          "model", MODEL,
           "messages", List.of(Map.of("role", "user", "content", prompt))
       );
       String requestBody = objectMapper.writeValueAsString(requestBodyMap);
 
-      HttpRequest request = HttpRequest.newBuilder()
+      request = HttpRequest.newBuilder()
           .uri(URI.create(openaiApiUrl))
+          .timeout(requestTimeout)
           .header("Authorization", "Bearer " + openaiApiKey)
           .header("Content-Type", "application/json")
           .POST(HttpRequest.BodyPublishers.ofString(requestBody))
           .build();
+    } catch (Exception e) {
+      System.err.println("OpenAI API 요청 생성 중 예외 발생: " + e.getMessage());
+      return CompletableFuture.completedFuture(Review.failure("AI 분석 중 예외가 발생했습니다."));
+    }
+
+    CompletableFuture<HttpResponse<String>> exchange = httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+    CompletableFuture<Review> review = exchange
+        .thenApply(response -> {
+          String content = readContent(response);
+          if (content == null) {
+            return Review.failure(errorMessage(response));
+          }
+          if (cacheKey != null) {
+            responseCache.put(cacheKey, MODEL, content);
+          }
+          return Review.success(content);
+        })
+        .exceptionally(e -> {
+          Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+          if (cause instanceof HttpTimeoutException) {
+            System.err.println("OpenAI API 호출 시간 초과: " + requestTimeout.toSeconds() + "초");
+            return Review.failure("AI 분석이 제한 시간(" + requestTimeout.toSeconds() + "초) 내에 완료되지 않았습니다.");
+          }
+          System.err.println("OpenAI API 호출 중 예외 발생: " + cause.getMessage());
+          return Review.failure("AI 분석 중 예외가 발생했습니다.");
+        });
+    // 호출한 쪽에서 취소하면(전체 제한 시간 초과 등) 진행 중인 HTTP 요청도 중단합니다.
+    review.whenComplete((ignored, e) -> {
+      if (review.isCancelled()) {
+        exchange.cancel(true);
+      }
+    });
+    return review;
+  }
 
-      HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-
-      if (response.statusCode() == 200) {
-        Map<String, Object> responseMap = objectMapper.readValue(response.body(),
-            new TypeReference<Map<String, Object>>() {});
-
-        Object choicesObj = responseMap.get("choices");
-        if (choicesObj instanceof List) {
-          @SuppressWarnings("unchecked")
-          List<Map<String, Object>> choices = (List<Map<String, Object>>) choicesObj;
-
-          if (!choices.isEmpty()) {
-            Map<String, Object> firstChoice = choices.get(0);
-            Object messageObj = firstChoice.get("message");
-            if (messageObj instanceof Map) {
-              @SuppressWarnings("unchecked")
-              Map<String, Object> message = (Map<String, Object>) messageObj;
-              Object contentObj = message.get("content");
-              if (contentObj instanceof String) {
-                return (String) contentObj;
-              }
+  /**
+   * 정상 응답에서 AI 답변 본문을 꺼냅니다.
+   * @return 답변 본문, 실패 응답이거나 본문을 찾을 수 없으면 null
+   */
+  private String readContent(HttpResponse<String> response) {
+    if (response.statusCode() != 200) {
+      return null;
+    }
+
+    try {
+      Map<String, Object> responseMap = objectMapper.readValue(response.body(),
+          new TypeReference<Map<String, Object>>() {});
+
+      Object choicesObj = responseMap.get("choices");
+      if (choicesObj instanceof List) {
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> choices = (List<Map<String, Object>>) choicesObj;
+
+        if (!choices.isEmpty()) {
+          Map<String, Object> firstChoice = choices.get(0);
+          Object messageObj = firstChoice.get("message");
+          if (messageObj instanceof Map) {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> message = (Map<String, Object>) messageObj;
+            Object contentObj = message.get("content");
+            if (contentObj instanceof String) {
+              return (String) contentObj;
             }
           }
         }
-        return "AI 응답에서 유효한 내용을 찾을 수 없습니다.";
-
-      } else {
-        System.err.println("OpenAI API 호출 실패: " + response.statusCode() + " " + response.body());
-        return "AI 분석 중 오류가 발생했습니다. 상태 코드: " + response.statusCode();
       }
-
     } catch (Exception e) {
-      System.err.println("OpenAI API 호출 중 예외 발생: " + e.getMessage());
-      return "AI 분석 중 예외가 발생했습니다.";
+      System.err.println("OpenAI API 응답 처리 중 예외 발생: " + e.getMessage());
+    }
+    return null;
+  }
+
+  private String errorMessage(HttpResponse<String> response) {
+    if (response.statusCode() != 200) {
+      System.err.println("OpenAI API 호출 실패: " + response.statusCode() + " " + response.body());
+      return "AI 분석 중 오류가 발생했습니다. 상태 코드: " + response.statusCode();
+    }
+    return "AI 응답에서 유효한 내용을 찾을 수 없습니다.";
+  }
+
+  /**
+   * AI 요청 한 건의 결과입니다. 실패했다면 content는 사용자에게 보여줄 안내 문구입니다.
+   */
+  @Getter
+  @RequiredArgsConstructor
+  public static class Review {
+    private final String content;
+    private final boolean failed;
+
+    static Review success(String content) {
+      return new Review(content, false);
+    }
+
+    static Review failure(String message) {
+      return new Review(message, true);
     }
   }
-}
\ No newline at end of file
+}
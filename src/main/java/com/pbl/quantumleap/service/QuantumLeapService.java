@@ -1,75 +1,323 @@
 package com.pbl.quantumleap.service;
 
-import com.github.javaparser.JavaParser;
-import com.github.javaparser.ParseResult;
 import com.github.javaparser.ast.CompilationUnit;
 import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
 import com.pbl.quantumleap.*; // Import all classes from the package
+import com.pbl.quantumleap.cache.AnalysisCache;
+import com.pbl.quantumleap.coverage.CoverageIndex;
+import com.pbl.quantumleap.history.TestHistory;
+import com.pbl.quantumleap.metrics.Instrumentation;
+import com.pbl.quantumleap.metrics.PhaseMetrics;
+import com.pbl.quantumleap.model.CompactGraph;
 import com.pbl.quantumleap.model.DependencyGraph;
 import com.pbl.quantumleap.model.DependencyGraph.ClassNode;
+import com.pbl.quantumleap.model.MemberGraph;
+import com.pbl.quantumleap.model.ParsedSource;
+import com.pbl.quantumleap.model.ProjectModel;
+import com.pbl.quantumleap.model.ShardPlan;
+import com.pbl.quantumleap.model.TestMethodIndex;
+import com.pbl.quantumleap.model.TestPlan;
 
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 public class QuantumLeapService {
 
+  private static final int CHARS_PER_TOKEN = 4; // 토큰 예산을 글자 수로 환산할 때 쓰는 근사값
+
   private final String projectPath;
   private final String testPath;
   private final String projectBasePackage;
   private final OpenAIService openAIService; // OpenAI 서비스 필드 추가
+  private final int parallelism; // 파싱/분석 단계의 워커 수
+  private final AnalysisCache analysisCache; // 증분 분석 캐시 (null이면 사용 안 함)
+  private final AiReviewOptions aiReviewOptions;
+  private final SelectionOptions selectionOptions;
+  private final Instrumentation instrumentation = new Instrumentation(); // 단계별 실행 시간/CPU 시간/할당량, 실행 순서
 
   // 생성자 수정: OpenAIService를 주입받도록 변경
   public QuantumLeapService(String projectPath, String testPath, String projectBasePackage, OpenAIService openAIService) {
+    this(projectPath, testPath, projectBasePackage, openAIService, Runtime.getRuntime().availableProcessors());
+  }
+
+  public QuantumLeapService(String projectPath, String testPath, String projectBasePackage, OpenAIService openAIService,
+      int parallelism) {
+    this(projectPath, testPath, projectBasePackage, openAIService, parallelism, null);
+  }
+
+  public QuantumLeapService(String projectPath, String testPath, String projectBasePackage, OpenAIService openAIService,
+      int parallelism, AnalysisCache analysisCache) {
+    this(projectPath, testPath, projectBasePackage, openAIService, parallelism, analysisCache, new AiReviewOptions());
+  }
+
+  public QuantumLeapService(String projectPath, String testPath, String projectBasePackage, OpenAIService openAIService,
+      int parallelism, AnalysisCache analysisCache, AiReviewOptions aiReviewOptions) {
+    this(projectPath, testPath, projectBasePackage, openAIService, parallelism, analysisCache, aiReviewOptions,
+        new SelectionOptions());
+  }
+
+  public QuantumLeapService(String projectPath, String testPath, String projectBasePackage, OpenAIService openAIService,
+      int parallelism, AnalysisCache analysisCache, AiReviewOptions aiReviewOptions, SelectionOptions selectionOptions) {
     this.projectPath = projectPath;
     this.testPath = testPath;
     this.projectBasePackage = projectBasePackage;
     this.openAIService = openAIService; // 주입받은 서비스 저장
+    this.parallelism = Math.max(1, parallelism);
+    this.analysisCache = analysisCache;
+    this.aiReviewOptions = aiReviewOptions;
+    this.selectionOptions = selectionOptions;
   }
 
   /**
-   * 전체 분석을 수행하고, 테스트 목록과 아키텍처 분석 결과를 포함하는 AnalysisResult를 반환합니다.
-   * @param changedClasses 변경된 소스 클래스 이름 Set
+   * 전체 분석을 수행하고 HTML 리포트까지 생성한 뒤, 테스트 목록과 아키텍처 분석 결과를 포함하는 AnalysisResult를 반환합니다.
+   * @param changes 변경된 파일 경로(.java), 클래스 FQCN 또는 단순 클래스 이름 Set
    * @return 통합 분석 결과 객체
    */
-  public AnalysisResult analyze(Set<String> changedClasses) throws IOException {
-    ProjectScanner scanner = new ProjectScanner();
-    List<Path> javaFiles = scanner.scan(projectPath);
+  public AnalysisResult analyze(Set<String> changes) throws IOException {
+    AnalysisResult result = selectTests(changes);
+    generateReport(result);
+    return result;
+  }
+
+  /**
+   * 의존성 그래프를 구성하고 테스트를 선별합니다. 리포트는 생성하지 않습니다.
+   * AI 리뷰는 {@link AiReviewMode#ASYNC}일 때 백그라운드에서 계속 진행되며, 결과는 {@link #generateReport}에서만 기다립니다.
+   * @param changes 변경된 파일 경로(.java), 클래스 FQCN 또는 단순 클래스 이름 Set
+   * @return 테스트 선별 결과 (AI 리뷰는 진행 중일 수 있음)
+   */
+  public AnalysisResult selectTests(Set<String> changes) throws IOException {
+    return selectTests(changes, null);
+  }
+
+  /**
+   * 의존성 그래프를 구성하고 테스트를 선별합니다. 변경 전 소스가 주어지면 멤버 단위로 영향을 분석하여,
+   * 변경된 멤버를 실제로 참조하는 코드를 거쳐 도달하는 테스트만 선별합니다.
+   * @param changes 변경된 파일 경로(.java), 클래스 FQCN 또는 단순 클래스 이름 Set
+   * @param baseSources <저장소 루트 기준 파일 경로, 변경 전 내용>. null이면 클래스 단위로 분석합니다.
+   * @return 테스트 선별 결과 (AI 리뷰는 진행 중일 수 있음)
+   */
+  public AnalysisResult selectTests(Set<String> changes, Map<String, String> baseSources) throws IOException {
+    boolean memberLevel = baseSources != null;
+    instrumentation.clear();
+    CompactGraph dependencyGraph;
+    Map<String, String> sourceToTestMap;
+    TestMethodIndex testMethodIndex;
+    List<ParsedSource> parsedSources;
+    SourceParser sourceParser;
+    try (WorkerPool workerPool = new WorkerPool(parallelism)) {
+      // 소스 디렉토리와 테스트 디렉토리를 한 번에 병렬로 스캔합니다.
+      Instrumentation.Phase phase = instrumentation.start();
+      List<List<Path>> scannedFiles = workerPool.map(List.of(projectPath, testPath), ProjectScanner::new, ProjectScanner::scan);
+      logPhase("소스/테스트 스캔", phase.count("files", scannedFiles.get(0).size() + scannedFiles.get(1).size()));
+
+      // 소스와 테스트 파일을 한 번의 병렬 작업으로 파싱합니다. (파일당 정확히 한 번)
+      // 테스트 메서드 단위 선별에는 테스트 파일의 멤버별 참조 정보가 필요합니다.
+      phase = instrumentation.start();
+      sourceParser = new SourceParser(workerPool, projectBasePackage, analysisCache,
+          memberLevel || selectionOptions.isTestMethods());
+      parsedSources = sourceParser.parseAll(scannedFiles.get(0), scannedFiles.get(1));
+      logPhase("파싱", phase.count("files", scannedFiles.get(0).size() + scannedFiles.get(1).size())
+          .count("classes", parsedSources.size()).count("headerOnly", sourceParser.getHeaderOnlyCount()));
 
-    DependencyGraph dependencyGraph = buildDependencyGraph(javaFiles);
+      ProjectModel projectModel = buildModel(parsedSources);
+      dependencyGraph = projectModel.getGraph();
+      sourceToTestMap = projectModel.getSourceToTestMap();
+      testMethodIndex = projectModel.getTestMethodIndex();
+    }
+    if (!memberLevel) {
+      parsedSources = null; // 클래스 단위 분석은 그래프를 만든 뒤 파일별 분석 결과가 필요 없으므로 바로 놓아줍니다.
+    }
+    if (analysisCache != null) {
+      analysisCache.save();
+    }
     System.err.println("✅ 의존성 그래프 생성이 완료되었습니다!"); // 로그는 stderr로 출력
 
-    // 생성된 그래프를 JSON 문자열로 변환 (AI 입력용)
-    ArchitectureJsonExporter jsonExporter = new ArchitectureJsonExporter();
-    String graphJsonString = jsonExporter.getJsonString(dependencyGraph, Set.of()); // AI 분석에는 모든 클래스 포함
+    // 멤버 단위 분석은 변경 전 소스와 비교하여 바뀐 멤버를 찾고, 비교할 수 없는 변경만 클래스 전체 변경으로 남깁니다.
+    MemberChangeDetector.Result memberChanges = null;
+    Set<String> changedClasses;
+    if (memberLevel) {
+      Instrumentation.Phase phase = instrumentation.start();
+      memberChanges = new MemberChangeDetector(sourceParser).detect(changes, baseSources, parsedSources);
+      changedClasses = resolveChangedClasses(dependencyGraph, memberChanges.getWholeChanges());
+      memberChanges.getChangedMembers().forEach(member ->
+          changedClasses.add(member.substring(0, member.lastIndexOf(MemberGraph.SEPARATOR))));
+      logPhase("변경 멤버 분석", phase.count("members", memberChanges.getChangedMembers().size()));
+    } else {
+      changedClasses = resolveChangedClasses(dependencyGraph, changes);
+    }
 
-    // --- 신규 추가: AI를 이용한 아키텍처 분석 ---
-    System.err.println("\n--- AI 아키텍처 건전성 분석 시작 ---");
-    String aiPrompt = createAIPrompt(graphJsonString);
-    String aiSuggestions = openAIService.callOpenAI(aiPrompt);
-    System.err.println("✅ AI 분석 완료.");
-    // ------------------------------------------
+    // 테스트 클래스는 아키텍처 분석 대상이 아니므로 AI 입력과 순환 참조 분석에서 제외합니다.
+    Set<String> testClassNames = new HashSet<>();
+    for (int id = 0; id < dependencyGraph.nodeCount(); id++) {
+      if (dependencyGraph.isTest(id)) {
+        testClassNames.add(dependencyGraph.name(id));
+      }
+    }
+
+    // AI 리뷰는 테스트 선별과 동시에 진행합니다. (blocking 모드에서만 여기서 기다립니다)
+    CompletableFuture<String> aiReview = startAiReview(dependencyGraph, testClassNames, changedClasses);
+    if (aiReviewOptions.getMode() == AiReviewMode.BLOCKING) {
+      Instrumentation.Phase phase = instrumentation.start();
+      aiReview.join();
+      logPhase("AI 분석", phase);
+    }
 
     // @Entity와 DTO 클래스들을 식별하여 순환 참조 분석에서 제외할 목록 생성
-    Set<String> classesToExclude = dependencyGraph.getNodes().values().stream()
-        .filter(node -> node.isEntity() || node.isDto())
-        .map(ClassNode::getName)
-        .collect(Collectors.toSet());
+    Set<String> classesToExclude = new HashSet<>();
+    for (int id = 0; id < dependencyGraph.nodeCount(); id++) {
+      if (dependencyGraph.isEntity(id) || dependencyGraph.isDto(id) || dependencyGraph.isTest(id)) {
+        classesToExclude.add(dependencyGraph.name(id));
+      }
+    }
     System.err.println("ℹ️ 순환 참조 분석 제외 클래스: " + classesToExclude);
 
     // 규칙 기반 아키텍처 분석 수행 (순환 참조)
+    Instrumentation.Phase phase = instrumentation.start();
     ArchitectureAnalyzer architectureAnalyzer = new ArchitectureAnalyzer(dependencyGraph, classesToExclude);
     List<List<String>> cycles = architectureAnalyzer.detectCircularDependencies();
+    logPhase("순환 참조 분석", phase.count("nodes", dependencyGraph.nodeCount()).count("edges", dependencyGraph.edgeCount())
+        .count("cycles", cycles.size()));
 
     // 테스트 선별
-    TestFinder testFinder = new TestFinder();
-    Map<String, String> sourceToTestMap = testFinder.findTests(scanner.scan(testPath));
-    TestSelector testSelector = new TestSelector(dependencyGraph, sourceToTestMap);
-    Map<String, List<String>> testsWithPaths = testSelector.selectTestsAndPaths(changedClasses);
-    Set<String> impactSet = testSelector.getImpactSet();
+    Set<String> changedMembers = memberLevel ? memberChanges.getChangedMembers() : Set.of();
+    Set<String> staticClasses = memberLevel
+        ? resolveChangedClasses(dependencyGraph, memberChanges.getWholeChanges()) : changedClasses;
+    Set<String> staticMembers = changedMembers;
+
+    // 커버리지 색인이 있으면 변경 코드를 실제로 실행한 테스트를 찾고, 모드에 따라 정적 선별 대상을 줄입니다.
+    CoverageIndex coverageIndex = selectionOptions.getCoverageIndex();
+    CoverageSelector coverageSelector = null;
+    Map<String, String> coveredTests = Map.of();
+    if (coverageIndex != null) {
+      phase = instrumentation.start();
+      coverageSelector = new CoverageSelector(coverageIndex, dependencyGraph);
+      coveredTests = coverageSelector.select(staticClasses, staticMembers);
+      if (selectionOptions.getCoverageMode() == CoverageMode.REPLACE) {
+        boolean staticFallback = selectionOptions.getUncoveredPolicy() == UncoveredPolicy.STATIC;
+        staticClasses = new LinkedHashSet<>(coverageSelector.getChangedTestClasses());
+        if (staticFallback) {
+          staticClasses.addAll(coverageSelector.getUncoveredClasses());
+        }
+        staticMembers = new LinkedHashSet<>(coverageSelector.getChangedTestMembers());
+        if (staticFallback) {
+          staticMembers.addAll(coverageSelector.getUncoveredMembers());
+        }
+      }
+      logPhase("커버리지 조회", phase.count("tests", coveredTests.size()));
+    }
+
+    Map<String, List<String>> testsWithPaths;
+    Set<String> impactSet;
+    Map<String, Set<String>> impactedTestMembers = null;
+    if (memberLevel) {
+      phase = instrumentation.start();
+      MemberGraph memberGraph = new MemberGraphBuilder(dependencyGraph).build(parsedSources);
+      System.err.println("ℹ️ 멤버 그래프: 노드 " + memberGraph.nodeCount() + "개, 엣지 " + memberGraph.edgeCount()
+          + "개, 약 " + memberGraph.estimatedSizeInBytes() / 1024 + " KB");
+      logPhase("멤버 그래프 구성", phase.count("nodes", memberGraph.nodeCount()).count("edges", memberGraph.edgeCount()));
+
+      phase = instrumentation.start();
+      MemberTestSelector testSelector = new MemberTestSelector(memberGraph, sourceToTestMap);
+      testsWithPaths = testSelector.selectTestsAndPaths(staticMembers, staticClasses);
+      impactSet = new LinkedHashSet<>(testSelector.getImpactSet());
+      impactedTestMembers = testSelector.getImpactedTestMembers();
+    } else {
+      phase = instrumentation.start();
+      TestSelector testSelector = new TestSelector(dependencyGraph, sourceToTestMap);
+      testsWithPaths = testSelector.selectTestsAndPaths(staticClasses);
+      impactSet = new LinkedHashSet<>(testSelector.getImpactSet());
+    }
+    Set<String> staticTestClasses = new LinkedHashSet<>(testsWithPaths.keySet());
+
+    // 커버리지로 찾은 테스트를 더합니다. 경로는 "변경 코드 → 테스트"입니다.
+    for (Map.Entry<String, String> coveredTest : coveredTests.entrySet()) {
+      String unit = coveredTest.getValue();
+      testsWithPaths.putIfAbsent(CoverageSelector.classOf(coveredTest.getKey()), new ArrayList<>(List.of(unit, coveredTest.getKey())));
+      impactSet.add(CoverageSelector.classOf(unit));
+    }
+    boolean runAllTests = coverageSelector != null && coverageSelector.hasUncovered()
+        && selectionOptions.getUncoveredPolicy() == UncoveredPolicy.ALL;
+    if (runAllTests) {
+      String reason = coverageSelector.getUncoveredClasses().isEmpty()
+          ? coverageSelector.getUncoveredMembers().iterator().next() : coverageSelector.getUncoveredClasses().iterator().next();
+      System.err.println("ℹ️ 커버리지 데이터가 없는 변경이 있어 모든 테스트를 실행합니다. (--uncovered=all, 예: " + reason + ")");
+      for (int id = 0; id < dependencyGraph.nodeCount(); id++) {
+        if (dependencyGraph.isRunnableTest(id)) {
+          testsWithPaths.putIfAbsent(dependencyGraph.name(id), new ArrayList<>(List.of(reason, dependencyGraph.name(id))));
+        }
+      }
+    }
+    logPhase("테스트 선별", phase.count("changed", staticClasses.size() + staticMembers.size())
+        .count("impacted", impactSet.size()).count("tests", testsWithPaths.size()));
+
+    // 테스트 메서드 단위 선별: 선별된 테스트 클래스 안에서 영향받은 테스트만 남깁니다.
+    List<String> testFilters;
+    if (selectionOptions.isTestMethods() && testMethodIndex != null && !runAllTests) {
+      phase = instrumentation.start();
+      TestMethodSelector testMethodSelector = new TestMethodSelector(dependencyGraph, testMethodIndex);
+      testFilters = impactedTestMembers != null
+          ? testMethodSelector.select(staticTestClasses, impactedTestMembers)
+          : testMethodSelector.select(staticTestClasses, changedClasses, impactSet);
+      testFilters = CoverageSelector.mergeFilters(testFilters, coveredTests.keySet()); // 커버리지는 테스트 메서드 단위일 수 있습니다.
+      logPhase("테스트 메서드 선별", phase.count("tests", testFilters.size()));
+    } else {
+      testFilters = new ArrayList<>(testsWithPaths.keySet());
+      testFilters.sort(null);
+    }
+
+    // 시간 예산 선별: 가치 대비 비용이 큰 테스트부터 예산 안에서 고르고, 실행 순서대로 정렬합니다.
+    TestHistory testHistory = selectionOptions.getTestHistory() != null ? selectionOptions.getTestHistory() : new TestHistory();
+    TestPlan testPlan = null;
+    if (selectionOptions.getTimeBudget() != null) {
+      phase = instrumentation.start();
+      testPlan = new TestPrioritizer(testHistory).plan(testsWithPaths, testFilters, selectionOptions.getTimeBudget().toMillis());
+      Map<String, List<String>> plannedTests = new LinkedHashMap<>();
+      List<String> plannedFilters = new ArrayList<>();
+      for (TestPlan.PlannedTest plannedTest : testPlan.getSelected()) {
+        plannedTests.put(plannedTest.getTestClass(), testsWithPaths.get(plannedTest.getTestClass()));
+        plannedFilters.addAll(plannedTest.getFilters());
+      }
+      plannedFilters.sort(null);
+      testsWithPaths = plannedTests;
+      testFilters = plannedFilters;
+      logPhase("시간 예산 선별", phase.count("tests", testPlan.getSelected().size()));
+    }
+
+    // 샤드 배분: 실행 시간 이력이 있으면 시간으로, 없으면 테스트 클래스 수로 균형을 맞춥니다.
+    ShardPlan shardPlan = null;
+    if (selectionOptions.getShards() > 0) {
+      phase = instrumentation.start();
+      List<TestPlan.PlannedTest> rankedTests = testPlan != null
+          ? testPlan.getSelected() : new TestPrioritizer(testHistory).rank(testsWithPaths, testFilters);
+      shardPlan = new ShardPlanner(selectionOptions.getShards()).plan(rankedTests, testHistory.size() > 0);
+      logPhase("샤드 배분", phase.count("tests", rankedTests.size()));
+    }
+
+    return new AnalysisResult(cycles, aiReview, testsWithPaths, testFilters, architectureAnalyzer.getCyclicComponents(),
+        changedClasses, changedMembers, impactSet, dependencyGraph, testPlan, shardPlan);
+  }
+
+  /**
+   * 분석 결과로 인터랙티브 HTML 리포트를 생성합니다. 진행 중인 AI 리뷰는 제한 시간까지 기다립니다.
+   * @param result {@link #selectTests}의 결과
+   */
+  public void generateReport(AnalysisResult result) {
+    Instrumentation.Phase phase = instrumentation.start();
+    String aiSuggestions = result.getAiArchitectureSuggestions();
+    if (aiReviewOptions.getMode() == AiReviewMode.ASYNC) {
+      logPhase("AI 분석 대기", phase);
+    }
 
     // 결과 리포팅 (HTML 생성)
     GraphVisualizer visualizer = new GraphVisualizer();
@@ -82,29 +330,214 @@ public class QuantumLeapService {
     Path reportDir = projectRoot.resolve("build/reports/quantumleap");
     System.err.println("📁 Report 저장 경로 (수정됨): " + reportDir.toString());
 
+    phase = instrumentation.start();
     visualizer.generateInteractiveReport(
-        dependencyGraph,
-        changedClasses,
-        impactSet,
+        result.getDependencyGraph(),
+        result.getChangedClasses(),
+        result.getImpactSet(),
         aiSuggestions,
         reportDir.toString()
     );
-    // 최종 결과를 AnalysisResult 객체에 담아 반환 (AI 결과 포함)
-    return new AnalysisResult(cycles, aiSuggestions, testsWithPaths);
+    logPhase("리포트 생성", phase.count("nodes", result.getDependencyGraph().nodeCount()));
+  }
+
+  /**
+   * AI 아키텍처 리뷰를 비동기로 시작합니다. 반환된 future는 실패하지 않으며, 제한 시간이 지나면 안내 문구로 완료됩니다.
+   * 입력 범위 선택, 그래프 JSON 직렬화, 프롬프트 생성도 비동기 단계에서 하므로 테스트 선별 스레드를 막지 않고, 제한 시간에 포함됩니다.
+   * 그래프 JSON이 토큰 예산을 넘으면 여러 조각으로 나누어 최대 동시 요청 수만큼씩 요청하고, 응답을 조각 순서대로 합칩니다.
+   */
+  private CompletableFuture<String> startAiReview(CompactGraph dependencyGraph, Set<String> testClassNames,
+      Set<String> changedClasses) {
+    if (aiReviewOptions.getMode() == AiReviewMode.OFF) {
+      System.err.println("ℹ️ AI 아키텍처 분석을 건너뜁니다. (--ai=off)");
+      return CompletableFuture.completedFuture("AI 분석이 비활성화되었습니다. (--ai=off)");
+    }
+    // diff 범위는 변경 클래스 주변만 보내므로, 그래프에서 찾은 (테스트가 아닌) 변경 클래스가 없으면 보낼 내용이 없습니다.
+    if (aiReviewOptions.getScope() == AiPromptScope.DIFF && changedClasses.stream()
+        .map(dependencyGraph::idOf)
+        .noneMatch(id -> id >= 0 && !dependencyGraph.isTest(id))) {
+      System.err.println("ℹ️ AI 아키텍처 분석을 건너뜁니다. (--ai-scope=diff, 그래프에서 찾은 변경 클래스 없음)");
+      return CompletableFuture.completedFuture("리뷰할 변경 클래스가 없습니다. (--ai-scope=diff)");
+    }
+
+    System.err.println("\n--- AI 아키텍처 건전성 분석 시작 (" + aiReviewOptions.getMode().name().toLowerCase() + ") ---");
+    long phaseStart = System.nanoTime();
+
+    AtomicBoolean cancelled = new AtomicBoolean();
+    List<CompletableFuture<OpenAIService.Review>> startedRequests = new CopyOnWriteArrayList<>(); // 시간 초과 시 취소할 요청
+    Set<String> testClasses = Set.copyOf(testClassNames);
+    Set<String> changed = Set.copyOf(changedClasses);
+    Duration aiTimeout = aiReviewOptions.getTimeout();
+    return CompletableFuture.supplyAsync(() -> createAIPrompts(dependencyGraph, testClasses, changed))
+        .thenCompose(prompts -> requestReviews(prompts, cancelled, startedRequests))
+        .orTimeout(aiTimeout.toMillis(), TimeUnit.MILLISECONDS)
+        .handle((reviews, e) -> {
+          long elapsedMillis = (System.nanoTime() - phaseStart) / 1_000_000;
+          if (e != null) {
+            // 아직 시작하지 않은 조각은 보내지 않고, 진행 중인 요청은 취소합니다.
+            cancelled.set(true);
+            long inFlight = startedRequests.stream().filter(request -> request.cancel(true)).count();
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof TimeoutException) {
+              System.err.println("⏰ AI 분석 시간 초과: 제한 시간(" + aiTimeout.toSeconds() + "초) 내에 완료되지 않았습니다. ("
+                  + elapsedMillis + " ms, 진행 중인 요청 " + inFlight + "개 취소)");
+              return "AI 분석이 제한 시간(" + aiTimeout.toSeconds() + "초) 내에 완료되지 않았습니다.";
+            }
+            // 조각 응답은 실패하지 않으므로, 여기서 받는 다른 예외는 입력 준비 중의 오류입니다.
+            System.err.println("⚠️ AI 분석 입력 준비 중 오류가 발생했습니다: " + cause + " (" + elapsedMillis + " ms)");
+            return "AI 분석 입력을 준비하지 못했습니다: " + cause.getMessage();
+          }
+          long failedCount = reviews.stream().filter(OpenAIService.Review::isFailed).count();
+          if (failedCount > 0) {
+            System.err.println("⚠️ AI 분석 실패: 요청 " + reviews.size() + "개 중 " + failedCount + "개가 실패했습니다. ("
+                + elapsedMillis + " ms)");
+          } else {
+            System.err.println("✅ AI 분석 완료. (" + elapsedMillis + " ms)");
+          }
+          return mergeReviews(reviews);
+        });
+  }
+
+  /**
+   * AI 입력 범위를 고르고 그래프 JSON 조각마다 프롬프트를 만듭니다. 테스트 클래스는 제외합니다.
+   */
+  private List<String> createAIPrompts(CompactGraph dependencyGraph, Set<String> testClassNames,
+      Set<String> changedClasses) {
+    boolean[] excluded = dependencyGraph.maskOf(testClassNames);
+    boolean[] included;
+    int[] hotspotIds;
+    String scopeDescription;
+    if (aiReviewOptions.getScope() == AiPromptScope.DIFF) {
+      SubgraphSelector subgraphSelector = new SubgraphSelector(dependencyGraph, excluded);
+      included = subgraphSelector.select(changedClasses, aiReviewOptions.getHops(), aiReviewOptions.getNodeBudget());
+      hotspotIds = subgraphSelector.hotspots(aiReviewOptions.getHotspotCount());
+      int selectedCount = 0;
+      for (boolean selected : included) {
+        selectedCount += selected ? 1 : 0;
+      }
+      System.err.println("ℹ️ AI 분석 범위: 변경 클래스 주변 " + aiReviewOptions.getHops() + "홉, 노드 " + selectedCount + "개"
+          + " (예산 " + aiReviewOptions.getNodeBudget() + "개), 핫스팟 " + hotspotIds.length + "개");
+      scopeDescription = "이 JSON은 전체 그래프가 아니라 이번에 변경된 클래스 주변 최대 " + aiReviewOptions.getHops()
+          + "홉 이내의 부분 그래프(클래스 " + selectedCount + "개)입니다. 연결 목록에는 부분 그래프 안의 클래스만 포함됩니다.\n"
+          + "'hotspots'는 전체 그래프에서 연결이 가장 많은 클래스와 그 연결 수('depends', 'dependencies')입니다. 높은 결합도 판단에 참고해주세요.";
+    } else {
+      included = new boolean[excluded.length];
+      for (int id = 0; id < excluded.length; id++) {
+        included[id] = !excluded[id];
+      }
+      hotspotIds = new int[0];
+      scopeDescription = "이 JSON은 테스트 클래스를 제외한 전체 의존성 그래프입니다.";
+    }
+
+    ArchitectureJsonExporter jsonExporter = new ArchitectureJsonExporter();
+    List<String> graphJsonChunks = jsonExporter.getCompactJsonChunks(dependencyGraph, included, excluded, hotspotIds,
+        aiReviewOptions.getTokenBudget() * CHARS_PER_TOKEN);
+    if (graphJsonChunks.size() > 1) {
+      System.err.println("ℹ️ 그래프 JSON이 토큰 예산(" + aiReviewOptions.getTokenBudget() + ")을 넘어 "
+          + graphJsonChunks.size() + "개 조각으로 나누어 요청합니다.");
+    }
+    List<String> prompts = new ArrayList<>();
+    for (int i = 0; i < graphJsonChunks.size(); i++) {
+      String chunkDescription = graphJsonChunks.size() == 1 ? scopeDescription
+          : scopeDescription + "\n그래프가 커서 " + graphJsonChunks.size() + "개 조각으로 나누어 전달하며, 이 요청은 그중 "
+              + (i + 1) + "번째 조각입니다. 이 조각에 포함된 클래스를 중심으로 분석해주세요.";
+      prompts.add(createAIPrompt(graphJsonChunks.get(i), chunkDescription));
+    }
+    return prompts;
+  }
+
+  /**
+   * 조각별 프롬프트를 요청하고, 모든 응답을 조각 순서대로 모아 완료합니다.
+   * 조각 요청은 최대 maxConcurrentRequests개까지만 동시에 보냅니다. i번째 조각은 (i - 동시 요청 수)번째 조각이 끝나면 시작하며,
+   * cancelled가 설정된 뒤에는 보내지 않습니다.
+   */
+  private CompletableFuture<List<OpenAIService.Review>> requestReviews(List<String> prompts, AtomicBoolean cancelled,
+      List<CompletableFuture<OpenAIService.Review>> startedRequests) {
+    int maxConcurrentRequests = Math.max(1, aiReviewOptions.getMaxConcurrentRequests());
+    List<CompletableFuture<OpenAIService.Review>> chunkReviews = new ArrayList<>();
+    for (int i = 0; i < prompts.size(); i++) {
+      String prompt = prompts.get(i);
+      CompletableFuture<Void> turn = i < maxConcurrentRequests ? CompletableFuture.completedFuture(null)
+          : chunkReviews.get(i - maxConcurrentRequests).handle((review, e) -> null);
+      chunkReviews.add(turn.thenCompose(ignored -> {
+        if (cancelled.get()) {
+          return CompletableFuture.<OpenAIService.Review>failedFuture(new CancellationException());
+        }
+        CompletableFuture<OpenAIService.Review> request = openAIService.reviewAsync(prompt);
+        startedRequests.add(request);
+        return request;
+      }));
+    }
+    return CompletableFuture.allOf(chunkReviews.toArray(new CompletableFuture<?>[0]))
+        .thenApply(ignored -> chunkReviews.stream().map(CompletableFuture::join).collect(Collectors.toList()));
+  }
+
+  /**
+   * 조각별 AI 응답을 조각 순서대로 하나의 결과로 합칩니다.
+   */
+  private String mergeReviews(List<OpenAIService.Review> reviews) {
+    if (reviews.size() == 1) {
+      return reviews.get(0).getContent();
+    }
+    StringBuilder merged = new StringBuilder();
+    for (int i = 0; i < reviews.size(); i++) {
+      if (i > 0) {
+        merged.append("\n\n");
+      }
+      merged.append("### 분석 범위 ").append(i + 1).append('/').append(reviews.size()).append("\n");
+      merged.append(reviews.get(i).getContent());
+    }
+    return merged.toString();
+  }
+
+  /**
+   * 파싱된 소스/테스트 파일 결과로 압축 의존성 그래프와 소스-테스트 매핑을 구성합니다.
+   * @param parsedSources 소스와 테스트 파일의 분석 결과 (소스 파일이 먼저 오도록 정렬된 목록)
+   */
+  public ProjectModel buildModel(List<ParsedSource> parsedSources) {
+    // 구성이 끝난 그래프는 압축 그래프로 고정하고, 이후 단계는 모두 압축 그래프만 탐색합니다.
+    CompactGraph dependencyGraph = buildDependencyGraph(parsedSources).freeze();
+    System.err.println("ℹ️ 압축 그래프: 노드 " + dependencyGraph.nodeCount() + "개, 엣지 " + dependencyGraph.edgeCount()
+        + "개, 약 " + dependencyGraph.estimatedSizeInBytes() / 1024 + " KB");
+
+    // 테스트 매핑은 이미 파싱된 테스트 파일 결과를 그대로 사용합니다.
+    Instrumentation.Phase phase = instrumentation.start();
+    List<ParsedSource> testSources = parsedSources.stream()
+        .filter(ParsedSource::isTest)
+        .collect(Collectors.toList());
+    Set<String> sourceClassNames = parsedSources.stream()
+        .filter(parsed -> !parsed.isTest())
+        .map(ParsedSource::getQualifiedName)
+        .collect(Collectors.toSet());
+    TestFinder testFinder = new TestFinder();
+    Map<String, String> sourceToTestMap = testFinder.findTests(testSources, sourceClassNames);
+
+    // 테스트 파일을 멤버 단위로 분석했다면 테스트 메서드별 참조 클래스도 색인합니다.
+    TestMethodIndex testMethodIndex = null;
+    if (testSources.stream().anyMatch(parsed -> parsed.getMembers() != null)) {
+      Set<String> knownClasses = parsedSources.stream()
+          .map(ParsedSource::getQualifiedName)
+          .collect(Collectors.toSet());
+      testMethodIndex = testFinder.indexTestMethods(testSources, new TypeResolver(knownClasses));
+    }
+    logPhase("테스트 매핑", phase.count("tests", testSources.size()));
+    return new ProjectModel(dependencyGraph, sourceToTestMap, testMethodIndex);
   }
 
   /**
    * OpenAI API에 전송할 프롬프트를 생성합니다.
    * @param graphJson 분석할 의존성 그래프 JSON 문자열
+   * @param scopeDescription JSON이 그래프의 어느 범위를 담고 있는지에 대한 설명
    * @return 생성된 프롬프트 문자열
    */
-  private String createAIPrompt(String graphJson) {
+  private String createAIPrompt(String graphJson, String scopeDescription) {
     // 프롬프트는 AI가 역할을 이해하고 원하는 결과 형식을 출력하도록 상세하게 작성합니다.
     return String.format("""
             당신은 숙련된 Java Spring 아키텍처 리뷰어입니다.
             주어진 의존성 그래프 JSON 데이터를 분석하여 잠재적인 아키텍처 문제점을 찾아주세요.
             JSON 형식은 다음과 같습니다: {"classes": [{"ClassName": {"depends": ["Dependency1", ...], "dependencies": ["Dependent1", ...]}}, ...]}
             'depends'는 해당 클래스가 의존하는 클래스 목록(상위 구조)이고, 'dependencies'는 해당 클래스를 의존하는 클래스 목록(하위 구조)입니다.
+            %s
 
             분석해야 할 주요 항목:
             1.  **높은 결합도(High Coupling):** 특정 클래스가 너무 많은 다른 클래스에 의존하거나, 너무 많은 다른 클래스로부터 의존받는 경우 (예: 10개 이상). '과대 클래스(God Class)' 가능성을 언급해주세요.
@@ -125,61 +558,160 @@ public class QuantumLeapService {
             ```json
             %s
             ```
-            """, graphJson);
+            """, scopeDescription, graphJson);
   }
 
-  // ... (buildDependencyGraph, findClassName 메서드는 이전과 동일)
-  private DependencyGraph buildDependencyGraph(List<Path> javaFiles) throws IOException {
+  /**
+   * 파싱된 소스/테스트 파일 결과로 의존성 그래프를 구성합니다.
+   * 결과는 입력 파일 순서대로 병합되므로, 병렬도와 관계없이 직렬 실행과 동일한 그래프가 만들어집니다.
+   * 테스트 클래스도 노드로 등록되어, 헬퍼 클래스 등을 거쳐 간접적으로 소스 코드에 닿는 테스트까지 선별할 수 있습니다.
+   */
+  private DependencyGraph buildDependencyGraph(List<ParsedSource> parsedSources) {
+    Instrumentation.Phase phase = instrumentation.start();
     DependencyGraph graph = new DependencyGraph();
-    Map<String, CompilationUnit> parsedFiles = new HashMap<>();
-    Set<String> knownClassNames = new HashSet<>();
-    JavaParser javaParser = new JavaParser();
-
-    // 1차 분석: 모든 클래스 이름을 노드로 먼저 등록
-    for (Path filePath : javaFiles) {
-      String code = Files.readString(filePath);
-      ParseResult<CompilationUnit> parseResult = javaParser.parse(code);
-      if (parseResult.isSuccessful() && parseResult.getResult().isPresent()) {
-        CompilationUnit cu = parseResult.getResult().get();
-        cu.findFirst(ClassOrInterfaceDeclaration.class).ifPresent(classDecl -> {
-          String className = classDecl.getNameAsString();
-          boolean isEntity = classDecl.isAnnotationPresent("Entity");
-          boolean isDto = className.endsWith("Request") || className.endsWith("Response") || className.endsWith("Dto");
-
-          parsedFiles.put(className, cu);
-          knownClassNames.add(className);
-          Optional<String> packageNameOpt = cu.getPackageDeclaration().map(pd -> pd.getName().asString());
-
-          ClassNode newNode = new ClassNode(className, filePath.toString(), packageNameOpt.orElse(""));
-          newNode.setEntity(isEntity);
-          newNode.setDto(isDto);
-          graph.addNode(newNode);
-        });
+    Map<String, ParsedSource> parsedFiles = new LinkedHashMap<>();
+
+    // 1차: 모든 클래스를 FQCN으로 노드에 먼저 등록. 소스 클래스가 먼저 등록되며, FQCN이 겹치는 테스트 클래스는 제외합니다.
+    for (ParsedSource parsed : parsedSources) {
+      String qualifiedName = parsed.getQualifiedName();
+      if (parsed.isTest() && parsedFiles.containsKey(qualifiedName) && !parsedFiles.get(qualifiedName).isTest()) {
+        System.err.println("⚠️ 소스 클래스와 이름이 같은 테스트 클래스는 그래프에서 제외합니다: " + parsed.getFilePath());
+        continue;
       }
-    }
-    System.err.println(knownClassNames.size() + "개의 클래스 식별 완료."); // 로그는 stderr로 출력
+      parsedFiles.put(qualifiedName, parsed);
 
-    // 2차 분석: 의존성(엣지) 연결
-    DependencyAnalyzer analyzer = new DependencyAnalyzer(projectBasePackage, knownClassNames);
-    for (Map.Entry<String, CompilationUnit> entry : parsedFiles.entrySet()) {
-      String className = entry.getKey();
-      CompilationUnit cu = entry.getValue();
-      ClassNode fromNode = graph.getNode(className);
+      ClassNode newNode = new ClassNode(qualifiedName, parsed.getFilePath().toString(), parsed.getPackageName());
+      newNode.setEntity(parsed.isEntity());
+      newNode.setDto(parsed.isDto());
+      newNode.setTest(parsed.isTest());
+      newNode.setRunnableTest(parsed.isRunnableTest());
+      graph.addNode(newNode);
+    }
+    long testNodeCount = parsedFiles.values().stream().filter(ParsedSource::isTest).count();
+    System.err.println((parsedFiles.size() - testNodeCount) + "개의 클래스, " + testNodeCount + "개의 테스트 클래스 식별 완료."); // 로그는 stderr로 출력
 
-      Set<String> dependencies = analyzer.analyze(cu);
-      for (String dependencyName : dependencies) {
+    // 2차: 의존성(엣지) 연결. import/같은 패키지/와일드카드 import 순으로 FQCN을 해석하여
+    // 그래프에 존재하는 클래스로의 의존성만 연결하며, 소스 → 테스트 방향의 엣지는 만들지 않습니다.
+    TypeResolver typeResolver = new TypeResolver(parsedFiles.keySet());
+    for (Map.Entry<String, ParsedSource> entry : parsedFiles.entrySet()) {
+      ClassNode fromNode = graph.getNode(entry.getKey());
+      for (String dependencyName : typeResolver.resolveDependencies(entry.getValue())) {
         ClassNode toNode = graph.getNode(dependencyName);
-        if (fromNode != null && toNode != null) {
+        if (toNode == null) {
+          continue;
+        }
+        boolean allowed = fromNode.isTest() ? toNode != fromNode : !toNode.isTest();
+        if (allowed) {
           graph.addDependency(fromNode, toNode);
         }
       }
     }
+    long edgeCount = parsedFiles.keySet().stream().mapToLong(name -> graph.getNode(name).getDependencies().size()).sum();
+    logPhase("의존성 연결", phase.count("nodes", parsedFiles.size()).count("edges", edgeCount));
     return graph;
   }
 
+  /**
+   * 변경 목록을 그래프의 노드 이름(FQCN)으로 변환합니다.
+   * .java 파일 경로는 파일 경로가 일치하는 노드로 변환하고, 일치하는 노드가 없으면(삭제된 파일 등) 소스/테스트 루트 기준
+   * 상대 경로로 FQCN을 만들어 찾습니다. 다른 패키지의 같은 이름 클래스로는 절대 연결하지 않습니다.
+   * 단순 클래스 이름은 같은 이름을 가진 모든 노드로 변환됩니다.
+   * 그래프에서 찾을 수 없는 항목은 원래 이름(파일 경로는 만들어진 FQCN) 그대로 유지합니다.
+   */
+  public Set<String> resolveChangedClasses(CompactGraph graph, Set<String> changes) {
+    Set<String> resolved = new LinkedHashSet<>();
+    for (String change : changes) {
+      if (graph.idOf(change) >= 0) {
+        resolved.add(change);
+        continue;
+      }
+      List<String> matches = new ArrayList<>();
+      if (change.endsWith(".java")) {
+        Path changedPath = Paths.get(change).normalize();
+        String fileName = changedPath.getFileName().toString();
+        String fileClassName = fileName.substring(0, fileName.length() - ".java".length());
+        // 대부분 파일 이름과 클래스 이름이 같으므로, 이름이 같은 노드의 경로만 먼저 비교합니다.
+        for (int id = 0; id < graph.nodeCount(); id++) {
+          if (graph.simpleName(id).equals(fileClassName) && isSameFile(graph.filePath(id), changedPath)) {
+            matches.add(graph.name(id));
+          }
+        }
+        if (matches.isEmpty()) {
+          for (int id = 0; id < graph.nodeCount(); id++) {
+            if (isSameFile(graph.filePath(id), changedPath)) {
+              matches.add(graph.name(id));
+            }
+          }
+        }
+        if (matches.isEmpty()) {
+          String qualifiedName = qualifiedNameOf(changedPath);
+          resolved.add(qualifiedName != null ? qualifiedName : change);
+        } else {
+          resolved.addAll(matches);
+        }
+        continue;
+      }
+      for (int id = 0; id < graph.nodeCount(); id++) {
+        if (graph.simpleName(id).equals(change)) {
+          matches.add(graph.name(id));
+        }
+      }
+      if (matches.isEmpty()) {
+        resolved.add(change);
+      } else {
+        resolved.addAll(matches);
+      }
+    }
+    return resolved;
+  }
+
+  /**
+   * .java 파일 경로를 소스/테스트 루트 기준 상대 경로로 바꿔 FQCN을 만듭니다. (com/example/Foo.java → com.example.Foo)
+   * 경로는 절대 경로, 작업 디렉토리 기준 경로, 저장소 루트 기준 경로(git diff 출력) 중 하나일 수 있습니다.
+   * @return FQCN, 어느 루트에도 속하지 않으면 null
+   */
+  private String qualifiedNameOf(Path changedPath) {
+    for (String root : List.of(projectPath, testPath)) {
+      Path rootPath = Paths.get(root).toAbsolutePath().normalize();
+      Path absolutePath = changedPath.toAbsolutePath().normalize();
+      Path relativePath = null;
+      if (absolutePath.startsWith(rootPath)) {
+        relativePath = rootPath.relativize(absolutePath);
+      } else if (!changedPath.isAbsolute()) {
+        // 저장소 루트 기준 경로는 앞부분이 루트 경로의 끝부분과 겹치므로, 가장 길게 겹치는 지점 이후를 패키지 경로로 봅니다.
+        int nameCount = changedPath.getNameCount();
+        for (int i = nameCount - 1; i >= 1 && relativePath == null; i--) {
+          if (rootPath.endsWith(changedPath.subpath(0, i))) {
+            relativePath = changedPath.subpath(i, nameCount);
+          }
+        }
+      }
+      if (relativePath != null && relativePath.getNameCount() > 0) {
+        String name = relativePath.toString();
+        return name.substring(0, name.length() - ".java".length()).replace(relativePath.getFileSystem().getSeparator(), ".");
+      }
+    }
+    return null;
+  }
+
+  private static boolean isSameFile(String nodeFilePath, Path changedPath) {
+    return Paths.get(nodeFilePath).toAbsolutePath().normalize().endsWith(changedPath);
+  }
+
+  private void logPhase(String phaseName, Instrumentation.Phase phase) {
+    System.err.println("⏱️ " + Instrumentation.describe(phase.end(phaseName)));
+  }
+
+  /**
+   * 마지막 {@link #selectTests}와 {@link #generateReport}에서 측정한 단계별 실행 시간, CPU 시간, 할당량과 처리 항목 수
+   * @return 실행 순서
+   */
+  public List<PhaseMetrics> getPhaseMetrics() {
+    return instrumentation.getPhases();
+  }
+
   private Optional<String> findClassName(CompilationUnit cu) {
     return cu.findFirst(ClassOrInterfaceDeclaration.class)
         .map(ClassOrInterfaceDeclaration::getNameAsString);
   }
 }
-
@@ -0,0 +1,22 @@
+package com.pbl.quantumleap.service;
+
+import com.pbl.quantumleap.coverage.CoverageIndex;
+import com.pbl.quantumleap.history.TestHistory;
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 테스트 선별 방식 설정.
+ */
+@Getter
+@Setter
+public class SelectionOptions {
+  private boolean testMethods = false; // 선별된 테스트 클래스 안에서 영향받은 테스트 메서드만 고를지 여부
+  private CoverageIndex coverageIndex; // 테스트별 커버리지 색인 (null이면 정적 그래프만 사용)
+  private CoverageMode coverageMode = CoverageMode.AUGMENT;
+  private UncoveredPolicy uncoveredPolicy = UncoveredPolicy.STATIC;
+  private Duration timeBudget; // 선별된 테스트 중 이 시간 안에 실행할 테스트만 고릅니다. (null이면 전체)
+  private TestHistory testHistory; // 시간 예산 선별과 샤드 배분에 사용할 테스트별 실행 시간/실패 이력
+  private int shards = 0; // 선별된 테스트를 나눌 샤드 수 (0이면 나누지 않음)
+}
@@ -0,0 +1,11 @@
+package com.pbl.quantumleap.service;
+
+/**
+ * 커버리지 데이터가 없는 변경(새 클래스/메서드, 어떤 테스트도 실행하지 않은 코드)을 처리하는 정책.
+ */
+public enum UncoveredPolicy {
+  /** 정적 의존성 그래프로 테스트를 선별합니다. */
+  STATIC,
+  /** 모든 테스트를 실행합니다. */
+  ALL
+}
@@ -0,0 +1,87 @@
+package com.pbl.quantumleap.synthetic;
+
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+import picocli.CommandLine.Parameters;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.stream.Stream;
+
+@Command(name = "generate", mixinStandardHelpOptions = true,
+    description = "규모 테스트용 합성 Spring 프로젝트(엔티티, 리포지토리, DTO, 서비스, 컨트롤러, 테스트)와 git 변경 이력을 만듭니다. "
+        + "만든 프로젝트 경로를 표준 출력으로 출력합니다.")
+public class GenerateCommand implements Callable<Integer> {
+
+  @Parameters(arity = "0..1", description = "프로젝트를 만들 디렉토리. 없거나 비어 있어야 합니다. (기본값: 임시 디렉토리)")
+  private Path output;
+
+  @Option(names = {"--classes"}, description = "소스 클래스 수. 테스트 클래스는 서비스/컨트롤러마다 하나씩 더 만듭니다. (기본값: ${DEFAULT-VALUE})",
+      defaultValue = "1000")
+  private int classCount;
+
+  @Option(names = {"--fan-out"}, description = "서비스 하나가 주입받는 리포지토리/서비스 수. (기본값: ${DEFAULT-VALUE})", defaultValue = "6")
+  private int fanOut;
+
+  @Option(names = {"--cycle-density"}, description = "다른 서비스와 서로 의존하여 순환 참조를 만드는 서비스의 비율. (기본값: ${DEFAULT-VALUE})",
+      defaultValue = "0.02")
+  private double cycleDensity;
+
+  @Option(names = {"--commits"}, description = "첫 커밋 이후에 쌓을 임의의 변경 커밋 수. 0이면 git 저장소 없이 소스만 만듭니다. (기본값: ${DEFAULT-VALUE})",
+      defaultValue = "20")
+  private int commitCount;
+
+  @Option(names = {"--files-per-commit"}, description = "변경 커밋 하나에서 바꿀 최대 파일 수. (기본값: ${DEFAULT-VALUE})", defaultValue = "5")
+  private int filesPerCommit;
+
+  @Option(names = {"--seed"}, description = "난수 시드. 같은 옵션과 시드로는 같은 소스와 커밋 해시를 만듭니다. (기본값: ${DEFAULT-VALUE})",
+      defaultValue = "42")
+  private long seed;
+
+  @Override
+  public Integer call() throws Exception {
+    SyntheticProjectGenerator generator;
+    SyntheticHistory history;
+    try {
+      generator = new SyntheticProjectGenerator(classCount, fanOut, cycleDensity, seed);
+      history = new SyntheticHistory(commitCount, filesPerCommit, seed);
+    } catch (IllegalArgumentException e) {
+      System.err.println(e.getMessage());
+      return 2;
+    }
+    Path directory = output != null ? output : Files.createTempDirectory("quantumleap-synthetic-" + classCount + "-");
+    if (Files.exists(directory) && !isEmptyDirectory(directory)) {
+      System.err.println("⚠️ 비어 있지 않은 디렉토리에는 만들 수 없습니다: " + directory);
+      return 2;
+    }
+    Files.createDirectories(directory);
+
+    long start = System.nanoTime();
+    try {
+      Map<String, String> files = commitCount == 0 ? generator.writeTo(directory) : generator.generate();
+      if (commitCount > 0) {
+        history.writeTo(directory, files);
+      }
+      long testCount = files.keySet().stream().filter(path -> path.startsWith("src/test/")).count();
+      System.err.println("✅ 합성 프로젝트 생성: " + directory + " (소스 " + (files.size() - testCount) + "개, 테스트 " + testCount + "개, 변경 커밋 "
+          + commitCount + "개, " + (System.nanoTime() - start) / 1_000_000 + " ms)");
+    } catch (IOException e) {
+      System.err.println("⚠️ 합성 프로젝트를 만들지 못했습니다: " + e.getMessage());
+      return 1;
+    }
+    System.out.println(directory.toAbsolutePath());
+    return 0;
+  }
+
+  private static boolean isEmptyDirectory(Path directory) throws IOException {
+    if (!Files.isDirectory(directory)) {
+      return false;
+    }
+    try (Stream<Path> entries = Files.list(directory)) {
+      return entries.findAny().isEmpty();
+    }
+  }
+}
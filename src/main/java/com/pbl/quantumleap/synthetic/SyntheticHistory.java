@@ -0,0 +1,166 @@
+package com.pbl.quantumleap.synthetic;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 합성 프로젝트를 git 저장소로 만들고 임의의 변경 커밋을 쌓습니다. 커밋은 git fast-import로 만들어 수십만 개의 파일도
+ * 인덱스를 거치지 않고 빠르게 기록하며, 작성자와 시각을 고정하여 같은 입력과 시드로는 항상 같은 커밋 해시를 만듭니다.
+ * 변경은 메서드 추가, 기존 메서드 본문 수정, 테스트 메서드 추가, 새 DTO 클래스 추가를 섞어 클래스/멤버 단위 선별을 모두 시험할 수 있게 합니다.
+ */
+public class SyntheticHistory {
+
+  private static final Pattern REVISION_METHOD = Pattern.compile("return (\\d+); // revision");
+  private static final long EPOCH_SECONDS = 1_700_000_000L;
+
+  private final int commitCount;
+  private final int filesPerCommit;
+  private final long seed;
+
+  /**
+   * @param commitCount 첫 커밋 이후에 쌓을 변경 커밋 수
+   * @param filesPerCommit 변경 커밋 하나에서 바꿀 최대 파일 수 (1 이상, 커밋마다 1~이 값 사이)
+   */
+  public SyntheticHistory(int commitCount, int filesPerCommit, long seed) {
+    if (commitCount < 0 || filesPerCommit < 1) {
+      throw new IllegalArgumentException("잘못된 이력 설정: commitCount=" + commitCount + ", filesPerCommit=" + filesPerCommit);
+    }
+    this.commitCount = commitCount;
+    this.filesPerCommit = filesPerCommit;
+    this.seed = seed;
+  }
+
+  /**
+   * 빈 디렉토리에 main 브랜치 저장소를 만들고, 마지막 커밋을 작업 트리로 꺼냅니다.
+   * @param files 첫 커밋의 파일 <상대 경로, 내용> ({@link SyntheticProjectGenerator#generate()})
+   */
+  public void writeTo(Path directory, Map<String, String> files) throws IOException, InterruptedException {
+    run(directory, "git", "init", "-q", "-b", "main");
+    Process fastImport = new ProcessBuilder("git", "fast-import", "--quiet")
+        .directory(directory.toFile())
+        .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+        .redirectError(ProcessBuilder.Redirect.INHERIT)
+        .start();
+    Random random = new Random(seed);
+    Map<String, String> current = new LinkedHashMap<>(files);
+    List<String> paths = new ArrayList<>(files.keySet());
+    try (OutputStream out = new BufferedOutputStream(fastImport.getOutputStream(), 1 << 16)) {
+      StringBuilder commit = new StringBuilder();
+      beginCommit(commit, 1, "Initial import (" + files.size() + " files)");
+      out.write(commit.toString().getBytes(StandardCharsets.UTF_8));
+      for (Map.Entry<String, String> file : files.entrySet()) {
+        out.write(modify(file.getKey(), file.getValue()));
+      }
+
+      for (int mark = 2; mark <= commitCount + 1; mark++) {
+        int changeCount = 1 + random.nextInt(filesPerCommit);
+        Map<String, String> changed = new LinkedHashMap<>();
+        for (int i = 0; i < changeCount; i++) {
+          if (random.nextInt(10) == 0) {
+            String source = paths.get(random.nextInt(paths.size()));
+            if (source.startsWith("src/main/") && source.contains("/domain/")) {
+              String path = source.replace("/domain/", "/dto/").replace(".java", "Request" + mark + ".java");
+              changed.put(path, request(path, source));
+              paths.add(path);
+              continue;
+            }
+          }
+          String path = paths.get(random.nextInt(paths.size()));
+          String content = changed.getOrDefault(path, current.get(path));
+          changed.put(path, mutate(path, content, mark));
+        }
+        commit.setLength(0);
+        beginCommit(commit, mark, "Change " + changed.size() + " files");
+        out.write(commit.toString().getBytes(StandardCharsets.UTF_8));
+        for (Map.Entry<String, String> file : changed.entrySet()) {
+          out.write(modify(file.getKey(), file.getValue()));
+          current.put(file.getKey(), file.getValue());
+        }
+      }
+    }
+    if (fastImport.waitFor() != 0) {
+      throw new IOException("git fast-import 실패: exit " + fastImport.exitValue());
+    }
+    run(directory, "git", "reset", "-q", "--hard", "main");
+  }
+
+  /**
+   * 파일 하나를 바꿉니다. 이전 커밋에서 추가한 revision 메서드가 있으면 본문을 바꾸고, 없으면 메서드를 추가합니다.
+   */
+  private static String mutate(String path, String content, int mark) {
+    Matcher matcher = REVISION_METHOD.matcher(content);
+    if (matcher.find()) {
+      return content.substring(0, matcher.start()) + "return " + mark + "; // revision" + content.substring(matcher.end());
+    }
+    String member;
+    if (path.startsWith("src/test/")) {
+      member = "\n  @Test\n  void revision" + mark + "() {\n  }\n";
+    } else if (path.contains("/repository/")) {
+      member = "\n  long countByName" + mark + "(String name);\n";
+    } else {
+      member = "\n  public int revision() {\n    return " + mark + "; // revision\n  }\n";
+    }
+    int classEnd = content.lastIndexOf('}');
+    return content.substring(0, classEnd) + member + content.substring(classEnd);
+  }
+
+  /**
+   * 엔티티를 참조하는 새 요청 DTO
+   */
+  private static String request(String path, String entityPath) {
+    String packageName = packageOf(path);
+    String className = path.substring(path.lastIndexOf('/') + 1, path.length() - ".java".length());
+    String entityName = entityPath.substring(entityPath.lastIndexOf('/') + 1, entityPath.length() - ".java".length());
+    return "package " + packageName + ";\n\n"
+        + "import " + packageOf(entityPath) + "." + entityName + ";\n"
+        + "import lombok.Getter;\nimport lombok.Setter;\n\n"
+        + "@Getter\n@Setter\npublic class " + className + " {\n\n"
+        + "  private String name;\n\n"
+        + "  public " + entityName + " apply(" + entityName + " entity) {\n    return entity;\n  }\n}\n";
+  }
+
+  private static String packageOf(String path) {
+    String directory = path.substring(path.indexOf("/java/") + "/java/".length(), path.lastIndexOf('/'));
+    return directory.replace('/', '.');
+  }
+
+  private static void beginCommit(StringBuilder commit, int mark, String message) {
+    commit.append("commit refs/heads/main\n")
+        .append("mark :").append(mark).append('\n')
+        .append("committer Synthetic <synthetic@example.com> ").append(EPOCH_SECONDS + mark * 3600L).append(" +0000\n")
+        .append("data ").append(message.getBytes(StandardCharsets.UTF_8).length).append('\n').append(message).append('\n');
+    if (mark > 1) {
+      commit.append("from :").append(mark - 1).append('\n');
+    }
+  }
+
+  private static byte[] modify(String path, String content) {
+    byte[] data = content.getBytes(StandardCharsets.UTF_8);
+    byte[] header = ("M 100644 inline " + path + "\ndata " + data.length + "\n").getBytes(StandardCharsets.UTF_8);
+    byte[] command = new byte[header.length + data.length + 1];
+    System.arraycopy(header, 0, command, 0, header.length);
+    System.arraycopy(data, 0, command, header.length, data.length);
+    command[command.length - 1] = '\n';
+    return command;
+  }
+
+  private static void run(Path directory, String... command) throws IOException, InterruptedException {
+    Process process = new ProcessBuilder(command).directory(directory.toFile())
+        .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+        .redirectError(ProcessBuilder.Redirect.INHERIT)
+        .start();
+    if (process.waitFor() != 0) {
+      throw new IOException(String.join(" ", command) + " 실패: exit " + process.exitValue());
+    }
+  }
+}
@@ -0,0 +1,295 @@
+package com.pbl.quantumleap.synthetic;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeSet;
+
+/**
+ * 규모 테스트와 벤치마크에 사용할 Spring 스타일 합성 프로젝트를 만듭니다. 같은 설정과 시드로는 항상 같은 소스를 만듭니다.
+ * 도메인 하나는 엔티티, 리포지토리, 응답 DTO, 서비스, 컨트롤러 5개 클래스로 구성되며, 서비스와 컨트롤러마다 테스트 클래스가 있습니다.
+ * 서비스는 Lombok/생성자/@Autowired 필드 주입을, 컨트롤러는 @Autowired 필드 주입을 사용합니다.
+ * 서비스는 자기 리포지토리와 번호가 더 작은 리포지토리/서비스에 의존하여 깊은 체인을 만들고(fanOut), 일부 서비스 쌍은
+ * 서로 의존하여 순환 참조를 만듭니다(cycleDensity). 도메인 20개마다 모듈 패키지(com.example.m<번호>)를 나눕니다.
+ */
+public class SyntheticProjectGenerator {
+
+  public static final String BASE_PACKAGE = "com.example";
+
+  private static final String[] NOUNS = {"Order", "Member", "Product", "Payment", "Coupon", "Delivery", "Review",
+      "Cart", "Stock", "Invoice", "Refund", "Notice", "Category", "Address", "Point", "Seller"};
+  private static final int CLASSES_PER_DOMAIN = 5;
+  private static final int DOMAINS_PER_MODULE = 20;
+
+  private final int domainCount;
+  private final int fanOut;
+  private final double cycleDensity;
+  private final long seed;
+
+  /**
+   * @param classCount 소스 클래스 수 (도메인 단위인 5의 배수로 내림, 테스트 클래스 제외)
+   * @param fanOut 서비스 하나가 의존하는 리포지토리/서비스 수 (컨트롤러는 절반)
+   * @param cycleDensity 다른 서비스와 서로 의존하는 서비스의 비율 (0~1)
+   */
+  public SyntheticProjectGenerator(int classCount, int fanOut, double cycleDensity, long seed) {
+    if (classCount < CLASSES_PER_DOMAIN || fanOut < 1 || cycleDensity < 0 || cycleDensity > 1) {
+      throw new IllegalArgumentException("잘못된 합성 프로젝트 설정: classCount=" + classCount + ", fanOut=" + fanOut
+          + ", cycleDensity=" + cycleDensity);
+    }
+    this.domainCount = classCount / CLASSES_PER_DOMAIN;
+    this.fanOut = fanOut;
+    this.cycleDensity = cycleDensity;
+    this.seed = seed;
+  }
+
+  /**
+   * 프로젝트 루트 아래 src/main/java, src/test/java에 소스를 씁니다.
+   * @return 쓴 파일 ({@link #generate()}와 같음)
+   */
+  public Map<String, String> writeTo(Path root) throws IOException {
+    Map<String, String> files = generate();
+    for (Map.Entry<String, String> file : files.entrySet()) {
+      Path path = root.resolve(file.getKey());
+      Files.createDirectories(path.getParent());
+      Files.writeString(path, file.getValue(), StandardCharsets.UTF_8);
+    }
+    return files;
+  }
+
+  /**
+   * @return <프로젝트 루트 기준 상대 경로, 소스 내용>, 소스 파일 다음 테스트 파일 순
+   */
+  public Map<String, String> generate() {
+    Random random = new Random(seed);
+    List<TreeSet<Integer>> serviceDependencies = new ArrayList<>(domainCount);
+    List<TreeSet<Integer>> repositoryDependencies = new ArrayList<>(domainCount);
+    for (int domain = 0; domain < domainCount; domain++) {
+      TreeSet<Integer> services = new TreeSet<>();
+      TreeSet<Integer> repositories = new TreeSet<>();
+      repositories.add(domain);
+      for (int k = 1; k < fanOut && domain > 0; k++) {
+        (random.nextBoolean() ? services : repositories).add(random.nextInt(domain));
+      }
+      serviceDependencies.add(services);
+      repositoryDependencies.add(repositories);
+    }
+    // 가까운 서비스와 서로 의존하게 하여 크기 2의 순환을 만들고, 기존 의존성 체인과 이어져 더 큰 순환 그룹도 생깁니다.
+    for (int domain = 0; domain + 1 < domainCount; domain++) {
+      if (random.nextDouble() < cycleDensity) {
+        int partner = Math.min(domainCount - 1, domain + 1 + random.nextInt(3));
+        serviceDependencies.get(domain).add(partner);
+        serviceDependencies.get(partner).add(domain);
+      }
+    }
+
+    Map<String, String> sources = new LinkedHashMap<>();
+    Map<String, String> tests = new LinkedHashMap<>();
+    for (int domain = 0; domain < domainCount; domain++) {
+      List<Integer> entityReferences = new ArrayList<>();
+      for (int k = 0; k < 2 && domain > 0; k++) {
+        if (random.nextInt(3) == 0) {
+          entityReferences.add(random.nextInt(domain));
+        }
+      }
+      List<Integer> controllerServices = new ArrayList<>();
+      controllerServices.add(domain);
+      for (int k = 1; k < Math.max(1, fanOut / 2) && domain > 0; k++) {
+        int service = random.nextInt(domain);
+        if (!controllerServices.contains(service)) {
+          controllerServices.add(service);
+        }
+      }
+      sources.put(mainPath(domain, "domain", name(domain)), entity(domain, entityReferences));
+      sources.put(mainPath(domain, "repository", name(domain) + "Repository"), repository(domain));
+      sources.put(mainPath(domain, "dto", name(domain) + "Response"), response(domain));
+      sources.put(mainPath(domain, "service", name(domain) + "Service"),
+          service(domain, repositoryDependencies.get(domain), serviceDependencies.get(domain)));
+      sources.put(mainPath(domain, "web", name(domain) + "Controller"), controller(domain, controllerServices));
+      tests.put(testPath(domain, "service", name(domain) + "ServiceTest"), serviceTest(domain));
+      tests.put(testPath(domain, "web", name(domain) + "ControllerTest"), controllerTest(domain));
+    }
+    sources.putAll(tests);
+    return sources;
+  }
+
+  private static String name(int domain) {
+    return NOUNS[domain % NOUNS.length] + (domain / NOUNS.length);
+  }
+
+  private static String field(String typeName) {
+    return Character.toLowerCase(typeName.charAt(0)) + typeName.substring(1);
+  }
+
+  private static String packageOf(int domain, String layer) {
+    return BASE_PACKAGE + ".m" + (domain / DOMAINS_PER_MODULE) + "." + layer;
+  }
+
+  private static String mainPath(int domain, String layer, String className) {
+    return "src/main/java/" + packageOf(domain, layer).replace('.', '/') + "/" + className + ".java";
+  }
+
+  private static String testPath(int domain, String layer, String className) {
+    return "src/test/java/" + packageOf(domain, layer).replace('.', '/') + "/" + className + ".java";
+  }
+
+  /**
+   * 같은 패키지가 아닌 프로젝트 클래스만 import 문으로 만듭니다.
+   */
+  private static void importIfNeeded(TreeSet<String> imports, String currentPackage, int domain, String layer, String className) {
+    String targetPackage = packageOf(domain, layer);
+    if (!targetPackage.equals(currentPackage)) {
+      imports.add(targetPackage + "." + className);
+    }
+  }
+
+  private static String header(String packageName, TreeSet<String> imports) {
+    StringBuilder code = new StringBuilder("package ").append(packageName).append(";\n\n");
+    for (String imported : imports) {
+      code.append("import ").append(imported).append(";\n");
+    }
+    return code.append('\n').toString();
+  }
+
+  private static String entity(int domain, List<Integer> references) {
+    String packageName = packageOf(domain, "domain");
+    TreeSet<String> imports = new TreeSet<>(List.of("jakarta.persistence.Entity", "jakarta.persistence.GeneratedValue",
+        "jakarta.persistence.Id", "lombok.Getter"));
+    if (!references.isEmpty()) {
+      imports.add("jakarta.persistence.ManyToOne");
+    }
+    references.forEach(other -> importIfNeeded(imports, packageName, other, "domain", name(other)));
+    StringBuilder code = new StringBuilder(header(packageName, imports));
+    code.append("@Entity\n@Getter\npublic class ").append(name(domain)).append(" {\n\n");
+    code.append("  @Id\n  @GeneratedValue\n  private Long id;\n\n  private String name;\n");
+    for (int other : new TreeSet<>(references)) {
+      code.append("\n  @ManyToOne\n  private ").append(name(other)).append(' ').append(field(name(other))).append(";\n");
+    }
+    return code.append("}\n").toString();
+  }
+
+  private static String repository(int domain) {
+    String packageName = packageOf(domain, "repository");
+    TreeSet<String> imports = new TreeSet<>(List.of("org.springframework.data.jpa.repository.JpaRepository"));
+    importIfNeeded(imports, packageName, domain, "domain", name(domain));
+    return header(packageName, imports)
+        + "public interface " + name(domain) + "Repository extends JpaRepository<" + name(domain) + ", Long> {\n}\n";
+  }
+
+  private static String response(int domain) {
+    String packageName = packageOf(domain, "dto");
+    TreeSet<String> imports = new TreeSet<>(List.of("lombok.Getter", "lombok.RequiredArgsConstructor"));
+    importIfNeeded(imports, packageName, domain, "domain", name(domain));
+    String className = name(domain) + "Response";
+    return header(packageName, imports)
+        + "@Getter\n@RequiredArgsConstructor\npublic class " + className + " {\n\n"
+        + "  private final Long id;\n  private final String name;\n\n"
+        + "  public static " + className + " from(" + name(domain) + " entity) {\n"
+        + "    return new " + className + "(entity.getId(), entity.getName());\n  }\n}\n";
+  }
+
+  /**
+   * 서비스는 도메인 번호에 따라 Lombok 생성자 주입, 직접 작성한 생성자 주입, @Autowired 필드 주입을 번갈아 사용합니다.
+   */
+  private static String service(int domain, TreeSet<Integer> repositories, TreeSet<Integer> services) {
+    String packageName = packageOf(domain, "service");
+    InjectionStyle style = InjectionStyle.values()[domain % InjectionStyle.values().length];
+    TreeSet<String> imports = new TreeSet<>(List.of("org.springframework.stereotype.Service",
+        "org.springframework.transaction.annotation.Transactional"));
+    imports.add(style == InjectionStyle.LOMBOK ? "lombok.RequiredArgsConstructor"
+        : style == InjectionStyle.FIELD ? "org.springframework.beans.factory.annotation.Autowired" : "java.util.Objects");
+    importIfNeeded(imports, packageName, domain, "domain", name(domain));
+    repositories.forEach(other -> importIfNeeded(imports, packageName, other, "repository", name(other) + "Repository"));
+    services.forEach(other -> importIfNeeded(imports, packageName, other, "service", name(other) + "Service"));
+    List<String> typeNames = new ArrayList<>();
+    repositories.forEach(other -> typeNames.add(name(other) + "Repository"));
+    services.forEach(other -> typeNames.add(name(other) + "Service"));
+
+    String className = name(domain) + "Service";
+    StringBuilder code = new StringBuilder(header(packageName, imports));
+    code.append("@Service\n").append(style == InjectionStyle.LOMBOK ? "@RequiredArgsConstructor\n" : "")
+        .append("public class ").append(className).append(" {\n\n");
+    for (String typeName : typeNames) {
+      code.append(style == InjectionStyle.FIELD ? "  @Autowired\n  private " : "  private final ")
+          .append(typeName).append(' ').append(field(typeName)).append(";\n");
+    }
+    if (style == InjectionStyle.CONSTRUCTOR) {
+      code.append("\n  public ").append(className).append('(');
+      for (int i = 0; i < typeNames.size(); i++) {
+        code.append(i > 0 ? ", " : "").append(typeNames.get(i)).append(' ').append(field(typeNames.get(i)));
+      }
+      code.append(") {\n");
+      for (String typeName : typeNames) {
+        code.append("    this.").append(field(typeName)).append(" = Objects.requireNonNull(").append(field(typeName)).append(");\n");
+      }
+      code.append("  }\n");
+    }
+    code.append("\n  @Transactional(readOnly = true)\n  public ").append(name(domain)).append(" find(Long id) {\n");
+    for (int other : services) {
+      code.append("    ").append(field(name(other) + "Service")).append(".count();\n");
+    }
+    code.append("    return ").append(field(name(domain) + "Repository")).append(".findById(id).orElseThrow();\n  }\n\n");
+    code.append("  public long count() {\n    return ").append(field(name(domain) + "Repository")).append(".count();\n  }\n}\n");
+    return code.toString();
+  }
+
+  private static String controller(int domain, List<Integer> services) {
+    String packageName = packageOf(domain, "web");
+    TreeSet<String> imports = new TreeSet<>(List.of("org.springframework.beans.factory.annotation.Autowired",
+        "org.springframework.web.bind.annotation.GetMapping", "org.springframework.web.bind.annotation.PathVariable",
+        "org.springframework.web.bind.annotation.RequestMapping", "org.springframework.web.bind.annotation.RestController"));
+    importIfNeeded(imports, packageName, domain, "dto", name(domain) + "Response");
+    services.forEach(other -> importIfNeeded(imports, packageName, other, "service", name(other) + "Service"));
+    StringBuilder code = new StringBuilder(header(packageName, imports));
+    code.append("@RestController\n@RequestMapping(\"/").append(field(name(domain))).append("s\")\npublic class ")
+        .append(name(domain)).append("Controller {\n");
+    for (int other : services) {
+      String typeName = name(other) + "Service";
+      code.append("\n  @Autowired\n  private ").append(typeName).append(' ').append(field(typeName)).append(";\n");
+    }
+    code.append("\n  @GetMapping(\"/{id}\")\n  public ").append(name(domain)).append("Response get(@PathVariable Long id) {\n");
+    for (int other : services.subList(1, services.size())) {
+      code.append("    ").append(field(name(other) + "Service")).append(".count();\n");
+    }
+    code.append("    return ").append(name(domain)).append("Response.from(").append(field(name(domain) + "Service"))
+        .append(".find(id));\n  }\n}\n");
+    return code.toString();
+  }
+
+  private static String serviceTest(int domain) {
+    String packageName = packageOf(domain, "service");
+    TreeSet<String> imports = new TreeSet<>(List.of("org.junit.jupiter.api.Test",
+        "org.springframework.beans.factory.annotation.Autowired", "org.springframework.boot.test.context.SpringBootTest",
+        "static org.assertj.core.api.Assertions.assertThat"));
+    String typeName = name(domain) + "Service";
+    return header(packageName, imports)
+        + "@SpringBootTest\nclass " + typeName + "Test {\n\n"
+        + "  @Autowired\n  private " + typeName + " " + field(typeName) + ";\n\n"
+        + "  @Test\n  void count() {\n    assertThat(" + field(typeName) + ".count()).isZero();\n  }\n}\n";
+  }
+
+  private static String controllerTest(int domain) {
+    String packageName = packageOf(domain, "web");
+    TreeSet<String> imports = new TreeSet<>(List.of("org.junit.jupiter.api.Test",
+        "org.springframework.beans.factory.annotation.Autowired",
+        "org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest",
+        "org.springframework.test.web.servlet.MockMvc",
+        "static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get",
+        "static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status"));
+    String typeName = name(domain) + "Controller";
+    return header(packageName, imports)
+        + "@WebMvcTest(" + typeName + ".class)\nclass " + typeName + "Test {\n\n"
+        + "  @Autowired\n  private MockMvc mockMvc;\n\n"
+        + "  @Test\n  void get() throws Exception {\n"
+        + "    mockMvc.perform(get(\"/" + field(name(domain)) + "s/1\")).andExpect(status().isOk());\n  }\n}\n";
+  }
+
+  private enum InjectionStyle {
+    LOMBOK, CONSTRUCTOR, FIELD
+  }
+}
@@ -0,0 +1,137 @@
+package com.pbl.quantumleap;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pbl.quantumleap.metrics.PhaseMetrics;
+import com.pbl.quantumleap.model.CyclicComponent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("선별 결과 출력 형식")
+class AnalysisResultWriterTest {
+
+  private static final List<String> FILTERS = List.of("com.example.OrderServiceTest",
+      "com.example.UserServiceTest$Nested", "com.example.UserServiceTest#save");
+  private static final List<PhaseMetrics> TIMINGS = List.of(
+      new PhaseMetrics("파싱", 1_500_000_000L, 3_000_000_000L, 1_048_576L, Map.of("files", 10L)),
+      new PhaseMetrics("테스트 선별", 20_000_000L, -1, -1, Map.of()));
+
+  private final AnalysisResultWriter writer = new AnalysisResultWriter();
+
+  @Test
+  @DisplayName("JSON은 파싱할 수 있어야 하고, 형식 버전, 테스트별 영향 경로, 순환 그룹, 단계별 소요 시간을 담아야 한다")
+  void json_contains_paths_cycles_and_timings() throws IOException {
+    // WHEN
+    JsonNode root = new ObjectMapper().readTree(write(result(FILTERS), OutputFormat.JSON));
+
+    // THEN
+    assertThat(root.get("version").asInt()).isEqualTo(1);
+    assertThat(root.get("selectedTests").size()).isEqualTo(2);
+    JsonNode selected = root.get("selectedTests").get(0);
+    assertThat(selected.get("testClass").asText()).isEqualTo("com.example.OrderServiceTest");
+    assertThat(texts(selected.get("path"))).containsExactly(
+        "com.example.Order", "com.example.OrderService", "com.example.OrderServiceTest");
+    assertThat(texts(root.get("testFilters"))).containsExactlyElementsOf(FILTERS);
+
+    assertThat(root.get("cycles").size()).isEqualTo(1);
+    assertThat(texts(root.get("cycles").get(0).get("members"))).containsExactly("com.example.A", "com.example.B");
+    assertThat(texts(root.get("cycles").get(0).get("cycle")))
+        .containsExactly("com.example.A", "com.example.B", "com.example.A");
+
+    JsonNode timings = root.get("timings");
+    assertThat(timings.size()).isEqualTo(2);
+    assertThat(timings.get(0).get("phase").asText()).isEqualTo("파싱");
+    assertThat(timings.get(0).get("millis").asLong()).isEqualTo(1500);
+    assertThat(timings.get(0).get("cpuMillis").asLong()).isEqualTo(3000);
+    assertThat(timings.get(0).get("allocatedBytes").asLong()).isEqualTo(1_048_576);
+    // 측정하지 못한 값(-1)은 필드를 쓰지 않습니다.
+    assertThat(timings.get(1).has("cpuMillis")).isFalse();
+    assertThat(timings.get(1).has("allocatedBytes")).isFalse();
+  }
+
+  @Test
+  @DisplayName("선별된 테스트가 없으면 plain/gradle/maven/junit-platform은 아무것도 쓰지 않고, JSON은 빈 목록을 써야 한다")
+  void empty_selection_writes_nothing_except_json() throws IOException {
+    AnalysisResult empty = result(List.of());
+
+    for (OutputFormat format : List.of(OutputFormat.PLAIN, OutputFormat.GRADLE, OutputFormat.MAVEN,
+        OutputFormat.JUNIT_PLATFORM)) {
+      assertThat(write(empty, format)).as(format.cliName()).isEmpty();
+    }
+    JsonNode root = new ObjectMapper().readTree(write(empty, OutputFormat.JSON));
+    assertThat(root.get("version").asInt()).isEqualTo(1);
+    assertThat(root.get("selectedTests").size()).isZero();
+    assertThat(root.get("testFilters").size()).isZero();
+  }
+
+  @Test
+  @DisplayName("plain/gradle/maven/junit-platform 출력은 TestFilterFormatter의 변환 결과와 같아야 한다")
+  void argument_formats_match_test_filter_formatter() throws IOException {
+    AnalysisResult result = result(FILTERS);
+
+    assertThat(write(result, OutputFormat.PLAIN)).isEqualTo(String.join("\n", FILTERS) + "\n");
+    assertThat(write(result, OutputFormat.GRADLE)).isEqualTo(TestFilterFormatter.gradle(FILTERS) + "\n");
+    assertThat(write(result, OutputFormat.MAVEN)).isEqualTo("-Dtest=" + TestFilterFormatter.surefire(FILTERS) + "\n");
+    assertThat(write(result, OutputFormat.JUNIT_PLATFORM))
+        .isEqualTo(String.join("\n", TestFilterFormatter.junitPlatform(FILTERS)) + "\n");
+  }
+
+  @Test
+  @DisplayName("출력 스트림을 닫지 않아야 한다 (System.out에 이어서 쓸 수 있어야 한다)")
+  void does_not_close_output_stream() throws IOException {
+    CloseTrackingStream out = new CloseTrackingStream();
+
+    for (OutputFormat format : OutputFormat.values()) {
+      writer.write(result(FILTERS), format, TIMINGS, out);
+    }
+
+    assertThat(out.closed).isFalse();
+    assertThat(out.toString(StandardCharsets.UTF_8)).startsWith(FILTERS.get(0) + "\n");
+  }
+
+  private String write(AnalysisResult result, OutputFormat format) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    writer.write(result, format, TIMINGS, out);
+    return out.toString(StandardCharsets.UTF_8);
+  }
+
+  private static AnalysisResult result(List<String> testFilters) {
+    Map<String, List<String>> testsWithPaths = new LinkedHashMap<>();
+    if (!testFilters.isEmpty()) {
+      testsWithPaths.put("com.example.OrderServiceTest",
+          List.of("com.example.Order", "com.example.OrderService", "com.example.OrderServiceTest"));
+      testsWithPaths.put("com.example.UserServiceTest", List.of("com.example.Order", "com.example.UserServiceTest"));
+    }
+    List<String> cycle = List.of("com.example.A", "com.example.B", "com.example.A");
+    return new AnalysisResult(List.of(cycle), CompletableFuture.completedFuture(""), testsWithPaths, testFilters,
+        List.of(new CyclicComponent(List.of("com.example.A", "com.example.B"), cycle)), Set.of("com.example.Order"),
+        Set.of(), Set.of("com.example.Order", "com.example.OrderService"), null, null, null);
+  }
+
+  private static List<String> texts(JsonNode array) {
+    List<String> values = new ArrayList<>();
+    array.forEach(value -> values.add(value.asText()));
+    return values;
+  }
+
+  private static class CloseTrackingStream extends ByteArrayOutputStream {
+    private boolean closed;
+
+    @Override
+    public void close() {
+      closed = true;
+    }
+  }
+}
@@ -0,0 +1,170 @@
+package com.pbl.quantumleap;
+
+import com.pbl.quantumleap.model.ChangedFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * git 프로세스 백엔드(GitChangeFinder)와 JGit 백엔드(JGitChangeSource)가 같은 저장소에서 같은 결과를 내는지 확인합니다.
+ * 임시 디렉토리에 저장소를 만들고, 공통 조상 커밋에서 갈라진 두 브랜치를 커밋합니다.
+ * feature 브랜치는 파일 추가/수정/삭제/이름 변경을, main 브랜치는 feature에 없는 수정을 담습니다.
+ */
+@DisplayName("Git 변경점 백엔드")
+class ChangeSourceTest {
+
+  private static final String SRC = "src/main/java/com/example/";
+
+  @TempDir
+  Path repository;
+
+  private final List<ChangeSource> backends = List.of(new GitChangeFinder(), new JGitChangeSource());
+  private String forkPoint;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    git("init", "-q", "-b", "main");
+    write("Modified.java", javaClass("Modified", "return 1;"));
+    write("Deleted.java", "package com.example;\n\npublic enum Deleted { ON, OFF }\n");
+    write("OldName.java", javaClass("OldName", "return 3;"));
+    write("MainOnly.java", javaClass("MainOnly", "return 4;"));
+    commit("공통 조상");
+    forkPoint = git("rev-parse", "HEAD").strip();
+
+    git("checkout", "-q", "-b", "feature");
+    write("Added.java", "package com.example;\n\npublic interface Added {\n  void run();\n}\n");
+    write("Modified.java", javaClass("Modified", "return 10;"));
+    Files.delete(repository.resolve(SRC + "Deleted.java"));
+    git("mv", SRC + "OldName.java", SRC + "NewName.java");
+    commit("feature 변경");
+
+    git("checkout", "-q", "main");
+    write("MainOnly.java", javaClass("MainOnly", "return 40;"));
+    commit("main 변경");
+  }
+
+  @Test
+  @DisplayName("두 커밋 직접 비교(base..head)에서 두 백엔드가 같은 변경 목록을 반환해야 한다")
+  void backends_agree_on_two_dot_range() throws IOException {
+    for (ChangeSource backend : backends) {
+      // main에만 있는 수정도 두 커밋의 차이이므로 포함됩니다.
+      assertThat(describe(findChanges(backend, "main", "feature", false))).as(backend.getClass().getSimpleName())
+          .containsExactlyInAnyOrder(
+              "ADDED " + SRC + "Added.java",
+              "DELETED " + SRC + "Deleted.java",
+              "MODIFIED " + SRC + "MainOnly.java",
+              "MODIFIED " + SRC + "Modified.java",
+              "RENAMED " + SRC + "OldName.java → " + SRC + "NewName.java");
+    }
+  }
+
+  @Test
+  @DisplayName("merge-base 비교(base...head)에서 두 백엔드가 head 브랜치의 변경만 같은 목록으로 반환해야 한다")
+  void backends_agree_on_merge_base_range() throws IOException {
+    for (ChangeSource backend : backends) {
+      assertThat(describe(findChanges(backend, "main", "feature", true))).as(backend.getClass().getSimpleName())
+          .containsExactlyInAnyOrder(
+              "ADDED " + SRC + "Added.java",
+              "DELETED " + SRC + "Deleted.java",
+              "MODIFIED " + SRC + "Modified.java",
+              "RENAMED " + SRC + "OldName.java → " + SRC + "NewName.java");
+      assertThat(backend.findMergeBase(repository.toString(), "main", "feature")).isEqualTo(forkPoint);
+    }
+  }
+
+  @Test
+  @DisplayName("변경 전 소스는 수정된 파일만, 기준 커밋 시점의 내용으로 읽어야 한다")
+  void read_base_sources_returns_old_contents() throws IOException {
+    for (ChangeSource backend : backends) {
+      List<ChangedFile> changes = findChanges(backend, "main", "feature", true);
+
+      Map<String, String> baseSources = backend.readBaseSources(repository.toString(), forkPoint, changes);
+
+      // 추가/삭제/이름 변경된 파일은 비교 대상이 아니므로 제외됩니다.
+      assertThat(baseSources).as(backend.getClass().getSimpleName())
+          .containsOnlyKeys(SRC + "Modified.java")
+          .containsEntry(SRC + "Modified.java", javaClass("Modified", "return 1;"));
+    }
+  }
+
+  @Test
+  @DisplayName("기준 커밋이 없으면 빈 결과 대신 IOException을 던져야 한다")
+  void missing_base_revision_throws() {
+    String missing = "0123456789abcdef0123456789abcdef01234567";
+    for (ChangeSource backend : backends) {
+      String name = backend.getClass().getSimpleName();
+      assertThrows(IOException.class, () -> findChanges(backend, missing, "feature", false), name);
+      assertThrows(IOException.class, () -> findChanges(backend, missing, "feature", true), name);
+      assertThrows(IOException.class,
+          () -> backend.readFiles(repository.toString(), missing, List.of(SRC + "Modified.java")), name);
+    }
+  }
+
+  private List<ChangedFile> findChanges(ChangeSource backend, String base, String head, boolean mergeBase)
+      throws IOException {
+    PrintStream originalErr = System.err;
+    System.setErr(new PrintStream(OutputStream.nullOutputStream(), true)); // 백엔드의 진행 로그는 버립니다.
+    try {
+      return backend.findChanges(repository.toString(), base, head, mergeBase);
+    } finally {
+      System.setErr(originalErr);
+    }
+  }
+
+  private static List<String> describe(List<ChangedFile> changes) {
+    return changes.stream().map(ChangedFile::toString).collect(Collectors.toList());
+  }
+
+  private static String javaClass(String name, String body) {
+    // 이름 변경을 두 백엔드 모두 같은 파일로 인식하도록 충분히 긴 내용을 씁니다. (추가/삭제 파일은 이 형식을 쓰지 않습니다)
+    return "package com.example;\n\n"
+        + "public class " + name + " {\n\n"
+        + "  public int value() {\n"
+        + "    " + body + "\n"
+        + "  }\n\n"
+        + "  public String describe() {\n"
+        + "    return \"" + name + " 클래스입니다.\";\n"
+        + "  }\n"
+        + "}\n";
+  }
+
+  private void write(String fileName, String content) throws IOException {
+    Path file = repository.resolve(SRC + fileName);
+    Files.createDirectories(file.getParent());
+    Files.writeString(file, content);
+  }
+
+  private void commit(String message) throws Exception {
+    git("add", "-A");
+    git("-c", "user.name=quantumleap", "-c", "user.email=quantumleap@example.com", "-c", "commit.gpgsign=false",
+        "commit", "-q", "-m", message);
+  }
+
+  private String git(String... arguments) throws IOException, InterruptedException {
+    List<String> command = new ArrayList<>(List.of("git"));
+    command.addAll(List.of(arguments));
+    Process process = new ProcessBuilder(command).directory(repository.toFile()).redirectErrorStream(true).start();
+    String output;
+    try (InputStream stdout = process.getInputStream()) {
+      output = new String(stdout.readAllBytes(), StandardCharsets.UTF_8);
+    }
+    assertThat(process.waitFor()).as(String.join(" ", command) + "\n" + output).isZero();
+    return output;
+  }
+}
@@ -0,0 +1,222 @@
+package com.pbl.quantumleap;
+
+import com.pbl.quantumleap.model.ParsedSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 머리 정보 사전 분석(HeaderScanner)을 거친 결과가 모든 파일을 전체 파싱한 결과와 같은지, 경계 사례마다 비교합니다.
+ * 전체 파싱이 필요한 사례는 사전 분석이 이를 알아차리고 전체 파싱으로 넘기는지도 함께 확인합니다.
+ */
+@DisplayName("머리 정보 사전 분석과 전체 파싱의 결과 일치")
+class HeaderPrePassParityTest {
+
+  private static final Path FILE = Path.of("src/main/java/com/example/order/Sample.java");
+
+  /**
+   * 두 방식의 분석 결과를 비교합니다.
+   * @param headerOnly 사전 분석만으로 끝나야 하면 true, 전체 파싱으로 넘겨야 하면 false
+   * @return 전체 파싱 결과
+   */
+  private static ParsedSource assertSameResult(String code, boolean headerOnly) {
+    SourceParser withPrePass = new SourceParser(null, "com.example", null, false, true);
+    SourceParser fullParse = new SourceParser(null, "com.example", null, false, false);
+
+    ParsedSource expected = fullParse.parseContent(FILE, code, false);
+    ParsedSource actual = withPrePass.parseContent(FILE, code, false);
+
+    assertThat(withPrePass.getHeaderOnlyCount()).as("머리 정보만으로 분석한 파일 수").isEqualTo(headerOnly ? 1 : 0);
+    if (expected == null) {
+      assertThat(actual).isNull();
+      return null;
+    }
+    assertThat(actual).isNotNull();
+    assertThat(actual.getClassName()).isEqualTo(expected.getClassName());
+    assertThat(actual.getPackageName()).isEqualTo(expected.getPackageName());
+    assertThat(actual.isEntity()).isEqualTo(expected.isEntity());
+    assertThat(actual.isDto()).isEqualTo(expected.isDto());
+    assertThat(actual.getImports()).containsExactlyElementsOf(expected.getImports());
+    assertThat(actual.getWildcardImports()).containsExactlyElementsOf(expected.getWildcardImports());
+    assertThat(actual.getTypeNames()).containsExactlyElementsOf(expected.getTypeNames());
+    return expected;
+  }
+
+  @Test
+  @DisplayName("import처럼 보이는 주석과 문자열은 import로 읽지 않아야 한다")
+  void comments_that_look_like_imports() {
+    ParsedSource result = assertSameResult("""
+        package com.example.order;
+
+        import com.example.user.User;
+        // import com.example.fake.LineComment;
+        /* import com.example.fake.BlockComment;
+           import com.example.fake.*; */
+        /** import com.example.fake.Javadoc; */
+        import com.example.common.*;
+        import static com.example.common.Constants.MAX;
+        import java.util.List;
+
+        public class Sample {
+          private final String text = "import com.example.fake.InString;";
+          private final char quote = '"';
+        }
+        """, true);
+
+    assertThat(result.getImports()).containsExactly("com.example.user.User");
+    assertThat(result.getWildcardImports()).containsExactly("com.example.common");
+  }
+
+  @Test
+  @DisplayName("record 선언은 사전 분석이 전체 파싱으로 넘겨, 전체 파싱과 같이 노드에서 빠져야 한다")
+  void record_declaration() {
+    assertSameResult("""
+        package com.example.order;
+
+        import com.example.user.User;
+
+        public record Sample(User user, int amount) {
+        }
+        """, false);
+    // 'record'를 식별자로 쓴 클래스는 사전 분석만으로 끝납니다.
+    assertSameResult("""
+        package com.example.order;
+
+        public class Sample {
+          private String record;
+
+          public String record() {
+            return record;
+          }
+        }
+        """, true);
+  }
+
+  @Test
+  @DisplayName("텍스트 블록이 있으면 전체 파싱으로 넘겨야 한다")
+  void text_block() {
+    assertSameResult("""
+        package com.example.order;
+
+        import com.example.user.User;
+
+        public class Sample {
+          private final String query = \"""
+              import com.example.fake.InTextBlock;
+              class Fake { }
+              \""";
+        }
+        """, false);
+  }
+
+  @Test
+  @DisplayName("Lombok 생성자 어노테이션은 주입 지점으로 보고, 그 밖의 Lombok 어노테이션은 사전 분석만으로 끝내야 한다")
+  void lombok_annotated_classes() {
+    ParsedSource injected = assertSameResult("""
+        package com.example.order;
+
+        import com.example.user.UserRepository;
+        import lombok.RequiredArgsConstructor;
+
+        @RequiredArgsConstructor
+        public class Sample {
+          private final UserRepository userRepository;
+        }
+        """, false);
+    assertThat(injected.getTypeNames()).containsExactly("UserRepository");
+
+    assertSameResult("""
+        package com.example.order;
+
+        import com.example.user.User;
+        import lombok.Getter;
+        import lombok.Setter;
+
+        @Getter
+        @Setter
+        public class SampleDto {
+          private User user;
+        }
+        """, true);
+  }
+
+  @Test
+  @DisplayName("매개변수가 있는 생성자는 전체 파싱하고, 기본 생성자와 new 호출만 있으면 사전 분석만으로 끝내야 한다")
+  void explicit_constructors() {
+    ParsedSource injected = assertSameResult("""
+        package com.example.order;
+
+        import com.example.user.UserRepository;
+
+        public class Sample {
+          private final UserRepository userRepository;
+
+          public Sample(UserRepository userRepository) {
+            this.userRepository = userRepository;
+          }
+        }
+        """, false);
+    assertThat(injected.getTypeNames()).containsExactly("UserRepository");
+
+    assertSameResult("""
+        package com.example.order;
+
+        import com.example.user.User;
+
+        public class Sample {
+          public Sample() {
+          }
+
+          public static Sample copy() {
+            return new Sample();
+          }
+        }
+        """, true);
+  }
+
+  @Test
+  @DisplayName("유니코드 이스케이프는 문자열 안에서는 건너뛰고, 코드에 있으면 전체 파싱으로 넘겨야 한다")
+  void unicode_escapes() {
+    // 코드에 쓴 이스케이프 (\\u0040 = '@')
+    assertSameResult("""
+        package com.example.order;
+
+        import com.example.user.User;
+
+        \\u0040Deprecated
+        public class Sample {
+        }
+        """, false);
+    // 문자열 리터럴 안의 이스케이프
+    assertSameResult("""
+        package com.example.order;
+
+        import com.example.user.User;
+
+        public class Sample {
+          private final String at = "\\u0040 \\" import com.example.fake.Escaped;";
+        }
+        """, true);
+  }
+
+  @Test
+  @DisplayName("최상위 enum 뒤의 클래스와 한정 이름 어노테이션도 전체 파싱과 같이 읽어야 한다")
+  void first_class_after_enum_and_qualified_annotation() {
+    ParsedSource result = assertSameResult("""
+        package com.example.order;
+
+        enum Status { READY, DONE }
+
+        @jakarta.persistence.Entity
+        public class Sample {
+          private Status status;
+        }
+        """, true);
+
+    assertThat(result.getClassName()).isEqualTo("Sample");
+    assertThat(result.isEntity()).isTrue();
+  }
+}
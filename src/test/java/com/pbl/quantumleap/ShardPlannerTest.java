@@ -0,0 +1,165 @@
+package com.pbl.quantumleap;
+
+import com.pbl.quantumleap.model.ShardPlan;
+import com.pbl.quantumleap.model.TestPlan.PlannedTest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 샤드 배정이 입력 순서와 무관하게 결정적이고, 선별 결과가 조금 바뀌어도 대부분의 테스트가 같은 샤드에 남으며,
+ * 가장 긴 샤드가 용량(이상적인 부하의 1.05배 또는 가장 긴 테스트)을 넘지 않는지 확인합니다.
+ */
+@DisplayName("테스트 샤드 배정")
+class ShardPlannerTest {
+
+  private static final int SHARDS = 4;
+  private static final int TEST_COUNT = 60;
+
+  private final ShardPlanner planner = new ShardPlanner(SHARDS);
+
+  @Test
+  @DisplayName("입력 순서를 섞어도 테스트마다 같은 샤드에 배정해야 한다")
+  void assignment_does_not_depend_on_input_order() {
+    // GIVEN
+    List<String> names = testNames(TEST_COUNT);
+    Map<String, Double> durations = skewedDurations(names);
+    Map<String, Integer> expected = assign(names, durations);
+
+    // WHEN: 여러 번 섞은 순서로 다시 배정
+    Random random = new Random(1);
+    for (int round = 0; round < 5; round++) {
+      List<String> shuffled = new ArrayList<>(names);
+      Collections.shuffle(shuffled, random);
+
+      // THEN
+      assertThat(assign(shuffled, durations)).isEqualTo(expected);
+    }
+  }
+
+  @Test
+  @DisplayName("테스트 하나가 추가되거나 빠져도 나머지 테스트는 대부분 같은 샤드에 남아야 한다")
+  void adding_or_removing_one_test_keeps_other_assignments() {
+    List<String> names = testNames(TEST_COUNT);
+    Map<String, Double> durations = skewedDurations(names);
+    Map<String, Integer> before = assign(names, durations);
+
+    // WHEN: 테스트 하나 추가
+    List<String> added = new ArrayList<>(names);
+    added.add("com.example.ExtraTest");
+    durations.put("com.example.ExtraTest", 1_500.0);
+    Map<String, Integer> afterAdd = assign(added, durations);
+
+    // THEN: 샤드 번호를 나머지 연산으로 정하면 대부분(약 3/4)이 옮겨지지만, 여기서는 15% 이하만 옮겨집니다.
+    int movedLimit = TEST_COUNT * 15 / 100;
+    assertThat(movedCount(before, afterAdd)).isLessThanOrEqualTo(movedLimit);
+
+    // 테스트 하나를 뺄 때도 대부분 남습니다. 짧은 테스트는 어느 것을 빼도 15% 이하만 옮겨지고,
+    // 긴 테스트를 빼면 샤드 용량이 줄어 더 많이 옮겨질 수 있으므로 전체 평균으로 확인합니다.
+    int totalMoved = 0;
+    for (String removed : names) {
+      List<String> remaining = new ArrayList<>(names);
+      remaining.remove(removed);
+      int moved = movedCount(before, assign(remaining, durations));
+      totalMoved += moved;
+      if (durations.get(removed) < 1_000) {
+        assertThat(moved).as(removed).isLessThanOrEqualTo(movedLimit);
+      }
+    }
+    assertThat(totalMoved / names.size()).isLessThanOrEqualTo(movedLimit);
+  }
+
+  @Test
+  @DisplayName("실행 시간이 치우쳐 있어도 가장 긴 샤드는 용량을 넘지 않아야 한다")
+  void makespan_stays_within_capacity_on_skewed_durations() {
+    List<String> names = testNames(TEST_COUNT);
+    Map<String, Double> durations = skewedDurations(names);
+    // 이상적인 샤드 부하에 가까운 30초짜리 테스트 하나와 짧은 테스트 여러 개
+    durations.put(names.get(0), 30_000.0);
+
+    Map<String, Integer> assignment = assign(names, durations);
+
+    double[] loads = new double[SHARDS];
+    double total = 0;
+    double heaviest = 0;
+    for (String name : names) {
+      loads[assignment.get(name)] += durations.get(name);
+      total += durations.get(name);
+      heaviest = Math.max(heaviest, durations.get(name));
+    }
+    double capacity = Math.max(total / SHARDS * 1.05, heaviest);
+    assertThat(Arrays.stream(loads).max().getAsDouble()).isLessThanOrEqualTo(capacity);
+  }
+
+  @Test
+  @DisplayName("실행 시간 이력이 없으면 실행 시간이 아니라 클래스 수로 균형을 맞춰야 한다")
+  void class_count_balancing_without_durations() {
+    // GIVEN: 추정 실행 시간이 크게 치우친 테스트
+    List<String> names = testNames(TEST_COUNT);
+    Map<String, Double> durations = skewedDurations(names);
+    List<PlannedTest> rankedTests = new ArrayList<>();
+    for (String name : names) {
+      rankedTests.add(new PlannedTest(name, List.of(name), 1, 0, durations.get(name), false, 1));
+    }
+
+    // WHEN
+    ShardPlan plan = planner.plan(rankedTests, false);
+
+    // THEN: 60개를 4개 샤드로 나누면 용량은 15.75개이므로 모든 샤드가 정확히 15개씩 받습니다.
+    assertThat(plan.isDurationBased()).isFalse();
+    assertThat(plan.getShards()).hasSize(SHARDS);
+    plan.getShards().forEach(shard -> {
+      assertThat(shard.getTestClasses()).hasSize(TEST_COUNT / SHARDS);
+      assertThat(shard.getFilters()).hasSize(TEST_COUNT / SHARDS);
+    });
+  }
+
+  private Map<String, Integer> assign(List<String> names, Map<String, Double> durations) {
+    double[] weights = names.stream().mapToDouble(durations::get).toArray();
+    int[] shards = planner.assign(names.toArray(new String[0]), weights);
+    Map<String, Integer> assignment = new HashMap<>();
+    for (int i = 0; i < shards.length; i++) {
+      assignment.put(names.get(i), shards[i]);
+    }
+    return assignment;
+  }
+
+  private static int movedCount(Map<String, Integer> before, Map<String, Integer> after) {
+    int moved = 0;
+    for (Map.Entry<String, Integer> entry : after.entrySet()) {
+      if (before.containsKey(entry.getKey()) && !before.get(entry.getKey()).equals(entry.getValue())) {
+        moved++;
+      }
+    }
+    return moved;
+  }
+
+  private static List<String> testNames(int count) {
+    List<String> names = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      names.add("com.example.feature" + (i % 7) + ".Service" + i + "Test");
+    }
+    return names;
+  }
+
+  /**
+   * 대부분 짧고 일부만 긴 실행 시간 (밀리초). 시드가 고정되어 있어 항상 같은 값입니다.
+   */
+  private static Map<String, Double> skewedDurations(List<String> names) {
+    Random random = new Random(42);
+    Map<String, Double> durations = new HashMap<>();
+    for (String name : names) {
+      durations.put(name, random.nextInt(10) == 0 ? 5_000.0 + random.nextInt(20_000) : 100.0 + random.nextInt(900));
+    }
+    return durations;
+  }
+}
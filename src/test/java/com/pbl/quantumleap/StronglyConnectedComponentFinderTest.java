@@ -0,0 +1,165 @@
+package com.pbl.quantumleap;
+
+import com.pbl.quantumleap.model.CompactGraph;
+import com.pbl.quantumleap.model.CyclicComponent;
+import com.pbl.quantumleap.model.DependencyGraph;
+import com.pbl.quantumleap.model.DependencyGraph.ClassNode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 반복 방식 Tarjan 알고리즘이 순환 그룹(SCC)과 대표 순환 경로를 올바르게 찾는지 확인합니다.
+ * 그래프는 "A>B" 형식의 엣지 목록으로 만들며, 클래스 이름 앞에는 com.example 패키지가 붙습니다.
+ */
+@DisplayName("강한 연결 요소(SCC) 탐색")
+class StronglyConnectedComponentFinderTest {
+
+  private static final String PACKAGE = "com.example";
+
+  @Test
+  @DisplayName("서로 떨어진 두 순환 그룹과 자기 참조 클래스를 각각 찾고, 순환이 없는 클래스는 제외해야 한다")
+  void finds_separate_components_and_self_loop() {
+    // GIVEN: A-B-C 순환, D-E 순환, F의 자기 참조, 순환에 속하지 않는 G(A와 D를 참조)
+    CompactGraph graph = graph("A>B", "B>C", "C>A", "D>E", "E>D", "F>F", "G>A", "G>D", "C>D");
+
+    // WHEN
+    List<CyclicComponent> components = new StronglyConnectedComponentFinder(graph, Set.of()).findCyclicComponents();
+
+    // THEN: 구성원의 첫 이름순으로 정렬됩니다.
+    assertThat(members(components)).containsExactly(
+        List.of(fqcn("A"), fqcn("B"), fqcn("C")), List.of(fqcn("D"), fqcn("E")), List.of(fqcn("F")));
+    assertThat(components.get(2).getCycle()).containsExactly(fqcn("F"), fqcn("F"));
+    components.forEach(component -> assertClosedPathInside(graph, component));
+  }
+
+  @Test
+  @DisplayName("중첩된 순환은 하나의 그룹으로 묶고, 대표 경로는 그 안의 가장 짧은 순환이어야 한다")
+  void nested_cycles_form_one_component_with_shortest_cycle() {
+    // GIVEN: A-B-C-D-A 바깥 순환 안에 A-B-A, C-D-C 순환
+    CompactGraph graph = graph("A>B", "B>C", "C>D", "D>A", "B>A", "D>C");
+
+    List<CyclicComponent> components = new StronglyConnectedComponentFinder(graph, Set.of()).findCyclicComponents();
+
+    assertThat(components).hasSize(1);
+    assertThat(components.get(0).getMembers()).containsExactly(fqcn("A"), fqcn("B"), fqcn("C"), fqcn("D"));
+    assertThat(components.get(0).getCycle()).containsExactly(fqcn("A"), fqcn("B"), fqcn("A"));
+    assertClosedPathInside(graph, components.get(0));
+  }
+
+  @Test
+  @DisplayName("제외 목록의 클래스를 거쳐야만 닫히는 순환은 찾지 않아야 한다")
+  void cycle_through_excluded_class_is_broken() {
+    // GIVEN: A-B-Entity-A 순환과 C-D 순환 (Entity는 제외 대상)
+    CompactGraph graph = graph("A>B", "B>Entity", "Entity>A", "C>D", "D>C", "Entity>C");
+
+    List<CyclicComponent> components = new StronglyConnectedComponentFinder(graph, Set.of(fqcn("Entity")))
+        .findCyclicComponents();
+
+    assertThat(members(components)).containsExactly(List.of(fqcn("C"), fqcn("D")));
+
+    // 제외하지 않으면 같은 그래프에서 두 순환을 모두 찾습니다.
+    assertThat(new StronglyConnectedComponentFinder(graph, Set.of()).findCyclicComponents()).hasSize(2);
+  }
+
+  @Test
+  @DisplayName("순환 경로는 같은 그룹 안의 실제 엣지로 이어지고 시작 클래스로 닫혀야 한다")
+  void representative_cycles_are_real_closed_paths() {
+    // GIVEN: 여러 갈래가 있는 순환 그룹 두 개와 두 그룹을 잇는 단방향 엣지
+    CompactGraph graph = graph("A>B", "A>C", "B>D", "C>D", "D>E", "E>A", "E>B",
+        "P>Q", "Q>R", "R>S", "S>P", "R>P", "S>A", "X>P");
+
+    List<CyclicComponent> components = new StronglyConnectedComponentFinder(graph, Set.of()).findCyclicComponents();
+
+    assertThat(components).hasSize(2);
+    components.forEach(component -> assertClosedPathInside(graph, component));
+  }
+
+  @Test
+  @DisplayName("10만 개 클래스로 이어진 체인도 스택 오버플로 없이 처리해야 한다")
+  void long_chain_does_not_overflow_stack() {
+    // GIVEN: C000000 -> C000001 -> ... -> C099999 -> C000000 인 하나의 긴 순환과, 순환이 없는 같은 길이의 체인
+    int length = 100_000;
+    DependencyGraph dependencyGraph = new DependencyGraph();
+    ClassNode[] cycle = new ClassNode[length];
+    ClassNode[] chain = new ClassNode[length];
+    for (int i = 0; i < length; i++) {
+      cycle[i] = node(dependencyGraph, String.format("C%06d", i));
+      chain[i] = node(dependencyGraph, String.format("L%06d", i));
+      if (i > 0) {
+        dependencyGraph.addDependency(cycle[i - 1], cycle[i]);
+        dependencyGraph.addDependency(chain[i - 1], chain[i]);
+      }
+    }
+    dependencyGraph.addDependency(cycle[length - 1], cycle[0]);
+    CompactGraph graph = dependencyGraph.freeze();
+
+    // WHEN
+    List<CyclicComponent> components = new StronglyConnectedComponentFinder(graph, Set.of()).findCyclicComponents();
+
+    // THEN: 순환 체인만 하나의 그룹이 되고, 대표 경로는 체인 전체를 한 바퀴 돕니다.
+    assertThat(components).hasSize(1);
+    assertThat(components.get(0).getMembers()).hasSize(length);
+    assertThat(components.get(0).getCycle()).hasSize(length + 1);
+    assertClosedPathInside(graph, components.get(0));
+  }
+
+  /**
+   * 대표 순환 경로가 시작 클래스로 닫히고, 모든 클래스가 그룹 구성원이며, 이웃한 두 클래스 사이에 실제 엣지가 있는지 확인합니다.
+   */
+  private static void assertClosedPathInside(CompactGraph graph, CyclicComponent component) {
+    List<String> cycle = component.getCycle();
+    Set<String> members = Set.copyOf(component.getMembers());
+    assertThat(cycle.size()).isGreaterThanOrEqualTo(2);
+    assertThat(cycle.get(cycle.size() - 1)).isEqualTo(cycle.get(0));
+    String brokenStep = null; // 구성원이 아니거나 엣지가 없는 첫 구간
+    for (int i = 0; i + 1 < cycle.size() && brokenStep == null; i++) {
+      if (!members.contains(cycle.get(i)) || !hasEdge(graph, graph.idOf(cycle.get(i)), graph.idOf(cycle.get(i + 1)))) {
+        brokenStep = cycle.get(i) + " -> " + cycle.get(i + 1);
+      }
+    }
+    assertThat(brokenStep).isNull();
+  }
+
+  private static boolean hasEdge(CompactGraph graph, int from, int to) {
+    for (int k = 0; k < graph.dependencyCount(from); k++) {
+      if (graph.dependencyAt(from, k) == to) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static List<List<String>> members(List<CyclicComponent> components) {
+    return components.stream().map(CyclicComponent::getMembers).collect(Collectors.toList());
+  }
+
+  private static CompactGraph graph(String... edges) {
+    DependencyGraph dependencyGraph = new DependencyGraph();
+    for (String edge : edges) {
+      String[] ends = edge.split(">");
+      ClassNode from = node(dependencyGraph, ends[0]);
+      ClassNode to = node(dependencyGraph, ends[1]);
+      dependencyGraph.addDependency(from, to);
+    }
+    return dependencyGraph.freeze();
+  }
+
+  private static ClassNode node(DependencyGraph dependencyGraph, String simpleName) {
+    ClassNode node = dependencyGraph.getNode(fqcn(simpleName));
+    if (node == null) {
+      node = new ClassNode(fqcn(simpleName), simpleName + ".java", PACKAGE);
+      dependencyGraph.addNode(node);
+    }
+    return node;
+  }
+
+  private static String fqcn(String simpleName) {
+    return PACKAGE + "." + simpleName;
+  }
+}
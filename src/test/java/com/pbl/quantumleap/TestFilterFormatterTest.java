@@ -0,0 +1,41 @@
+package com.pbl.quantumleap;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("테스트 필터 형식 변환")
+class TestFilterFormatterTest {
+
+  @Test
+  @DisplayName("Gradle 인자는 중첩 클래스의 '$'를 작은따옴표로 감싸고, 나머지 필터는 그대로 두어야 한다")
+  void gradle_quotes_nested_class_filters() {
+    List<String> filters = List.of("com.example.FooTest#save", "com.example.BarTest$Nested", "com.example.BazTest$Inner#load");
+
+    assertThat(TestFilterFormatter.gradle(filters)).isEqualTo("--tests com.example.FooTest.save"
+        + " --tests 'com.example.BarTest$Nested' --tests 'com.example.BazTest$Inner.load'");
+  }
+
+  @Test
+  @DisplayName("셸이 Gradle 인자를 다시 해석해도 중첩 클래스 이름이 그대로 남아야 한다")
+  void gradle_arguments_survive_shell_evaluation() throws Exception {
+    String arguments = TestFilterFormatter.gradle(List.of("com.example.BarTest$Nested", "com.example.FooTest"));
+
+    // GIVEN: README처럼 eval로 인자를 넘기고, 각 인자를 한 줄씩 출력합니다.
+    Process process = new ProcessBuilder("sh", "-c", "eval printf '%s\\\\n' \"$0\"", arguments).start();
+    String output = new String(process.getInputStream().readAllBytes());
+
+    assertThat(process.waitFor()).isZero();
+    assertThat(output).isEqualTo("--tests\ncom.example.BarTest$Nested\n--tests\ncom.example.FooTest\n");
+  }
+
+  @Test
+  @DisplayName("최상위 테스트 클래스는 메서드와 중첩 클래스를 제외한 이름이어야 한다")
+  void test_class_of_strips_method_and_nested_class() {
+    assertThat(TestFilterFormatter.testClassOf("com.example.FooTest$Nested#save")).isEqualTo("com.example.FooTest");
+    assertThat(TestFilterFormatter.testClassOf("com.example.FooTest")).isEqualTo("com.example.FooTest");
+  }
+}
@@ -0,0 +1,118 @@
+package com.pbl.quantumleap.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("AI 응답 캐시")
+class AiResponseCacheTest {
+
+  private static final String MODEL = "gpt-4.1";
+
+  @TempDir
+  Path cacheDir;
+
+  @Test
+  @DisplayName("같은 프롬프트는 공백 차이와 관계없이 같은 키를, 내용이나 모델이 다르면 다른 키를 만들어야 한다")
+  void key_is_stable_and_whitespace_insensitive() {
+    String prompt = "다음 그래프를 분석해주세요.\n  {\"classes\": [\"A\", \"B\"]}\n";
+
+    assertThat(AiResponseCache.key(MODEL, prompt)).isEqualTo(AiResponseCache.key(MODEL, prompt));
+    assertThat(AiResponseCache.key(MODEL, prompt))
+        .isEqualTo(AiResponseCache.key(MODEL, "  다음 그래프를   분석해주세요.\r\n\t{\"classes\": [\"A\",\n \"B\"]}"));
+    assertThat(AiResponseCache.key(MODEL, prompt))
+        .isNotEqualTo(AiResponseCache.key(MODEL, "다음 그래프를 분석해주세요. {\"classes\": [\"A\", \"C\"]}"));
+    assertThat(AiResponseCache.key(MODEL, prompt)).isNotEqualTo(AiResponseCache.key("gpt-4o", prompt));
+  }
+
+  @Test
+  @DisplayName("저장한 응답은 다시 연 캐시에서도 적중해야 한다")
+  void stored_response_survives_reopen() {
+    String key = AiResponseCache.key(MODEL, "prompt");
+    AiResponseCache.open(cacheDir, AiResponseCache.DEFAULT_TTL, AiResponseCache.DEFAULT_MAX_BYTES).put(key, MODEL, "review");
+
+    AiResponseCache reopened = AiResponseCache.open(cacheDir, AiResponseCache.DEFAULT_TTL, AiResponseCache.DEFAULT_MAX_BYTES);
+
+    assertThat(reopened.get(key)).isEqualTo("review");
+    assertThat(reopened.getHitCount()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("TTL이 지난 항목은 적중하지 않고 파일도 삭제되어야 한다")
+  void expired_entry_misses_and_is_deleted() throws Exception {
+    AiResponseCache cache = AiResponseCache.open(cacheDir, Duration.ofMillis(200), AiResponseCache.DEFAULT_MAX_BYTES);
+    String key = AiResponseCache.key(MODEL, "prompt");
+    cache.put(key, MODEL, "review");
+    assertThat(cache.get(key)).isEqualTo("review");
+
+    Thread.sleep(400);
+
+    assertThat(cache.get(key)).isNull();
+    assertThat(cache.getMissCount()).isEqualTo(1);
+    assertThat(entryFile(key)).isNull();
+  }
+
+  @Test
+  @DisplayName("크기 상한을 넘으면 가장 오래 사용되지 않은 항목부터 삭제해야 한다")
+  void size_limit_evicts_least_recently_used() throws Exception {
+    String response = "r".repeat(1000);
+    AiResponseCache cache = AiResponseCache.open(cacheDir, AiResponseCache.DEFAULT_TTL, 2500); // 항목 2개까지
+    String first = AiResponseCache.key(MODEL, "first");
+    String second = AiResponseCache.key(MODEL, "second");
+    String third = AiResponseCache.key(MODEL, "third");
+    cache.put(first, MODEL, response);
+    cache.put(second, MODEL, response);
+    long now = System.currentTimeMillis();
+    Files.setLastModifiedTime(entryFile(first), FileTime.fromMillis(now - 20_000));
+    Files.setLastModifiedTime(entryFile(second), FileTime.fromMillis(now - 10_000));
+
+    // WHEN: first를 다시 사용한 뒤 세 번째 항목을 저장하면
+    assertThat(cache.get(first)).isEqualTo(response);
+    cache.put(third, MODEL, response);
+
+    // THEN: 가장 오래 사용되지 않은 second만 삭제됩니다.
+    assertThat(cache.get(first)).isEqualTo(response);
+    assertThat(cache.get(second)).isNull();
+    assertThat(cache.get(third)).isEqualTo(response);
+  }
+
+  @Test
+  @DisplayName("만료와 크기 정리는 항목 내용을 읽지 않고 파일 이름과 속성만으로 판단해야 한다")
+  void eviction_uses_file_metadata_only() throws Exception {
+    AiResponseCache cache = AiResponseCache.open(cacheDir, Duration.ofMillis(200), AiResponseCache.DEFAULT_MAX_BYTES);
+    String expired = AiResponseCache.key(MODEL, "expired");
+    String live = AiResponseCache.key(MODEL, "live");
+    cache.put(expired, MODEL, "review");
+    Thread.sleep(400);
+
+    // GIVEN: 내용이 JSON이 아닌 유효 항목 (정리 중에 내용을 읽는다면 손상된 항목으로 삭제됩니다)
+    Path liveFile = cacheDir.resolve(live + "-" + System.currentTimeMillis() + ".json");
+    Files.writeString(liveFile, "not json");
+
+    // WHEN: 캐시를 다시 열면 정리가 실행됩니다.
+    AiResponseCache.open(cacheDir, Duration.ofMillis(200), AiResponseCache.DEFAULT_MAX_BYTES);
+
+    // THEN: 이름의 생성 시각으로 만료된 항목만 삭제되고, 유효 항목은 내용과 관계없이 남습니다.
+    assertThat(entryFile(expired)).isNull();
+    assertThat(Files.exists(liveFile)).isTrue();
+  }
+
+  /**
+   * 키의 항목 파일("키-생성시각.json")을 찾습니다.
+   * @return 없으면 null
+   */
+  private Path entryFile(String key) throws IOException {
+    try (Stream<Path> files = Files.list(cacheDir)) {
+      return files.filter(file -> file.getFileName().toString().startsWith(key + "-")).findFirst().orElse(null);
+    }
+  }
+}
@@ -0,0 +1,57 @@
+package com.pbl.quantumleap.coverage;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("JaCoCo 커버리지 가져오기")
+class JacocoImporterTest {
+
+  @TempDir
+  Path directory;
+
+  /**
+   * 세션 하나짜리 XML 리포트를 만듭니다. 나열한 클래스의 run 메서드는 모두 실행된 것으로 기록됩니다.
+   */
+  private Path report(String sessionId, String... vmClassNames) throws IOException {
+    StringBuilder xml = new StringBuilder("<report name=\"r\"><sessioninfo id=\"" + sessionId + "\"/><package name=\"p\">");
+    for (String className : vmClassNames) {
+      xml.append("<class name=\"").append(className).append("\"><method name=\"run\" desc=\"()V\">")
+          .append("<counter type=\"INSTRUCTION\" missed=\"0\" covered=\"3\"/></method></class>");
+    }
+    xml.append("</package></report>");
+    Path file = directory.resolve(sessionId + ".xml");
+    Files.writeString(file, xml.toString());
+    return file;
+  }
+
+  @Test
+  @DisplayName("패키지 접두사는 패키지 경계에서만 일치하여, 이름이 같은 문자로 시작하는 다른 패키지는 제외해야 한다")
+  void package_prefix_matches_only_on_package_boundary() throws IOException {
+    // GIVEN: com.example과 이름이 겹치는 com.examples 패키지의 클래스
+    Path file = report("com.example.FooTest", "com/example/Foo", "com/example/order/Bar", "com/examples/Baz");
+
+    for (String prefix : new String[] {"com.example", "com.example."}) {
+      JacocoImporter importer = new JacocoImporter(prefix);
+      importer.importXml(file);
+
+      assertThat(importer.getCoverage().get("com.example.FooTest")).containsExactlyInAnyOrder(
+          "com.example.Foo", "com.example.Foo#run()", "com.example.order.Bar", "com.example.order.Bar#run()");
+    }
+  }
+
+  @Test
+  @DisplayName("접두사가 비어 있으면 모든 클래스를 기록해야 한다")
+  void empty_prefix_records_every_class() throws IOException {
+    JacocoImporter importer = new JacocoImporter("");
+    importer.importXml(report("com.example.FooTest", "com/example/Foo", "org/other/Qux"));
+
+    assertThat(importer.getCoverage().get("com.example.FooTest")).contains("com.example.Foo", "org.other.Qux");
+  }
+}
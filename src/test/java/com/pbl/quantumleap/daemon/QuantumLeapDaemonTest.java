@@ -0,0 +1,168 @@
+package com.pbl.quantumleap.daemon;
+
+import com.pbl.quantumleap.SourceParser;
+import com.pbl.quantumleap.WorkerPool;
+import com.pbl.quantumleap.service.OpenAIService;
+import com.pbl.quantumleap.service.QuantumLeapService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 데몬을 임시 소켓으로 띄워, 소켓 요청의 선별 결과가 단발 실행과 같고 파일 변경이 감시로 반영되는지 확인합니다.
+ * 감시 중에 파일을 추가하므로 픽스처(fixtures/member-impact)를 임시 디렉토리에 복사해서 사용합니다.
+ */
+@DisplayName("상주 데몬")
+class QuantumLeapDaemonTest {
+
+  private static final Path FIXTURE = Paths.get("src/test/resources/fixtures/member-impact").toAbsolutePath();
+  private static final String CALCULATOR = "src/main/java/com/example/shop/PriceCalculator.java";
+  private static final long WAIT_MILLIS = 10_000; // 감시 이벤트 반영을 기다리는 최대 시간 (디바운스 200ms)
+
+  @TempDir
+  Path projectRoot;
+
+  @TempDir
+  Path socketDirectory;
+
+  private Path socket;
+  private WorkerPool workerPool;
+  private QuantumLeapDaemon daemon;
+  private CompletableFuture<Void> server;
+  private DaemonClient client;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    copyFixture();
+    socket = socketDirectory.resolve("daemon.sock");
+    workerPool = new WorkerPool(2);
+    daemon = new QuantumLeapDaemon(projectRoot.resolve("src/main/java"), projectRoot.resolve("src/test/java"),
+        newService(), new SourceParser(workerPool, "com.example", null));
+    daemon.start();
+    server = CompletableFuture.runAsync(() -> {
+      try {
+        daemon.serve(socket);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    });
+    client = new DaemonClient(socket);
+    // 소켓 파일은 bind 시점에 생기고 listen은 그 뒤이므로, 파일이 아니라 실제 요청이 성공할 때까지 기다립니다.
+    awaitCondition(() -> {
+      try {
+        client.send(request(DaemonRequest.STATUS, null));
+        return true;
+      } catch (IOException e) {
+        return false;
+      }
+    });
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    daemon.close();
+    workerPool.close();
+  }
+
+  @Test
+  @DisplayName("소켓으로 보낸 select 요청은 단발 실행의 선별 결과와 같아야 한다")
+  void select_over_socket_matches_service() throws IOException {
+    // WHEN
+    DaemonResponse response = client.send(request(DaemonRequest.SELECT, Set.of(CALCULATOR)));
+
+    // THEN
+    assertThat(response.getError()).isNull();
+    assertThat(response.getChangedClasses()).containsExactly("com.example.shop.PriceCalculator");
+    assertThat(response.getTestsWithPaths()).containsKey("com.example.shop.PriceCalculatorTest");
+    assertThat(response.getTestsWithPaths()).isEqualTo(newService().selectTests(Set.of(CALCULATOR)).getTestsWithPaths());
+  }
+
+  @Test
+  @DisplayName("새 테스트 파일을 추가하면 감시로 다시 분석하여 다음 선별에 포함해야 한다")
+  void new_test_file_is_picked_up_by_watcher() throws Exception {
+    // GIVEN
+    long refreshCount = client.send(request(DaemonRequest.STATUS, null)).getRefreshCount();
+    int fileCount = client.send(request(DaemonRequest.STATUS, null)).getFileCount();
+
+    // WHEN: 감시 중인 테스트 디렉토리에 PriceCalculator를 사용하는 테스트를 추가
+    Files.writeString(projectRoot.resolve("src/test/java/com/example/shop/PriceCalculatorRoundingTest.java"),
+        "package com.example.shop;\n\n"
+            + "import org.junit.jupiter.api.Test;\n\n"
+            + "class PriceCalculatorRoundingTest {\n\n"
+            + "  @Test\n"
+            + "  void rounding() {\n"
+            + "    new PriceCalculator().total(99);\n"
+            + "  }\n"
+            + "}\n");
+    awaitCondition(() -> daemon.status().getRefreshCount() > refreshCount);
+
+    // THEN
+    DaemonResponse status = client.send(request(DaemonRequest.STATUS, null));
+    assertThat(status.getRefreshCount()).isGreaterThan(refreshCount);
+    assertThat(status.getFileCount()).isEqualTo(fileCount + 1);
+    DaemonResponse response = client.send(request(DaemonRequest.SELECT, Set.of(CALCULATOR)));
+    assertThat(response.getTestsWithPaths()).containsKey("com.example.shop.PriceCalculatorRoundingTest");
+  }
+
+  @Test
+  @DisplayName("shutdown 요청을 받으면 요청 대기를 끝내고 소켓 파일을 지워야 한다")
+  void shutdown_removes_socket() throws Exception {
+    DaemonResponse response = client.send(request(DaemonRequest.SHUTDOWN, null));
+
+    assertThat(response.getError()).isNull();
+    server.get(WAIT_MILLIS, TimeUnit.MILLISECONDS);
+    assertThat(Files.exists(socket)).isFalse();
+  }
+
+  private QuantumLeapService newService() {
+    return new QuantumLeapService(projectRoot.resolve("src/main/java").toString(),
+        projectRoot.resolve("src/test/java").toString(), "com.example", new OpenAIService(null, null));
+  }
+
+  private static DaemonRequest request(String command, Set<String> changes) {
+    DaemonRequest request = new DaemonRequest();
+    request.setCommand(command);
+    request.setChanges(changes);
+    return request;
+  }
+
+  private void copyFixture() throws IOException {
+    List<Path> files;
+    try (Stream<Path> walk = Files.walk(FIXTURE)) {
+      files = walk.filter(Files::isRegularFile).collect(Collectors.toList());
+    }
+    for (Path file : files) {
+      Path target = projectRoot.resolve(FIXTURE.relativize(file).toString());
+      Files.createDirectories(target.getParent());
+      Files.copy(file, target);
+    }
+  }
+
+  private interface Condition {
+    boolean met() throws Exception;
+  }
+
+  private static void awaitCondition(Condition condition) throws Exception {
+    long deadline = System.currentTimeMillis() + WAIT_MILLIS;
+    while (!condition.met()) {
+      assertThat(System.currentTimeMillis()).as("대기 시간 초과").isLessThan(deadline);
+      Thread.sleep(50);
+    }
+  }
+}
@@ -0,0 +1,108 @@
+package com.pbl.quantumleap.history;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 같은 테스트 실행(바깥 클래스 1초 + @Nested 클래스 2초)을 Surefire와 Gradle의 리포트 형식으로 가져와
+ * 각 타입의 실행 시간이 한 번씩만 반영되는지 확인합니다.
+ */
+@DisplayName("JUnit XML 리포트 가져오기")
+class JUnitReportImporterTest {
+
+  private static final String TIMESTAMP = "2026-10-18T10:00:00";
+
+  @TempDir
+  Path reports;
+
+  private final TestHistory history = new TestHistory();
+
+  private Path write(String fileName, String xml) throws IOException {
+    Path file = reports.resolve(fileName);
+    Files.writeString(file, xml);
+    return file;
+  }
+
+  @Test
+  @DisplayName("Surefire처럼 바깥 testsuite에 @Nested 클래스의 testcase가 함께 있으면 중첩 클래스를 따로 기록하고 한 번만 더해야 한다")
+  void nested_testcases_inside_outer_suite_are_counted_once() throws IOException {
+    // GIVEN: 바깥 testsuite 시간(3초)에 중첩 클래스의 테스트 시간(2초)이 포함된 리포트
+    Path file = write("TEST-com.example.FooTest.xml", "<testsuite name=\"com.example.FooTest\" time=\"3.0\" timestamp=\"" + TIMESTAMP + "\">"
+        + "<testcase classname=\"com.example.FooTest\" name=\"saves()\" time=\"0.9\"/>"
+        + "<testcase classname=\"com.example.FooTest$WhenEmpty\" name=\"rejects()\" time=\"1.5\"><failure/></testcase>"
+        + "<testcase classname=\"com.example.FooTest$WhenEmpty\" name=\"warns()\" time=\"0.5\"/>"
+        + "</testsuite>");
+
+    new JUnitReportImporter(history).importReport(file);
+
+    // THEN: 바깥 클래스는 자기 시간(1초)만, 중첩 클래스는 자기 테스트 시간(2초)을 가지고, 클래스 전체는 3초입니다.
+    assertThat(history.get("com.example.FooTest").getDurationMillis()).isEqualTo(1000.0);
+    assertThat(history.get("com.example.FooTest$WhenEmpty").getDurationMillis()).isEqualTo(2000.0);
+    assertThat(history.classMillis("com.example.FooTest")).isEqualTo(3000.0);
+    // 실패는 실패한 테스트가 속한 타입에만 기록됩니다.
+    assertThat(history.get("com.example.FooTest").isLastFailed()).isFalse();
+    assertThat(history.get("com.example.FooTest$WhenEmpty").isLastFailed()).isTrue();
+    assertThat(history.get("com.example.FooTest$WhenEmpty#rejects").isLastFailed()).isTrue();
+  }
+
+  @Test
+  @DisplayName("Gradle처럼 @Nested 클래스가 별도 testsuite이면 Surefire 형식과 같은 클래스 시간을 가져야 한다")
+  void nested_suite_in_separate_report_gives_same_class_time() throws IOException {
+    write("TEST-com.example.FooTest.xml", "<testsuite name=\"com.example.FooTest\" time=\"1.0\" timestamp=\"" + TIMESTAMP + "\">"
+        + "<testcase classname=\"com.example.FooTest\" name=\"saves()\" time=\"0.9\"/></testsuite>");
+    write("TEST-com.example.FooTest$WhenEmpty.xml", "<testsuite name=\"com.example.FooTest$WhenEmpty\" time=\"2.0\" timestamp=\""
+        + TIMESTAMP + "\">"
+        + "<testcase classname=\"com.example.FooTest$WhenEmpty\" name=\"rejects()\" time=\"1.5\"><failure/></testcase>"
+        + "<testcase classname=\"com.example.FooTest$WhenEmpty\" name=\"warns()\" time=\"0.5\"/>"
+        + "</testsuite>");
+
+    new JUnitReportImporter(history).importPath(reports);
+
+    assertThat(history.classMillis("com.example.FooTest")).isEqualTo(3000.0);
+    assertThat(history.classMillis("com.example.FooTest$WhenEmpty")).isEqualTo(2000.0);
+  }
+
+  @Test
+  @DisplayName("바깥 testsuite와 @Nested 클래스의 testsuite에 같은 테스트가 모두 있으면 한 번만 기록해야 한다")
+  void nested_testcases_reported_twice_are_counted_once() throws IOException {
+    // GIVEN: 바깥 리포트에도 중첩 클래스의 testcase가 있고, 중첩 클래스의 리포트가 따로 있으며 실행 시각도 다른 경우
+    write("TEST-com.example.FooTest.xml", "<testsuite name=\"com.example.FooTest\" time=\"3.0\" timestamp=\"" + TIMESTAMP + "\">"
+        + "<testcase classname=\"com.example.FooTest\" name=\"saves()\" time=\"0.9\"/>"
+        + "<testcase classname=\"com.example.FooTest$WhenEmpty\" name=\"rejects()\" time=\"2.0\"/>"
+        + "</testsuite>");
+    write("TEST-com.example.FooTest$WhenEmpty.xml", "<testsuite name=\"com.example.FooTest$WhenEmpty\" time=\"2.0\""
+        + " timestamp=\"2026-10-18T10:00:01\">"
+        + "<testcase classname=\"com.example.FooTest$WhenEmpty\" name=\"rejects()\" time=\"2.0\"/>"
+        + "</testsuite>");
+
+    JUnitReportImporter importer = new JUnitReportImporter(history);
+    importer.importPath(reports);
+
+    // THEN: 중첩 클래스와 그 메서드는 한 번의 실행으로, 클래스 전체는 3초로 기록됩니다.
+    assertThat(importer.getRecordedCount()).isEqualTo(4); // FooTest, FooTest#saves, FooTest$WhenEmpty, FooTest$WhenEmpty#rejects
+    assertThat(history.get("com.example.FooTest$WhenEmpty").getRuns()).isEqualTo(1.0);
+    assertThat(history.get("com.example.FooTest$WhenEmpty#rejects").getRuns()).isEqualTo(1.0);
+    assertThat(history.classMillis("com.example.FooTest")).isEqualTo(3000.0);
+  }
+
+  @Test
+  @DisplayName("클래스 전체의 실패 확률은 바깥 클래스와 중첩 클래스를 한 번씩 반영해야 한다")
+  void class_failure_rate_combines_each_type_once() {
+    history.record("com.example.FooTest", 1000, false, TIMESTAMP);
+    history.record("com.example.FooTest$WhenEmpty", 2000, true, TIMESTAMP);
+    history.record("com.example.FooTest$WhenEmpty#rejects", 1500, true, TIMESTAMP);
+
+    double expected = 1 - (1 - history.failureRate("com.example.FooTest"))
+        * (1 - history.failureRate("com.example.FooTest$WhenEmpty"));
+    assertThat(history.classFailureRate("com.example.FooTest")).isBetween(expected - 1e-9, expected + 1e-9);
+    double nested = history.failureRate("com.example.FooTest$WhenEmpty");
+    assertThat(history.classFailureRate("com.example.FooTest$WhenEmpty")).isBetween(nested - 1e-9, nested + 1e-9);
+  }
+}
@@ -0,0 +1,105 @@
+package com.pbl.quantumleap.metrics;
+
+import com.pbl.quantumleap.service.AiReviewMode;
+import com.pbl.quantumleap.service.AiReviewOptions;
+import com.pbl.quantumleap.service.OpenAIService;
+import com.pbl.quantumleap.service.QuantumLeapService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("단계별 CPU 시간/할당량 측정")
+class InstrumentationTest {
+
+  private static final long BUSY_CPU_NANOS = 200_000_000L;
+  private static final int ALLOCATED_MEGABYTES = 32;
+
+  private static volatile Object sink; // 할당이 최적화로 사라지지 않도록 붙잡아 둡니다.
+
+  /**
+   * 현재 스레드에서 CPU 시간 BUSY_CPU_NANOS만큼 계산하고 ALLOCATED_MEGABYTES만큼 할당합니다.
+   */
+  private static void work() {
+    ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+    List<byte[]> chunks = new ArrayList<>();
+    for (int i = 0; i < ALLOCATED_MEGABYTES; i++) {
+      chunks.add(new byte[1024 * 1024]);
+    }
+    sink = chunks;
+    long start = threadMXBean.getCurrentThreadCpuTime();
+    long x = 0;
+    while (threadMXBean.getCurrentThreadCpuTime() - start < BUSY_CPU_NANOS) {
+      for (int i = 0; i < 10_000; i++) {
+        x += i * 31L ^ x;
+      }
+    }
+    sink = x;
+  }
+
+  @Test
+  @DisplayName("워커 스레드의 CPU 시간과 할당량은 작업이 실행된 단계에만 기록되어야 한다")
+  void worker_usage_is_attributed_to_its_phase() throws Exception {
+    Instrumentation instrumentation = new Instrumentation();
+    ExecutorService worker = Executors.newSingleThreadExecutor(); // 두 단계 내내 살아 있는 워커 스레드
+    try {
+      worker.submit(() -> { }).get(); // 스레드를 미리 만들어 둡니다.
+
+      // WHEN: 첫 단계에서만 워커가 일하고, 두 번째 단계는 기다리기만 합니다.
+      Instrumentation.Phase busyPhase = instrumentation.start();
+      worker.submit(InstrumentationTest::work).get();
+      PhaseMetrics busy = busyPhase.count("tasks", 1).end("busy");
+
+      Instrumentation.Phase idlePhase = instrumentation.start();
+      Thread.sleep(200);
+      PhaseMetrics idle = idlePhase.end("idle");
+
+      // THEN
+      assertThat(instrumentation.getPhases()).containsExactly(busy, idle);
+      assertThat(busy.getCpuNanos()).isGreaterThanOrEqualTo(BUSY_CPU_NANOS);
+      assertThat(busy.getAllocatedBytes()).isGreaterThanOrEqualTo(ALLOCATED_MEGABYTES * 1024L * 1024);
+      assertThat(idle.getCpuNanos()).isNotNegative();
+      assertThat(idle.getCpuNanos()).isLessThan(BUSY_CPU_NANOS / 4);
+      assertThat(idle.getAllocatedBytes()).isNotNegative();
+      assertThat(idle.getAllocatedBytes()).isLessThan(ALLOCATED_MEGABYTES * 1024L * 1024 / 4);
+      assertThat(busy.getCounters()).containsEntry("tasks", 1L);
+      assertThat(idle.getWallNanos()).isGreaterThanOrEqualTo(200_000_000L);
+    } finally {
+      worker.shutdownNow();
+    }
+  }
+
+  @Test
+  @DisplayName("분석 단계의 측정값은 모두 0 이상이고, 스캔/파싱 단계에 파일 수가 기록되어야 한다")
+  void service_phases_are_non_negative() throws Exception {
+    Path fixture = Paths.get("src/test/resources/fixtures/fqcn-precision").toAbsolutePath();
+    AiReviewOptions aiReviewOptions = new AiReviewOptions();
+    aiReviewOptions.setMode(AiReviewMode.OFF);
+    QuantumLeapService service = new QuantumLeapService(fixture.resolve("src/main/java").toString(),
+        fixture.resolve("src/test/java").toString(), "com.example", new OpenAIService(null, null), 2, null, aiReviewOptions);
+
+    service.selectTests(Set.of("src/main/java/com/example/order/Mapper.java"));
+
+    List<String> phaseNames = new ArrayList<>();
+    for (PhaseMetrics phase : service.getPhaseMetrics()) {
+      phaseNames.add(phase.getPhase());
+      assertThat(phase.getWallNanos()).as(phase.getPhase()).isNotNegative();
+      assertThat(phase.getCpuNanos()).as(phase.getPhase()).isNotNegative();
+      assertThat(phase.getAllocatedBytes()).as(phase.getPhase()).isNotNegative();
+      if (phase.getPhase().equals("소스/테스트 스캔") || phase.getPhase().equals("파싱")) {
+        assertThat(phase.getCounters()).containsEntry("files", 8L);
+      }
+    }
+    assertThat(phaseNames).contains("소스/테스트 스캔", "파싱", "순환 참조 분석", "테스트 선별");
+  }
+}
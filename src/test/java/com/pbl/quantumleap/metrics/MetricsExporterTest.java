@@ -0,0 +1,81 @@
+package com.pbl.quantumleap.metrics;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("단계별 측정 결과 내보내기")
+class MetricsExporterTest {
+
+  private static List<PhaseMetrics> phases() {
+    Map<String, Long> parseCounters = new LinkedHashMap<>();
+    parseCounters.put("files", 10L);
+    parseCounters.put("classes", 8L);
+    return List.of(
+        new PhaseMetrics("파싱", 1_500_000_000L, 3_000_000_000L, 1_048_576L, parseCounters),
+        // CPU 시간/할당량을 측정할 수 없는 JVM(-1), 이름에 따옴표가 있는 단계
+        new PhaseMetrics("AI \"분석\"", 250_000_000L, -1, -1, Map.of()));
+  }
+
+  private static String export(MetricsFormat format) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    new MetricsExporter().write(phases(), format, out);
+    return out.toString(StandardCharsets.UTF_8);
+  }
+
+  @Test
+  @DisplayName("Prometheus 텍스트는 단계별 샘플을 레이블로 구분하고, 측정하지 못한 값은 내보내지 않아야 한다")
+  void prometheus_text_has_one_sample_per_phase() throws IOException {
+    String text = export(MetricsFormat.PROMETHEUS);
+
+    assertThat(text).contains("# TYPE quantumleap_phase_wall_seconds gauge\n");
+    assertThat(text).contains("quantumleap_phase_wall_seconds{phase=\"파싱\"} 1.500000\n");
+    assertThat(text).contains("quantumleap_phase_wall_seconds{phase=\"AI \\\"분석\\\"\"} 0.250000\n");
+    assertThat(text).contains("quantumleap_phase_cpu_seconds{phase=\"파싱\"} 3\n");
+    assertThat(text).contains("quantumleap_phase_allocated_bytes{phase=\"파싱\"} 1048576\n");
+    assertThat(text).contains("quantumleap_phase_items{phase=\"파싱\",item=\"files\"} 10\n");
+    assertThat(text).contains("quantumleap_phase_items{phase=\"파싱\",item=\"classes\"} 8\n");
+    assertThat(text).doesNotContain("quantumleap_phase_cpu_seconds{phase=\"AI");
+    assertThat(text).doesNotContain("quantumleap_phase_allocated_bytes{phase=\"AI");
+    assertThat(text).matches("(?s).*\nquantumleap_heap_peak_bytes [0-9]+\n");
+    // 주석이 아닌 줄은 모두 "이름{레이블} 값" 또는 "이름 값" 형식입니다.
+    for (String line : text.split("\n")) {
+      if (!line.startsWith("#")) {
+        assertThat(line).matches("quantumleap_[a-z_]+(\\{.*\\})? [0-9.]+");
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("JSON 요약은 단계별 값과 처리 속도, 전체 실행 시간을 담아야 한다")
+  void json_summary_has_phase_values() throws IOException {
+    JsonNode root = new ObjectMapper().readTree(export(MetricsFormat.JSON));
+
+    JsonNode parse = root.get("phases").get(0);
+    assertThat(parse.get("phase").asText()).isEqualTo("파싱");
+    assertThat(parse.get("wallMillis").asDouble()).isEqualTo(1500.0);
+    assertThat(parse.get("cpuMillis").asDouble()).isEqualTo(3000.0);
+    assertThat(parse.get("allocatedBytes").asLong()).isEqualTo(1_048_576L);
+    assertThat(parse.get("counts").get("files").asLong()).isEqualTo(10L);
+    assertThat(parse.get("filesPerSecond").asLong()).isEqualTo(7L);
+
+    JsonNode ai = root.get("phases").get(1);
+    assertThat(ai.get("phase").asText()).isEqualTo("AI \"분석\"");
+    assertThat(ai.has("cpuMillis")).isFalse();
+    assertThat(ai.has("allocatedBytes")).isFalse();
+    assertThat(ai.has("filesPerSecond")).isFalse();
+
+    assertThat(root.get("totalWallMillis").asDouble()).isEqualTo(1750.0);
+    assertThat(root.get("heapPeakBytes").asLong()).isPositive();
+  }
+}
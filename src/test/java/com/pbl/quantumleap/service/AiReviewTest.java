@@ -0,0 +1,243 @@
+package com.pbl.quantumleap.service;
+
+import com.pbl.quantumleap.AnalysisResult;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 로컬 스텁 HTTP 서버로 OpenAI API를 대신하여, 느린 응답과 실패 응답에서도 테스트 선별이 AI 호출을 기다리지 않는지 확인합니다.
+ */
+@DisplayName("AI 아키텍처 리뷰 비동기 실행")
+class AiReviewTest {
+
+  private static final Path FIXTURE = Paths.get("src/test/resources/fixtures/fqcn-precision").toAbsolutePath();
+  private static final String CHANGED_FILE = "src/main/java/com/example/order/Mapper.java";
+  private static final String SUCCESS_BODY = "{\"choices\":[{\"message\":{\"content\":\"특별한 아키텍처 문제점은 발견되지 않았습니다.\"}}]}";
+
+  private HttpServer server;
+  private ExecutorService serverExecutor;
+  private final AtomicInteger requestCount = new AtomicInteger();
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final AtomicInteger maxInFlight = new AtomicInteger(); // 동시에 처리 중이던 요청 수의 최댓값
+  private final CountDownLatch release = new CountDownLatch(1); // 느린 응답이 기다리는 신호
+  private volatile int responseStatus = 200;
+  private volatile boolean slow;
+  private volatile long delayMillis;
+  private PrintStream originalErr;
+  private ByteArrayOutputStream capturedErr;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    serverExecutor = Executors.newCachedThreadPool();
+    server.setExecutor(serverExecutor);
+    server.createContext("/v1/chat/completions", this::handle);
+    server.start();
+
+    originalErr = System.err;
+    capturedErr = new ByteArrayOutputStream();
+    System.setErr(new PrintStream(capturedErr, true, StandardCharsets.UTF_8));
+  }
+
+  @AfterEach
+  void tearDown() {
+    System.setErr(originalErr);
+    release.countDown();
+    server.stop(0);
+    serverExecutor.shutdownNow();
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    requestCount.incrementAndGet();
+    maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+    try {
+      exchange.getRequestBody().readAllBytes();
+      if (slow) {
+        release.await(30, TimeUnit.SECONDS);
+      }
+      Thread.sleep(delayMillis);
+      byte[] body = (responseStatus == 200 ? SUCCESS_BODY : "{\"error\":\"internal\"}").getBytes(StandardCharsets.UTF_8);
+      exchange.sendResponseHeaders(responseStatus, body.length);
+      try (OutputStream out = exchange.getResponseBody()) {
+        out.write(body);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      inFlight.decrementAndGet();
+    }
+  }
+
+  private QuantumLeapService service(AiReviewMode mode, Duration aiTimeout) {
+    AiReviewOptions options = new AiReviewOptions();
+    options.setMode(mode);
+    options.setTimeout(aiTimeout);
+    return service(options);
+  }
+
+  /**
+   * 그래프를 클래스 하나씩(소스 클래스 4개 → 조각 4개) 나누어 요청하도록 토큰 예산을 최소로 줄인 설정입니다.
+   */
+  private static AiReviewOptions chunkedOptions(Duration aiTimeout, int maxConcurrentRequests) {
+    AiReviewOptions options = new AiReviewOptions();
+    options.setMode(AiReviewMode.BLOCKING);
+    options.setTimeout(aiTimeout);
+    options.setTokenBudget(1);
+    options.setMaxConcurrentRequests(maxConcurrentRequests);
+    return options;
+  }
+
+  private QuantumLeapService service(AiReviewOptions options) {
+    OpenAIService openAIService = new OpenAIService(
+        "http://127.0.0.1:" + server.getAddress().getPort() + "/v1/chat/completions", "test-key", Duration.ofSeconds(30));
+    return new QuantumLeapService(FIXTURE.resolve("src/main/java").toString(), FIXTURE.resolve("src/test/java").toString(),
+        "com.example", openAIService, 2, null, options);
+  }
+
+  @Test
+  @DisplayName("async 모드에서는 AI 응답이 오기 전에 테스트 선별 결과를 반환해야 한다")
+  void async_selection_does_not_wait_for_ai() throws Exception {
+    // GIVEN: 신호를 줄 때까지 응답하지 않는 API
+    slow = true;
+    QuantumLeapService service = service(AiReviewMode.ASYNC, Duration.ofSeconds(30));
+
+    // WHEN
+    AnalysisResult result = service.selectTests(Set.of(CHANGED_FILE));
+
+    // THEN: 선별은 끝났고 AI 리뷰는 아직 진행 중이어야 합니다.
+    assertThat(result.getTestsWithPaths().keySet()).containsExactlyInAnyOrder(
+        "com.example.order.MapperTest", "com.example.order.OrderServiceTest");
+    assertThat(result.getAiReview().isDone()).isFalse();
+
+    // 응답이 오면 리뷰가 정상 완료로 기록됩니다.
+    release.countDown();
+    assertThat(result.getAiReview().get(10, TimeUnit.SECONDS)).contains("특별한 아키텍처 문제점은 발견되지 않았습니다.");
+    assertThat(capturedErr.toString(StandardCharsets.UTF_8)).contains("✅ AI 분석 완료");
+  }
+
+  @Test
+  @DisplayName("응답이 제한 시간을 넘기면 시간 초과 안내로 완료되고, 완료가 아닌 시간 초과로 기록해야 한다")
+  void slow_response_hits_timeout() throws Exception {
+    slow = true;
+    QuantumLeapService service = service(AiReviewMode.BLOCKING, Duration.ofMillis(300));
+
+    long start = System.nanoTime();
+    AnalysisResult result = service.selectTests(Set.of(CHANGED_FILE));
+    long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+    // blocking 모드라도 제한 시간만큼만 기다립니다. (스텁은 신호 전까지 응답하지 않음)
+    assertThat(elapsedMillis).isLessThan(10_000);
+    assertThat(result.getAiReview().isDone()).isTrue();
+    assertThat(result.getAiArchitectureSuggestions()).contains("제한 시간");
+    String log = capturedErr.toString(StandardCharsets.UTF_8);
+    assertThat(log).contains("⏰ AI 분석 시간 초과");
+    assertThat(log).doesNotContain("✅ AI 분석 완료");
+  }
+
+  @Test
+  @DisplayName("요청 한 건의 제한 시간이 지나면 실패한 응답으로 완료해야 한다")
+  void request_timeout_completes_as_failure() throws Exception {
+    slow = true;
+    OpenAIService openAIService = new OpenAIService(
+        "http://127.0.0.1:" + server.getAddress().getPort() + "/v1/chat/completions", "test-key", Duration.ofMillis(300));
+
+    OpenAIService.Review review = openAIService.reviewAsync("prompt").get(10, TimeUnit.SECONDS);
+
+    assertThat(review.isFailed()).isTrue();
+    assertThat(review.getContent()).contains("제한 시간");
+  }
+
+  @Test
+  @DisplayName("HTTP 500 응답은 오류 안내로 완료되고, 실패로 기록해야 한다")
+  void http_500_is_reported_as_failure() throws Exception {
+    responseStatus = 500;
+    QuantumLeapService service = service(AiReviewMode.BLOCKING, Duration.ofSeconds(10));
+
+    AnalysisResult result = service.selectTests(Set.of(CHANGED_FILE));
+
+    assertThat(result.getTestsWithPaths().keySet()).hasSize(2);
+    assertThat(result.getAiArchitectureSuggestions()).contains("상태 코드: 500");
+    String log = capturedErr.toString(StandardCharsets.UTF_8);
+    assertThat(log).contains("⚠️ AI 분석 실패");
+    assertThat(log).doesNotContain("✅ AI 분석 완료");
+  }
+
+  @Test
+  @DisplayName("--ai=off면 API를 호출하지 않아야 한다")
+  void ai_off_skips_request() throws Exception {
+    QuantumLeapService service = service(AiReviewMode.OFF, Duration.ofSeconds(10));
+
+    AnalysisResult result = service.selectTests(Set.of(CHANGED_FILE));
+
+    assertThat(result.getTestsWithPaths().keySet()).hasSize(2);
+    assertThat(result.getAiReview().isDone()).isTrue();
+    assertThat(result.getAiArchitectureSuggestions()).contains("--ai=off");
+    assertThat(requestCount.get()).isZero();
+  }
+
+  @Test
+  @DisplayName("--ai-scope=diff에서 리뷰할 변경 클래스가 없으면 API를 호출하지 않아야 한다")
+  void diff_scope_without_changed_classes_skips_request() throws Exception {
+    AiReviewOptions options = new AiReviewOptions();
+    options.setMode(AiReviewMode.BLOCKING);
+    options.setScope(AiPromptScope.DIFF);
+    QuantumLeapService service = service(options);
+
+    // GIVEN: 테스트 파일만 바뀐 변경 (테스트 클래스는 AI 입력에서 제외됩니다)
+    AnalysisResult result = service.selectTests(Set.of("src/test/java/com/example/order/MapperTest.java"));
+
+    assertThat(result.getAiReview().isDone()).isTrue();
+    assertThat(result.getAiArchitectureSuggestions()).contains("리뷰할 변경 클래스가 없습니다");
+    assertThat(requestCount.get()).isZero();
+  }
+
+  @Test
+  @DisplayName("나누어 보내는 조각 요청은 최대 동시 요청 수를 넘지 않아야 한다")
+  void chunk_requests_respect_concurrency_limit() throws Exception {
+    delayMillis = 150;
+    QuantumLeapService service = service(chunkedOptions(Duration.ofSeconds(10), 2));
+
+    AnalysisResult result = service.selectTests(Set.of(CHANGED_FILE));
+
+    assertThat(result.getAiArchitectureSuggestions()).contains("### 분석 범위 4/4");
+    assertThat(requestCount.get()).isEqualTo(4);
+    assertThat(maxInFlight.get()).isLessThanOrEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("제한 시간이 지나면 남은 조각은 보내지 않고 진행 중인 요청을 취소해야 한다")
+  void timeout_cancels_remaining_chunk_requests() throws Exception {
+    slow = true;
+    QuantumLeapService service = service(chunkedOptions(Duration.ofMillis(300), 1));
+
+    AnalysisResult result = service.selectTests(Set.of(CHANGED_FILE));
+    assertThat(result.getAiArchitectureSuggestions()).contains("제한 시간");
+
+    // 첫 번째 조각이 취소된 뒤에도 나머지 조각은 전송되지 않아야 합니다.
+    Thread.sleep(500);
+    assertThat(requestCount.get()).isEqualTo(1);
+    assertThat(capturedErr.toString(StandardCharsets.UTF_8)).contains("진행 중인 요청 1개 취소");
+  }
+}
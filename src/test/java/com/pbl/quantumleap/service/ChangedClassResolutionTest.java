@@ -0,0 +1,65 @@
+package com.pbl.quantumleap.service;
+
+import com.pbl.quantumleap.AnalysisResult;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 변경 파일 경로를 FQCN으로 변환할 때, 다른 패키지의 같은 이름 클래스로 영향이 번지지 않는지 확인합니다.
+ * 픽스처(fixtures/fqcn-precision)에는 com.example.order.Mapper와 com.example.user.Mapper가 있고, 각 패키지에 Mapper를 쓰는
+ * 서비스와 테스트 두 개씩, 모두 4개의 테스트가 있습니다.
+ */
+@DisplayName("변경 클래스 FQCN 변환 정확도")
+class ChangedClassResolutionTest {
+
+  private static final Path FIXTURE = Paths.get("src/test/resources/fixtures/fqcn-precision").toAbsolutePath();
+
+  private final QuantumLeapService service = new QuantumLeapService(FIXTURE.resolve("src/main/java").toString(),
+      FIXTURE.resolve("src/test/java").toString(), "com.example", new OpenAIService(null, null));
+
+  @Test
+  @DisplayName("변경 파일 경로는 그 패키지의 클래스로만 변환되어, 단순 이름 기준보다 적은 테스트를 선별해야 한다")
+  void changed_path_selects_only_tests_of_its_package() throws IOException {
+    // 변경 전 방식: 단순 이름으로는 두 패키지의 Mapper가 모두 변경된 것으로 보고 테스트 4개를 모두 선별합니다.
+    AnalysisResult bySimpleName = service.selectTests(Set.of("Mapper"));
+    assertThat(bySimpleName.getTestsWithPaths().keySet()).containsExactlyInAnyOrder(
+        "com.example.order.MapperTest", "com.example.order.OrderServiceTest",
+        "com.example.user.MapperTest", "com.example.user.UserServiceTest");
+
+    // 변경 후 방식: git diff가 보고하는 파일 경로는 com.example.order.Mapper 하나로 변환됩니다.
+    AnalysisResult byPath = service.selectTests(Set.of("src/main/java/com/example/order/Mapper.java"));
+    assertThat(byPath.getChangedClasses()).containsExactly("com.example.order.Mapper");
+    assertThat(byPath.getTestsWithPaths().keySet()).containsExactlyInAnyOrder(
+        "com.example.order.MapperTest", "com.example.order.OrderServiceTest");
+  }
+
+  @Test
+  @DisplayName("삭제된 파일은 경로로 만든 FQCN으로 남고, 다른 패키지의 같은 이름 클래스를 선택하지 않아야 한다")
+  void deleted_file_does_not_fall_back_to_simple_name() throws IOException {
+    // GIVEN: 픽스처에 없는 com.example.billing.Mapper (삭제된 파일)
+    AnalysisResult result = service.selectTests(Set.of("src/main/java/com/example/billing/Mapper.java"));
+
+    // THEN: order/user 패키지의 Mapper로 번지지 않아야 합니다.
+    assertThat(result.getChangedClasses()).containsExactly("com.example.billing.Mapper");
+    assertThat(result.getTestsWithPaths().keySet()).isEmpty();
+  }
+
+  @Test
+  @DisplayName("절대 경로와 테스트 디렉토리의 파일도 루트 기준 FQCN으로 변환해야 한다")
+  void absolute_and_test_paths_are_resolved_against_roots() throws IOException {
+    AnalysisResult absolute = service.selectTests(
+        Set.of(FIXTURE.resolve("src/main/java/com/example/user/Mapper.java").toString()));
+    assertThat(absolute.getChangedClasses()).containsExactly("com.example.user.Mapper");
+
+    AnalysisResult deletedTest = service.selectTests(Set.of("src/test/java/com/example/user/RemovedTest.java"));
+    assertThat(deletedTest.getChangedClasses()).containsExactly("com.example.user.RemovedTest");
+    assertThat(deletedTest.getTestsWithPaths().keySet()).isEmpty();
+  }
+}
@@ -0,0 +1,92 @@
+package com.pbl.quantumleap.service;
+
+import com.pbl.quantumleap.AnalysisResult;
+import com.pbl.quantumleap.cache.AnalysisCache;
+import com.pbl.quantumleap.synthetic.SyntheticProjectGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 힙 상한을 둔 JVM에서 합성 대형 프로젝트를 분석 캐시와 함께 끝까지 분석할 수 있는지 확인합니다.
+ * 힙이 부족하면 OutOfMemoryError로 실패합니다. 일반 test 작업에서는 제외되고, ./gradlew graphMemoryTest(check에 포함)가
+ * 힙 상한(-PgraphMemoryHeap, 기본값 512m)과 클래스 수(-PgraphMemoryClasses, 기본값 5000)를 정해 실행합니다.
+ * 5만 클래스 규모는 -PgraphMemoryClasses=50000으로 따로 실행합니다.
+ * 캐시가 없는 첫 실행과 캐시를 읽는 두 번째 실행 후에 GC 후 남아 있는 힙을 출력합니다.
+ */
+@Tag("memory")
+@DisplayName("대형 프로젝트 분석의 힙 사용량")
+class GraphMemoryTest {
+
+  private static final int CLASS_COUNT = Integer.getInteger("quantumleap.graphMemory.classes", 5_000);
+
+  @TempDir
+  Path projectRoot;
+
+  @TempDir
+  Path cacheDirectory;
+
+  @Test
+  @DisplayName("분석 캐시를 사용한 테스트 선별이 힙 상한 안에서 끝나고, 캐시를 읽은 실행도 같은 결과를 내야 한다")
+  void cached_selection_completes_under_heap_limit() throws IOException {
+    // GIVEN: 합성 프로젝트 (생성한 내용은 파일로만 남기고 바로 버립니다)
+    Map<String, String> files = new SyntheticProjectGenerator(CLASS_COUNT, 6, 0.02, 42).writeTo(projectRoot);
+    int fileCount = files.size();
+    String changedFile = files.keySet().iterator().next();
+    files = null;
+    System.out.printf("최대 힙 %d MB, 클래스 %d개, 파일 %d개%n", Runtime.getRuntime().maxMemory() >> 20, CLASS_COUNT, fileCount);
+    System.out.printf("%-24s %8s%n", "단계", "잔류 힙(MB)");
+    System.out.printf("%-24s %8d%n", "시작", retainedMegabytes());
+
+    // WHEN: 캐시가 없는 첫 실행, 첫 실행이 저장한 캐시를 읽는 두 번째 실행
+    AnalysisCache coldCache = AnalysisCache.load(cacheDirectory, SyntheticProjectGenerator.BASE_PACKAGE);
+    Set<String> coldTests = selectTests(coldCache, changedFile);
+    System.out.printf("%-24s %8d%n", "첫 실행 후", retainedMegabytes());
+    coldCache = null;
+
+    AnalysisCache warmCache = AnalysisCache.load(cacheDirectory, SyntheticProjectGenerator.BASE_PACKAGE);
+    Set<String> warmTests = selectTests(warmCache, changedFile);
+    System.out.printf("%-24s %8d%n", "캐시 사용 실행 후", retainedMegabytes());
+
+    // THEN: 두 번째 실행은 모든 파일을 캐시에서 읽고 같은 테스트를 선별합니다.
+    assertThat(warmCache.getHitCount()).isEqualTo(fileCount);
+    assertThat(warmCache.getMissCount()).isZero();
+    assertThat(coldTests).isNotEmpty();
+    assertThat(warmTests).isEqualTo(coldTests);
+  }
+
+  private Set<String> selectTests(AnalysisCache analysisCache, String changedFile) throws IOException {
+    AiReviewOptions aiReviewOptions = new AiReviewOptions();
+    aiReviewOptions.setMode(AiReviewMode.OFF);
+    QuantumLeapService service = new QuantumLeapService(projectRoot.resolve("src/main/java").toString(),
+        projectRoot.resolve("src/test/java").toString(), SyntheticProjectGenerator.BASE_PACKAGE, new OpenAIService(null, null),
+        Runtime.getRuntime().availableProcessors(), analysisCache, aiReviewOptions);
+    PrintStream originalErr = System.err;
+    System.setErr(new PrintStream(OutputStream.nullOutputStream(), true)); // 분석기의 진행 로그는 버립니다.
+    try {
+      AnalysisResult result = service.selectTests(Set.of(changedFile));
+      return new TreeSet<>(result.getTestsWithPaths().keySet());
+    } finally {
+      System.setErr(originalErr);
+    }
+  }
+
+  private static long retainedMegabytes() {
+    Runtime runtime = Runtime.getRuntime();
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+    }
+    return (runtime.totalMemory() - runtime.freeMemory()) >> 20;
+  }
+}
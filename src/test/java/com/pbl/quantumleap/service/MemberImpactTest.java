@@ -0,0 +1,93 @@
+package com.pbl.quantumleap.service;
+
+import com.pbl.quantumleap.AnalysisResult;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 멤버 단위 분석이 변경 전 소스와 비교하여, 바뀐 멤버를 실제로 참조하는 테스트만 선별하는지 확인합니다.
+ * 픽스처(fixtures/member-impact)의 현재 파일을 변경 후 내용으로 보고, 각 테스트가 만든 변경 전 내용을 함께 넘깁니다.
+ * PriceCalculator의 total()은 CheckoutService가, discount()는 PromotionService가 사용하고,
+ * OrderService는 Notifier 인터페이스를 통해 EmailNotifier.send()를 호출합니다.
+ */
+@DisplayName("멤버 단위 영향 분석")
+class MemberImpactTest {
+
+  private static final Path FIXTURE = Paths.get("src/test/resources/fixtures/member-impact").toAbsolutePath();
+  private static final String CALCULATOR = "src/main/java/com/example/shop/PriceCalculator.java";
+  private static final String EMAIL_NOTIFIER = "src/main/java/com/example/shop/EmailNotifier.java";
+
+  private final QuantumLeapService service = new QuantumLeapService(FIXTURE.resolve("src/main/java").toString(),
+      FIXTURE.resolve("src/test/java").toString(), "com.example", new OpenAIService(null, null));
+
+  /**
+   * 픽스처의 현재 내용에서 target을 replacement로 바꾼 것을 변경 전 내용으로 삼아 멤버 단위로 선별합니다.
+   */
+  private AnalysisResult selectWithBase(String changedFile, String target, String replacement) throws IOException {
+    String head = Files.readString(FIXTURE.resolve(changedFile));
+    assertThat(head).contains(target);
+    return service.selectTests(Set.of(changedFile), Map.of(changedFile, head.replace(target, replacement)));
+  }
+
+  @Test
+  @DisplayName("private 헬퍼를 고치면 그 헬퍼를 거쳐 호출되는 메서드의 테스트만 선별해야 한다")
+  void private_helper_edit_selects_only_callers_through_helper() throws IOException {
+    // GIVEN: tax()의 계산식만 바뀐 변경 (discount()는 tax()를 쓰지 않음)
+    AnalysisResult result = selectWithBase(CALCULATOR,
+        "return amount * taxRate / 100;", "return amount * taxRate / 1000;");
+
+    // THEN: 클래스 단위라면 PromotionServiceTest까지 선별되지만, 멤버 단위에서는 total() 경로만 남습니다.
+    assertThat(result.getChangedMembers()).containsExactly("com.example.shop.PriceCalculator#tax()");
+    assertThat(result.getTestsWithPaths().keySet()).containsExactlyInAnyOrder(
+        "com.example.shop.PriceCalculatorTest", "com.example.shop.CheckoutServiceTest");
+
+    AnalysisResult classLevel = service.selectTests(Set.of(CALCULATOR));
+    assertThat(classLevel.getTestsWithPaths().keySet()).containsExactlyInAnyOrder(
+        "com.example.shop.PriceCalculatorTest", "com.example.shop.CheckoutServiceTest",
+        "com.example.shop.PromotionServiceTest");
+  }
+
+  @Test
+  @DisplayName("주석만 바뀐 변경은 어떤 테스트도 선별하지 않아야 한다")
+  void comment_only_edit_selects_nothing() throws IOException {
+    AnalysisResult result = selectWithBase(CALCULATOR, "// 세율은 퍼센트 단위입니다.", "// 세율 (%)");
+
+    assertThat(result.getChangedMembers()).isEmpty();
+    assertThat(result.getTestsWithPaths().keySet()).isEmpty();
+  }
+
+  @Test
+  @DisplayName("필드를 바꾸면 그 필드를 읽는 모든 메서드의 테스트를 선별해야 한다")
+  void field_change_selects_tests_of_all_readers() throws IOException {
+    // GIVEN: total()과 discount()가 모두 거치는 round()가 읽는 필드
+    AnalysisResult result = selectWithBase(CALCULATOR,
+        "private final int roundingUnit = 10;", "private final int roundingUnit = 1;");
+
+    // 필드 초기값은 생성자에서 실행되므로 생성자도 변경된 멤버로 봅니다.
+    assertThat(result.getChangedMembers()).containsExactlyInAnyOrder(
+        "com.example.shop.PriceCalculator#roundingUnit", "com.example.shop.PriceCalculator#<init>");
+    assertThat(result.getTestsWithPaths().keySet()).containsExactlyInAnyOrder(
+        "com.example.shop.PriceCalculatorTest", "com.example.shop.CheckoutServiceTest",
+        "com.example.shop.PromotionServiceTest");
+  }
+
+  @Test
+  @DisplayName("구현 메서드를 바꾸면 인터페이스를 통해 호출하는 코드의 테스트까지 선별해야 한다")
+  void override_change_reaches_interface_callers() throws IOException {
+    AnalysisResult result = selectWithBase(EMAIL_NOTIFIER,
+        "System.out.println(\"[email] \" + message);", "System.out.println(message);");
+
+    assertThat(result.getChangedMembers()).containsExactly("com.example.shop.EmailNotifier#send()");
+    assertThat(result.getTestsWithPaths().keySet()).containsExactlyInAnyOrder(
+        "com.example.shop.EmailNotifierTest", "com.example.shop.OrderServiceTest");
+  }
+}
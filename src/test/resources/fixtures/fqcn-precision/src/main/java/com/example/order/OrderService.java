@@ -0,0 +1,14 @@
+package com.example.order;
+
+public class OrderService {
+
+  private final Mapper mapper;
+
+  public OrderService(Mapper mapper) {
+    this.mapper = mapper;
+  }
+
+  public String handle(String value) {
+    return mapper.map(value);
+  }
+}
@@ -0,0 +1,8 @@
+package com.example.user;
+
+public class Mapper {
+
+  public String map(String value) {
+    return value.trim();
+  }
+}
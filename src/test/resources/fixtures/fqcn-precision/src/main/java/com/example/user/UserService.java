@@ -0,0 +1,14 @@
+package com.example.user;
+
+public class UserService {
+
+  private final Mapper mapper;
+
+  public UserService(Mapper mapper) {
+    this.mapper = mapper;
+  }
+
+  public String handle(String value) {
+    return mapper.map(value);
+  }
+}
@@ -0,0 +1,11 @@
+package com.example.order;
+
+import org.junit.jupiter.api.Test;
+
+class MapperTest {
+
+  @Test
+  void map() {
+    new Mapper().map(" a ");
+  }
+}
@@ -0,0 +1,11 @@
+package com.example.order;
+
+import org.junit.jupiter.api.Test;
+
+class OrderServiceTest {
+
+  @Test
+  void handle() {
+    new OrderService(new Mapper()).handle(" a ");
+  }
+}
@@ -0,0 +1,11 @@
+package com.example.user;
+
+import org.junit.jupiter.api.Test;
+
+class UserServiceTest {
+
+  @Test
+  void handle() {
+    new UserService(new Mapper()).handle(" a ");
+  }
+}
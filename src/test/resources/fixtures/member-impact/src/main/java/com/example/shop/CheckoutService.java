@@ -0,0 +1,14 @@
+package com.example.shop;
+
+public class CheckoutService {
+
+  private final PriceCalculator priceCalculator;
+
+  public CheckoutService(PriceCalculator priceCalculator) {
+    this.priceCalculator = priceCalculator;
+  }
+
+  public int checkout(int amount) {
+    return priceCalculator.total(amount);
+  }
+}
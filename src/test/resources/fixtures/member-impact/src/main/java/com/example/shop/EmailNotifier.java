@@ -0,0 +1,9 @@
+package com.example.shop;
+
+public class EmailNotifier implements Notifier {
+
+  @Override
+  public void send(String message) {
+    System.out.println("[email] " + message);
+  }
+}
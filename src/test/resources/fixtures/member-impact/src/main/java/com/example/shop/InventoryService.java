@@ -0,0 +1,8 @@
+package com.example.shop;
+
+public class InventoryService {
+
+  public int stock(String item) {
+    return item.length();
+  }
+}
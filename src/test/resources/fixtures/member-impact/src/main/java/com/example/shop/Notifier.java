@@ -0,0 +1,6 @@
+package com.example.shop;
+
+public interface Notifier {
+
+  void send(String message);
+}
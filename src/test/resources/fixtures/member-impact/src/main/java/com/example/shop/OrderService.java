@@ -0,0 +1,14 @@
+package com.example.shop;
+
+public class OrderService {
+
+  private final Notifier notifier;
+
+  public OrderService(Notifier notifier) {
+    this.notifier = notifier;
+  }
+
+  public void order(String item) {
+    notifier.send("ordered " + item);
+  }
+}
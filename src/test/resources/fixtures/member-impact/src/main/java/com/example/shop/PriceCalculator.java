@@ -0,0 +1,25 @@
+package com.example.shop;
+
+public class PriceCalculator {
+
+  private final int roundingUnit = 10;
+
+  // 세율은 퍼센트 단위입니다.
+  private final int taxRate = 10;
+
+  public int total(int amount) {
+    return round(amount + tax(amount));
+  }
+
+  public int discount(int amount) {
+    return round(amount / 10);
+  }
+
+  private int tax(int amount) {
+    return amount * taxRate / 100;
+  }
+
+  private int round(int amount) {
+    return amount / roundingUnit * roundingUnit;
+  }
+}
@@ -0,0 +1,14 @@
+package com.example.shop;
+
+public class PromotionService {
+
+  private final PriceCalculator priceCalculator;
+
+  public PromotionService(PriceCalculator priceCalculator) {
+    this.priceCalculator = priceCalculator;
+  }
+
+  public int promote(int amount) {
+    return amount - priceCalculator.discount(amount);
+  }
+}
@@ -0,0 +1,11 @@
+package com.example.shop;
+
+import org.junit.jupiter.api.Test;
+
+class CheckoutServiceTest {
+
+  @Test
+  void checkout() {
+    new CheckoutService(new PriceCalculator()).checkout(100);
+  }
+}
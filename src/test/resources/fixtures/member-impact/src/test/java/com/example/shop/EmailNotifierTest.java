@@ -0,0 +1,11 @@
+package com.example.shop;
+
+import org.junit.jupiter.api.Test;
+
+class EmailNotifierTest {
+
+  @Test
+  void send() {
+    new EmailNotifier().send("hello");
+  }
+}
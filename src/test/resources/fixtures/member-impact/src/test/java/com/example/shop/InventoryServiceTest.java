@@ -0,0 +1,11 @@
+package com.example.shop;
+
+import org.junit.jupiter.api.Test;
+
+class InventoryServiceTest {
+
+  @Test
+  void stock() {
+    new InventoryService().stock("book");
+  }
+}
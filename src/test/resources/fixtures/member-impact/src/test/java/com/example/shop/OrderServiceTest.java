@@ -0,0 +1,11 @@
+package com.example.shop;
+
+import org.junit.jupiter.api.Test;
+
+class OrderServiceTest {
+
+  @Test
+  void order() {
+    new OrderService(message -> { }).order("book");
+  }
+}
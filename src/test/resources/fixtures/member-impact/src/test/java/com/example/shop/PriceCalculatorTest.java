@@ -0,0 +1,11 @@
+package com.example.shop;
+
+import org.junit.jupiter.api.Test;
+
+class PriceCalculatorTest {
+
+  @Test
+  void total() {
+    new PriceCalculator().total(100);
+  }
+}
@@ -0,0 +1,11 @@
+package com.example.shop;
+
+import org.junit.jupiter.api.Test;
+
+class PromotionServiceTest {
+
+  @Test
+  void promote() {
+    new PromotionService(new PriceCalculator()).promote(100);
+  }
+}